@@ -0,0 +1,32 @@
+package com.spts.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for the bulk GPA recompute job.
+ * 
+ * Provides the worker pool on which chunks of students are recalculated in
+ * parallel. The job coordinator never has more chunks in flight than the pool
+ * plus its queue can hold, so submissions are never rejected.
+ * 
+ * @author SPTS Team
+ */
+@Configuration
+public class GpaRecomputeConfig {
+
+    @Bean(name = "gpaRecomputeExecutor")
+    public ThreadPoolTaskExecutor gpaRecomputeExecutor(
+            @Value("${gpa.recompute.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads);
+        executor.setThreadNamePrefix("gpa-recompute-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
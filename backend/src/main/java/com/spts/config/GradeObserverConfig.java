@@ -0,0 +1,30 @@
+package com.spts.config;
+
+import com.spts.patterns.observer.StudentLaneExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for asynchronous grade observer dispatch.
+ * 
+ * Provides the student-partitioned lanes on which the outbox poller passes grade
+ * events to the observers. Each lane's queue is bounded; when it is full the
+ * poller waits briefly and then runs the events itself, which slows delivery
+ * down rather than dropping events. Queued events are finished on shutdown.
+ * 
+ * @author SPTS Team
+ */
+@Configuration
+public class GradeObserverConfig {
+
+    @Bean
+    public StudentLaneExecutor gradeObserverExecutor(
+            @Value("${grade.observers.lanes:0}") int lanes,
+            @Value("${grade.observers.queue-capacity:250}") int queueCapacity,
+            @Value("${grade.observers.offer-timeout-ms:2000}") long offerTimeoutMs) {
+        // 0 lanes: one per available core
+        int laneCount = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+        return new StudentLaneExecutor(laneCount, queueCapacity, offerTimeoutMs, "grade-observer-");
+    }
+}
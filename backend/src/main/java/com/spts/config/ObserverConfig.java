@@ -1,5 +1,6 @@
 package com.spts.config;
 
+import com.spts.patterns.observer.DashboardAggregateObserver;
 import com.spts.patterns.observer.GpaRecalculatorObserver;
 import com.spts.patterns.observer.GradeSubject;
 import com.spts.patterns.observer.RiskDetectorObserver;
@@ -25,13 +26,16 @@ public class ObserverConfig {
     private final GradeSubject gradeSubject;
     private final GpaRecalculatorObserver gpaRecalculatorObserver;
     private final RiskDetectorObserver riskDetectorObserver;
+    private final DashboardAggregateObserver dashboardAggregateObserver;
     
     public ObserverConfig(GradeSubject gradeSubject, 
                           GpaRecalculatorObserver gpaRecalculatorObserver,
-                          RiskDetectorObserver riskDetectorObserver) {
+                          RiskDetectorObserver riskDetectorObserver,
+                          DashboardAggregateObserver dashboardAggregateObserver) {
         this.gradeSubject = gradeSubject;
         this.gpaRecalculatorObserver = gpaRecalculatorObserver;
         this.riskDetectorObserver = riskDetectorObserver;
+        this.dashboardAggregateObserver = dashboardAggregateObserver;
     }
     
     /**
@@ -46,6 +50,9 @@ public class ObserverConfig {
         // Register Risk Detector (priority 10 - runs after GPA update)
         gradeSubject.attach(riskDetectorObserver);
         
+        // Register Dashboard Aggregates (priority 20 - keeps admin statistics current)
+        gradeSubject.attach(dashboardAggregateObserver);
+        
         logger.info("Registered {} observers with GradeSubject", gradeSubject.getObserverCount());
     }
 }
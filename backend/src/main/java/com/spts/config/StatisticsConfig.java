@@ -0,0 +1,34 @@
+package com.spts.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for statistics computation.
+ * 
+ * Provides the bounded thread pool on which the Admin Dashboard sections are
+ * computed concurrently. The queue is bounded too, so a burst of dashboard
+ * requests cannot pile up unbounded work; rejected sections are reported as
+ * unavailable instead.
+ * 
+ * @author SPTS Team
+ */
+@Configuration
+public class StatisticsConfig {
+
+    @Bean(name = "statisticsExecutor")
+    public ThreadPoolTaskExecutor statisticsExecutor(
+            @Value("${statistics.dashboard.threads:4}") int threads,
+            @Value("${statistics.dashboard.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("statistics-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
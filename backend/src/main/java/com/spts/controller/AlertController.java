@@ -1,6 +1,7 @@
 package com.spts.controller;
 
 import com.spts.dto.AlertDTO;
+import com.spts.dto.AlertPageDTO;
 import com.spts.entity.AlertLevel;
 import com.spts.entity.AlertType;
 import com.spts.service.AlertService;
@@ -13,10 +14,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.validation.Valid;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -137,6 +140,24 @@ public class AlertController {
         return ResponseEntity.ok(alertService.markMultipleAsResolved(ids, resolvedBy));
     }
 
+    @PutMapping("/resolve")
+    @Operation(summary = "Resolve alerts by filter", description = "Resolves every unresolved alert matching all given filters in one statement and returns how many were resolved. At least one filter is required.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Number of alerts resolved"),
+        @ApiResponse(responseCode = "400", description = "No filter given or invalid time range")
+    })
+    public ResponseEntity<Integer> resolveByFilter(
+            @Parameter(description = "Student database ID") @RequestParam(required = false) Long studentId,
+            @Parameter(description = "Alert type") @RequestParam(required = false) AlertType type,
+            @Parameter(description = "Alert level") @RequestParam(required = false) AlertLevel level,
+            @Parameter(description = "Created at or after, e.g. 2024-01-15T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Created before, e.g. 2024-01-15T18:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Username of resolver") @RequestParam String resolvedBy) {
+        return ResponseEntity.ok(alertService.resolveAlerts(studentId, type, level, from, to, resolvedBy));
+    }
+
     @PutMapping("/student/{studentId}/read-all")
     @Operation(summary = "Mark all alerts as read for student", description = "Marks all unread alerts for a student as read")
     @ApiResponse(responseCode = "200", description = "Number of alerts marked as read")
@@ -200,6 +221,71 @@ public class AlertController {
         return ResponseEntity.ok(alertService.getAlertsByType(type));
     }
 
+    // ==================== Keyset Feeds ====================
+
+    @GetMapping("/feed")
+    @Operation(summary = "Get alert feed", description = "Retrieves one page of all alerts, newest first. Pass the returned nextCursor to get the next page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<AlertPageDTO> getAlertFeed(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1 to 200)") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(alertService.getAlertFeed(cursor, limit));
+    }
+
+    @GetMapping("/feed/unread")
+    @Operation(summary = "Get unread alert feed", description = "Retrieves one page of unread alerts, newest first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<AlertPageDTO> getUnreadAlertFeed(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1 to 200)") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(alertService.getUnreadAlertFeed(cursor, limit));
+    }
+
+    @GetMapping("/feed/unresolved")
+    @Operation(summary = "Get unresolved alert feed", description = "Retrieves one page of unresolved alerts, newest first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<AlertPageDTO> getUnresolvedAlertFeed(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1 to 200)") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(alertService.getUnresolvedAlertFeed(cursor, limit));
+    }
+
+    @GetMapping("/feed/urgent")
+    @Operation(summary = "Get urgent alert feed", description = "Retrieves one page of CRITICAL and HIGH level unresolved alerts, newest first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<AlertPageDTO> getUrgentAlertFeed(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1 to 200)") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(alertService.getUrgentAlertFeed(cursor, limit));
+    }
+
+    @GetMapping("/feed/level/{level}")
+    @Operation(summary = "Get alert feed by level", description = "Retrieves one page of alerts of a level, newest first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<AlertPageDTO> getAlertFeedByLevel(
+            @Parameter(description = "Alert level (INFO, WARNING, HIGH, CRITICAL)") @PathVariable AlertLevel level,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1 to 200)") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(alertService.getAlertFeedByLevel(level, cursor, limit));
+    }
+
+    // ==================== Counts and Summary ====================
+
     @GetMapping("/student/{studentId}/count")
     @Operation(summary = "Count unread alerts", description = "Counts unread alerts for a student")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved count")
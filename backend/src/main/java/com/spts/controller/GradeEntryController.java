@@ -17,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for GradeEntry management.
@@ -227,6 +228,19 @@ public class GradeEntryController {
         return ResponseEntity.ok(gradeEntryService.getLeafEntries(enrollmentId));
     }
 
+    @PatchMapping("/scores")
+    @Operation(summary = "Update many scores", description = "Updates the scores of many grade entries at once (e.g. an import); observers are notified with one batch, so each student's GPA is recalculated once")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Scores updated successfully"),
+        @ApiResponse(responseCode = "404", description = "A grade entry was not found")
+    })
+    public ResponseEntity<List<GradeEntryDTO>> updateScores(
+            @Parameter(description = "New score (0-10 scale) per grade entry database ID, e.g. {\"4\": 8.5, \"5\": 7.0}")
+            @RequestBody Map<Long, Double> scores,
+            @Parameter(description = "Username of recorder") @RequestParam(required = false) String recordedBy) {
+        return ResponseEntity.ok(gradeEntryService.updateScores(scores, recordedBy));
+    }
+
     @PatchMapping("/{id}/score")
     @Operation(summary = "Update score only", description = "Updates just the score of a grade entry")
     @ApiResponses({
@@ -0,0 +1,111 @@
+package com.spts.controller;
+
+import com.spts.dto.GradeEventDTO;
+import com.spts.dto.GradeEventOutboxStatsDTO;
+import com.spts.dto.ObserverLaneMetricsDTO;
+import com.spts.dto.ObserverStatusDTO;
+import com.spts.patterns.observer.GradeSubject;
+import com.spts.service.GradeEventOutboxService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller for grade observer pipeline operations.
+ * 
+ * @author SPTS Team
+ */
+@RestController
+@RequestMapping("/api/observers")
+@Tag(name = "Observers", description = "Grade observer pipeline APIs (Observer Pattern)")
+public class ObserverController {
+
+    private final GradeSubject gradeSubject;
+    private final GradeEventOutboxService outboxService;
+
+    public ObserverController(GradeSubject gradeSubject, GradeEventOutboxService outboxService) {
+        this.gradeSubject = gradeSubject;
+        this.outboxService = outboxService;
+    }
+
+    // ==================== Registry Administration ====================
+
+    @GetMapping
+    @Operation(summary = "Get registered observers", description = "Retrieves each grade observer in notification order with its enabled flag and circuit breaker state")
+    @ApiResponse(responseCode = "200", description = "Observers retrieved successfully")
+    public ResponseEntity<List<ObserverStatusDTO>> getObservers() {
+        return ResponseEntity.ok(gradeSubject.getObserverStatuses());
+    }
+
+    @PutMapping("/{name}/enabled")
+    @Operation(summary = "Enable or disable an observer", description = "Switches an observer on or off at runtime; a disabled observer is skipped by synchronous notifications, and outbox delivery waits until it is enabled again")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Observer updated successfully"),
+        @ApiResponse(responseCode = "404", description = "Observer not found")
+    })
+    public ResponseEntity<ObserverStatusDTO> setObserverEnabled(
+            @Parameter(description = "Observer name, ignoring case, spaces and dashes, e.g. risk-detector") @PathVariable String name,
+            @Parameter(description = "true to enable, false to disable") @RequestParam boolean enabled) {
+        return ResponseEntity.ok(gradeSubject.setObserverEnabled(name, enabled));
+    }
+
+    @PostMapping("/{name}/circuit-breaker/reset")
+    @Operation(summary = "Reset an observer's circuit breaker", description = "Closes the observer's circuit breaker so it is called again immediately")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Circuit breaker reset successfully"),
+        @ApiResponse(responseCode = "404", description = "Observer not found")
+    })
+    public ResponseEntity<ObserverStatusDTO> resetCircuitBreaker(
+            @Parameter(description = "Observer name, ignoring case, spaces and dashes, e.g. risk-detector") @PathVariable String name) {
+        return ResponseEntity.ok(gradeSubject.resetCircuitBreaker(name));
+    }
+
+    // ==================== Delivery ====================
+
+    @GetMapping("/lanes")
+    @Operation(summary = "Get observer lane metrics", description = "Retrieves queue depth, peak depth and processed events of each student-partitioned observer lane, plus backpressure counters")
+    @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully")
+    public ResponseEntity<ObserverLaneMetricsDTO> getLaneMetrics() {
+        return ResponseEntity.ok(outboxService.getLaneMetrics());
+    }
+
+    @GetMapping("/outbox/stats")
+    @Operation(summary = "Get grade event outbox statistics", description = "Retrieves the number of pending, delivered and dead-lettered grade events")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    public ResponseEntity<GradeEventOutboxStatsDTO> getOutboxStats() {
+        return ResponseEntity.ok(outboxService.getStats());
+    }
+
+    @GetMapping("/outbox/dead-letters")
+    @Operation(summary = "Get dead-lettered grade events", description = "Retrieves the 100 most recent grade events that exhausted their delivery attempts, with the last error")
+    @ApiResponse(responseCode = "200", description = "Events retrieved successfully")
+    public ResponseEntity<List<GradeEventDTO>> getDeadLetters() {
+        return ResponseEntity.ok(outboxService.getDeadLetters());
+    }
+
+    @PostMapping("/outbox/replay")
+    @Operation(summary = "Replay grade events", description = "Schedules the grade events created in [from, to) for redelivery to the observers and returns how many were scheduled")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Events scheduled for redelivery"),
+        @ApiResponse(responseCode = "400", description = "Invalid time range")
+    })
+    public ResponseEntity<Integer> replay(
+            @Parameter(description = "Inclusive start, e.g. 2024-01-15T08:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end, e.g. 2024-01-15T18:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Only replay dead-lettered events")
+            @RequestParam(defaultValue = "false") boolean deadLettersOnly) {
+        return ResponseEntity.ok(outboxService.replay(from, to, deadLettersOnly));
+    }
+}
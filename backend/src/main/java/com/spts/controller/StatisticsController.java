@@ -1,18 +1,38 @@
 package com.spts.controller;
 
 import com.spts.dto.StatisticsDTO.*;
+import com.spts.entity.EnrollmentStatus;
+import com.spts.entity.Semester;
 import com.spts.service.StatisticsService;
+import com.spts.service.StatisticsService.QueryMode;
+import com.spts.statistics.CubeQuery;
+import com.spts.statistics.CubeQuery.Dimension;
+import com.spts.statistics.StatisticsDataVersion;
+import com.spts.statistics.StatisticsResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * REST Controller for statistics endpoints.
  * Provides advanced analytics data for Admin Dashboard.
  * 
+ * GET responses are cached per (endpoint, params, version) and carry a strong
+ * ETag derived from the global data version. A request whose If-None-Match
+ * matches the current version gets 304 Not Modified without touching the cache.
+ * Responses that are not cacheable (a partial dashboard) get no ETag and are
+ * never answered with 304, so a client cannot pin an incomplete body.
+ * 
  * @author SPTS Team
  */
 @RestController
@@ -23,61 +43,233 @@ public class StatisticsController {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsController.class);
 
     private final StatisticsService statisticsService;
+    private final StatisticsDataVersion dataVersion;
+    private final StatisticsResponseCache responseCache;
 
-    public StatisticsController(StatisticsService statisticsService) {
+    public StatisticsController(StatisticsService statisticsService,
+                                StatisticsDataVersion dataVersion,
+                                StatisticsResponseCache responseCache) {
         this.statisticsService = statisticsService;
+        this.dataVersion = dataVersion;
+        this.responseCache = responseCache;
     }
 
     /**
      * Get complete admin dashboard statistics
+     * 
+     * @param mode Optional query mode; STREAMING computes every section
+     *             (including trends and credit distribution) in one pass
      */
     @GetMapping("/dashboard")
-    public ResponseEntity<AdminDashboardStats> getDashboardStats() {
+    public ResponseEntity<AdminDashboardStats> getDashboardStats(
+            @RequestParam(required = false) QueryMode mode, WebRequest request) {
         logger.info("GET /api/statistics/dashboard - Getting complete dashboard stats");
-        AdminDashboardStats stats = statisticsService.getAdminDashboardStats();
-        return ResponseEntity.ok(stats);
+        // Partial dashboards (a section timed out) are neither cached nor tagged
+        return cached(request, () -> mode == QueryMode.STREAMING
+                        ? statisticsService.getStreamingDashboardStats()
+                        : statisticsService.getAdminDashboardStats(),
+                stats -> stats.getUnavailableSections() == null);
+    }
+
+    /**
+     * Rebuild the dashboard aggregates from the database
+     */
+    @PostMapping("/dashboard/rebuild")
+    public ResponseEntity<AdminDashboardStats> rebuildDashboard() {
+        logger.info("POST /api/statistics/dashboard/rebuild - Rebuilding dashboard aggregates");
+        statisticsService.rebuildDashboardAggregates();
+        return ResponseEntity.ok(statisticsService.getAdminDashboardStats());
     }
 
     /**
      * Get top enrolled courses
      * 
      * @param limit Number of courses to return (default: 10)
+     * @param mode  Optional query mode (SQL, STREAMING, CUBE, IN_MEMORY) for comparison;
+     *              without it the maintained top-K ranking is used
      */
     @GetMapping("/top-courses")
     public ResponseEntity<List<CourseEnrollmentStats>> getTopCourses(
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) QueryMode mode, WebRequest request) {
         logger.info("GET /api/statistics/top-courses - Getting top {} courses", limit);
-        List<CourseEnrollmentStats> stats = statisticsService.getTopEnrolledCourses(limit);
-        return ResponseEntity.ok(stats);
+        return cached(request, () -> statisticsService.getTopEnrolledCourses(limit, mode));
     }
 
     /**
      * Get department statistics
+     * 
+     * @param mode  Optional query mode (SQL, STREAMING, CUBE, IN_MEMORY) for comparison
+     * @param exact Count distinct students exactly instead of the ~1.6% HyperLogLog estimate
      */
     @GetMapping("/departments")
-    public ResponseEntity<List<DepartmentStats>> getDepartmentStats() {
-        logger.info("GET /api/statistics/departments - Getting department statistics");
-        List<DepartmentStats> stats = statisticsService.getDepartmentStatistics();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<List<DepartmentStats>> getDepartmentStats(
+            @RequestParam(required = false) QueryMode mode,
+            @RequestParam(defaultValue = "false") boolean exact, WebRequest request) {
+        logger.info("GET /api/statistics/departments - Getting department statistics (exact={})", exact);
+        return cached(request, () -> statisticsService.getDepartmentStatistics(mode, exact));
     }
 
     /**
      * Get enrollment trends by semester/year
+     * 
+     * @param mode Optional query mode (SQL, STREAMING, CUBE, IN_MEMORY) for comparison
      */
     @GetMapping("/enrollment-trends")
-    public ResponseEntity<List<EnrollmentTrend>> getEnrollmentTrends() {
+    public ResponseEntity<List<EnrollmentTrend>> getEnrollmentTrends(
+            @RequestParam(required = false) QueryMode mode, WebRequest request) {
         logger.info("GET /api/statistics/enrollment-trends - Getting enrollment trends");
-        List<EnrollmentTrend> trends = statisticsService.getEnrollmentTrends();
-        return ResponseEntity.ok(trends);
+        return cached(request, () -> statisticsService.getEnrollmentTrends(mode));
+    }
+
+    /**
+     * Get average term and cumulative GPA per cohort and term
+     * 
+     * @param cohortYear Optional enrollment year of the cohort
+     */
+    @GetMapping("/cohort-term-gpa")
+    public ResponseEntity<List<CohortTermGpa>> getCohortTermGpa(
+            @RequestParam(required = false) Integer cohortYear, WebRequest request) {
+        logger.info("GET /api/statistics/cohort-term-gpa - Getting cohort term GPA averages");
+        return cached(request, () -> statisticsService.getCohortTermGpa(cohortYear));
+    }
+
+    /**
+     * List closed terms with their snapshotted enrollment rollups
+     */
+    @GetMapping("/terms/closed")
+    public ResponseEntity<List<EnrollmentTrend>> getClosedTerms(WebRequest request) {
+        logger.info("GET /api/statistics/terms/closed - Getting closed term snapshots");
+        return cached(request, statisticsService::getClosedTerms);
+    }
+
+    /**
+     * Close a term, writing its enrollment rollup to term_enrollment_snapshot
+     * 
+     * @param semester     Semester of the term
+     * @param academicYear Academic year of the term
+     */
+    @PostMapping("/terms/{semester}/{academicYear}/close")
+    public ResponseEntity<EnrollmentTrend> closeTerm(@PathVariable Semester semester,
+                                                     @PathVariable Integer academicYear) {
+        logger.info("POST /api/statistics/terms/{}/{}/close - Closing term", semester, academicYear);
+        return ResponseEntity.ok(statisticsService.closeTerm(semester, academicYear));
+    }
+
+    /**
+     * Reopen a closed term so its trend row is computed live again
+     * 
+     * @param semester     Semester of the term
+     * @param academicYear Academic year of the term
+     */
+    @DeleteMapping("/terms/{semester}/{academicYear}/close")
+    public ResponseEntity<Void> reopenTerm(@PathVariable Semester semester,
+                                           @PathVariable Integer academicYear) {
+        logger.info("DELETE /api/statistics/terms/{}/{}/close - Reopening term", semester, academicYear);
+        statisticsService.reopenTerm(semester, academicYear);
+        return ResponseEntity.noContent().build();
     }
 
     /**
      * Get credit distribution
+     * 
+     * @param mode Optional query mode (SQL, STREAMING, CUBE, IN_MEMORY) for comparison
      */
     @GetMapping("/credit-distribution")
-    public ResponseEntity<List<CreditDistribution>> getCreditDistribution() {
+    public ResponseEntity<List<CreditDistribution>> getCreditDistribution(
+            @RequestParam(required = false) QueryMode mode, WebRequest request) {
         logger.info("GET /api/statistics/credit-distribution - Getting credit distribution");
-        List<CreditDistribution> distribution = statisticsService.getCreditDistribution();
-        return ResponseEntity.ok(distribution);
+        return cached(request, () -> statisticsService.getCreditDistribution(mode));
+    }
+
+    /**
+     * Get the final-score distribution (0.1-wide buckets, letter grades, percentiles).
+     * Filters are optional and combined; e.g. {@code ?department=Physics&year=2025}
+     */
+    @GetMapping("/distribution")
+    public ResponseEntity<ScoreDistribution> getScoreDistribution(
+            @RequestParam(required = false) Long offeringId,
+            @RequestParam(required = false) String courseCode,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Semester semester,
+            @RequestParam(required = false) Integer year,
+            WebRequest request) {
+        logger.info("GET /api/statistics/distribution - Getting score distribution");
+        return cached(request, () -> statisticsService.getScoreDistribution(offeringId, courseCode, department, semester, year));
+    }
+
+    /**
+     * Ad-hoc enrollment analytics: filter by any combination of dimensions and
+     * group by any of them. Multiple values per filter are OR-ed, e.g.
+     * {@code /api/statistics/query?department=Computer Science&year=2024,2025&groupBy=SEMESTER,STATUS}
+     * 
+     * @param groupBy Dimensions to group by (DEPARTMENT, COURSE, SEMESTER, YEAR, STATUS, CREDITS)
+     */
+    @GetMapping("/query")
+    public ResponseEntity<QueryResult> query(
+            @RequestParam(required = false) List<String> department,
+            @RequestParam(required = false) List<String> course,
+            @RequestParam(required = false) List<Semester> semester,
+            @RequestParam(required = false) List<Integer> year,
+            @RequestParam(required = false) List<EnrollmentStatus> status,
+            @RequestParam(required = false) List<Integer> credits,
+            @RequestParam(required = false) List<Dimension> groupBy,
+            WebRequest request) {
+        logger.info("GET /api/statistics/query - Grouping by {}", groupBy);
+        CubeQuery query = new CubeQuery();
+        query.setDepartments(department);
+        query.setCourseCodes(course);
+        query.setSemesters(semester);
+        query.setYears(year);
+        query.setStatuses(status);
+        query.setCredits(credits);
+        query.setGroupBy(groupBy);
+        return cached(request, () -> statisticsService.queryEnrollments(query));
+    }
+
+    // ==================== Conditional Responses ====================
+
+    private <T> ResponseEntity<T> cached(WebRequest request, Supplier<T> compute) {
+        return cached(request, compute, body -> true);
+    }
+
+    /**
+     * Serve the cached response for this endpoint and parameters, computing it on a miss.
+     * The ETag is derived from the data version alone, so a matching If-None-Match
+     * is answered with 304 (null body, status already set) before the cache is
+     * consulted. A cacheable body is tagged with that version; any other body is
+     * returned untagged, so a partial dashboard never yields a tag to revalidate.
+     */
+    private <T> ResponseEntity<T> cached(WebRequest request, Supplier<T> compute, Predicate<T> cacheable) {
+        // Read the version before computing: the response then reflects at least this version
+        long version = dataVersion.current();
+        String etag = dataVersion.etag(version);
+        // checkNotModified also sets the ETag header, so only call it once the tag is known to match
+        if (ifNoneMatch(request, etag) && request.checkNotModified(etag)) {
+            return null;
+        }
+        T body = responseCache.get(cacheKey(request), version, compute, cacheable);
+        if (!cacheable.test(body)) {
+            return ResponseEntity.ok().body(body);
+        }
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    private static boolean ifNoneMatch(WebRequest request, String etag) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) {
+            return false;
+        }
+        return Arrays.stream(headers)
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals(etag) || tag.equals("*"));
+    }
+
+    private static String cacheKey(WebRequest request) {
+        Map<String, String> params = new TreeMap<>();
+        request.getParameterMap().forEach((name, values) -> params.put(name, Arrays.toString(values)));
+        return request.getDescription(false) + params;
     }
 }
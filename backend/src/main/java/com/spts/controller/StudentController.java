@@ -1,10 +1,21 @@
 package com.spts.controller;
 
+import com.spts.dto.GpaRecalculationMetricsDTO;
+import com.spts.dto.GpaReconciliationDTO;
+import com.spts.dto.GpaRecomputeJobDTO;
+import com.spts.dto.GpaSimulationDTO;
+import com.spts.dto.GpaSimulationRequestDTO;
+import com.spts.dto.SetBasedGpaRecomputeDTO;
 import com.spts.dto.StudentDTO;
+import com.spts.dto.TermGpaDTO;
 import com.spts.dto.EnrollmentDTO;
 import com.spts.entity.StudentStatus;
 import com.spts.service.StudentService;
 import com.spts.service.EnrollmentService;
+import com.spts.service.GpaRecalculationScheduler;
+import com.spts.service.GpaRecomputeJobService;
+import com.spts.service.GpaSimulationService;
+import com.spts.service.StudentTermGpaService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,10 +44,21 @@ public class StudentController {
 
     private final StudentService studentService;
     private final EnrollmentService enrollmentService;
+    private final GpaRecomputeJobService gpaRecomputeJobService;
+    private final StudentTermGpaService termGpaService;
+    private final GpaRecalculationScheduler gpaRecalculationScheduler;
+    private final GpaSimulationService gpaSimulationService;
 
-    public StudentController(StudentService studentService, EnrollmentService enrollmentService) {
+    public StudentController(StudentService studentService, EnrollmentService enrollmentService,
+                             GpaRecomputeJobService gpaRecomputeJobService, StudentTermGpaService termGpaService,
+                             GpaRecalculationScheduler gpaRecalculationScheduler,
+                             GpaSimulationService gpaSimulationService) {
         this.studentService = studentService;
         this.enrollmentService = enrollmentService;
+        this.gpaRecomputeJobService = gpaRecomputeJobService;
+        this.termGpaService = termGpaService;
+        this.gpaRecalculationScheduler = gpaRecalculationScheduler;
+        this.gpaSimulationService = gpaSimulationService;
     }
 
     // ==================== CRUD Operations ====================
@@ -172,17 +194,91 @@ public class StudentController {
     }
 
     @PostMapping("/recalculate-all-gpa")
-    @Operation(summary = "Recalculate GPA for all students", description = "Recalculates and updates GPA for all students in the system")
+    @Operation(summary = "Recalculate GPA for all students", description = "Starts a background job that recalculates GPA for all students in ID-ordered chunks, one transaction per chunk")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Recompute job started"),
+        @ApiResponse(responseCode = "400", description = "A recompute job is already running")
+    })
+    public ResponseEntity<GpaRecomputeJobDTO> recalculateAllGpa() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(gpaRecomputeJobService.startJob());
+    }
+
+    @PostMapping("/recalculate-all-gpa/set-based")
+    @Operation(summary = "Recalculate GPA for all students in one statement", description = "Recomputes GPA, credits and status for all students in a single SQL update (PostgreSQL); only students whose status changed are passed to the grade observers")
     @ApiResponse(responseCode = "200", description = "All GPAs recalculated successfully")
-    public ResponseEntity<String> recalculateAllGpa() {
-        List<StudentDTO> allStudents = studentService.getAllStudents();
-        int count = 0;
-        for (StudentDTO student : allStudents) {
-            if (student.getId() != null) {
-                studentService.recalculateAndUpdateGpa(student.getId());
-                count++;
-            }
-        }
-        return ResponseEntity.ok("Recalculated GPA for " + count + " students");
+    public ResponseEntity<SetBasedGpaRecomputeDTO> recalculateAllGpaSetBased() {
+        return ResponseEntity.ok(studentService.recomputeAllGpaSetBased());
+    }
+
+    @GetMapping("/gpa-recalculation/metrics")
+    @Operation(summary = "Get GPA recalculation metrics", description = "Retrieves signals received, recalculations run and the coalescing ratio of the write-behind GPA recalculation")
+    @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully")
+    public ResponseEntity<GpaRecalculationMetricsDTO> getGpaRecalculationMetrics() {
+        return ResponseEntity.ok(gpaRecalculationScheduler.getMetrics());
+    }
+
+    @GetMapping("/recalculate-all-gpa/jobs/latest")
+    @Operation(summary = "Get latest GPA recompute job", description = "Retrieves progress, throughput and ETA of the most recent bulk GPA recompute job")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "404", description = "No job has been run")
+    })
+    public ResponseEntity<GpaRecomputeJobDTO> getLatestGpaRecomputeJob() {
+        return ResponseEntity.ok(gpaRecomputeJobService.getLatestJob());
+    }
+
+    @GetMapping("/recalculate-all-gpa/jobs/{jobId}")
+    @Operation(summary = "Get GPA recompute job", description = "Retrieves progress, throughput and ETA of a bulk GPA recompute job")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<GpaRecomputeJobDTO> getGpaRecomputeJob(
+            @Parameter(description = "Job database ID") @PathVariable Long jobId) {
+        return ResponseEntity.ok(gpaRecomputeJobService.getJob(jobId));
+    }
+
+    @PostMapping("/recalculate-all-gpa/jobs/{jobId}/resume")
+    @Operation(summary = "Resume GPA recompute job", description = "Resumes a failed or interrupted bulk GPA recompute job from its checkpoint")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Job resumed"),
+        @ApiResponse(responseCode = "400", description = "Job is completed or another job is running"),
+        @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<GpaRecomputeJobDTO> resumeGpaRecomputeJob(
+            @Parameter(description = "Job database ID") @PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(gpaRecomputeJobService.resumeJob(jobId));
+    }
+
+    @GetMapping("/{id}/gpa-timeline")
+    @Operation(summary = "Get student GPA timeline", description = "Retrieves the student's GPA for each graded term and cumulative GPA after it, in chronological order")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Timeline retrieved"),
+        @ApiResponse(responseCode = "404", description = "Student not found")
+    })
+    public ResponseEntity<List<TermGpaDTO>> getGpaTimeline(
+            @Parameter(description = "Student database ID") @PathVariable Long id) {
+        return ResponseEntity.ok(termGpaService.getGpaTimeline(id));
+    }
+
+    @PostMapping("/{id}/gpa-simulation")
+    @Operation(summary = "Simulate student GPA", description = "Projects GPA and status from hypothetical final or component scores of in-progress enrollments, and optionally solves for the minimum score reaching a target GPA. Nothing is saved")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Simulation computed"),
+        @ApiResponse(responseCode = "400", description = "Invalid scores or target"),
+        @ApiResponse(responseCode = "404", description = "Student not found")
+    })
+    public ResponseEntity<GpaSimulationDTO> simulateGpa(
+            @Parameter(description = "Student database ID") @PathVariable Long id,
+            @Valid @RequestBody GpaSimulationRequestDTO request) {
+        return ResponseEntity.ok(gpaSimulationService.simulate(id, request));
+    }
+
+    @PostMapping("/reconcile-gpa")
+    @Operation(summary = "Reconcile running GPA sums", description = "Verifies every student's incrementally maintained GPA sums and credits against a full recompute; optionally repairs mismatches")
+    @ApiResponse(responseCode = "200", description = "Reconciliation completed")
+    public ResponseEntity<GpaReconciliationDTO> reconcileGpa(
+            @Parameter(description = "Recalculate students whose sums do not match") @RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(studentService.reconcileGpaSums(repair));
     }
 }
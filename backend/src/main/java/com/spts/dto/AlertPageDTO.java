@@ -0,0 +1,30 @@
+package com.spts.dto;
+
+import java.util.List;
+
+/**
+ * One page of an alert feed, newest first.
+ *
+ * @author SPTS Team
+ */
+public class AlertPageDTO {
+
+    private List<AlertDTO> alerts;
+    /** Pass as the cursor parameter to get the next page; null on the last page */
+    private String nextCursor;
+
+    public AlertPageDTO() {
+    }
+
+    public AlertPageDTO(List<AlertDTO> alerts, String nextCursor) {
+        this.alerts = alerts;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<AlertDTO> getAlerts() { return alerts; }
+    public void setAlerts(List<AlertDTO> alerts) { this.alerts = alerts; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,46 @@
+package com.spts.dto;
+
+/**
+ * Counters of the coalescing GPA recalculation scheduler since startup.
+ * 
+ * @author SPTS Team
+ */
+public class GpaRecalculationMetricsDTO {
+
+    /** Coalescing window; 0 means marks are flushed at transaction end */
+    private long windowMs;
+    /** Grade updates that marked a student dirty */
+    private long signalsReceived;
+    /** Recalculations actually run (one per dirty student per flush) */
+    private long recalculations;
+    private long flushes;
+    private long failures;
+    private int pendingStudents;
+    /** signalsReceived / recalculations; null before the first recalculation */
+    private Double coalescingRatio;
+
+    public GpaRecalculationMetricsDTO() {
+    }
+
+    // Getters and Setters
+    public long getWindowMs() { return windowMs; }
+    public void setWindowMs(long windowMs) { this.windowMs = windowMs; }
+
+    public long getSignalsReceived() { return signalsReceived; }
+    public void setSignalsReceived(long signalsReceived) { this.signalsReceived = signalsReceived; }
+
+    public long getRecalculations() { return recalculations; }
+    public void setRecalculations(long recalculations) { this.recalculations = recalculations; }
+
+    public long getFlushes() { return flushes; }
+    public void setFlushes(long flushes) { this.flushes = flushes; }
+
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+
+    public int getPendingStudents() { return pendingStudents; }
+    public void setPendingStudents(int pendingStudents) { this.pendingStudents = pendingStudents; }
+
+    public Double getCoalescingRatio() { return coalescingRatio; }
+    public void setCoalescingRatio(Double coalescingRatio) { this.coalescingRatio = coalescingRatio; }
+}
@@ -0,0 +1,77 @@
+package com.spts.dto;
+
+import com.spts.entity.GpaRecomputeJobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of a bulk GPA recompute job, with throughput and estimated time remaining.
+ * 
+ * @author SPTS Team
+ */
+public class GpaRecomputeJobDTO {
+
+    private Long id;
+    private GpaRecomputeJobStatus status;
+    private long totalStudents;
+    private long processedStudents;
+    private double percentComplete;
+    /** Highest student ID below which every chunk has committed */
+    private Long checkpointStudentId;
+    private Integer chunkSize;
+    private LocalDateTime startedAt;
+    private LocalDateTime resumedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    /** Students per second since the job was started or last resumed */
+    private Double throughputPerSecond;
+    /** Estimated seconds remaining; null when not running or no throughput yet */
+    private Long etaSeconds;
+    private String errorMessage;
+
+    public GpaRecomputeJobDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public GpaRecomputeJobStatus getStatus() { return status; }
+    public void setStatus(GpaRecomputeJobStatus status) { this.status = status; }
+
+    public long getTotalStudents() { return totalStudents; }
+    public void setTotalStudents(long totalStudents) { this.totalStudents = totalStudents; }
+
+    public long getProcessedStudents() { return processedStudents; }
+    public void setProcessedStudents(long processedStudents) { this.processedStudents = processedStudents; }
+
+    public double getPercentComplete() { return percentComplete; }
+    public void setPercentComplete(double percentComplete) { this.percentComplete = percentComplete; }
+
+    public Long getCheckpointStudentId() { return checkpointStudentId; }
+    public void setCheckpointStudentId(Long checkpointStudentId) { this.checkpointStudentId = checkpointStudentId; }
+
+    public Integer getChunkSize() { return chunkSize; }
+    public void setChunkSize(Integer chunkSize) { this.chunkSize = chunkSize; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getResumedAt() { return resumedAt; }
+    public void setResumedAt(LocalDateTime resumedAt) { this.resumedAt = resumedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public Double getThroughputPerSecond() { return throughputPerSecond; }
+    public void setThroughputPerSecond(Double throughputPerSecond) { this.throughputPerSecond = throughputPerSecond; }
+
+    public Long getEtaSeconds() { return etaSeconds; }
+    public void setEtaSeconds(Long etaSeconds) { this.etaSeconds = etaSeconds; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
@@ -0,0 +1,34 @@
+package com.spts.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of reconciling the students' running GPA sums against a full recompute.
+ * 
+ * @author SPTS Team
+ */
+public class GpaReconciliationDTO {
+
+    private long studentsChecked;
+    private long mismatched;
+    private long repaired;
+    /** Database IDs of mismatched students (first 100) */
+    private List<Long> mismatchedStudentIds = new ArrayList<>();
+
+    public GpaReconciliationDTO() {
+    }
+
+    // Getters and Setters
+    public long getStudentsChecked() { return studentsChecked; }
+    public void setStudentsChecked(long studentsChecked) { this.studentsChecked = studentsChecked; }
+
+    public long getMismatched() { return mismatched; }
+    public void setMismatched(long mismatched) { this.mismatched = mismatched; }
+
+    public long getRepaired() { return repaired; }
+    public void setRepaired(long repaired) { this.repaired = repaired; }
+
+    public List<Long> getMismatchedStudentIds() { return mismatchedStudentIds; }
+    public void setMismatchedStudentIds(List<Long> mismatchedStudentIds) { this.mismatchedStudentIds = mismatchedStudentIds; }
+}
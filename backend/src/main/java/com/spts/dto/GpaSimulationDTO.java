@@ -0,0 +1,116 @@
+package com.spts.dto;
+
+import com.spts.entity.StudentStatus;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a what-if GPA simulation: the projected GPA and status, and
+ * optionally the minimum score needed to reach a target GPA.
+ * 
+ * @author SPTS Team
+ */
+public class GpaSimulationDTO {
+
+    private Long studentId;
+    private Double currentGpa;
+    private StudentStatus currentStatus;
+    private Double projectedGpa;
+    private StudentStatus projectedStatus;
+    /** Graded credits counted in the projected GPA */
+    private int projectedGradedCredits;
+    private List<SimulatedEnrollment> simulatedEnrollments = new ArrayList<>();
+    /** Present when a target GPA was requested */
+    private TargetSolution target;
+
+    public GpaSimulationDTO() {
+    }
+
+    // Getters and Setters
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Double getCurrentGpa() { return currentGpa; }
+    public void setCurrentGpa(Double currentGpa) { this.currentGpa = currentGpa; }
+
+    public StudentStatus getCurrentStatus() { return currentStatus; }
+    public void setCurrentStatus(StudentStatus currentStatus) { this.currentStatus = currentStatus; }
+
+    public Double getProjectedGpa() { return projectedGpa; }
+    public void setProjectedGpa(Double projectedGpa) { this.projectedGpa = projectedGpa; }
+
+    public StudentStatus getProjectedStatus() { return projectedStatus; }
+    public void setProjectedStatus(StudentStatus projectedStatus) { this.projectedStatus = projectedStatus; }
+
+    public int getProjectedGradedCredits() { return projectedGradedCredits; }
+    public void setProjectedGradedCredits(int projectedGradedCredits) { this.projectedGradedCredits = projectedGradedCredits; }
+
+    public List<SimulatedEnrollment> getSimulatedEnrollments() { return simulatedEnrollments; }
+    public void setSimulatedEnrollments(List<SimulatedEnrollment> simulatedEnrollments) { this.simulatedEnrollments = simulatedEnrollments; }
+
+    public TargetSolution getTarget() { return target; }
+    public void setTarget(TargetSolution target) { this.target = target; }
+
+    /**
+     * Projected grade of one enrollment with hypothetical scores.
+     */
+    public static class SimulatedEnrollment {
+        private Long enrollmentId;
+        private String courseCode;
+        private Integer credits;
+        private String gradingScale;
+        private Double projectedScore;
+        private String projectedLetterGrade;
+        private Double projectedGpaValue;
+
+        public SimulatedEnrollment() {}
+
+        public Long getEnrollmentId() { return enrollmentId; }
+        public void setEnrollmentId(Long enrollmentId) { this.enrollmentId = enrollmentId; }
+        public String getCourseCode() { return courseCode; }
+        public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+        public Integer getCredits() { return credits; }
+        public void setCredits(Integer credits) { this.credits = credits; }
+        public String getGradingScale() { return gradingScale; }
+        public void setGradingScale(String gradingScale) { this.gradingScale = gradingScale; }
+        public Double getProjectedScore() { return projectedScore; }
+        public void setProjectedScore(Double projectedScore) { this.projectedScore = projectedScore; }
+        public String getProjectedLetterGrade() { return projectedLetterGrade; }
+        public void setProjectedLetterGrade(String projectedLetterGrade) { this.projectedLetterGrade = projectedLetterGrade; }
+        public Double getProjectedGpaValue() { return projectedGpaValue; }
+        public void setProjectedGpaValue(Double projectedGpaValue) { this.projectedGpaValue = projectedGpaValue; }
+    }
+
+    /**
+     * Minimum score on the solved enrollment or grade entry that reaches the target GPA,
+     * with every other hypothetical score held fixed.
+     */
+    public static class TargetSolution {
+        private Double targetGpa;
+        private Long enrollmentId;
+        private Long gradeEntryId;
+        /** false if even a score of 10 does not reach the target */
+        private boolean achievable;
+        /** Minimum score (0.01 steps); null if not achievable */
+        private Double requiredScore;
+        private Double gpaAtRequiredScore;
+        private StudentStatus statusAtRequiredScore;
+
+        public TargetSolution() {}
+
+        public Double getTargetGpa() { return targetGpa; }
+        public void setTargetGpa(Double targetGpa) { this.targetGpa = targetGpa; }
+        public Long getEnrollmentId() { return enrollmentId; }
+        public void setEnrollmentId(Long enrollmentId) { this.enrollmentId = enrollmentId; }
+        public Long getGradeEntryId() { return gradeEntryId; }
+        public void setGradeEntryId(Long gradeEntryId) { this.gradeEntryId = gradeEntryId; }
+        public boolean isAchievable() { return achievable; }
+        public void setAchievable(boolean achievable) { this.achievable = achievable; }
+        public Double getRequiredScore() { return requiredScore; }
+        public void setRequiredScore(Double requiredScore) { this.requiredScore = requiredScore; }
+        public Double getGpaAtRequiredScore() { return gpaAtRequiredScore; }
+        public void setGpaAtRequiredScore(Double gpaAtRequiredScore) { this.gpaAtRequiredScore = gpaAtRequiredScore; }
+        public StudentStatus getStatusAtRequiredScore() { return statusAtRequiredScore; }
+        public void setStatusAtRequiredScore(StudentStatus statusAtRequiredScore) { this.statusAtRequiredScore = statusAtRequiredScore; }
+    }
+}
@@ -0,0 +1,93 @@
+package com.spts.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hypothetical scores for a what-if GPA simulation.
+ * Nothing in the request is persisted.
+ * 
+ * @author SPTS Team
+ */
+public class GpaSimulationRequestDTO {
+
+    /** Hypothetical final scores of in-progress enrollments (take precedence over entry scores) */
+    @Valid
+    private List<EnrollmentScore> enrollmentScores = new ArrayList<>();
+
+    /** Hypothetical scores of leaf grade entries (components) of in-progress enrollments */
+    @Valid
+    private List<EntryScore> entryScores = new ArrayList<>();
+
+    /** Optional GPA to reach; requires solveForEnrollmentId or solveForGradeEntryId */
+    @DecimalMin(value = "0.0", message = "Target GPA cannot be less than 0")
+    @DecimalMax(value = "4.0", message = "Target GPA cannot exceed 4")
+    private Double targetGpa;
+
+    /** In-progress enrollment whose final score is solved for */
+    private Long solveForEnrollmentId;
+
+    /** Leaf grade entry whose score is solved for (e.g. the final exam) */
+    private Long solveForGradeEntryId;
+
+    public GpaSimulationRequestDTO() {
+    }
+
+    // Getters and Setters
+    public List<EnrollmentScore> getEnrollmentScores() { return enrollmentScores; }
+    public void setEnrollmentScores(List<EnrollmentScore> enrollmentScores) { this.enrollmentScores = enrollmentScores; }
+
+    public List<EntryScore> getEntryScores() { return entryScores; }
+    public void setEntryScores(List<EntryScore> entryScores) { this.entryScores = entryScores; }
+
+    public Double getTargetGpa() { return targetGpa; }
+    public void setTargetGpa(Double targetGpa) { this.targetGpa = targetGpa; }
+
+    public Long getSolveForEnrollmentId() { return solveForEnrollmentId; }
+    public void setSolveForEnrollmentId(Long solveForEnrollmentId) { this.solveForEnrollmentId = solveForEnrollmentId; }
+
+    public Long getSolveForGradeEntryId() { return solveForGradeEntryId; }
+    public void setSolveForGradeEntryId(Long solveForGradeEntryId) { this.solveForGradeEntryId = solveForGradeEntryId; }
+
+    /**
+     * Hypothetical final score of one enrollment (0-10 scale).
+     */
+    public static class EnrollmentScore {
+        @NotNull(message = "Enrollment ID is required")
+        private Long enrollmentId;
+
+        @NotNull(message = "Score is required")
+        @DecimalMin(value = "0.0", message = "Score cannot be less than 0")
+        @DecimalMax(value = "10.0", message = "Score cannot exceed 10")
+        private Double score;
+
+        public EnrollmentScore() {}
+
+        public Long getEnrollmentId() { return enrollmentId; }
+        public void setEnrollmentId(Long enrollmentId) { this.enrollmentId = enrollmentId; }
+        public Double getScore() { return score; }
+        public void setScore(Double score) { this.score = score; }
+    }
+
+    /**
+     * Hypothetical score of one grade entry (0-10 scale).
+     */
+    public static class EntryScore {
+        @NotNull(message = "Grade entry ID is required")
+        private Long gradeEntryId;
+
+        @NotNull(message = "Score is required")
+        @DecimalMin(value = "0.0", message = "Score cannot be less than 0")
+        @DecimalMax(value = "10.0", message = "Score cannot exceed 10")
+        private Double score;
+
+        public EntryScore() {}
+
+        public Long getGradeEntryId() { return gradeEntryId; }
+        public void setGradeEntryId(Long gradeEntryId) { this.gradeEntryId = gradeEntryId; }
+        public Double getScore() { return score; }
+        public void setScore(Double score) { this.score = score; }
+    }
+}
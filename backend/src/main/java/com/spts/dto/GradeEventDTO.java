@@ -0,0 +1,57 @@
+package com.spts.dto;
+
+import com.spts.entity.GradeEventStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for GradeEventOutbox entity.
+ * 
+ * @author SPTS Team
+ */
+public class GradeEventDTO {
+
+    private Long id;
+    private Long studentId;
+    private Long enrollmentId;
+    private Long gradeEntryId;
+    private GradeEventStatus status;
+    private Integer attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime deliveredAt;
+    private String lastError;
+
+    public GradeEventDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public Long getEnrollmentId() { return enrollmentId; }
+    public void setEnrollmentId(Long enrollmentId) { this.enrollmentId = enrollmentId; }
+
+    public Long getGradeEntryId() { return gradeEntryId; }
+    public void setGradeEntryId(Long gradeEntryId) { this.gradeEntryId = gradeEntryId; }
+
+    public GradeEventStatus getStatus() { return status; }
+    public void setStatus(GradeEventStatus status) { this.status = status; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getDeliveredAt() { return deliveredAt; }
+    public void setDeliveredAt(LocalDateTime deliveredAt) { this.deliveredAt = deliveredAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -0,0 +1,37 @@
+package com.spts.dto;
+
+/**
+ * Event counts of the grade event outbox by delivery status.
+ * 
+ * @author SPTS Team
+ */
+public class GradeEventOutboxStatsDTO {
+
+    /** Events waiting for delivery or for a retry */
+    private long pending;
+    /** Delivered events not yet purged by the retention period */
+    private long delivered;
+    /** Events that exhausted their attempts; redelivered only by a replay */
+    private long deadLetter;
+    private int batchSize;
+    private int maxAttempts;
+
+    public GradeEventOutboxStatsDTO() {
+    }
+
+    // Getters and Setters
+    public long getPending() { return pending; }
+    public void setPending(long pending) { this.pending = pending; }
+
+    public long getDelivered() { return delivered; }
+    public void setDelivered(long delivered) { this.delivered = delivered; }
+
+    public long getDeadLetter() { return deadLetter; }
+    public void setDeadLetter(long deadLetter) { this.deadLetter = deadLetter; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+}
@@ -0,0 +1,79 @@
+package com.spts.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queue depths and counters of the student-partitioned grade observer lanes.
+ * 
+ * @author SPTS Team
+ */
+public class ObserverLaneMetricsDTO {
+
+    private boolean asyncDispatch;
+    private int laneCount;
+    /** Maximum queued events per lane before backpressure applies */
+    private int queueCapacity;
+    private long submitted;
+    /** Events run on the committing thread because their lane was full */
+    private long callerRuns;
+    private long failures;
+    private int totalDepth;
+    private List<Lane> lanes = new ArrayList<>();
+
+    public ObserverLaneMetricsDTO() {
+    }
+
+    // Getters and Setters
+    public boolean isAsyncDispatch() { return asyncDispatch; }
+    public void setAsyncDispatch(boolean asyncDispatch) { this.asyncDispatch = asyncDispatch; }
+
+    public int getLaneCount() { return laneCount; }
+    public void setLaneCount(int laneCount) { this.laneCount = laneCount; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public long getSubmitted() { return submitted; }
+    public void setSubmitted(long submitted) { this.submitted = submitted; }
+
+    public long getCallerRuns() { return callerRuns; }
+    public void setCallerRuns(long callerRuns) { this.callerRuns = callerRuns; }
+
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+
+    public int getTotalDepth() { return totalDepth; }
+    public void setTotalDepth(int totalDepth) { this.totalDepth = totalDepth; }
+
+    public List<Lane> getLanes() { return lanes; }
+    public void setLanes(List<Lane> lanes) { this.lanes = lanes; }
+
+    /**
+     * One single-threaded lane.
+     */
+    public static class Lane {
+        private int index;
+        private int depth;
+        private int peakDepth;
+        private long processed;
+
+        public Lane() {}
+
+        public Lane(int index, int depth, int peakDepth, long processed) {
+            this.index = index;
+            this.depth = depth;
+            this.peakDepth = peakDepth;
+            this.processed = processed;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public int getDepth() { return depth; }
+        public void setDepth(int depth) { this.depth = depth; }
+        public int getPeakDepth() { return peakDepth; }
+        public void setPeakDepth(int peakDepth) { this.peakDepth = peakDepth; }
+        public long getProcessed() { return processed; }
+        public void setProcessed(long processed) { this.processed = processed; }
+    }
+}
@@ -0,0 +1,39 @@
+package com.spts.dto;
+
+/**
+ * Registration state of one grade observer.
+ * 
+ * @author SPTS Team
+ */
+public class ObserverStatusDTO {
+
+    private String name;
+    private int priority;
+    private boolean enabled;
+    /** CLOSED, OPEN or HALF_OPEN */
+    private String circuitState;
+    private int consecutiveFailures;
+    private long timesOpened;
+
+    public ObserverStatusDTO() {
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getCircuitState() { return circuitState; }
+    public void setCircuitState(String circuitState) { this.circuitState = circuitState; }
+
+    public int getConsecutiveFailures() { return consecutiveFailures; }
+    public void setConsecutiveFailures(int consecutiveFailures) { this.consecutiveFailures = consecutiveFailures; }
+
+    public long getTimesOpened() { return timesOpened; }
+    public void setTimesOpened(long timesOpened) { this.timesOpened = timesOpened; }
+}
@@ -0,0 +1,30 @@
+package com.spts.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of recomputing every student's GPA and status in one SQL statement.
+ * 
+ * @author SPTS Team
+ */
+public class SetBasedGpaRecomputeDTO {
+
+    private long statusChanges;
+    /** Database IDs of students whose status changed (first 100) */
+    private List<Long> changedStudentIds = new ArrayList<>();
+    private long durationMs;
+
+    public SetBasedGpaRecomputeDTO() {
+    }
+
+    // Getters and Setters
+    public long getStatusChanges() { return statusChanges; }
+    public void setStatusChanges(long statusChanges) { this.statusChanges = statusChanges; }
+
+    public List<Long> getChangedStudentIds() { return changedStudentIds; }
+    public void setChangedStudentIds(List<Long> changedStudentIds) { this.changedStudentIds = changedStudentIds; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
@@ -1,6 +1,7 @@
 package com.spts.dto;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * DTOs for advanced statistics in Admin Dashboard
@@ -19,7 +20,11 @@ public class StatisticsDTO {
         private Integer credits;
         private Long totalEnrollments;
         private Long completedEnrollments;
+        private Long totalStudents;
         private Double averageScore;
+        private Double p10Score;
+        private Double medianScore;
+        private Double p90Score;
 
         public CourseEnrollmentStats() {}
 
@@ -45,8 +50,16 @@ public class StatisticsDTO {
         public void setTotalEnrollments(Long totalEnrollments) { this.totalEnrollments = totalEnrollments; }
         public Long getCompletedEnrollments() { return completedEnrollments; }
         public void setCompletedEnrollments(Long completedEnrollments) { this.completedEnrollments = completedEnrollments; }
+        public Long getTotalStudents() { return totalStudents; }
+        public void setTotalStudents(Long totalStudents) { this.totalStudents = totalStudents; }
         public Double getAverageScore() { return averageScore; }
         public void setAverageScore(Double averageScore) { this.averageScore = averageScore; }
+        public Double getP10Score() { return p10Score; }
+        public void setP10Score(Double p10Score) { this.p10Score = p10Score; }
+        public Double getMedianScore() { return medianScore; }
+        public void setMedianScore(Double medianScore) { this.medianScore = medianScore; }
+        public Double getP90Score() { return p90Score; }
+        public void setP90Score(Double p90Score) { this.p90Score = p90Score; }
     }
 
     /**
@@ -89,7 +102,11 @@ public class StatisticsDTO {
         private String period; // e.g., "Fall 2024"
         private Long enrollmentCount;
         private Long completedCount;
+        private Long studentCount;
         private Double averageScore;
+        private Double p10Score;
+        private Double medianScore;
+        private Double p90Score;
 
         public EnrollmentTrend() {}
 
@@ -111,8 +128,16 @@ public class StatisticsDTO {
         public void setEnrollmentCount(Long enrollmentCount) { this.enrollmentCount = enrollmentCount; }
         public Long getCompletedCount() { return completedCount; }
         public void setCompletedCount(Long completedCount) { this.completedCount = completedCount; }
+        public Long getStudentCount() { return studentCount; }
+        public void setStudentCount(Long studentCount) { this.studentCount = studentCount; }
         public Double getAverageScore() { return averageScore; }
         public void setAverageScore(Double averageScore) { this.averageScore = averageScore; }
+        public Double getP10Score() { return p10Score; }
+        public void setP10Score(Double p10Score) { this.p10Score = p10Score; }
+        public Double getMedianScore() { return medianScore; }
+        public void setMedianScore(Double medianScore) { this.medianScore = medianScore; }
+        public Double getP90Score() { return p90Score; }
+        public void setP90Score(Double p90Score) { this.p90Score = p90Score; }
     }
 
     /**
@@ -155,6 +180,9 @@ public class StatisticsDTO {
         private Long completedEnrollments;
         private Double overallAverageGpa;
 
+        // Sections that failed or timed out (null/absent in this response)
+        private List<String> unavailableSections;
+
         public AdminDashboardStats() {}
 
         // Getters and Setters
@@ -174,5 +202,137 @@ public class StatisticsDTO {
         public void setCompletedEnrollments(Long completedEnrollments) { this.completedEnrollments = completedEnrollments; }
         public Double getOverallAverageGpa() { return overallAverageGpa; }
         public void setOverallAverageGpa(Double overallAverageGpa) { this.overallAverageGpa = overallAverageGpa; }
+        public List<String> getUnavailableSections() { return unavailableSections; }
+        public void setUnavailableSections(List<String> unavailableSections) { this.unavailableSections = unavailableSections; }
+    }
+
+    /**
+     * One group of an ad-hoc analytics query
+     */
+    public static class QueryCell {
+        private Map<String, Object> group;
+        private Long enrollments;
+        private Long inProgress;
+        private Long completed;
+        private Long withdrawn;
+        private Long distinctStudents;
+        private Double averageGpa;
+        private Double averageScore;
+
+        public QueryCell() {}
+
+        // Getters and Setters
+        public Map<String, Object> getGroup() { return group; }
+        public void setGroup(Map<String, Object> group) { this.group = group; }
+        public Long getEnrollments() { return enrollments; }
+        public void setEnrollments(Long enrollments) { this.enrollments = enrollments; }
+        public Long getInProgress() { return inProgress; }
+        public void setInProgress(Long inProgress) { this.inProgress = inProgress; }
+        public Long getCompleted() { return completed; }
+        public void setCompleted(Long completed) { this.completed = completed; }
+        public Long getWithdrawn() { return withdrawn; }
+        public void setWithdrawn(Long withdrawn) { this.withdrawn = withdrawn; }
+        public Long getDistinctStudents() { return distinctStudents; }
+        public void setDistinctStudents(Long distinctStudents) { this.distinctStudents = distinctStudents; }
+        public Double getAverageGpa() { return averageGpa; }
+        public void setAverageGpa(Double averageGpa) { this.averageGpa = averageGpa; }
+        public Double getAverageScore() { return averageScore; }
+        public void setAverageScore(Double averageScore) { this.averageScore = averageScore; }
+    }
+
+    /**
+     * Result of an ad-hoc analytics query (filter + group-by)
+     */
+    public static class QueryResult {
+        private List<String> groupBy;
+        private Long matchedEnrollments;
+        private Long elapsedMicros;
+        private List<QueryCell> cells;
+
+        public QueryResult() {}
+
+        // Getters and Setters
+        public List<String> getGroupBy() { return groupBy; }
+        public void setGroupBy(List<String> groupBy) { this.groupBy = groupBy; }
+        public Long getMatchedEnrollments() { return matchedEnrollments; }
+        public void setMatchedEnrollments(Long matchedEnrollments) { this.matchedEnrollments = matchedEnrollments; }
+        public Long getElapsedMicros() { return elapsedMicros; }
+        public void setElapsedMicros(Long elapsedMicros) { this.elapsedMicros = elapsedMicros; }
+        public List<QueryCell> getCells() { return cells; }
+        public void setCells(List<QueryCell> cells) { this.cells = cells; }
+    }
+
+    /**
+     * Score distribution (fixed 0.1-wide buckets over 0-10) with percentiles and letter grades
+     */
+    public static class ScoreDistribution {
+        private String scope;
+        private Long count;
+        private Double mean;
+        private Double p10;
+        private Double p25;
+        private Double median;
+        private Double p75;
+        private Double p90;
+        private Double bucketWidth;
+        private long[] scoreBuckets; // index i = scores rounding to i * bucketWidth
+        private Map<String, Long> letterGrades;
+
+        public ScoreDistribution() {}
+
+        // Getters and Setters
+        public String getScope() { return scope; }
+        public void setScope(String scope) { this.scope = scope; }
+        public Long getCount() { return count; }
+        public void setCount(Long count) { this.count = count; }
+        public Double getMean() { return mean; }
+        public void setMean(Double mean) { this.mean = mean; }
+        public Double getP10() { return p10; }
+        public void setP10(Double p10) { this.p10 = p10; }
+        public Double getP25() { return p25; }
+        public void setP25(Double p25) { this.p25 = p25; }
+        public Double getMedian() { return median; }
+        public void setMedian(Double median) { this.median = median; }
+        public Double getP75() { return p75; }
+        public void setP75(Double p75) { this.p75 = p75; }
+        public Double getP90() { return p90; }
+        public void setP90(Double p90) { this.p90 = p90; }
+        public Double getBucketWidth() { return bucketWidth; }
+        public void setBucketWidth(Double bucketWidth) { this.bucketWidth = bucketWidth; }
+        public long[] getScoreBuckets() { return scoreBuckets; }
+        public void setScoreBuckets(long[] scoreBuckets) { this.scoreBuckets = scoreBuckets; }
+        public Map<String, Long> getLetterGrades() { return letterGrades; }
+        public void setLetterGrades(Map<String, Long> letterGrades) { this.letterGrades = letterGrades; }
+    }
+
+    /**
+     * Average term and cumulative GPA of a cohort (students by enrollment year) in one term
+     */
+    public static class CohortTermGpa {
+        private Integer cohortYear;
+        private String semester;
+        private Integer academicYear;
+        private String period; // e.g., "Fall 2024"
+        private Long studentCount;
+        private Double averageTermGpa;
+        private Double averageCumulativeGpa;
+
+        public CohortTermGpa() {}
+
+        // Getters and Setters
+        public Integer getCohortYear() { return cohortYear; }
+        public void setCohortYear(Integer cohortYear) { this.cohortYear = cohortYear; }
+        public String getSemester() { return semester; }
+        public void setSemester(String semester) { this.semester = semester; }
+        public Integer getAcademicYear() { return academicYear; }
+        public void setAcademicYear(Integer academicYear) { this.academicYear = academicYear; }
+        public String getPeriod() { return period; }
+        public void setPeriod(String period) { this.period = period; }
+        public Long getStudentCount() { return studentCount; }
+        public void setStudentCount(Long studentCount) { this.studentCount = studentCount; }
+        public Double getAverageTermGpa() { return averageTermGpa; }
+        public void setAverageTermGpa(Double averageTermGpa) { this.averageTermGpa = averageTermGpa; }
+        public Double getAverageCumulativeGpa() { return averageCumulativeGpa; }
+        public void setAverageCumulativeGpa(Double averageCumulativeGpa) { this.averageCumulativeGpa = averageCumulativeGpa; }
     }
 }
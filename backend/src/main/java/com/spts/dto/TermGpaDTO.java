@@ -0,0 +1,48 @@
+package com.spts.dto;
+
+import com.spts.entity.Semester;
+
+/**
+ * A student's GPA for one term and cumulatively after it (one GPA timeline point).
+ * 
+ * @author SPTS Team
+ */
+public class TermGpaDTO {
+
+    private Semester semester;
+    private Integer academicYear;
+    private String period; // e.g., "Fall 2024"
+    private Double termGpa;
+    private Integer gradedCredits;
+    private Integer earnedCredits;
+    private Double cumulativeGpa;
+    private Integer cumulativeGradedCredits;
+
+    public TermGpaDTO() {
+    }
+
+    // Getters and Setters
+    public Semester getSemester() { return semester; }
+    public void setSemester(Semester semester) { this.semester = semester; }
+
+    public Integer getAcademicYear() { return academicYear; }
+    public void setAcademicYear(Integer academicYear) { this.academicYear = academicYear; }
+
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+
+    public Double getTermGpa() { return termGpa; }
+    public void setTermGpa(Double termGpa) { this.termGpa = termGpa; }
+
+    public Integer getGradedCredits() { return gradedCredits; }
+    public void setGradedCredits(Integer gradedCredits) { this.gradedCredits = gradedCredits; }
+
+    public Integer getEarnedCredits() { return earnedCredits; }
+    public void setEarnedCredits(Integer earnedCredits) { this.earnedCredits = earnedCredits; }
+
+    public Double getCumulativeGpa() { return cumulativeGpa; }
+    public void setCumulativeGpa(Double cumulativeGpa) { this.cumulativeGpa = cumulativeGpa; }
+
+    public Integer getCumulativeGradedCredits() { return cumulativeGradedCredits; }
+    public void setCumulativeGradedCredits(Integer cumulativeGradedCredits) { this.cumulativeGradedCredits = cumulativeGradedCredits; }
+}
@@ -18,7 +18,13 @@ import java.time.LocalDateTime;
  * @author SPTS Team
  */
 @Entity
-@Table(name = "alerts")
+@Table(name = "alerts", indexes = {
+        // Keyset feeds: newest first by (created_at, id), optionally filtered
+        @Index(name = "idx_alerts_created", columnList = "created_at, id"),
+        @Index(name = "idx_alerts_read_created", columnList = "is_read, created_at, id"),
+        @Index(name = "idx_alerts_resolved_created", columnList = "is_resolved, created_at, id"),
+        @Index(name = "idx_alerts_level_created", columnList = "level, created_at, id")
+})
 public class Alert {
 
     @Id
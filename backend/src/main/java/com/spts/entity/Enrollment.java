@@ -2,9 +2,11 @@ package com.spts.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Enrollment entity - Represents a student's enrollment in a specific course offering.
@@ -16,9 +18,13 @@ import java.util.List;
  * - finalScore >= 0 AND finalScore <= 10
  * - gpaValue >= 0.0 AND gpaValue <= 4.0
  * 
+ * Updates write only the changed columns, so a transaction changing a grade
+ * never writes back a counted grade it read before another transaction counted it.
+ * 
  * @author SPTS Team
  */
 @Entity
+@DynamicUpdate
 @Table(name = "enrollments",
        uniqueConstraints = @UniqueConstraint(
            columnNames = {"student_id", "course_offering_id"},
@@ -80,6 +86,17 @@ public class Enrollment {
     @OneToMany(mappedBy = "enrollment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<GradeEntry> gradeEntries = new ArrayList<>();
 
+    /**
+     * GPA value and credits currently counted in the student's running GPA sums
+     * (null = not counted). StudentService adjusts the sums by the difference to
+     * the current grade, so a change missed by one write is caught up by the next.
+     */
+    @Column(name = "counted_gpa_value")
+    private Double countedGpaValue;
+
+    @Column(name = "counted_credits")
+    private Integer countedCredits;
+
     // Constructors
     public Enrollment() {
         this.enrolledAt = LocalDateTime.now();
@@ -189,6 +206,44 @@ public class Enrollment {
         gradeEntry.setEnrollment(this);
     }
 
+    /**
+     * An enrollment counts towards GPA once it has both a final score and a GPA value
+     */
+    public boolean isGraded() {
+        return finalScore != null && gpaValue != null;
+    }
+
+    /**
+     * @return GPA value counted in the student's running sums, or null if not counted
+     */
+    public Double getCountedGpaValue() {
+        return countedGpaValue;
+    }
+
+    /**
+     * @return Credits counted in the student's running sums, or null if not counted
+     */
+    public Integer getCountedCredits() {
+        return countedCredits;
+    }
+
+    /**
+     * @return true if the grade or credits differ from what the student's sums count
+     */
+    public boolean hasUncountedGpaChange() {
+        Double gpa = isGraded() ? gpaValue : null;
+        Integer credits = gpa != null ? getCredits() : null;
+        return !Objects.equals(countedGpaValue, gpa) || !Objects.equals(countedCredits, credits);
+    }
+
+    /**
+     * Record that the current grade has been applied to the student's running sums
+     */
+    public void markGpaCounted() {
+        this.countedGpaValue = isGraded() ? gpaValue : null;
+        this.countedCredits = countedGpaValue != null ? getCredits() : null;
+    }
+
     /**
      * Mark enrollment as completed with final score
      */
@@ -0,0 +1,182 @@
+package com.spts.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+/**
+ * GpaRecomputeJob entity - Progress of a bulk GPA recompute over all students.
+ * 
+ * Students are processed in chunks of consecutive IDs, each chunk in its own
+ * transaction. The checkpoint is the highest student ID below which every chunk
+ * has committed, so an interrupted job resumes after it without redoing work.
+ * 
+ * OCL Constraints:
+ * - processedStudents <= totalStudents
+ * - chunkSize > 0
+ * - status = COMPLETED implies finishedAt <> null
+ * 
+ * @author SPTS Team
+ */
+@Entity
+@Table(name = "gpa_recompute_jobs")
+public class GpaRecomputeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @NotNull(message = "Status is required")
+    private GpaRecomputeJobStatus status = GpaRecomputeJobStatus.RUNNING;
+
+    @Column(name = "total_students", nullable = false)
+    @Min(value = 0, message = "Total students cannot be negative")
+    private Long totalStudents = 0L;
+
+    @Column(name = "processed_students", nullable = false)
+    @Min(value = 0, message = "Processed students cannot be negative")
+    private Long processedStudents = 0L;
+
+    @Column(name = "checkpoint_student_id", nullable = false)
+    private Long checkpointStudentId = 0L;
+
+    @Column(name = "chunk_size", nullable = false)
+    @Min(value = 1, message = "Chunk size must be positive")
+    private Integer chunkSize;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "resumed_at")
+    private LocalDateTime resumedAt;
+
+    /** Students already processed when the job was last resumed (throughput baseline) */
+    @Column(name = "processed_at_resume", nullable = false)
+    private Long processedAtResume = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    // Constructors
+    public GpaRecomputeJob() {
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public GpaRecomputeJob(Long totalStudents, Integer chunkSize) {
+        this.totalStudents = totalStudents;
+        this.chunkSize = chunkSize;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public GpaRecomputeJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GpaRecomputeJobStatus status) {
+        this.status = status;
+    }
+
+    public Long getTotalStudents() {
+        return totalStudents;
+    }
+
+    public void setTotalStudents(Long totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+
+    public Long getProcessedStudents() {
+        return processedStudents;
+    }
+
+    public void setProcessedStudents(Long processedStudents) {
+        this.processedStudents = processedStudents;
+    }
+
+    public Long getCheckpointStudentId() {
+        return checkpointStudentId;
+    }
+
+    public void setCheckpointStudentId(Long checkpointStudentId) {
+        this.checkpointStudentId = checkpointStudentId;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getResumedAt() {
+        return resumedAt;
+    }
+
+    public void setResumedAt(LocalDateTime resumedAt) {
+        this.resumedAt = resumedAt;
+    }
+
+    public Long getProcessedAtResume() {
+        return processedAtResume;
+    }
+
+    public void setProcessedAtResume(Long processedAtResume) {
+        this.processedAtResume = processedAtResume;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * @return True if the job still has students to process
+     */
+    public boolean isRunning() {
+        return status == GpaRecomputeJobStatus.RUNNING;
+    }
+}
@@ -0,0 +1,24 @@
+package com.spts.entity;
+
+/**
+ * Enumeration of bulk GPA recompute job states.
+ * 
+ * @author SPTS Team
+ */
+public enum GpaRecomputeJobStatus {
+
+    /**
+     * Chunks are being processed (or the job was interrupted and will resume on startup)
+     */
+    RUNNING,
+
+    /**
+     * Every student has been recalculated
+     */
+    COMPLETED,
+
+    /**
+     * A chunk failed; the job can be resumed from its checkpoint
+     */
+    FAILED
+}
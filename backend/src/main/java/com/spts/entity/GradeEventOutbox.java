@@ -0,0 +1,199 @@
+package com.spts.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+/**
+ * GradeEventOutbox entity - A grade change waiting to be delivered to the grade observers.
+ * 
+ * Written in the same transaction as the grade change, so an event exists if and
+ * only if the change committed. The outbox poller delivers pending events at least
+ * once, in order per student; failed deliveries are retried with exponential
+ * backoff until they are moved to the dead-letter state, and a student's later
+ * events wait behind a backing-off event (but not behind a dead-lettered one).
+ * 
+ * OCL Constraints:
+ * - attempts >= 0
+ * - status = DELIVERED implies deliveredAt <> null
+ * - status = PENDING implies nextAttemptAt <> null
+ * 
+ * @author SPTS Team
+ */
+@Entity
+@Table(name = "grade_event_outbox", indexes = {
+        @Index(name = "idx_grade_event_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_grade_event_outbox_created", columnList = "created_at"),
+        @Index(name = "idx_grade_event_outbox_student", columnList = "student_id, status, id")
+})
+public class GradeEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    @Column(name = "enrollment_id", nullable = false)
+    @NotNull(message = "Enrollment ID is required")
+    private Long enrollmentId;
+
+    /** Null when the enrollment's final grade changed without a specific entry */
+    @Column(name = "grade_entry_id")
+    private Long gradeEntryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @NotNull(message = "Status is required")
+    private GradeEventStatus status = GradeEventStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Min(value = 0, message = "Attempts cannot be negative")
+    private Integer attempts = 0;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Constructors
+    public GradeEventOutbox() {
+    }
+
+    public GradeEventOutbox(Long studentId, Long enrollmentId, Long gradeEntryId) {
+        this.studentId = studentId;
+        this.enrollmentId = enrollmentId;
+        this.gradeEntryId = gradeEntryId;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public void setEnrollmentId(Long enrollmentId) {
+        this.enrollmentId = enrollmentId;
+    }
+
+    public Long getGradeEntryId() {
+        return gradeEntryId;
+    }
+
+    public void setGradeEntryId(Long gradeEntryId) {
+        this.gradeEntryId = gradeEntryId;
+    }
+
+    public GradeEventStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GradeEventStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getDeliveredAt() {
+        return deliveredAt;
+    }
+
+    public void setDeliveredAt(LocalDateTime deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    // Business methods
+
+    /**
+     * Postpone delivery because an observer is unavailable. Not a failure of
+     * the event, so it does not count as an attempt.
+     *
+     * @param reason        Why delivery was postponed
+     * @param nextAttemptAt When to try again
+     */
+    public void defer(String reason, LocalDateTime nextAttemptAt) {
+        this.lastError = reason != null && reason.length() > 1000 ? reason.substring(0, 1000) : reason;
+        this.status = GradeEventStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * Record a failed delivery: retry after an exponentially growing delay, or
+     * dead-letter the event once maxAttempts deliveries have failed.
+     *
+     * @param error       Failure message
+     * @param maxAttempts Deliveries allowed before dead-lettering
+     * @param baseDelayMs Delay after the first failure; doubled after each further one
+     * @param maxDelayMs  Upper bound on the delay
+     * @param now         Current time
+     */
+    public void recordFailure(String error, int maxAttempts, long baseDelayMs, long maxDelayMs, LocalDateTime now) {
+        this.attempts = attempts + 1;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (attempts >= maxAttempts) {
+            this.status = GradeEventStatus.DEAD_LETTER;
+            this.nextAttemptAt = null;
+            return;
+        }
+        // Cap the exponent so the shift cannot overflow
+        long delayMs = Math.min(maxDelayMs, baseDelayMs << Math.min(attempts - 1, 30));
+        this.status = GradeEventStatus.PENDING;
+        this.nextAttemptAt = now.plusNanos(delayMs * 1_000_000);
+    }
+}
@@ -0,0 +1,24 @@
+package com.spts.entity;
+
+/**
+ * Enumeration of grade event outbox delivery states.
+ * 
+ * @author SPTS Team
+ */
+public enum GradeEventStatus {
+
+    /**
+     * Waiting for delivery to the grade observers (new, or retrying after a failure)
+     */
+    PENDING,
+
+    /**
+     * Every observer has processed the event
+     */
+    DELIVERED,
+
+    /**
+     * Delivery failed too many times; only a replay delivers it again
+     */
+    DEAD_LETTER
+}
@@ -66,6 +66,20 @@ public class Student {
     @Min(value = 0, message = "Total credits cannot be negative")
     private Integer totalCredits = 0;
 
+    /**
+     * Running Sum(gpaValue * credits) over graded enrollments.
+     * With gradedCredits it lets GPA be updated by deltas in O(1);
+     * null until the first full recalculation.
+     */
+    @Column(name = "weighted_gpa_sum")
+    private Double weightedGpaSum;
+
+    /**
+     * Running Sum(credits) over graded enrollments (GPA denominator)
+     */
+    @Column(name = "graded_credits")
+    private Integer gradedCredits;
+
     /**
      * Student academic status - managed by State Pattern
      * Values: NORMAL, AT_RISK, PROBATION, GRADUATED
@@ -89,6 +103,9 @@ public class Student {
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Alert> alerts = new ArrayList<>();
 
+    @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<StudentTermGpa> termGpas = new ArrayList<>();
+
     // Constructors
     public Student() {
         this.createdAt = LocalDateTime.now();
@@ -191,6 +208,22 @@ public class Student {
         this.totalCredits = totalCredits;
     }
 
+    public Double getWeightedGpaSum() {
+        return weightedGpaSum;
+    }
+
+    public void setWeightedGpaSum(Double weightedGpaSum) {
+        this.weightedGpaSum = weightedGpaSum;
+    }
+
+    public Integer getGradedCredits() {
+        return gradedCredits;
+    }
+
+    public void setGradedCredits(Integer gradedCredits) {
+        this.gradedCredits = gradedCredits;
+    }
+
     public StudentStatus getStatus() {
         return status;
     }
@@ -241,6 +274,10 @@ public class Student {
         alert.setStudent(this);
     }
 
+    public List<StudentTermGpa> getTermGpas() {
+        return termGpas;
+    }
+
     /**
      * Get completed enrollments only
      */
@@ -281,4 +318,68 @@ public class Student {
                 .mapToInt(Enrollment::getCredits)
                 .sum();
     }
+
+    /**
+     * @return true once the running GPA sums have been initialized by a full recalculation
+     */
+    public boolean hasGpaSums() {
+        return weightedGpaSum != null && gradedCredits != null;
+    }
+
+    /**
+     * Replace the running sums with freshly computed totals and derive gpa from them.
+     *
+     * @param weightedSum   Sum(gpaValue * credits) over graded enrollments
+     * @param credits       Sum(credits) over graded enrollments
+     * @param earnedCredits Credits of graded enrollments with a passing GPA (>= 1.0)
+     */
+    public void resetGpaSums(double weightedSum, int credits, int earnedCredits) {
+        this.weightedGpaSum = weightedSum;
+        this.gradedCredits = credits;
+        this.totalCredits = earnedCredits;
+        refreshGpaFromSums();
+    }
+
+    /**
+     * Move one enrollment's contribution from its old grade to its new one in O(1).
+     * A null GPA value means the enrollment is not graded (contributes nothing).
+     *
+     * @param oldGpaValue GPA value previously counted, or null
+     * @param oldCredits  Credits previously counted
+     * @param newGpaValue GPA value to count now, or null
+     * @param newCredits  Credits to count now
+     */
+    public void applyGpaDelta(Double oldGpaValue, int oldCredits, Double newGpaValue, int newCredits) {
+        double sum = weightedGpaSum != null ? weightedGpaSum : 0.0;
+        int graded = gradedCredits != null ? gradedCredits : 0;
+        int earned = totalCredits != null ? totalCredits : 0;
+        if (oldGpaValue != null) {
+            sum -= oldGpaValue * oldCredits;
+            graded -= oldCredits;
+            if (oldGpaValue >= 1.0) {
+                earned -= oldCredits;
+            }
+        }
+        if (newGpaValue != null) {
+            sum += newGpaValue * newCredits;
+            graded += newCredits;
+            if (newGpaValue >= 1.0) {
+                earned += newCredits;
+            }
+        }
+        this.weightedGpaSum = sum;
+        this.gradedCredits = graded;
+        this.totalCredits = earned;
+        refreshGpaFromSums();
+    }
+
+    private void refreshGpaFromSums() {
+        if (gradedCredits <= 0) {
+            // No graded credits: drop accumulated floating-point residue
+            this.weightedGpaSum = 0.0;
+            this.gpa = null;
+            return;
+        }
+        this.gpa = Math.max(0.0, Math.min(4.0, weightedGpaSum / gradedCredits));
+    }
 }
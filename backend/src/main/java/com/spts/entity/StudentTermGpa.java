@@ -0,0 +1,227 @@
+package com.spts.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * StudentTermGpa entity - A student's GPA for one term and cumulatively after it.
+ *
+ * One row per student and term (semester + academic year) with graded
+ * enrollments. Term sums are moved by the same deltas as the running sums on
+ * Student; cumulative values are prefix sums over the student's terms in
+ * chronological order, so a transcript or GPA timeline is a single index lookup.
+ *
+ * OCL Constraints:
+ * - gradedCredits > 0
+ * - termGpa >= 0.0 AND termGpa <= 4.0
+ * - cumulativeGpa >= 0.0 AND cumulativeGpa <= 4.0
+ * - cumulativeGradedCredits >= gradedCredits
+ *
+ * @author SPTS Team
+ */
+@Entity
+@Table(name = "student_term_gpa",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "semester", "academic_year"}),
+       indexes = @Index(name = "idx_student_term_gpa_term", columnList = "academic_year, semester"))
+public class StudentTermGpa {
+
+    /**
+     * Chronological term order: academic year, then semester within the year.
+     */
+    public static final Comparator<StudentTermGpa> TERM_ORDER =
+            Comparator.comparing(StudentTermGpa::getAcademicYear)
+                    .thenComparing(StudentTermGpa::getSemester);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @NotNull(message = "Student is required")
+    private Student student;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "semester", nullable = false)
+    @NotNull(message = "Semester is required")
+    private Semester semester;
+
+    @Column(name = "academic_year", nullable = false)
+    @NotNull(message = "Academic year is required")
+    private Integer academicYear;
+
+    /** Sum(gpaValue * credits) over the term's graded enrollments */
+    @Column(name = "weighted_gpa_sum", nullable = false)
+    private Double weightedGpaSum = 0.0;
+
+    @Column(name = "graded_credits", nullable = false)
+    private Integer gradedCredits = 0;
+
+    /** Credits of the term's graded enrollments with a passing GPA (>= 1.0) */
+    @Column(name = "earned_credits", nullable = false)
+    private Integer earnedCredits = 0;
+
+    @Column(name = "term_gpa")
+    @DecimalMin(value = "0.0", message = "Term GPA must be at least 0.0")
+    @DecimalMax(value = "4.0", message = "Term GPA must not exceed 4.0")
+    private Double termGpa;
+
+    @Column(name = "cumulative_weighted_sum", nullable = false)
+    private Double cumulativeWeightedSum = 0.0;
+
+    @Column(name = "cumulative_graded_credits", nullable = false)
+    private Integer cumulativeGradedCredits = 0;
+
+    @Column(name = "cumulative_gpa")
+    @DecimalMin(value = "0.0", message = "Cumulative GPA must be at least 0.0")
+    @DecimalMax(value = "4.0", message = "Cumulative GPA must not exceed 4.0")
+    private Double cumulativeGpa;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public StudentTermGpa() {
+    }
+
+    public StudentTermGpa(Student student, Semester semester, Integer academicYear) {
+        this.student = student;
+        this.semester = semester;
+        this.academicYear = academicYear;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public Semester getSemester() {
+        return semester;
+    }
+
+    public void setSemester(Semester semester) {
+        this.semester = semester;
+    }
+
+    public Integer getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(Integer academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public Double getWeightedGpaSum() {
+        return weightedGpaSum;
+    }
+
+    public Integer getGradedCredits() {
+        return gradedCredits;
+    }
+
+    public Integer getEarnedCredits() {
+        return earnedCredits;
+    }
+
+    public Double getTermGpa() {
+        return termGpa;
+    }
+
+    public Double getCumulativeWeightedSum() {
+        return cumulativeWeightedSum;
+    }
+
+    public Integer getCumulativeGradedCredits() {
+        return cumulativeGradedCredits;
+    }
+
+    public Double getCumulativeGpa() {
+        return cumulativeGpa;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // Business methods
+
+    /**
+     * @return true if the term has no graded credits left (the row can be dropped)
+     */
+    public boolean isEmpty() {
+        return gradedCredits <= 0;
+    }
+
+    /**
+     * Replace the term sums with freshly computed totals.
+     *
+     * @param weightedSum Sum(gpaValue * credits) over the term's graded enrollments
+     * @param credits     Sum(credits) over the term's graded enrollments
+     * @param earned      Credits of the term's graded enrollments with a passing GPA
+     */
+    public void resetTermSums(double weightedSum, int credits, int earned) {
+        this.weightedGpaSum = weightedSum;
+        this.gradedCredits = credits;
+        this.earnedCredits = earned;
+        this.termGpa = gpaOf(weightedSum, credits);
+    }
+
+    /**
+     * Move one enrollment's contribution from its old grade to its new one.
+     * A null GPA value means the enrollment is not graded (contributes nothing).
+     */
+    public void applyGpaDelta(Double oldGpaValue, int oldCredits, Double newGpaValue, int newCredits) {
+        double sum = weightedGpaSum;
+        int graded = gradedCredits;
+        int earned = earnedCredits;
+        if (oldGpaValue != null) {
+            sum -= oldGpaValue * oldCredits;
+            graded -= oldCredits;
+            if (oldGpaValue >= 1.0) {
+                earned -= oldCredits;
+            }
+        }
+        if (newGpaValue != null) {
+            sum += newGpaValue * newCredits;
+            graded += newCredits;
+            if (newGpaValue >= 1.0) {
+                earned += newCredits;
+            }
+        }
+        // No graded credits: drop accumulated floating-point residue
+        resetTermSums(graded > 0 ? sum : 0.0, graded, earned);
+    }
+
+    /**
+     * Set the cumulative sums over this and every earlier term.
+     */
+    public void setCumulativeSums(double weightedSum, int credits) {
+        this.cumulativeWeightedSum = weightedSum;
+        this.cumulativeGradedCredits = credits;
+        this.cumulativeGpa = gpaOf(weightedSum, credits);
+    }
+
+    private static Double gpaOf(double weightedSum, int credits) {
+        return credits > 0 ? Math.max(0.0, Math.min(4.0, weightedSum / credits)) : null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.spts.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+/**
+ * TermEnrollmentSnapshot entity - Frozen enrollment rollup of a closed term.
+ * 
+ * Written when a term (semester + academic year) is closed, so enrollment
+ * trends read past terms from one row each instead of re-aggregating history.
+ * The presence of a snapshot is what marks a term as closed.
+ * 
+ * OCL Constraints:
+ * - completedCount <= enrollmentCount
+ * - gpaCount <= enrollmentCount
+ * 
+ * @author SPTS Team
+ */
+@Entity
+@Table(name = "term_enrollment_snapshot",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"semester", "academic_year"}))
+public class TermEnrollmentSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "semester", nullable = false)
+    @NotNull(message = "Semester is required")
+    private Semester semester;
+
+    @Column(name = "academic_year", nullable = false)
+    @NotNull(message = "Academic year is required")
+    private Integer academicYear;
+
+    @Column(name = "enrollment_count", nullable = false)
+    @Min(value = 0, message = "Enrollment count cannot be negative")
+    private Long enrollmentCount = 0L;
+
+    @Column(name = "completed_count", nullable = false)
+    @Min(value = 0, message = "Completed count cannot be negative")
+    private Long completedCount = 0L;
+
+    @Column(name = "average_score")
+    private Double averageScore;
+
+    @Column(name = "gpa_sum", nullable = false)
+    private Double gpaSum = 0.0;
+
+    @Column(name = "gpa_count", nullable = false)
+    @Min(value = 0, message = "GPA count cannot be negative")
+    private Long gpaCount = 0L;
+
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt;
+
+    // Constructors
+    public TermEnrollmentSnapshot() {
+        this.closedAt = LocalDateTime.now();
+    }
+
+    public TermEnrollmentSnapshot(Semester semester, Integer academicYear) {
+        this.semester = semester;
+        this.academicYear = academicYear;
+        this.closedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Semester getSemester() {
+        return semester;
+    }
+
+    public void setSemester(Semester semester) {
+        this.semester = semester;
+    }
+
+    public Integer getAcademicYear() {
+        return academicYear;
+    }
+
+    public void setAcademicYear(Integer academicYear) {
+        this.academicYear = academicYear;
+    }
+
+    public Long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(Long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    public Long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(Long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public Double getAverageScore() {
+        return averageScore;
+    }
+
+    public void setAverageScore(Double averageScore) {
+        this.averageScore = averageScore;
+    }
+
+    public Double getGpaSum() {
+        return gpaSum;
+    }
+
+    public void setGpaSum(Double gpaSum) {
+        this.gpaSum = gpaSum;
+    }
+
+    public Long getGpaCount() {
+        return gpaCount;
+    }
+
+    public void setGpaCount(Long gpaCount) {
+        this.gpaCount = gpaCount;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    /**
+     * @return Average GPA over graded enrollments, or null if none were graded
+     */
+    public Double getAverageGpa() {
+        return gpaCount > 0 ? gpaSum / gpaCount : null;
+    }
+}
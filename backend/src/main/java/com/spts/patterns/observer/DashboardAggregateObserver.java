@@ -0,0 +1,58 @@
+package com.spts.patterns.observer;
+
+import com.spts.entity.Enrollment;
+import com.spts.entity.GradeEntry;
+import com.spts.entity.Student;
+import com.spts.statistics.StatisticsChangeNotifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Observer implementation for keeping dashboard aggregates current.
+ *
+ * Forwards the enrollment's new score/GPA to the in-memory statistics
+ * structures (dashboard aggregates, analytics cube) so the Admin Dashboard
+ * never has to rescan all enrollments.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class DashboardAggregateObserver implements IGradeObserver {
+
+    private static final String OBSERVER_NAME = "Dashboard Aggregates";
+
+    private final StatisticsChangeNotifier statisticsChangeNotifier;
+
+    public DashboardAggregateObserver(StatisticsChangeNotifier statisticsChangeNotifier) {
+        this.statisticsChangeNotifier = statisticsChangeNotifier;
+    }
+
+    @Override
+    public void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
+        statisticsChangeNotifier.enrollmentSaved(enrollment);
+    }
+
+    @Override
+    public void onGradeUpdatedBatch(Collection<GradeChange> changes) {
+        // An enrollment changed several times in the batch is forwarded once
+        Map<Long, Enrollment> enrollments = new LinkedHashMap<>();
+        for (GradeChange change : changes) {
+            enrollments.put(change.getEnrollment().getId(), change.getEnrollment());
+        }
+        enrollments.values().forEach(statisticsChangeNotifier::enrollmentSaved);
+    }
+
+    @Override
+    public int getPriority() {
+        // Runs after GPA recalculation and risk detection
+        return 20;
+    }
+
+    @Override
+    public String getObserverName() {
+        return OBSERVER_NAME;
+    }
+}
@@ -3,16 +3,21 @@ package com.spts.patterns.observer;
 import com.spts.entity.Enrollment;
 import com.spts.entity.GradeEntry;
 import com.spts.entity.Student;
-import com.spts.service.StudentService;
+import com.spts.service.GpaRecalculationScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+
 /**
  * Observer implementation for recalculating GPA when grades change.
  * 
  * This observer has the highest priority (0) to ensure GPA is updated
  * before other observers (like RiskDetector) process the changes.
+ * The student is only marked dirty here; the GpaRecalculationScheduler
+ * coalesces bursts of grade updates into one recalculation per student.
  * 
  * @author SPTS Team
  */
@@ -22,15 +27,15 @@ public class GpaRecalculatorObserver implements IGradeObserver {
     private static final Logger logger = LoggerFactory.getLogger(GpaRecalculatorObserver.class);
     private static final String OBSERVER_NAME = "GPA Recalculator";
     
-    private final StudentService studentService;
+    private final GpaRecalculationScheduler gpaRecalculationScheduler;
     
-    public GpaRecalculatorObserver(StudentService studentService) {
-        this.studentService = studentService;
+    public GpaRecalculatorObserver(GpaRecalculationScheduler gpaRecalculationScheduler) {
+        this.gpaRecalculationScheduler = gpaRecalculationScheduler;
     }
 
     @Override
     public void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
-        logger.info("Recalculating GPA for student: {} after grade update in enrollment: {}", 
+        logger.info("Scheduling GPA recalculation for student: {} after grade update in enrollment: {}", 
                 student.getStudentId(), enrollment.getId());
         
         // Log grade entry details
@@ -50,13 +55,17 @@ public class GpaRecalculatorObserver implements IGradeObserver {
                     enrollment.getCourseOffering().getCourse().getCourseCode());
         }
         
-        // Call StudentService to recalculate and update GPA
-        try {
-            studentService.recalculateAndUpdateGpa(student.getId());
-            logger.info("GPA recalculation completed for student: {}", student.getStudentId());
-        } catch (Exception e) {
-            logger.error("Error recalculating GPA for student {}: {}", student.getStudentId(), e.getMessage());
-        }
+        // Coalesced with other updates for the same student before being applied
+        gpaRecalculationScheduler.markDirty(student.getId());
+    }
+
+    @Override
+    public void onGradeUpdatedBatch(Collection<GradeChange> changes) {
+        logger.info("Scheduling GPA recalculation after a batch of {} grade updates", changes.size());
+        // One signal per change; each affected student is recalculated once
+        gpaRecalculationScheduler.markDirty(changes.stream()
+                .map(change -> change.getStudent().getId())
+                .collect(Collectors.toList()));
     }
 
     @Override
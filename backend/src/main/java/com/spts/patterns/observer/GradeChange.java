@@ -0,0 +1,41 @@
+package com.spts.patterns.observer;
+
+import com.spts.entity.Enrollment;
+import com.spts.entity.GradeEntry;
+import com.spts.entity.Student;
+
+/**
+ * One grade update in a batch notification (see GradeSubject#notifyObserversBatch).
+ * 
+ * @author SPTS Team
+ */
+public final class GradeChange {
+
+    private final Student student;
+    private final Enrollment enrollment;
+    private final GradeEntry gradeEntry;
+
+    /**
+     * @param student    The student whose grade was updated
+     * @param enrollment The enrollment containing the grade
+     * @param gradeEntry The grade entry that was added/modified; null for an
+     *                   enrollment-level change
+     */
+    public GradeChange(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
+        this.student = student;
+        this.enrollment = enrollment;
+        this.gradeEntry = gradeEntry;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public Enrollment getEnrollment() {
+        return enrollment;
+    }
+
+    public GradeEntry getGradeEntry() {
+        return gradeEntry;
+    }
+}
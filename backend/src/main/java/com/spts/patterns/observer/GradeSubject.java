@@ -1,13 +1,31 @@
 package com.spts.patterns.observer;
 
+import com.spts.dto.ObserverStatusDTO;
 import com.spts.entity.Enrollment;
 import com.spts.entity.GradeEntry;
+import com.spts.entity.GradeEventOutbox;
 import com.spts.entity.Student;
+import com.spts.entity.StudentStatus;
+import com.spts.exception.ResourceNotFoundException;
+import com.spts.repository.GradeEventOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Subject class in Observer Pattern for grade notifications.
@@ -15,12 +33,58 @@ import java.util.List;
  * Manages a list of observers and notifies them when grades change.
  * Observers are sorted by priority before notification.
  * 
+ * The registry is copy-on-write: attach/detach swap in a new sorted snapshot
+ * atomically, and each notification iterates the snapshot it started with, so
+ * observers can be (de)registered or disabled at runtime without locking.
+ * Each observer is guarded by an ObserverCircuitBreaker: after repeated
+ * failures or slow calls it is skipped for a while, so one misbehaving
+ * observer does not slow down or fail every grade write. During outbox
+ * delivery (see {@link #beginDelivery()}) a skipped observer instead fails the
+ * delivery with an ObserverUnavailableException, so the events stay pending
+ * until the observer is available again rather than being acknowledged
+ * without it.
+ * 
+ * Grade updates are dispatched in one of two modes (grade.observers.async-dispatch):
+ * - async (default): the event is written to the grade_event_outbox table in the
+ *   caller's transaction, so it exists exactly when the grade change commits;
+ *   GradeEventOutboxService later delivers it on the student's observer lane
+ *   (at least once, one student's events in order)
+ * - sync: the observers run in priority order inside the caller's transaction
+ * 
+ * Every observer callback is timed and counted per observer (see ObserverMetrics).
+ * 
  * @author SPTS Team
  */
 @Component
 public class GradeSubject {
 
-    private final List<IGradeObserver> observers = new ArrayList<>();
+    private static final Logger logger = LoggerFactory.getLogger(GradeSubject.class);
+    /** Transaction resource key marking an outbox delivery transaction */
+    private static final Object DELIVERY_MARKER = new Object();
+
+    private final AtomicReference<List<Registration>> registrations = new AtomicReference<>(List.of());
+
+    private final GradeEventOutboxRepository outboxRepository;
+    private final ObserverMetrics metrics;
+    private final boolean asyncDispatch;
+    private final int breakerFailureThreshold;
+    private final long breakerSlowCallMs;
+    private final long breakerOpenMs;
+
+    public GradeSubject(GradeEventOutboxRepository outboxRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${grade.observers.async-dispatch:true}") boolean asyncDispatch,
+                        @Value("${grade.observers.slow-threshold-ms:500}") long slowThresholdMs,
+                        @Value("${grade.observers.breaker.failure-threshold:5}") int breakerFailureThreshold,
+                        @Value("${grade.observers.breaker.slow-call-ms:2000}") long breakerSlowCallMs,
+                        @Value("${grade.observers.breaker.open-ms:30000}") long breakerOpenMs) {
+        this.outboxRepository = outboxRepository;
+        this.metrics = new ObserverMetrics(meterRegistry, slowThresholdMs);
+        this.asyncDispatch = asyncDispatch;
+        this.breakerFailureThreshold = breakerFailureThreshold;
+        this.breakerSlowCallMs = breakerSlowCallMs;
+        this.breakerOpenMs = breakerOpenMs;
+    }
 
     /**
      * Register an observer to receive grade update notifications.
@@ -28,11 +92,21 @@ public class GradeSubject {
      * @param observer The observer to register
      */
     public void attach(IGradeObserver observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
-            // Sort by priority after adding
-            observers.sort(Comparator.comparingInt(IGradeObserver::getPriority));
+        if (observer == null) {
+            return;
         }
+        Registration registration = new Registration(observer, new ObserverCircuitBreaker(
+                observer.getObserverName(), breakerFailureThreshold, breakerSlowCallMs, breakerOpenMs));
+        registrations.updateAndGet(current -> {
+            if (current.stream().anyMatch(r -> r.observer == observer)) {
+                return current;
+            }
+            List<Registration> next = new ArrayList<>(current);
+            next.add(registration);
+            // Sort by priority after adding
+            next.sort(Comparator.comparingInt(r -> r.observer.getPriority()));
+            return List.copyOf(next);
+        });
     }
 
     /**
@@ -41,21 +115,113 @@ public class GradeSubject {
      * @param observer The observer to unregister
      */
     public void detach(IGradeObserver observer) {
-        observers.remove(observer);
+        registrations.updateAndGet(current -> current.stream()
+                .filter(r -> r.observer != observer)
+                .collect(Collectors.toUnmodifiableList()));
     }
 
     /**
      * Notify all registered observers about a grade update.
-     * Observers are notified in priority order.
+     * Observers are notified in priority order; in async mode only once the
+     * caller's transaction has committed, and never if it rolls back.
      *
      * @param student    The student whose grade was updated
      * @param enrollment The enrollment containing the grade
      * @param gradeEntry The grade entry that was added/modified
      */
     public void notifyObservers(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
-        for (IGradeObserver observer : observers) {
-            observer.onGradeUpdated(student, enrollment, gradeEntry);
+        if (!asyncDispatch) {
+            dispatchToObservers(student, enrollment, gradeEntry);
+            return;
+        }
+        outboxRepository.save(new GradeEventOutbox(student.getId(), enrollment.getId(),
+                gradeEntry != null ? gradeEntry.getId() : null));
+    }
+
+    /**
+     * Run the observers for a grade update in priority order, in the current thread
+     * and transaction. An observer exception propagates to the caller.
+     *
+     * @param student    The student whose grade was updated
+     * @param enrollment The enrollment containing the grade
+     * @param gradeEntry The grade entry that was added/modified
+     */
+    public void dispatchToObservers(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
+        Supplier<String> subject = () -> String.format("student %d, enrollment %d",
+                student.getId(), enrollment.getId());
+        notifyEach("onGradeUpdated", subject, observer -> observer.onGradeUpdated(student, enrollment, gradeEntry));
+    }
+
+    /**
+     * Notify all registered observers about a batch of grade updates, for bulk
+     * operations. Each observer receives the whole batch once (onGradeUpdatedBatch),
+     * so it can e.g. recalculate each affected student once; in async mode the
+     * changes are written to the outbox in one batch and delivered together.
+     *
+     * @param changes The grade updates, in the order they were made
+     */
+    public void notifyObserversBatch(Collection<GradeChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (!asyncDispatch) {
+            dispatchBatchToObservers(changes);
+            return;
+        }
+        outboxRepository.saveAll(changes.stream()
+                .map(change -> new GradeEventOutbox(change.getStudent().getId(), change.getEnrollment().getId(),
+                        change.getGradeEntry() != null ? change.getGradeEntry().getId() : null))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Pass a batch of grade updates to each observer in priority order, in the
+     * current thread and transaction. An observer exception propagates to the caller.
+     *
+     * @param changes The grade updates, in the order they were made
+     */
+    public void dispatchBatchToObservers(Collection<GradeChange> changes) {
+        Supplier<String> subject = () -> String.format("%d changes (students %s, enrollments %s)", changes.size(),
+                changes.stream().map(change -> change.getStudent().getId()).distinct().collect(Collectors.toList()),
+                changes.stream().map(change -> change.getEnrollment().getId()).distinct().collect(Collectors.toList()));
+        notifyEach("onGradeUpdatedBatch", subject, observer -> observer.onGradeUpdatedBatch(changes));
+    }
+
+    /**
+     * Notify all registered observers that a student's status changed.
+     * Observers are notified in priority order.
+     *
+     * @param student        The student whose status changed
+     * @param previousStatus The status before the change
+     */
+    public void notifyStatusChanged(Student student, StudentStatus previousStatus) {
+        Supplier<String> subject = () -> "student " + student.getId();
+        notifyEach("onStatusChanged", subject, observer -> observer.onStatusChanged(student, previousStatus));
+    }
+
+    /**
+     * Notify all registered observers that a student's GPA was recalculated.
+     * Observers are notified in priority order.
+     *
+     * @param student The student whose GPA was recalculated
+     */
+    public void notifyGpaRecalculated(Student student) {
+        Supplier<String> subject = () -> "student " + student.getId();
+        notifyEach("onGpaRecalculated", subject, observer -> observer.onGpaRecalculated(student));
+    }
+
+    /**
+     * Notify all registered observers that several students' GPAs were
+     * recalculated together. Observers are notified in priority order.
+     *
+     * @param students The students whose GPAs were recalculated
+     */
+    public void notifyGpaRecalculatedBatch(Collection<Student> students) {
+        if (students.isEmpty()) {
+            return;
         }
+        Supplier<String> subject = () -> "students " + students.stream().map(Student::getId).collect(Collectors.toList());
+        notifyEach("onGpaRecalculatedBatch", subject, observer -> observer.onGpaRecalculatedBatch(students));
     }
 
     /**
@@ -64,6 +230,174 @@ public class GradeSubject {
      * @return Number of observers
      */
     public int getObserverCount() {
-        return observers.size();
+        return registrations.get().size();
+    }
+
+    // ==================== Runtime Administration ====================
+
+    /**
+     * Enable or disable an observer at runtime; a disabled observer is skipped,
+     * and outbox delivery pauses (events stay pending) until it is enabled again.
+     *
+     * @param name    Observer name (getObserverName), ignoring case, spaces and dashes
+     * @param enabled true to enable
+     * @return The observer's state
+     * @throws ResourceNotFoundException if no observer has that name
+     */
+    public ObserverStatusDTO setObserverEnabled(String name, boolean enabled) {
+        Registration registration = findRegistration(name);
+        registration.enabled = enabled;
+        logger.info("Observer {} {}", registration.observer.getObserverName(), enabled ? "enabled" : "disabled");
+        return toStatus(registration);
+    }
+
+    /**
+     * Close an observer's circuit breaker, e.g. after fixing the cause of its failures.
+     *
+     * @param name Observer name (getObserverName), ignoring case, spaces and dashes
+     * @return The observer's state
+     * @throws ResourceNotFoundException if no observer has that name
+     */
+    public ObserverStatusDTO resetCircuitBreaker(String name) {
+        Registration registration = findRegistration(name);
+        registration.breaker.reset();
+        logger.info("Circuit breaker for observer {} reset", registration.observer.getObserverName());
+        return toStatus(registration);
+    }
+
+    /**
+     * @return State of every registered observer, in notification order
+     */
+    public List<ObserverStatusDTO> getObserverStatuses() {
+        return registrations.get().stream().map(this::toStatus).collect(Collectors.toList());
+    }
+
+    // ==================== Outbox Delivery ====================
+
+    /**
+     * Mark the current transaction as an outbox delivery until it completes.
+     * Everything the observers do in it must commit with it: skipped observers
+     * fail the delivery, and GPA recalculation is not deferred past the commit.
+     * Requires active transaction synchronization.
+     */
+    public static void beginDelivery() {
+        if (isDelivering()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(DELIVERY_MARKER, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DELIVERY_MARKER);
+            }
+        });
+    }
+
+    /**
+     * @return true inside an outbox delivery transaction
+     */
+    public static boolean isDelivering() {
+        return TransactionSynchronizationManager.hasResource(DELIVERY_MARKER);
+    }
+
+    /**
+     * @return Name of an observer that is disabled or whose circuit is open, if
+     *         any; outbox delivery would only be deferred until it is available
+     */
+    public Optional<String> findUnavailableObserver() {
+        return registrations.get().stream()
+                .filter(r -> !r.enabled || r.breaker.getState() == ObserverCircuitBreaker.State.OPEN)
+                .map(r -> r.observer.getObserverName())
+                .findFirst();
+    }
+
+    /**
+     * @return true if grade updates are delivered through the outbox
+     */
+    public boolean isAsyncDispatch() {
+        return asyncDispatch;
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Make one callback on every enabled observer whose circuit breaker allows it,
+     * in priority order over the current registry snapshot. During outbox
+     * delivery a skipped observer throws ObserverUnavailableException instead.
+     */
+    private void notifyEach(String callback, Supplier<String> subject, Consumer<IGradeObserver> call) {
+        List<Registration> snapshot = registrations.get();
+        metrics.fanOut(callback, () -> {
+            for (Registration registration : snapshot) {
+                IGradeObserver observer = registration.observer;
+                if (!registration.enabled) {
+                    // Delivery resumes on the first poll after it is enabled again
+                    skip(observer, callback, "disabled", 0);
+                    continue;
+                }
+                if (!registration.breaker.tryAcquire()) {
+                    skip(observer, callback, "circuit-open", registration.breaker.getRemainingOpenMillis());
+                    continue;
+                }
+                long durationNanos;
+                try {
+                    durationNanos = metrics.invoke(observer, callback, subject, () -> call.accept(observer));
+                } catch (Throwable e) {
+                    // Errors too, or a half-open breaker would wait for its trial call forever
+                    registration.breaker.onFailure();
+                    throw e;
+                }
+                registration.breaker.onSuccess(durationNanos);
+            }
+        });
+    }
+
+    private void skip(IGradeObserver observer, String callback, String reason, long retryAfterMs) {
+        metrics.skipped(observer, callback, reason);
+        if (isDelivering()) {
+            throw new ObserverUnavailableException(observer.getObserverName(), reason, retryAfterMs);
+        }
+        logger.debug("Skipping observer {} ({}): {}", observer.getObserverName(), callback, reason);
+    }
+
+    private Registration findRegistration(String name) {
+        String key = nameKey(name);
+        return registrations.get().stream()
+                .filter(r -> nameKey(r.observer.getObserverName()).equals(key))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Observer", "name", name));
+    }
+
+    /**
+     * "Risk Detector", "risk-detector" and "RiskDetector" all name the same observer.
+     */
+    private static String nameKey(String name) {
+        return name.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private ObserverStatusDTO toStatus(Registration registration) {
+        ObserverStatusDTO status = new ObserverStatusDTO();
+        status.setName(registration.observer.getObserverName());
+        status.setPriority(registration.observer.getPriority());
+        status.setEnabled(registration.enabled);
+        status.setCircuitState(registration.breaker.getState().name());
+        status.setConsecutiveFailures(registration.breaker.getConsecutiveFailures());
+        status.setTimesOpened(registration.breaker.getTimesOpened());
+        return status;
+    }
+
+    /**
+     * An observer in the registry with its runtime switch and circuit breaker.
+     */
+    private static final class Registration {
+
+        private final IGradeObserver observer;
+        private final ObserverCircuitBreaker breaker;
+        private volatile boolean enabled = true;
+
+        Registration(IGradeObserver observer, ObserverCircuitBreaker breaker) {
+            this.observer = observer;
+            this.breaker = breaker;
+        }
     }
 }
@@ -3,6 +3,9 @@ package com.spts.patterns.observer;
 import com.spts.entity.Enrollment;
 import com.spts.entity.GradeEntry;
 import com.spts.entity.Student;
+import com.spts.entity.StudentStatus;
+
+import java.util.Collection;
 
 /**
  * Observer Pattern Interface for grade change notifications.
@@ -27,6 +30,51 @@ public interface IGradeObserver {
      */
     void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry);
 
+    /**
+     * Called once for a batch of grade updates, in their original order.
+     * Override to handle the whole batch with bulk queries.
+     * Default: calls onGradeUpdated for each change.
+     *
+     * @param changes The grade updates of the batch
+     */
+    default void onGradeUpdatedBatch(Collection<GradeChange> changes) {
+        for (GradeChange change : changes) {
+            onGradeUpdated(change.getStudent(), change.getEnrollment(), change.getGradeEntry());
+        }
+    }
+
+    /**
+     * Called when a student's status changed without a specific grade update,
+     * e.g. by the set-based GPA recompute. Default: ignored.
+     *
+     * @param student        The student with the recomputed GPA and new status
+     * @param previousStatus The status before the recompute
+     */
+    default void onStatusChanged(Student student, StudentStatus previousStatus) {
+    }
+
+    /**
+     * Called once a student's GPA has been recalculated for one or more grade
+     * updates coalesced by the GPA recalculation scheduler. Default: ignored.
+     *
+     * @param student The student with the recalculated GPA and status
+     */
+    default void onGpaRecalculated(Student student) {
+    }
+
+    /**
+     * Called once for students whose GPAs were recalculated together.
+     * Override to handle the whole batch with bulk queries.
+     * Default: calls onGpaRecalculated for each student.
+     *
+     * @param students The students with recalculated GPAs and statuses
+     */
+    default void onGpaRecalculatedBatch(Collection<Student> students) {
+        for (Student student : students) {
+            onGpaRecalculated(student);
+        }
+    }
+
     /**
      * Get the priority of this observer (lower = higher priority).
      * Observers with higher priority are notified first.
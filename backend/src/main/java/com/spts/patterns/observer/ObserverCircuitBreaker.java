@@ -0,0 +1,163 @@
+package com.spts.patterns.observer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker guarding one grade observer.
+ * 
+ * CLOSED: calls pass; consecutive failures or slow calls are counted and the
+ * breaker opens once they reach the threshold.
+ * OPEN: calls are skipped until the open period has elapsed.
+ * HALF_OPEN: a single trial call passes; success closes the breaker, a failure
+ * or slow call opens it again.
+ * 
+ * @author SPTS Team
+ */
+public class ObserverCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObserverCircuitBreaker.class);
+
+    /**
+     * Breaker states.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long timesOpened;
+
+    /**
+     * @param name             Observer name, for logging
+     * @param failureThreshold Consecutive failures or slow calls that open the breaker
+     * @param slowCallMs       Duration above which a successful call counts as a failure (0 = never)
+     * @param openMs           How long the breaker stays open before a trial call
+     */
+    public ObserverCircuitBreaker(String name, int failureThreshold, long slowCallMs, long openMs) {
+        this(name, failureThreshold, slowCallMs, openMs, System::nanoTime);
+    }
+
+    ObserverCircuitBreaker(String name, int failureThreshold, long slowCallMs, long openMs, LongSupplier clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if the call may proceed; it must then be reported with
+     *         {@link #onSuccess(long)} or {@link #onFailure()}, whatever it throws
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Report a call that completed; a slow call counts as a failure.
+     *
+     * @param durationNanos Call duration
+     */
+    public synchronized void onSuccess(long durationNanos) {
+        if (slowCallNanos > 0 && durationNanos > slowCallNanos) {
+            recordFailure("slow call (" + TimeUnit.NANOSECONDS.toMillis(durationNanos) + " ms)");
+            return;
+        }
+        if (state != State.CLOSED) {
+            logger.info("Circuit breaker for observer {} closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Report a call that threw.
+     */
+    public synchronized void onFailure() {
+        recordFailure("failure");
+    }
+
+    /**
+     * Close the breaker and clear its failure count (admin override).
+     */
+    public synchronized void reset() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    private void recordFailure(String reason) {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            timesOpened++;
+            logger.warn("Circuit breaker for observer {} opened after {} consecutive failures/slow calls (last: {}); "
+                    + "skipping it for {} ms", name, consecutiveFailures, reason, TimeUnit.NANOSECONDS.toMillis(openNanos));
+        }
+    }
+
+    // ==================== State ====================
+
+    public synchronized State getState() {
+        // An elapsed open period is reported as half-open, as the next call will be a trial
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * @return Milliseconds until an open breaker lets a trial call through (0 if not open)
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(openNanos - (clock.getAsLong() - openedAt)));
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+}
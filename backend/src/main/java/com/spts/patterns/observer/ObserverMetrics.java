@@ -0,0 +1,128 @@
+package com.spts.patterns.observer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of the grade observer callbacks.
+ * 
+ * Meters (exposed through Actuator at /actuator/metrics):
+ * - grade.observer.invocations: timer with latency histogram per observer,
+ *   callback and outcome (success/error); its count is the throughput
+ * - grade.observer.errors: counter per observer, callback and exception type
+ * - grade.observer.fanout: timer of one notification across all observers,
+ *   per callback
+ * - grade.observer.skipped: counter of callbacks skipped because the
+ *   observer is disabled or its circuit breaker is open
+ * A callback slower than the threshold is logged with the students and
+ * enrollments it handled.
+ * 
+ * @author SPTS Team
+ */
+public class ObserverMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ObserverMetrics.class);
+
+    static final String INVOCATIONS = "grade.observer.invocations";
+    static final String ERRORS = "grade.observer.errors";
+    static final String FANOUT = "grade.observer.fanout";
+    static final String SKIPPED = "grade.observer.skipped";
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+
+    /**
+     * @param registry        Registry the meters are registered in
+     * @param slowThresholdMs Callback duration above which it is logged; 0 disables the log
+     */
+    public ObserverMetrics(MeterRegistry registry, long slowThresholdMs) {
+        this.registry = registry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    /**
+     * Run one observer callback, recording its duration and outcome.
+     * An exception is counted and rethrown.
+     *
+     * @param observer The observer being called
+     * @param callback Callback name, e.g. "onGradeUpdated"
+     * @param subject  Describes the students/enrollments for the slow-observer log
+     * @param call     The callback invocation
+     * @return Duration of the call in nanoseconds
+     */
+    public long invoke(IGradeObserver observer, String callback, Supplier<String> subject, Runnable call) {
+        String observerName = observer.getObserverName();
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            call.run();
+            return System.nanoTime() - start;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            Counter.builder(ERRORS)
+                    .description("Grade observer callbacks that threw")
+                    .tag("observer", observerName)
+                    .tag("callback", callback)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder(INVOCATIONS)
+                    .description("Grade observer callback latency")
+                    .tag("observer", observerName)
+                    .tag("callback", callback)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            if (slowThresholdNanos > 0 && elapsed > slowThresholdNanos) {
+                logger.warn("Slow observer {}: {} took {} ms for {}", observerName, callback,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), subject.get());
+            }
+        }
+    }
+
+    /**
+     * Count a callback that was not made.
+     *
+     * @param observer The observer that was skipped
+     * @param callback Callback name, e.g. "onGradeUpdated"
+     * @param reason   "disabled" or "circuit-open"
+     */
+    public void skipped(IGradeObserver observer, String callback, String reason) {
+        Counter.builder(SKIPPED)
+                .description("Grade observer callbacks skipped by the registry")
+                .tag("observer", observer.getObserverName())
+                .tag("callback", callback)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Run one notification across all observers, recording its total duration.
+     *
+     * @param callback Callback name, e.g. "onGradeUpdated"
+     * @param fanOut   Calls every observer
+     */
+    public void fanOut(String callback, Runnable fanOut) {
+        long start = System.nanoTime();
+        try {
+            fanOut.run();
+        } finally {
+            Timer.builder(FANOUT)
+                    .description("Duration of one grade notification across all observers")
+                    .tag("callback", callback)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
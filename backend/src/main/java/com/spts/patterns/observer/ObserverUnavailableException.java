@@ -0,0 +1,25 @@
+package com.spts.patterns.observer;
+
+/**
+ * Thrown when an observer is skipped (disabled or circuit open) while grade
+ * events are being delivered from the outbox. The delivery rolls back and the
+ * events are retried later instead of being acknowledged without the observer.
+ *
+ * @author SPTS Team
+ */
+public class ObserverUnavailableException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public ObserverUnavailableException(String observerName, String reason, long retryAfterMs) {
+        super("Observer " + observerName + " is unavailable (" + reason + ")");
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    /**
+     * @return Suggested delay before redelivering, in milliseconds
+     */
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -5,11 +5,20 @@ import com.spts.entity.AlertType;
 import com.spts.entity.Enrollment;
 import com.spts.entity.GradeEntry;
 import com.spts.entity.Student;
+import com.spts.entity.StudentStatus;
 import com.spts.service.AlertService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Observer implementation for detecting at-risk students.
  * 
@@ -17,6 +26,12 @@ import org.springframework.stereotype.Component;
  * - GPA falls below 2.0 (AT_RISK threshold)
  * - GPA falls below 1.5 (PROBATION threshold)
  * 
+ * Grade updates are evaluated once per coalesced GPA recalculation
+ * (onGpaRecalculated), when the student's GPA reflects every pending change.
+ * Students recalculated together are checked against unresolved alerts
+ * prefetched in one call, which is usually answered from AlertService's
+ * in-memory index without a query.
+ * 
  * @author SPTS Team - Member 3 (Behavioral Engineer)
  */
 @Component
@@ -36,38 +51,79 @@ public class RiskDetectorObserver implements IGradeObserver {
 
     @Override
     public void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
-        logger.info("Checking risk status for student: {} after grade update", student.getStudentId());
-        
-        Double currentGpa = student.getGpa();
-        Integer totalCredits = student.getTotalCredits();
-        
-        if (currentGpa == null || totalCredits == null || totalCredits == 0) {
-            logger.debug("Student {} has no GPA or credits yet, skipping risk detection", student.getStudentId());
-            return;
-        }
-        
-        // Check enrollment grade
+        // The GPA is not recalculated yet; risk is checked in onGpaRecalculated
         Double enrollmentGpa = enrollment.getGpaValue();
         if (enrollmentGpa != null) {
             logger.debug("Enrollment GPA for {}: {}", 
                     enrollment.getCourseOffering().getDisplayName(), enrollmentGpa);
         }
-        
-        // Create alerts based on GPA thresholds
-        // Create alerts based on GPA thresholds
+    }
+
+    @Override
+    public void onGpaRecalculated(Student student) {
+        onGpaRecalculatedBatch(List.of(student));
+    }
+
+    @Override
+    public void onGpaRecalculatedBatch(Collection<Student> students) {
+        List<Student> graded = new ArrayList<>();
+        for (Student student : students) {
+            if (hasGpa(student)) {
+                graded.add(student);
+            } else {
+                logger.debug("Student {} has no GPA or credits yet, skipping risk detection", student.getStudentId());
+            }
+        }
+        if (graded.isEmpty()) {
+            return;
+        }
+        logger.info("Checking risk status for {} students after GPA recalculation", graded.size());
+
+        // Prefetch de-duplication state for the whole batch at once
+        Map<Long, Set<AlertType>> unresolved = alertService.getUnresolvedAlertTypes(
+                graded.stream().map(Student::getId).collect(Collectors.toList()));
+        for (Student student : graded) {
+            evaluateRisk(student, student.getGpa(),
+                    unresolved.computeIfAbsent(student.getId(), id -> EnumSet.noneOf(AlertType.class)));
+        }
+    }
+
+    @Override
+    public void onStatusChanged(Student student, StudentStatus previousStatus) {
+        logger.info("Checking risk status for student: {} after status change from {}",
+                student.getStudentId(), previousStatus);
+        if (!hasGpa(student)) {
+            return;
+        }
+        Set<AlertType> unresolved = alertService.getUnresolvedAlertTypes(List.of(student.getId()))
+                .getOrDefault(student.getId(), EnumSet.noneOf(AlertType.class));
+        evaluateRisk(student, student.getGpa(), unresolved);
+    }
+
+    private boolean hasGpa(Student student) {
+        return student.getGpa() != null && student.getTotalCredits() != null && student.getTotalCredits() != 0;
+    }
+
+    /**
+     * Create or resolve risk alerts based on GPA thresholds.
+     *
+     * @param unresolved The student's unresolved alert types; updated as alerts
+     *                   are created or resolved
+     */
+    private void evaluateRisk(Student student, Double currentGpa, Set<AlertType> unresolved) {
         if (currentGpa < PROBATION_THRESHOLD) {
             createAlert(student, AlertLevel.CRITICAL, AlertType.PROBATION,
                 String.format("Student GPA (%.2f) is below probation threshold (%.1f)", 
-                    currentGpa, PROBATION_THRESHOLD));
+                    currentGpa, PROBATION_THRESHOLD), unresolved);
         } else if (currentGpa < AT_RISK_THRESHOLD) {
             createAlert(student, AlertLevel.WARNING, AlertType.LOW_GPA,
                 String.format("Student GPA (%.2f) is below at-risk threshold (%.1f)", 
-                    currentGpa, AT_RISK_THRESHOLD));
+                    currentGpa, AT_RISK_THRESHOLD), unresolved);
         } else {
             // GPA is healthy (>= 2.0)
             // Resolve any existing risk alerts
-            int resolvedProbation = alertService.resolveAlertsByType(student.getId(), AlertType.PROBATION, "System_AutoResolve");
-            int resolvedRisk = alertService.resolveAlertsByType(student.getId(), AlertType.LOW_GPA, "System_AutoResolve");
+            int resolvedProbation = resolveAlerts(student, AlertType.PROBATION, unresolved);
+            int resolvedRisk = resolveAlerts(student, AlertType.LOW_GPA, unresolved);
             
             if (resolvedProbation > 0 || resolvedRisk > 0) {
                 logger.info("Auto-resolved {} probation/risk alerts for student {} due to GPA improvement", 
@@ -75,29 +131,36 @@ public class RiskDetectorObserver implements IGradeObserver {
                         
                 // Create improvement alert
                 createAlert(student, AlertLevel.INFO, AlertType.IMPROVEMENT,
-                    String.format("Great job! Your GPA (%.2f) has improved and is now in good standing.", currentGpa));
+                    String.format("Great job! Your GPA (%.2f) has improved and is now in good standing.", currentGpa),
+                    unresolved);
             }
         }
     }
+
+    private int resolveAlerts(Student student, AlertType type, Set<AlertType> unresolved) {
+        if (!unresolved.remove(type)) {
+            return 0;
+        }
+        return alertService.resolveAlertsByType(student.getId(), type, "System_AutoResolve");
+    }
     
     /**
      * Create alert only if no unresolved alert of same type exists.
      * Prevents duplicate alerts when grades update frequently.
+     * Failures propagate, so the grade event is retried instead of losing the alert.
      */
-    private void createAlert(Student student, AlertLevel level, AlertType type, String message) {
-        try {
-            // De-duplication: Check if unresolved alert already exists
-            if (alertService.hasUnresolvedAlert(student.getId(), type)) {
-                logger.debug("Skipping alert creation - unresolved {} alert already exists for student {}", 
-                        type, student.getStudentId());
-                return;
-            }
-            
-            alertService.createAlert(student, level, type, message);
-            logger.info("Created {} alert for student {}: {}", level, student.getStudentId(), type);
-        } catch (Exception e) {
-            logger.error("Failed to create alert for student {}: {}", student.getStudentId(), e.getMessage());
+    private void createAlert(Student student, AlertLevel level, AlertType type, String message,
+                             Set<AlertType> unresolved) {
+        // De-duplication against the prefetched unresolved alert types
+        if (unresolved.contains(type)) {
+            logger.debug("Skipping alert creation - unresolved {} alert already exists for student {}", 
+                    type, student.getStudentId());
+            return;
         }
+        
+        alertService.createAlert(student, level, type, message);
+        unresolved.add(type);
+        logger.info("Created {} alert for student {}: {}", level, student.getStudentId(), type);
     }
 
     @Override
@@ -0,0 +1,229 @@
+package com.spts.patterns.observer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor that partitions grade events by student over single-threaded lanes.
+ *
+ * A student always maps to the same lane, so events for one student run strictly
+ * in submission order while different students proceed in parallel. Each lane
+ * has a bounded queue; when it is full the submitter waits up to the offer
+ * timeout and then runs the task itself (caller-runs), so events are never
+ * dropped. Only in that overflow case can a student's events overtake each other.
+ * A task that throws (even an Error) is counted as a failure and the lane moves on.
+ *
+ * @author SPTS Team
+ */
+public class StudentLaneExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentLaneExecutor.class);
+    private static final long SHUTDOWN_AWAIT_MS = 30_000;
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private final int queueCapacity;
+    private final long offerTimeoutMs;
+    private volatile boolean shuttingDown;
+
+    // Metrics
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * @param laneCount      Number of lanes (threads)
+     * @param queueCapacity  Maximum queued tasks per lane
+     * @param offerTimeoutMs How long a submitter waits for space in a full lane
+     * @param threadPrefix   Lane thread name prefix
+     */
+    public StudentLaneExecutor(int laneCount, int queueCapacity, long offerTimeoutMs, String threadPrefix) {
+        if (laneCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Lane count and queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.offerTimeoutMs = offerTimeoutMs;
+        for (int i = 0; i < laneCount; i++) {
+            Lane lane = new Lane(i, queueCapacity);
+            Thread thread = new Thread(lane, threadPrefix + i);
+            thread.setDaemon(true);
+            lane.thread = thread;
+            lanes.add(lane);
+            thread.start();
+        }
+    }
+
+    /**
+     * Run the task on the student's lane, after every task submitted earlier for
+     * the same student.
+     *
+     * @param studentId Student database ID (partition key)
+     * @param task      Task to run
+     */
+    public void execute(Long studentId, Runnable task) {
+        submitted.incrementAndGet();
+        Lane lane = lanes.get(laneFor(studentId));
+        if (shuttingDown) {
+            runOnCaller(task);
+            return;
+        }
+        boolean queued;
+        try {
+            queued = lane.queue.offer(task, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (queued) {
+            lane.recordDepth();
+        } else {
+            logger.warn("Observer lane {} is full ({} queued); running event on the calling thread",
+                    lane.index, queueCapacity);
+            runOnCaller(task);
+        }
+    }
+
+    /**
+     * @return Lane index of the student; stable for the executor's lifetime
+     */
+    public int laneFor(Long studentId) {
+        return studentId != null ? Math.floorMod(Long.hashCode(studentId), lanes.size()) : 0;
+    }
+
+    /**
+     * Stop accepting work and wait up to 30 seconds for the lanes to drain.
+     */
+    public void shutdown() {
+        shutdown(SHUTDOWN_AWAIT_MS);
+    }
+
+    /**
+     * Stop accepting work, let each lane finish its queue, and wait for the lanes.
+     *
+     * @param awaitMs Maximum time to wait for all lanes
+     */
+    public void shutdown(long awaitMs) {
+        shuttingDown = true;
+        long deadline = System.currentTimeMillis() + awaitMs;
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // ==================== Metrics ====================
+
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    public long getCallerRuns() {
+        return callerRuns.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return Tasks currently queued on each lane
+     */
+    public int[] getLaneDepths() {
+        return lanes.stream().mapToInt(lane -> lane.queue.size()).toArray();
+    }
+
+    /**
+     * @return Highest queue depth each lane has reached
+     */
+    public int[] getPeakLaneDepths() {
+        return lanes.stream().mapToInt(lane -> lane.peakDepth.get()).toArray();
+    }
+
+    /**
+     * @return Tasks completed by each lane
+     */
+    public long[] getLaneProcessed() {
+        return lanes.stream().mapToLong(lane -> lane.processed.get()).toArray();
+    }
+
+    // ==================== Lanes ====================
+
+    private void runOnCaller(Runnable task) {
+        callerRuns.incrementAndGet();
+        runSafely(task);
+    }
+
+    /**
+     * Run a task, containing anything it throws: an Error escaping here would end
+     * the lane thread and strand every student mapped to the lane.
+     */
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            failures.incrementAndGet();
+            logger.error("Observer lane task failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private final class Lane implements Runnable {
+
+        private final int index;
+        private final BlockingQueue<Runnable> queue;
+        private final AtomicInteger peakDepth = new AtomicInteger();
+        private final AtomicLong processed = new AtomicLong();
+        private Thread thread;
+
+        Lane(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void recordDepth() {
+            peakDepth.accumulateAndGet(queue.size(), Math::max);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable task;
+                try {
+                    task = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (task == null) {
+                    if (shuttingDown) {
+                        // Tasks queued while the lane was stopping
+                        while ((task = queue.poll()) != null) {
+                            runSafely(task);
+                        }
+                        return;
+                    }
+                    continue;
+                }
+                runSafely(task);
+                processed.incrementAndGet();
+            }
+        }
+    }
+}
@@ -26,9 +26,9 @@ public class StudentStateManager {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentStateManager.class);
     
-    // GPA Thresholds
-    private static final double NORMAL_THRESHOLD = 2.0;
-    private static final double AT_RISK_THRESHOLD = 1.5;
+    // GPA Thresholds (also applied by the set-based GPA recompute in SQL)
+    public static final double NORMAL_THRESHOLD = 2.0;
+    public static final double AT_RISK_THRESHOLD = 1.5;
     
     // State instances mapped to status
     private final Map<StudentStatus, StudentState> states;
@@ -0,0 +1,29 @@
+package com.spts.repository;
+
+import com.spts.entity.AlertLevel;
+import com.spts.entity.AlertType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged projection of one alert for the paginated alert feeds.
+ * The student's name comes from the query's join, so building a page never
+ * loads Student entities.
+ *
+ * @author SPTS Team
+ */
+public record AlertFeedRow(
+        Long id,
+        Long studentId,
+        String studentFirstName,
+        String studentLastName,
+        AlertLevel level,
+        AlertType type,
+        String message,
+        LocalDateTime createdAt,
+        Boolean isRead,
+        LocalDateTime readAt,
+        Boolean isResolved,
+        LocalDateTime resolvedAt,
+        String resolvedBy) {
+}
@@ -3,12 +3,15 @@ package com.spts.repository;
 import com.spts.entity.Alert;
 import com.spts.entity.AlertLevel;
 import com.spts.entity.AlertType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -80,8 +83,118 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     boolean existsUnresolvedByStudentIdAndType(@Param("studentId") Long studentId, 
                                                 @Param("type") AlertType type);
 
+    /**
+     * Unresolved alert types of several students in one query, as
+     * (student ID, alert type) pairs. Used to prefetch de-duplication state
+     * for a batch of students.
+     */
+    @Query("SELECT DISTINCT a.student.id, a.type FROM Alert a " +
+           "WHERE a.student.id IN :studentIds AND a.isResolved = false")
+    List<Object[]> findUnresolvedTypesByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
     /**
      * Find unresolved alerts by student ID and type.
      */
     List<Alert> findByStudentIdAndTypeAndIsResolvedFalse(Long studentId, AlertType type);
+
+    // ==================== Keyset Feeds ====================
+    // Newest first by (createdAt, id). A page after a cursor continues strictly
+    // below the cursor's (createdAt, id), which the (filter, created_at, id)
+    // indexes on Alert answer with a range scan, so every page costs the same.
+    // Limit the page size with a Pageable of page 0.
+
+    String FEED_SELECT = "SELECT new com.spts.repository.AlertFeedRow(a.id, s.id, s.firstName, s.lastName, " +
+            "a.level, a.type, a.message, a.createdAt, a.isRead, a.readAt, a.isResolved, a.resolvedAt, a.resolvedBy) " +
+            "FROM Alert a JOIN a.student s ";
+    String FEED_AFTER_CURSOR = "(a.createdAt, a.id) < (:createdAt, :id) ";
+    String FEED_ORDER = "ORDER BY a.createdAt DESC, a.id DESC";
+    String URGENT = "a.isResolved = false AND a.level IN ('CRITICAL', 'HIGH') ";
+
+    @Query(FEED_SELECT + FEED_ORDER)
+    List<AlertFeedRow> findFeed(Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE " + FEED_AFTER_CURSOR + FEED_ORDER)
+    List<AlertFeedRow> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                     Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE a.isRead = false " + FEED_ORDER)
+    List<AlertFeedRow> findUnreadFeed(Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE a.isRead = false AND " + FEED_AFTER_CURSOR + FEED_ORDER)
+    List<AlertFeedRow> findUnreadFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                           Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE a.isResolved = false " + FEED_ORDER)
+    List<AlertFeedRow> findUnresolvedFeed(Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE a.isResolved = false AND " + FEED_AFTER_CURSOR + FEED_ORDER)
+    List<AlertFeedRow> findUnresolvedFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE " + URGENT + FEED_ORDER)
+    List<AlertFeedRow> findUrgentFeed(Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE " + URGENT + "AND " + FEED_AFTER_CURSOR + FEED_ORDER)
+    List<AlertFeedRow> findUrgentFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                           Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE a.level = :level " + FEED_ORDER)
+    List<AlertFeedRow> findLevelFeed(@Param("level") AlertLevel level, Pageable pageable);
+
+    @Query(FEED_SELECT + "WHERE a.level = :level AND " + FEED_AFTER_CURSOR + FEED_ORDER)
+    List<AlertFeedRow> findLevelFeedAfter(@Param("level") AlertLevel level, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable pageable);
+
+    // ==================== Bulk Updates ====================
+    // Each update touches only alerts whose state changes, so the returned
+    // row count is the number of alerts actually marked.
+
+    /**
+     * Students owning the given alerts
+     */
+    @Query("SELECT DISTINCT a.student.id FROM Alert a WHERE a.id IN :ids")
+    List<Long> findStudentIdsByAlertIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Mark the unread alerts among the given IDs as read in one statement
+     */
+    @Modifying
+    @Query("UPDATE Alert a SET a.isRead = true, a.readAt = :now " +
+           "WHERE a.id IN :ids AND a.isRead = false")
+    int markReadByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Mark all unread alerts of a student as read in one statement
+     */
+    @Modifying
+    @Query("UPDATE Alert a SET a.isRead = true, a.readAt = :now " +
+           "WHERE a.student.id = :studentId AND a.isRead = false")
+    int markReadByStudentId(@Param("studentId") Long studentId, @Param("now") LocalDateTime now);
+
+    /**
+     * Resolve the unresolved alerts among the given IDs in one statement
+     */
+    @Modifying
+    @Query("UPDATE Alert a SET a.isResolved = true, a.resolvedAt = :now, a.resolvedBy = :resolvedBy " +
+           "WHERE a.id IN :ids AND a.isResolved = false")
+    int resolveByIds(@Param("ids") Collection<Long> ids, @Param("resolvedBy") String resolvedBy,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Resolve the unresolved alerts matching a filter in one statement.
+     * Null filter values match every alert; createdAt is matched in [from, to).
+     */
+    @Modifying
+    @Query("UPDATE Alert a SET a.isResolved = true, a.resolvedAt = :now, a.resolvedBy = :resolvedBy " +
+           "WHERE a.isResolved = false " +
+           "AND (:studentId IS NULL OR a.student.id = :studentId) " +
+           "AND (:type IS NULL OR a.type = :type) " +
+           "AND (:level IS NULL OR a.level = :level) " +
+           // PostgreSQL cannot infer the type of a null timestamp parameter
+           "AND (CAST(:from AS LocalDateTime) IS NULL OR a.createdAt >= :from) " +
+           "AND (CAST(:to AS LocalDateTime) IS NULL OR a.createdAt < :to)")
+    int resolveByFilter(@Param("studentId") Long studentId, @Param("type") AlertType type,
+                        @Param("level") AlertLevel level, @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to, @Param("resolvedBy") String resolvedBy,
+                        @Param("now") LocalDateTime now);
 }
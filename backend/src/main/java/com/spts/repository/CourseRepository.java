@@ -2,6 +2,8 @@ package com.spts.repository;
 
 import com.spts.entity.Course;
 import com.spts.entity.GradingType;
+import com.spts.repository.StatisticsProjections.CreditCourseCount;
+import com.spts.repository.StatisticsProjections.DepartmentCourseCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -50,4 +52,18 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("SELECT c FROM Course c WHERE c.credits >= :minCredits AND c.credits <= :maxCredits")
     List<Course> findByCreditRange(@Param("minCredits") Integer minCredits, 
                                     @Param("maxCredits") Integer maxCredits);
+
+    /**
+     * Count courses per department (blank departments excluded)
+     */
+    @Query("SELECT c.department AS department, COUNT(c) AS courseCount FROM Course c " +
+           "WHERE c.department IS NOT NULL AND TRIM(c.department) <> '' " +
+           "GROUP BY c.department")
+    List<DepartmentCourseCount> countByDepartment();
+
+    /**
+     * Count courses per credit value
+     */
+    @Query("SELECT c.credits AS credits, COUNT(c) AS courseCount FROM Course c GROUP BY c.credits")
+    List<CreditCourseCount> countByCredits();
 }
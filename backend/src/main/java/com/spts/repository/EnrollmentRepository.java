@@ -2,13 +2,27 @@ package com.spts.repository;
 
 import com.spts.entity.Enrollment;
 import com.spts.entity.EnrollmentStatus;
+import com.spts.entity.Semester;
+import com.spts.repository.StatisticsProjections.CourseAggregate;
+import com.spts.repository.StatisticsProjections.CreditAggregate;
+import com.spts.repository.StatisticsProjections.DepartmentAggregate;
+import com.spts.repository.StatisticsProjections.StudentGpaAggregate;
+import com.spts.repository.StatisticsProjections.StudentTermGpaAggregate;
+import com.spts.repository.StatisticsProjections.TermAggregate;
+import com.spts.repository.StatisticsProjections.TermRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Enrollment entity.
@@ -23,6 +37,28 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
      */
     List<Enrollment> findByStudentId(Long studentId);
 
+    /**
+     * GPA sums per student over graded enrollments, for reconciling the running sums on Student
+     */
+    @Query("SELECT e.student.id AS studentId, SUM(e.gpaValue * c.credits) AS weightedGpaSum, " +
+           "SUM(c.credits) AS gradedCredits, " +
+           "SUM(CASE WHEN e.gpaValue >= 1.0 THEN c.credits ELSE 0 END) AS earnedCredits " +
+           "FROM Enrollment e JOIN e.courseOffering co JOIN co.course c " +
+           "WHERE e.finalScore IS NOT NULL AND e.gpaValue IS NOT NULL " +
+           "GROUP BY e.student.id")
+    List<StudentGpaAggregate> aggregateGpaByStudent();
+
+    /**
+     * GPA sums per student and term over graded enrollments, for rebuilding student_term_gpa
+     */
+    @Query("SELECT e.student.id AS studentId, co.semester AS semester, co.academicYear AS academicYear, " +
+           "SUM(e.gpaValue * c.credits) AS weightedGpaSum, SUM(c.credits) AS gradedCredits, " +
+           "SUM(CASE WHEN e.gpaValue >= 1.0 THEN c.credits ELSE 0 END) AS earnedCredits " +
+           "FROM Enrollment e JOIN e.courseOffering co JOIN co.course c " +
+           "WHERE e.finalScore IS NOT NULL AND e.gpaValue IS NOT NULL " +
+           "GROUP BY e.student.id, co.semester, co.academicYear")
+    List<StudentTermGpaAggregate> aggregateGpaByStudentAndTerm();
+
     /**
      * Find enrollments by course offering ID
      */
@@ -38,6 +74,11 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
      */
     boolean existsByStudentIdAndCourseOfferingId(Long studentId, Long courseOfferingId);
 
+    /**
+     * Check whether any enrollment has a final score
+     */
+    boolean existsByFinalScoreIsNotNull();
+
     /**
      * Find enrollments by status
      */
@@ -82,4 +123,100 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
      */
     @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId AND e.status = 'IN_PROGRESS'")
     List<Enrollment> findInProgressByStudent(@Param("studentId") Long studentId);
+
+    /**
+     * Find the enrollments of several students with offering and course fetched in one query
+     */
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.courseOffering co JOIN FETCH co.course " +
+           "WHERE e.student.id IN :studentIds")
+    List<Enrollment> findByStudentIdInWithCourse(@Param("studentIds") Collection<Long> studentIds);
+
+    // ==================== Aggregate Projections (Statistics) ====================
+
+    /**
+     * Enrollment aggregates per course, most enrolled first.
+     * Pass a Pageable to limit the number of courses returned.
+     */
+    @Query("SELECT c.id AS courseId, c.courseCode AS courseCode, c.courseName AS courseName, " +
+           "c.department AS department, c.credits AS credits, " +
+           "COUNT(e) AS totalEnrollments, " +
+           "SUM(CASE WHEN e.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completedEnrollments, " +
+           "COUNT(DISTINCT e.student.id) AS distinctStudents, " +
+           "AVG(e.gpaValue) AS averageGpa, AVG(e.finalScore) AS averageScore " +
+           "FROM Enrollment e JOIN e.courseOffering co JOIN co.course c " +
+           "GROUP BY c.id, c.courseCode, c.courseName, c.department, c.credits " +
+           "ORDER BY COUNT(e) DESC, c.courseCode ASC")
+    List<CourseAggregate> aggregateByCourse(Pageable pageable);
+
+    /**
+     * Enrollment aggregates per department (blank departments excluded)
+     */
+    @Query("SELECT c.department AS department, COUNT(e) AS totalEnrollments, " +
+           "COUNT(DISTINCT e.student.id) AS distinctStudents, " +
+           "AVG(e.gpaValue) AS averageGpa, AVG(e.finalScore) AS averageScore " +
+           "FROM Enrollment e JOIN e.courseOffering co JOIN co.course c " +
+           "WHERE c.department IS NOT NULL AND TRIM(c.department) <> '' " +
+           "GROUP BY c.department")
+    List<DepartmentAggregate> aggregateByDepartment();
+
+    /**
+     * Enrollment aggregates per department without the distinct-student count;
+     * distinctStudents is always null (estimated from sketches instead)
+     */
+    @Query("SELECT c.department AS department, COUNT(e) AS totalEnrollments, " +
+           "CAST(NULL AS Long) AS distinctStudents, " +
+           "AVG(e.gpaValue) AS averageGpa, AVG(e.finalScore) AS averageScore " +
+           "FROM Enrollment e JOIN e.courseOffering co JOIN co.course c " +
+           "WHERE c.department IS NOT NULL AND TRIM(c.department) <> '' " +
+           "GROUP BY c.department")
+    List<DepartmentAggregate> aggregateByDepartmentWithoutStudents();
+
+    /**
+     * Enrollment aggregates for terms that have not been closed (no term_enrollment_snapshot row)
+     */
+    @Query("SELECT co.semester AS semester, co.academicYear AS academicYear, " +
+           "COUNT(e) AS totalEnrollments, " +
+           "SUM(CASE WHEN e.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completedEnrollments, " +
+           "AVG(e.finalScore) AS averageScore " +
+           "FROM Enrollment e JOIN e.courseOffering co " +
+           "WHERE NOT EXISTS (SELECT s.id FROM TermEnrollmentSnapshot s " +
+           "WHERE s.semester = co.semester AND s.academicYear = co.academicYear) " +
+           "GROUP BY co.semester, co.academicYear")
+    List<TermAggregate> aggregateOpenTerms();
+
+    /**
+     * Rollup of one term, written to term_enrollment_snapshot when the term is closed
+     */
+    @Query("SELECT COUNT(e) AS totalEnrollments, " +
+           "SUM(CASE WHEN e.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completedEnrollments, " +
+           "AVG(e.finalScore) AS averageScore, " +
+           "SUM(e.gpaValue) AS gpaSum, COUNT(e.gpaValue) AS gpaCount " +
+           "FROM Enrollment e JOIN e.courseOffering co " +
+           "WHERE co.semester = :semester AND co.academicYear = :academicYear")
+    TermRollup rollupTerm(@Param("semester") Semester semester, @Param("academicYear") Integer academicYear);
+
+    /**
+     * Enrollment aggregates per course credit value
+     */
+    @Query("SELECT c.credits AS credits, COUNT(e) AS totalEnrollments, " +
+           "COUNT(DISTINCT e.student.id) AS distinctStudents, " +
+           "AVG(e.gpaValue) AS averageGpa, AVG(e.finalScore) AS averageScore " +
+           "FROM Enrollment e JOIN e.courseOffering co JOIN co.course c " +
+           "GROUP BY c.credits")
+    List<CreditAggregate> aggregateByCredits();
+
+    /**
+     * Stream every enrollment as a flat row over a forward-only cursor.
+     * Must be consumed inside a transaction and closed (try-with-resources);
+     * rows are fetched from the driver in batches of the fetch size.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.spts.repository.EnrollmentRow(e.id, co.id, c.id, c.department, c.credits, " +
+           "co.semester, co.academicYear, co.gradingScale, e.status, e.gpaValue, e.finalScore, e.student.id) " +
+           "FROM Enrollment e JOIN e.courseOffering co JOIN co.course c")
+    Stream<EnrollmentRow> streamAllRows();
 }
@@ -0,0 +1,52 @@
+package com.spts.repository;
+
+import com.spts.entity.Course;
+import com.spts.entity.CourseOffering;
+import com.spts.entity.Enrollment;
+import com.spts.entity.EnrollmentStatus;
+import com.spts.entity.Semester;
+
+/**
+ * Flat, unmanaged projection of one enrollment for row-level statistics passes.
+ * Built with a JPQL constructor expression, so rows never enter the persistence context.
+ *
+ * @author SPTS Team
+ */
+public record EnrollmentRow(
+        Long enrollmentId,
+        Long offeringId,
+        Long courseId,
+        String department,
+        Integer credits,
+        Semester semester,
+        Integer academicYear,
+        String gradingScale,
+        EnrollmentStatus status,
+        Double gpaValue,
+        Double finalScore,
+        Long studentId) {
+
+    /**
+     * Copy the current state of a managed enrollment into a detached row.
+     *
+     * @param enrollment Enrollment with its offering, course and student loaded
+     * @return Row snapshot
+     */
+    public static EnrollmentRow of(Enrollment enrollment) {
+        CourseOffering offering = enrollment.getCourseOffering();
+        Course course = offering.getCourse();
+        return new EnrollmentRow(
+                enrollment.getId(),
+                offering.getId(),
+                course.getId(),
+                course.getDepartment(),
+                course.getCredits(),
+                offering.getSemester(),
+                offering.getAcademicYear(),
+                offering.getGradingScale(),
+                enrollment.getStatus(),
+                enrollment.getGpaValue(),
+                enrollment.getFinalScore(),
+                enrollment.getStudent().getId());
+    }
+}
@@ -0,0 +1,33 @@
+package com.spts.repository;
+
+import com.spts.entity.GpaRecomputeJob;
+import com.spts.entity.GpaRecomputeJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for GpaRecomputeJob entity.
+ * 
+ * @author SPTS Team
+ */
+@Repository
+public interface GpaRecomputeJobRepository extends JpaRepository<GpaRecomputeJob, Long> {
+
+    /**
+     * Find the most recently started job
+     */
+    Optional<GpaRecomputeJob> findFirstByOrderByIdDesc();
+
+    /**
+     * Find jobs by status (e.g. RUNNING jobs to resume after a restart)
+     */
+    List<GpaRecomputeJob> findByStatus(GpaRecomputeJobStatus status);
+
+    /**
+     * Check whether any job has the given status
+     */
+    boolean existsByStatus(GpaRecomputeJobStatus status);
+}
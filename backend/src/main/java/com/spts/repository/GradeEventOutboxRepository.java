@@ -0,0 +1,79 @@
+package com.spts.repository;
+
+import com.spts.entity.GradeEventOutbox;
+import com.spts.entity.GradeEventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for GradeEventOutbox entity.
+ * 
+ * @author SPTS Team
+ */
+@Repository
+public interface GradeEventOutboxRepository extends JpaRepository<GradeEventOutbox, Long> {
+
+    /**
+     * Find pending events due for delivery, oldest first. An event queued behind
+     * an earlier pending event of the same student that is still backing off is
+     * not due, so a student's events are delivered in order.
+     */
+    @Query("SELECT e FROM GradeEventOutbox e WHERE e.status = 'PENDING' " +
+           "AND e.nextAttemptAt <= :now " +
+           "AND NOT EXISTS (SELECT 1 FROM GradeEventOutbox p WHERE p.studentId = e.studentId " +
+           "AND p.status = 'PENDING' AND p.id < e.id AND p.nextAttemptAt > :now) " +
+           "ORDER BY e.id")
+    List<GradeEventOutbox> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Find events by status, most recent first (e.g. dead letters for inspection)
+     */
+    List<GradeEventOutbox> findByStatusOrderByIdDesc(GradeEventStatus status, Pageable pageable);
+
+    long countByStatus(GradeEventStatus status);
+
+    /**
+     * Mark a delivered batch in one statement
+     */
+    @Modifying
+    @Query("UPDATE GradeEventOutbox e SET e.status = 'DELIVERED', " +
+           "e.deliveredAt = :now, e.lastError = NULL WHERE e.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Make events created in [from, to) pending again, regardless of their state
+     */
+    @Modifying
+    @Query("UPDATE GradeEventOutbox e SET e.status = 'PENDING', " +
+           "e.attempts = 0, e.nextAttemptAt = :now, e.deliveredAt = NULL " +
+           "WHERE e.createdAt >= :from AND e.createdAt < :to")
+    int resetForReplay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Make dead-lettered events created in [from, to) pending again
+     */
+    @Modifying
+    @Query("UPDATE GradeEventOutbox e SET e.status = 'PENDING', " +
+           "e.attempts = 0, e.nextAttemptAt = :now " +
+           "WHERE e.status = 'DEAD_LETTER' " +
+           "AND e.createdAt >= :from AND e.createdAt < :to")
+    int resetDeadLettersForReplay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Delete delivered events older than the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM GradeEventOutbox e WHERE e.status = 'DELIVERED' " +
+           "AND e.deliveredAt < :cutoff")
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,134 @@
+package com.spts.repository;
+
+import com.spts.entity.Semester;
+
+/**
+ * Interface projections for aggregate statistics queries.
+ * Rows are computed with GROUP BY in the database, so no entity is materialized.
+ *
+ * @author SPTS Team
+ */
+public final class StatisticsProjections {
+
+    private StatisticsProjections() {
+    }
+
+    /**
+     * Enrollment aggregates grouped by course
+     */
+    public interface CourseAggregate {
+        Long getCourseId();
+        String getCourseCode();
+        String getCourseName();
+        String getDepartment();
+        Integer getCredits();
+        Long getTotalEnrollments();
+        Long getCompletedEnrollments();
+        Long getDistinctStudents();
+        Double getAverageGpa();
+        Double getAverageScore();
+    }
+
+    /**
+     * Enrollment aggregates grouped by department
+     */
+    public interface DepartmentAggregate {
+        String getDepartment();
+        Long getTotalEnrollments();
+        Long getDistinctStudents();
+        Double getAverageGpa();
+        Double getAverageScore();
+    }
+
+    /**
+     * Enrollment aggregates grouped by semester and academic year (the enrollment trend columns)
+     */
+    public interface TermAggregate {
+        Semester getSemester();
+        Integer getAcademicYear();
+        Long getTotalEnrollments();
+        Long getCompletedEnrollments();
+        Double getAverageScore();
+    }
+
+    /**
+     * Rollup of a single term, with GPA kept as sum and count so it can be stored and combined
+     */
+    public interface TermRollup {
+        Long getTotalEnrollments();
+        Long getCompletedEnrollments();
+        Double getAverageScore();
+        Double getGpaSum();
+        Long getGpaCount();
+    }
+
+    /**
+     * GPA sums of one student over graded enrollments (final score and GPA value set)
+     */
+    public interface StudentGpaAggregate {
+        Long getStudentId();
+        Double getWeightedGpaSum();
+        Long getGradedCredits();
+        Long getEarnedCredits();
+    }
+
+    /**
+     * GPA sums per student and term over graded enrollments, for rebuilding student_term_gpa
+     */
+    public interface StudentTermGpaAggregate {
+        Long getStudentId();
+        Semester getSemester();
+        Integer getAcademicYear();
+        Double getWeightedGpaSum();
+        Long getGradedCredits();
+        Long getEarnedCredits();
+    }
+
+    /**
+     * Term and cumulative GPA averages grouped by cohort (enrollment year) and term
+     */
+    public interface CohortTermGpaAggregate {
+        Integer getCohortYear();
+        Semester getSemester();
+        Integer getAcademicYear();
+        Long getStudentCount();
+        Double getAverageTermGpa();
+        Double getAverageCumulativeGpa();
+    }
+
+    /**
+     * Student whose status was changed by the set-based GPA recompute
+     */
+    public interface StudentStatusChange {
+        Long getStudentId();
+        String getPreviousStatus();
+        String getNewStatus();
+    }
+
+    /**
+     * Enrollment aggregates grouped by course credits
+     */
+    public interface CreditAggregate {
+        Integer getCredits();
+        Long getTotalEnrollments();
+        Long getDistinctStudents();
+        Double getAverageGpa();
+        Double getAverageScore();
+    }
+
+    /**
+     * Course count grouped by department
+     */
+    public interface DepartmentCourseCount {
+        String getDepartment();
+        Long getCourseCount();
+    }
+
+    /**
+     * Course count grouped by credits
+     */
+    public interface CreditCourseCount {
+        Integer getCredits();
+        Long getCourseCount();
+    }
+}
@@ -2,11 +2,16 @@ package com.spts.repository;
 
 import com.spts.entity.Student;
 import com.spts.entity.StudentStatus;
+import com.spts.repository.StatisticsProjections.StudentStatusChange;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +44,96 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Find students and lock their rows until the transaction ends (SELECT ... FOR UPDATE).
+     * Rows are locked in ID order, so transactions locking overlapping sets cannot deadlock.
+     * Instances the persistence context already holds are returned without being reloaded.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id IN :ids ORDER BY s.id")
+    List<Student> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next chunk of student IDs after the given one, in ID order (keyset pagination)
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Count students with an ID up to and including the given one
+     */
+    long countByIdLessThanEqual(Long id);
+
+    /**
+     * Set-based GPA recompute for every student in one PostgreSQL statement.
+     * 
+     * Aggregates graded enrollments per student (GPA sums, graded credits and, via
+     * FILTER, earned credits), writes GPA, credits and the running sums, and applies
+     * the status thresholds in the same pass. Each enrollment's counted grade is
+     * refreshed too, so later incremental updates start from consistent sums. Rows
+     * already correct are not rewritten. Students without graded enrollments keep
+     * their status, as in the per-student recompute.
+     * 
+     * @return Students whose status changed, with the previous and new status
+     */
+    @Query(value =
+            "WITH sums AS ( " +
+            "    SELECT e.student_id, " +
+            "           SUM(e.gpa_value * c.credits) AS weighted_sum, " +
+            "           SUM(c.credits) AS graded_credits, " +
+            "           SUM(c.credits) FILTER (WHERE e.gpa_value >= 1.0) AS earned_credits " +
+            "    FROM enrollments e " +
+            "    JOIN course_offerings co ON co.id = e.course_offering_id " +
+            "    JOIN courses c ON c.id = co.course_id " +
+            "    WHERE e.final_score IS NOT NULL AND e.gpa_value IS NOT NULL " +
+            "    GROUP BY e.student_id " +
+            "), recomputed AS ( " +
+            "    SELECT s.id, s.status AS previous_status, " +
+            "           COALESCE(x.weighted_sum, 0) AS weighted_sum, " +
+            "           COALESCE(x.graded_credits, 0) AS graded_credits, " +
+            "           COALESCE(x.earned_credits, 0) AS earned_credits, " +
+            "           CASE WHEN x.graded_credits > 0 " +
+            "                THEN LEAST(GREATEST(x.weighted_sum / x.graded_credits, 0), 4) END AS gpa " +
+            "    FROM students s " +
+            "    LEFT JOIN sums x ON x.student_id = s.id " +
+            "), target AS ( " +
+            "    SELECT r.*, " +
+            "           CASE WHEN r.gpa IS NULL THEN r.previous_status " +
+            "                WHEN r.gpa >= :normalThreshold THEN 'NORMAL' " +
+            "                WHEN r.gpa >= :atRiskThreshold THEN 'AT_RISK' " +
+            "                ELSE 'PROBATION' END AS new_status " +
+            "    FROM recomputed r " +
+            "), counted AS ( " +
+            "    UPDATE enrollments e " +
+            "    SET counted_gpa_value = CASE WHEN e.final_score IS NOT NULL THEN e.gpa_value END, " +
+            "        counted_credits = CASE WHEN e.final_score IS NOT NULL AND e.gpa_value IS NOT NULL THEN c.credits END " +
+            "    FROM course_offerings co " +
+            "    JOIN courses c ON c.id = co.course_id " +
+            "    WHERE co.id = e.course_offering_id " +
+            "      AND (e.counted_gpa_value, e.counted_credits) IS DISTINCT FROM " +
+            "          (CASE WHEN e.final_score IS NOT NULL THEN e.gpa_value END, " +
+            "           CASE WHEN e.final_score IS NOT NULL AND e.gpa_value IS NOT NULL THEN c.credits END) " +
+            "), updated AS ( " +
+            "    UPDATE students s " +
+            "    SET gpa = t.gpa, " +
+            "        total_credits = t.earned_credits, " +
+            "        weighted_gpa_sum = t.weighted_sum, " +
+            "        graded_credits = t.graded_credits, " +
+            "        status = t.new_status, " +
+            "        updated_at = CURRENT_TIMESTAMP " +
+            "    FROM target t " +
+            "    WHERE s.id = t.id " +
+            "      AND (s.gpa, s.total_credits, s.weighted_gpa_sum, s.graded_credits, s.status) IS DISTINCT FROM " +
+            "          (t.gpa, t.earned_credits, t.weighted_sum, t.graded_credits, t.new_status) " +
+            "    RETURNING s.id, t.previous_status, t.new_status " +
+            ") " +
+            "SELECT u.id AS studentId, u.previous_status AS previousStatus, u.new_status AS newStatus " +
+            "FROM updated u " +
+            "WHERE u.previous_status <> u.new_status",
+            nativeQuery = true)
+    List<StudentStatusChange> recomputeGpaSetBased(@Param("normalThreshold") double normalThreshold,
+                                                   @Param("atRiskThreshold") double atRiskThreshold);
+
     /**
      * Find students by status in a list of statuses
      */
@@ -0,0 +1,83 @@
+package com.spts.repository;
+
+import com.spts.entity.StudentTermGpa;
+import com.spts.repository.StatisticsProjections.CohortTermGpaAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for StudentTermGpa entity.
+ * 
+ * @author SPTS Team
+ */
+@Repository
+public interface StudentTermGpaRepository extends JpaRepository<StudentTermGpa, Long> {
+
+    /**
+     * Find a student's term GPA rows (unique index on student, semester, academic year)
+     */
+    List<StudentTermGpa> findByStudentId(Long studentId);
+
+    /**
+     * Find the term GPA rows of several students
+     */
+    List<StudentTermGpa> findByStudentIdIn(Collection<Long> studentIds);
+
+    /**
+     * Average term and cumulative GPA per cohort (student enrollment year) and term.
+     * Pass null to include every cohort.
+     */
+    @Query("SELECT YEAR(s.enrollmentDate) AS cohortYear, t.semester AS semester, t.academicYear AS academicYear, " +
+           "COUNT(t) AS studentCount, AVG(t.termGpa) AS averageTermGpa, AVG(t.cumulativeGpa) AS averageCumulativeGpa " +
+           "FROM StudentTermGpa t JOIN t.student s " +
+           "WHERE :cohortYear IS NULL OR YEAR(s.enrollmentDate) = :cohortYear " +
+           "GROUP BY YEAR(s.enrollmentDate), t.semester, t.academicYear")
+    List<CohortTermGpaAggregate> aggregateByCohortAndTerm(@Param("cohortYear") Integer cohortYear);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_term_gpa", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * Set-based rebuild of every row from the enrollments in one PostgreSQL statement.
+     * Cumulative sums are running window sums over each student's terms in
+     * chronological order. Expects the table to be empty (see {@link #deleteAllRows()}).
+     * 
+     * @return Number of rows inserted
+     */
+    @Modifying
+    @Query(value =
+            "INSERT INTO student_term_gpa (student_id, semester, academic_year, weighted_gpa_sum, graded_credits, " +
+            "    earned_credits, term_gpa, cumulative_weighted_sum, cumulative_graded_credits, cumulative_gpa, updated_at) " +
+            "SELECT t.student_id, t.semester, t.academic_year, t.weighted_sum, t.graded_credits, t.earned_credits, " +
+            "       LEAST(GREATEST(t.weighted_sum / t.graded_credits, 0), 4), " +
+            "       t.cumulative_sum, t.cumulative_credits, " +
+            "       LEAST(GREATEST(t.cumulative_sum / t.cumulative_credits, 0), 4), CURRENT_TIMESTAMP " +
+            "FROM ( " +
+            "    SELECT x.*, " +
+            "           SUM(x.weighted_sum) OVER w AS cumulative_sum, " +
+            "           SUM(x.graded_credits) OVER w AS cumulative_credits " +
+            "    FROM ( " +
+            "        SELECT e.student_id, co.semester, co.academic_year, " +
+            "               SUM(e.gpa_value * c.credits) AS weighted_sum, " +
+            "               SUM(c.credits) AS graded_credits, " +
+            "               COALESCE(SUM(c.credits) FILTER (WHERE e.gpa_value >= 1.0), 0) AS earned_credits " +
+            "        FROM enrollments e " +
+            "        JOIN course_offerings co ON co.id = e.course_offering_id " +
+            "        JOIN courses c ON c.id = co.course_id " +
+            "        WHERE e.final_score IS NOT NULL AND e.gpa_value IS NOT NULL " +
+            "        GROUP BY e.student_id, co.semester, co.academic_year " +
+            "        HAVING SUM(c.credits) > 0 " +
+            "    ) x " +
+            "    WINDOW w AS (PARTITION BY x.student_id ORDER BY x.academic_year, " +
+            "        CASE x.semester WHEN 'SPRING' THEN 1 WHEN 'SUMMER' THEN 2 WHEN 'FALL' THEN 3 ELSE 4 END) " +
+            ") t",
+            nativeQuery = true)
+    int insertAllFromEnrollments();
+}
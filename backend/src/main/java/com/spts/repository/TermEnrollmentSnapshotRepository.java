@@ -0,0 +1,22 @@
+package com.spts.repository;
+
+import com.spts.entity.Semester;
+import com.spts.entity.TermEnrollmentSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for TermEnrollmentSnapshot entity.
+ * 
+ * @author SPTS Team
+ */
+@Repository
+public interface TermEnrollmentSnapshotRepository extends JpaRepository<TermEnrollmentSnapshot, Long> {
+
+    /**
+     * Find the snapshot of a closed term
+     */
+    Optional<TermEnrollmentSnapshot> findBySemesterAndAcademicYear(Semester semester, Integer academicYear);
+}
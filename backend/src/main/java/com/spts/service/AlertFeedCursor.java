@@ -0,0 +1,37 @@
+package com.spts.service;
+
+import com.spts.exception.BusinessRuleException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in an alert feed: the (createdAt, id) of the last alert returned.
+ * Sent to clients as an opaque URL-safe string.
+ *
+ * @author SPTS Team
+ */
+public record AlertFeedCursor(LocalDateTime createdAt, Long id) {
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor Cursor from a previous page
+     * @return Decoded position
+     * @throws BusinessRuleException if the cursor is malformed
+     */
+    public static AlertFeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new AlertFeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessRuleException("Invalid alert feed cursor");
+        }
+    }
+}
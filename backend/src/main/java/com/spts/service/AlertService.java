@@ -1,16 +1,31 @@
 package com.spts.service;
 
 import com.spts.dto.AlertDTO;
+import com.spts.dto.AlertPageDTO;
 import com.spts.entity.*;
+import com.spts.exception.BusinessRuleException;
 import com.spts.exception.ResourceNotFoundException;
+import com.spts.repository.AlertFeedRow;
 import com.spts.repository.AlertRepository;
 import com.spts.repository.StudentRepository;
+import com.spts.statistics.TransactionHooks;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +43,15 @@ import java.util.stream.Collectors;
  * - PROBATION: Student placed on probation
  * - IMPROVEMENT: Performance improved from at-risk/probation
  * 
+ * Unresolved-alert lookups (de-duplication) are answered from the
+ * UnresolvedAlertIndex where possible; every write here keeps it current.
+ * 
+ * Bulk read/resolve operations are single UPDATE statements (chunked for long
+ * ID lists) and return the number of alerts whose state actually changed.
+ * 
+ * The alert feeds are keyset-paginated, newest first by (createdAt, id), and
+ * read flat rows with the student's name joined in.
+ * 
  * Reference: OOSD Chapter 8 - Observer Pattern
  * 
  * @author SPTS Team
@@ -36,12 +60,21 @@ import java.util.stream.Collectors;
 @Transactional
 public class AlertService {
 
+    /** Alert IDs per bulk UPDATE, keeping the IN list well below driver limits */
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    /** Largest page an alert feed returns */
+    private static final int MAX_FEED_LIMIT = 200;
+
     private final AlertRepository alertRepository;
     private final StudentRepository studentRepository;
+    private final UnresolvedAlertIndex unresolvedIndex;
 
-    public AlertService(AlertRepository alertRepository, StudentRepository studentRepository) {
+    public AlertService(AlertRepository alertRepository, StudentRepository studentRepository,
+                        UnresolvedAlertIndex unresolvedIndex) {
         this.alertRepository = alertRepository;
         this.studentRepository = studentRepository;
+        this.unresolvedIndex = unresolvedIndex;
     }
 
     // ==================== De-duplication Helper ====================
@@ -56,7 +89,61 @@ public class AlertService {
      */
     @Transactional(readOnly = true)
     public boolean hasUnresolvedAlert(Long studentId, AlertType type) {
-        return alertRepository.existsUnresolvedByStudentIdAndType(studentId, type);
+        Set<AlertType> cached = unresolvedIndex.get(studentId);
+        if (cached != null) {
+            return cached.contains(type);
+        }
+        return getUnresolvedAlertTypes(List.of(studentId))
+                .getOrDefault(studentId, Collections.emptySet())
+                .contains(type);
+    }
+
+    /**
+     * Get the unresolved alert types of several students. Students in the
+     * unresolved-alert index need no query; the others are loaded in one query
+     * and added to the index.
+     * 
+     * @param studentIds Student database IDs
+     * @return Unresolved alert types per student; students without any are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Set<AlertType>> getUnresolvedAlertTypes(Collection<Long> studentIds) {
+        Map<Long, Set<AlertType>> types = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            Set<AlertType> cached = unresolvedIndex.get(studentId);
+            if (cached == null) {
+                missing.add(studentId);
+            } else if (!cached.isEmpty()) {
+                types.put(studentId, cached);
+            }
+        }
+        if (missing.isEmpty()) {
+            return types;
+        }
+
+        long version = unresolvedIndex.version();
+        Map<Long, Set<AlertType>> loaded = new HashMap<>();
+        for (Object[] row : alertRepository.findUnresolvedTypesByStudentIds(missing)) {
+            loaded.computeIfAbsent((Long) row[0], id -> EnumSet.noneOf(AlertType.class)).add((AlertType) row[1]);
+        }
+        for (Long studentId : missing) {
+            Set<AlertType> studentTypes = loaded.getOrDefault(studentId, EnumSet.noneOf(AlertType.class));
+            unresolvedIndex.putLoaded(studentId, studentTypes, version);
+            if (!studentTypes.isEmpty()) {
+                types.put(studentId, studentTypes);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Keep the unresolved-alert index current once the write commits; if it rolls
+     * back, the student is reloaded on next use (the index may have been loaded
+     * with the uncommitted state).
+     */
+    private void afterAlertWrite(Long studentId, Runnable onCommit) {
+        TransactionHooks.afterCompletion(onCommit, () -> unresolvedIndex.evict(studentId));
     }
 
     // ==================== CRUD Operations ====================
@@ -106,6 +193,7 @@ public class AlertService {
         // createdAt is set automatically in constructor
 
         Alert savedAlert = alertRepository.save(alert);
+        afterAlertWrite(student.getId(), () -> unresolvedIndex.markUnresolved(student.getId(), dto.getType()));
         return convertToDTO(savedAlert);
     }
 
@@ -121,6 +209,7 @@ public class AlertService {
     public AlertDTO createAlert(Student student, AlertLevel level, AlertType type, String message) {
         Alert alert = new Alert(student, level, type, message);
         Alert savedAlert = alertRepository.save(alert);
+        afterAlertWrite(student.getId(), () -> unresolvedIndex.markUnresolved(student.getId(), type));
         return convertToDTO(savedAlert);
     }
 
@@ -142,6 +231,9 @@ public class AlertService {
         alert.setMessage(dto.getMessage());
 
         Alert savedAlert = alertRepository.save(alert);
+        // The type may have changed
+        Long studentId = alert.getStudent().getId();
+        afterAlertWrite(studentId, () -> unresolvedIndex.evict(studentId));
         return convertToDTO(savedAlert);
     }
 
@@ -152,10 +244,11 @@ public class AlertService {
      * @throws RuntimeException if alert not found
      */
     public void deleteAlert(Long id) {
-        if (!alertRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Alert", "id", id);
-        }
-        alertRepository.deleteById(id);
+        Alert alert = alertRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Alert", "id", id));
+        Long studentId = alert.getStudent().getId();
+        alertRepository.delete(alert);
+        afterAlertWrite(studentId, () -> unresolvedIndex.evict(studentId));
     }
 
     // ==================== Mark as Read/Resolved ====================
@@ -177,20 +270,17 @@ public class AlertService {
     }
 
     /**
-     * Mark multiple alerts as read
+     * Mark multiple alerts as read.
+     * Unknown and already-read IDs are skipped.
      * 
      * @param ids List of Alert database IDs
      * @return Number of alerts marked as read
      */
     public int markMultipleAsRead(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
         int count = 0;
-        for (Long id : ids) {
-            try {
-                markAsRead(id);
-                count++;
-            } catch (RuntimeException e) {
-                // Skip if not found
-            }
+        for (List<Long> chunk : chunks(ids)) {
+            count += alertRepository.markReadByIds(chunk, now);
         }
         return count;
     }
@@ -202,12 +292,7 @@ public class AlertService {
      * @return Number of alerts marked as read
      */
     public int markAllAsReadForStudent(Long studentId) {
-        List<Alert> alerts = alertRepository.findByStudentIdAndIsReadFalse(studentId);
-        for (Alert alert : alerts) {
-            alert.markAsRead();
-        }
-        alertRepository.saveAll(alerts);
-        return alerts.size();
+        return alertRepository.markReadByStudentId(studentId, LocalDateTime.now());
     }
 
     /**
@@ -224,24 +309,62 @@ public class AlertService {
 
         alert.markAsResolved(resolvedBy);
         Alert savedAlert = alertRepository.save(alert);
+        // Other alerts of the same type may still be unresolved
+        Long studentId = alert.getStudent().getId();
+        afterAlertWrite(studentId, () -> unresolvedIndex.evict(studentId));
         return convertToDTO(savedAlert);
     }
 
     /**
-     * Mark multiple alerts as resolved
+     * Mark multiple alerts as resolved.
+     * Unknown and already-resolved IDs are skipped.
      * 
      * @param ids        List of Alert database IDs
      * @param resolvedBy Username of resolver
      * @return Number of alerts marked as resolved
      */
     public int markMultipleAsResolved(List<Long> ids, String resolvedBy) {
+        LocalDateTime now = LocalDateTime.now();
         int count = 0;
-        for (Long id : ids) {
-            try {
-                markAsResolved(id, resolvedBy);
-                count++;
-            } catch (RuntimeException e) {
-                // Skip if not found
+        for (List<Long> chunk : chunks(ids)) {
+            List<Long> studentIds = alertRepository.findStudentIdsByAlertIds(chunk);
+            count += alertRepository.resolveByIds(chunk, resolvedBy, now);
+            // Other alerts of the same types may still be unresolved
+            for (Long studentId : studentIds) {
+                afterAlertWrite(studentId, () -> unresolvedIndex.evict(studentId));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Resolve every unresolved alert matching a filter in one statement.
+     * Null filter values match every alert; at least one must be given.
+     * 
+     * @param studentId  Student database ID, or null
+     * @param type       Alert type, or null
+     * @param level      Alert level, or null
+     * @param from       Inclusive creation-time start, or null
+     * @param to         Exclusive creation-time end, or null
+     * @param resolvedBy Username of resolver
+     * @return Number of alerts resolved
+     * @throws BusinessRuleException if no filter is given or the time range is empty
+     */
+    public int resolveAlerts(Long studentId, AlertType type, AlertLevel level,
+                             LocalDateTime from, LocalDateTime to, String resolvedBy) {
+        if (studentId == null && type == null && level == null && from == null && to == null) {
+            throw new BusinessRuleException("At least one filter is required to resolve alerts in bulk");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BusinessRuleException("'from' must be before 'to'");
+        }
+        int count = alertRepository.resolveByFilter(studentId, type, level, from, to, resolvedBy, LocalDateTime.now());
+        if (count > 0) {
+            if (studentId != null) {
+                afterAlertWrite(studentId, () -> unresolvedIndex.evict(studentId));
+            } else {
+                // The affected students are not known without another query
+                TransactionHooks.afterCompletion(unresolvedIndex::evictAll, unresolvedIndex::evictAll);
             }
         }
         return count;
@@ -257,13 +380,13 @@ public class AlertService {
      * @return Number of alerts resolved
      */
     public int resolveAlertsByType(Long studentId, AlertType type, String resolvedBy) {
-        List<Alert> alerts = alertRepository.findByStudentIdAndTypeAndIsResolvedFalse(studentId, type);
-        int count = 0;
-        for (Alert alert : alerts) {
-            alert.markAsResolved(resolvedBy);
-            count++;
+        Set<AlertType> cached = unresolvedIndex.get(studentId);
+        if (cached != null && !cached.contains(type)) {
+            // Known to have nothing to resolve
+            return 0;
         }
-        alertRepository.saveAll(alerts);
+        int count = alertRepository.resolveByFilter(studentId, type, null, null, null, resolvedBy, LocalDateTime.now());
+        afterAlertWrite(studentId, () -> unresolvedIndex.markResolved(studentId, type));
         return count;
     }
 
@@ -385,6 +508,90 @@ public class AlertService {
                 .collect(Collectors.toList());
     }
 
+    // ==================== Keyset Feeds ====================
+
+    /**
+     * Get a page of all alerts, newest first
+     * 
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit  Page size (1 to 200)
+     * @return Page with the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public AlertPageDTO getAlertFeed(String cursor, int limit) {
+        return feedPage(cursor, limit, alertRepository::findFeed, alertRepository::findFeedAfter);
+    }
+
+    /**
+     * Get a page of unread alerts, newest first
+     */
+    @Transactional(readOnly = true)
+    public AlertPageDTO getUnreadAlertFeed(String cursor, int limit) {
+        return feedPage(cursor, limit, alertRepository::findUnreadFeed, alertRepository::findUnreadFeedAfter);
+    }
+
+    /**
+     * Get a page of unresolved alerts, newest first
+     */
+    @Transactional(readOnly = true)
+    public AlertPageDTO getUnresolvedAlertFeed(String cursor, int limit) {
+        return feedPage(cursor, limit, alertRepository::findUnresolvedFeed, alertRepository::findUnresolvedFeedAfter);
+    }
+
+    /**
+     * Get a page of urgent alerts (CRITICAL and HIGH level, unresolved), newest first
+     */
+    @Transactional(readOnly = true)
+    public AlertPageDTO getUrgentAlertFeed(String cursor, int limit) {
+        return feedPage(cursor, limit, alertRepository::findUrgentFeed, alertRepository::findUrgentFeedAfter);
+    }
+
+    /**
+     * Get a page of alerts of one level, newest first
+     */
+    @Transactional(readOnly = true)
+    public AlertPageDTO getAlertFeedByLevel(AlertLevel level, String cursor, int limit) {
+        return feedPage(cursor, limit,
+                pageable -> alertRepository.findLevelFeed(level, pageable),
+                (createdAt, id, pageable) -> alertRepository.findLevelFeedAfter(level, createdAt, id, pageable));
+    }
+
+    /**
+     * Read one feed page. One row beyond the limit is fetched to tell whether
+     * another page exists.
+     */
+    private AlertPageDTO feedPage(String cursor, int limit,
+                                  Function<Pageable, List<AlertFeedRow>> firstPage,
+                                  FeedPageAfter pageAfter) {
+        if (limit < 1 || limit > MAX_FEED_LIMIT) {
+            throw new BusinessRuleException("limit must be between 1 and " + MAX_FEED_LIMIT);
+        }
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<AlertFeedRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = firstPage.apply(pageable);
+        } else {
+            AlertFeedCursor position = AlertFeedCursor.decode(cursor);
+            rows = pageAfter.find(position.createdAt(), position.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            AlertFeedRow last = rows.get(limit - 1);
+            nextCursor = new AlertFeedCursor(last.createdAt(), last.id()).encode();
+        }
+        return new AlertPageDTO(rows.stream().map(this::convertToDTO).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Feed query for the page after a (createdAt, id) position
+     */
+    @FunctionalInterface
+    private interface FeedPageAfter {
+        List<AlertFeedRow> find(LocalDateTime createdAt, Long id, Pageable pageable);
+    }
+
     /**
      * Count unread alerts for a student
      * 
@@ -429,6 +636,18 @@ public class AlertService {
         return summary;
     }
 
+    /**
+     * Split IDs into distinct chunks of at most BULK_CHUNK_SIZE
+     */
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
     // ==================== DTO Conversion Helpers ====================
 
     /**
@@ -452,6 +671,28 @@ public class AlertService {
         return dto;
     }
 
+    /**
+     * Convert a feed row to AlertDTO
+     */
+    private AlertDTO convertToDTO(AlertFeedRow row) {
+        AlertDTO dto = new AlertDTO();
+        dto.setId(row.id());
+        dto.setStudentId(row.studentId());
+        // Same format as Student.getFullName()
+        dto.setStudentName(row.studentFirstName() + " " + row.studentLastName());
+        dto.setLevel(row.level());
+        dto.setType(row.type());
+        dto.setMessage(row.message());
+        dto.setCreatedAt(row.createdAt());
+        dto.setCreatedDate(row.createdAt() != null ? row.createdAt().toLocalDate() : null);
+        dto.setIsRead(row.isRead());
+        dto.setReadAt(row.readAt());
+        dto.setIsResolved(row.isResolved());
+        dto.setResolvedAt(row.resolvedAt());
+        dto.setResolvedBy(row.resolvedBy());
+        return dto;
+    }
+
     // ==================== Inner Classes ====================
 
     /**
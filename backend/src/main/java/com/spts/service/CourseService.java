@@ -9,6 +9,7 @@ import com.spts.entity.Semester;
 import com.spts.exception.ResourceNotFoundException;
 import com.spts.exception.DuplicateResourceException;
 import com.spts.repository.CourseRepository;
+import com.spts.statistics.StatisticsChangeNotifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,11 +33,14 @@ public class CourseService {
 
     private final CourseRepository courseRepository;
     private final CourseOfferingService courseOfferingService;
+    private final StatisticsChangeNotifier statisticsChangeNotifier;
 
     public CourseService(CourseRepository courseRepository,
-                         CourseOfferingService courseOfferingService) {
+                         CourseOfferingService courseOfferingService,
+                         StatisticsChangeNotifier statisticsChangeNotifier) {
         this.courseRepository = courseRepository;
         this.courseOfferingService = courseOfferingService;
+        this.statisticsChangeNotifier = statisticsChangeNotifier;
     }
 
     // ==================== CRUD Operations ====================
@@ -111,6 +115,7 @@ public class CourseService {
         course.setCreatorEmail(dto.getCreatorEmail());
 
         Course savedCourse = courseRepository.save(course);
+        statisticsChangeNotifier.courseSaved(savedCourse);
         
         // If course is APPROVED or PENDING, create an offering so creator can enroll
         if (savedCourse.getStatus() == com.spts.entity.ApprovalStatus.APPROVED || 
@@ -130,6 +135,7 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
         course.setStatus(com.spts.entity.ApprovalStatus.APPROVED);
         Course savedCourse = courseRepository.save(course);
+        statisticsChangeNotifier.courseSaved(savedCourse);
         System.out.println("Course status updated to APPROVED. Ensuring offering exists...");
 
         // SRP: Delegate offering creation logic to its own service
@@ -145,7 +151,9 @@ public class CourseService {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
         course.setStatus(com.spts.entity.ApprovalStatus.REJECTED);
-        return convertToDTO(courseRepository.save(course));
+        Course savedCourse = courseRepository.save(course);
+        statisticsChangeNotifier.courseSaved(savedCourse);
+        return convertToDTO(savedCourse);
     }
 
     /**
@@ -178,6 +186,7 @@ public class CourseService {
         }
 
         Course savedCourse = courseRepository.save(course);
+        statisticsChangeNotifier.courseSaved(savedCourse);
         return convertToDTO(savedCourse);
     }
 
@@ -217,6 +226,7 @@ public class CourseService {
 
         // 4. Delete from DB
         courseRepository.delete(course);
+        statisticsChangeNotifier.courseDeleted(id);
         System.out.println("Authorized deletion of course: " + course.getCourseCode() + " by " + (isAdmin ? "admin" : userEmail));
     }
 
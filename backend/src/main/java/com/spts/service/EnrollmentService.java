@@ -11,6 +11,7 @@ import com.spts.patterns.strategy.IGradingStrategy;
 import com.spts.repository.CourseOfferingRepository;
 import com.spts.repository.EnrollmentRepository;
 import com.spts.repository.StudentRepository;
+import com.spts.statistics.StatisticsChangeNotifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -46,19 +47,22 @@ public class EnrollmentService {
     private final StudentService studentService;
     private final GradingStrategyFactory gradingStrategyFactory;
     private final GradeSubject gradeSubject;
+    private final StatisticsChangeNotifier statisticsChangeNotifier;
 
     public EnrollmentService(EnrollmentRepository enrollmentRepository,
                               StudentRepository studentRepository,
                               CourseOfferingRepository courseOfferingRepository,
                               StudentService studentService,
                               GradingStrategyFactory gradingStrategyFactory,
-                              GradeSubject gradeSubject) {
+                              GradeSubject gradeSubject,
+                              StatisticsChangeNotifier statisticsChangeNotifier) {
         this.enrollmentRepository = enrollmentRepository;
         this.studentRepository = studentRepository;
         this.courseOfferingRepository = courseOfferingRepository;
         this.studentService = studentService;
         this.gradingStrategyFactory = gradingStrategyFactory;
         this.gradeSubject = gradeSubject;
+        this.statisticsChangeNotifier = statisticsChangeNotifier;
     }
 
     // ==================== Observer Pattern Helper ====================
@@ -149,6 +153,8 @@ public class EnrollmentService {
         offering.setCurrentEnrollment(offering.getCurrentEnrollment() + 1);
         courseOfferingRepository.save(offering);
 
+        statisticsChangeNotifier.enrollmentSaved(savedEnrollment);
+
         return convertToDTO(savedEnrollment);
     }
 
@@ -182,6 +188,7 @@ public class EnrollmentService {
         }
 
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        statisticsChangeNotifier.enrollmentSaved(savedEnrollment);
 
         // Use the established Observer Pattern to trigger GPA updates and Risk Detection
         // This ensures all behavioral updates (GPA, Risk, Alerts) happen in the correct order
@@ -202,10 +209,13 @@ public class EnrollmentService {
         Enrollment enrollment = enrollmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment", "id", id));
 
-        Long studentId = enrollment.getStudent().getId();
         Long offeringId = enrollment.getCourseOffering().getId();
 
+        // Subtract the enrollment's grade from the student's running GPA sums
+        studentService.removeEnrollmentGpa(enrollment);
+
         enrollmentRepository.deleteById(id);
+        statisticsChangeNotifier.enrollmentDeleted(id);
 
         // Update offering enrollment count
         CourseOffering offering = courseOfferingRepository.findById(offeringId).orElse(null);
@@ -213,9 +223,6 @@ public class EnrollmentService {
             offering.setCurrentEnrollment(offering.getCurrentEnrollment() - 1);
             courseOfferingRepository.save(offering);
         }
-
-        // Recalculate student GPA
-        studentService.recalculateAndUpdateGpa(studentId);
     }
 
     // ==================== Grade Submission ====================
@@ -246,8 +253,8 @@ public class EnrollmentService {
         enrollment.complete(finalScore);
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
 
-        // Trigger student GPA recalculation
-        studentService.recalculateAndUpdateGpa(enrollment.getStudent().getId());
+        // Apply the new grade to the student's GPA (O(1) delta update)
+        studentService.applyEnrollmentGpaChange(savedEnrollment);
 
         // Notify observers about enrollment completion (Observer Pattern - Member 3)
         notifyEnrollmentObservers(enrollment);
@@ -297,6 +304,7 @@ public class EnrollmentService {
 
         enrollment.withdraw();
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        statisticsChangeNotifier.enrollmentSaved(savedEnrollment);
 
         // Update offering enrollment count
         CourseOffering offering = enrollment.getCourseOffering();
@@ -347,6 +355,7 @@ public class EnrollmentService {
 
         // If passing, mark status appropriately (but don't auto-complete)
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        statisticsChangeNotifier.enrollmentSaved(savedEnrollment);
 
         return convertToDTO(savedEnrollment);
     }
@@ -392,8 +401,8 @@ public class EnrollmentService {
 
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
 
-        // Trigger student GPA recalculation
-        studentService.recalculateAndUpdateGpa(enrollment.getStudent().getId());
+        // Apply the new grade to the student's GPA (O(1) delta update)
+        studentService.applyEnrollmentGpaChange(savedEnrollment);
 
         // Notify observers about enrollment completion (Observer Pattern - Member 3)
         notifyEnrollmentObservers(enrollment);
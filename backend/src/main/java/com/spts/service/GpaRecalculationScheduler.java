@@ -0,0 +1,239 @@
+package com.spts.service;
+
+import com.spts.dto.GpaRecalculationMetricsDTO;
+import com.spts.entity.Student;
+import com.spts.patterns.observer.GradeSubject;
+import com.spts.statistics.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalescing write-behind scheduler for GPA recalculation.
+ *
+ * Grade updates only mark their student dirty. Dirty marks for the same student
+ * are deduplicated and the student is recalculated once. Students are
+ * recalculated in chunks with their enrollments loaded in one query, followed by
+ * one {@link GradeSubject#notifyGpaRecalculatedBatch} (risk detection) per chunk:
+ * - window > 0: marks are collected after commit for the window, then each
+ *   chunk is recalculated in its own transaction on the scheduler thread; if a
+ *   chunk fails its students are retried one by one, and a failed student is
+ *   retried in the next windows, up to 3 times
+ * - window = 0: marks are collected per transaction and flushed just before
+ *   it commits, so the GPA commits together with the grades; a failure rolls
+ *   the transaction back (the outbox then retries the grade event)
+ * 
+ * Marks made while the grade event outbox is delivering always use the
+ * window = 0 path, whatever the window: the event is only acknowledged once
+ * the recalculation and risk check have committed with it, so a failure or a
+ * crash redelivers the event instead of losing the recalculation.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class GpaRecalculationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GpaRecalculationScheduler.class);
+    private static final int MAX_WINDOW_RETRIES = 3;
+    private static final int FLUSH_CHUNK_SIZE = 100;
+
+    private final StudentService studentService;
+    private final GradeSubject gradeSubject;
+    private final TransactionTemplate flushTransaction;
+    private final long windowMs;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> retries = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gpa-recalculation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Metrics
+    private final AtomicLong signalsReceived = new AtomicLong();
+    private final AtomicLong recalculations = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public GpaRecalculationScheduler(StudentService studentService,
+                                     GradeSubject gradeSubject,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${gpa.recalculation.coalesce-window-ms:200}") long windowMs) {
+        this.studentService = studentService;
+        this.gradeSubject = gradeSubject;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Signal that a student's grades changed and their GPA needs recalculating.
+     *
+     * @param studentId Student database ID
+     */
+    public void markDirty(Long studentId) {
+        markDirty(List.of(studentId));
+    }
+
+    /**
+     * Signal a batch of grade updates; each affected student is recalculated once.
+     *
+     * @param studentIds Student database ID of each grade update (may repeat)
+     */
+    public void markDirty(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        signalsReceived.addAndGet(studentIds.size());
+        Set<Long> distinct = new LinkedHashSet<>(studentIds);
+        if (windowMs > 0 && !GradeSubject.isDelivering()) {
+            TransactionHooks.afterCommit(() -> distinct.forEach(this::enqueue));
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionBatch().addAll(distinct);
+        } else {
+            recalculate(distinct);
+        }
+    }
+
+    /**
+     * @return Signal, recalculation and coalescing-ratio counters since startup
+     */
+    public GpaRecalculationMetricsDTO getMetrics() {
+        GpaRecalculationMetricsDTO metrics = new GpaRecalculationMetricsDTO();
+        long signals = signalsReceived.get();
+        long runs = recalculations.get();
+        metrics.setWindowMs(windowMs);
+        metrics.setSignalsReceived(signals);
+        metrics.setRecalculations(runs);
+        metrics.setFlushes(flushes.get());
+        metrics.setFailures(failures.get());
+        metrics.setPendingStudents(pending.size());
+        metrics.setCoalescingRatio(runs > 0 ? Math.round(signals * 100.0 / runs) / 100.0 : null);
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        // Best effort: recalculate what is still pending before the context closes
+        flushPending();
+    }
+
+    // ==================== Window Mode ====================
+
+    private void enqueue(Long studentId) {
+        pending.add(studentId);
+        if (flushScheduled.compareAndSet(false, true)) {
+            timer.schedule(this::flushPending, windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushPending() {
+        // Cleared first, so marks arriving during the flush schedule the next one
+        flushScheduled.set(false);
+        List<Long> studentIds = new ArrayList<>(pending);
+        pending.removeAll(studentIds);
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        flushes.incrementAndGet();
+        for (int from = 0; from < studentIds.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, studentIds.size()));
+            try {
+                flushTransaction.executeWithoutResult(status -> recalculate(chunk));
+                chunk.forEach(retries::remove);
+            } catch (RuntimeException chunkFailure) {
+                // Isolate the failing student so the others are not retried with it
+                for (Long studentId : chunk) {
+                    try {
+                        flushTransaction.executeWithoutResult(status -> recalculate(List.of(studentId)));
+                        retries.remove(studentId);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        retryLater(studentId, e);
+                    }
+                }
+            }
+        }
+        logger.debug("Flushed {} coalesced GPA recalculations", studentIds.size());
+    }
+
+    private void retryLater(Long studentId, RuntimeException error) {
+        int attempt = retries.merge(studentId, 1, Integer::sum);
+        if (attempt > MAX_WINDOW_RETRIES) {
+            retries.remove(studentId);
+            logger.error("Coalesced GPA recalculation failed for student {} after {} retries: {}",
+                    studentId, MAX_WINDOW_RETRIES, error.getMessage());
+            return;
+        }
+        logger.warn("Coalesced GPA recalculation failed for student {} (retry {}): {}",
+                studentId, attempt, error.getMessage());
+        if (!timer.isShutdown()) {
+            enqueue(studentId);
+        }
+    }
+
+    // ==================== Transaction-End Mode ====================
+
+    /**
+     * Dirty students of the current transaction, flushed before it commits.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> transactionBatch() {
+        Set<Long> batch = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (batch != null) {
+            return batch;
+        }
+        Set<Long> created = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                flushes.incrementAndGet();
+                try {
+                    recalculate(created);
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                    logger.error("GPA recalculation failed for students {}: {}", created, e.getMessage());
+                    throw e;
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(GpaRecalculationScheduler.this);
+            }
+        });
+        return created;
+    }
+
+    // ==================== Helpers ====================
+
+    private void recalculate(Collection<Long> studentIds) {
+        List<Student> students = studentService.applyPendingGpaChanges(studentIds);
+        gradeSubject.notifyGpaRecalculatedBatch(students);
+        recalculations.addAndGet(students.size());
+    }
+}
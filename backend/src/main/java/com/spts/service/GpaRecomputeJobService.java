@@ -0,0 +1,327 @@
+package com.spts.service;
+
+import com.spts.dto.GpaRecomputeJobDTO;
+import com.spts.entity.GpaRecomputeJob;
+import com.spts.entity.GpaRecomputeJobStatus;
+import com.spts.exception.BusinessRuleException;
+import com.spts.exception.ResourceNotFoundException;
+import com.spts.repository.GpaRecomputeJobRepository;
+import com.spts.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Service running the bulk GPA recompute as a background job.
+ *
+ * Student IDs are read in keyset order (id > cursor) in chunks; each chunk is
+ * recalculated on the worker pool in its own transaction. The job's checkpoint
+ * only advances over chunks that have committed contiguously, so after a crash
+ * or failure the job resumes from the checkpoint and at most redoes the chunks
+ * that were in flight. Jobs left RUNNING by a shutdown resume on startup.
+ *
+ * @author SPTS Team
+ */
+@Service
+public class GpaRecomputeJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GpaRecomputeJobService.class);
+
+    private final GpaRecomputeJobRepository jobRepository;
+    private final StudentRepository studentRepository;
+    private final StudentService studentService;
+    private final ThreadPoolTaskExecutor workers;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gpa-recompute-coordinator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** ID of the job this instance is currently running, or null */
+    private volatile Long activeJobId;
+
+    public GpaRecomputeJobService(GpaRecomputeJobRepository jobRepository,
+                                  StudentRepository studentRepository,
+                                  StudentService studentService,
+                                  @Qualifier("gpaRecomputeExecutor") ThreadPoolTaskExecutor workers,
+                                  @Value("${gpa.recompute.chunk-size:500}") int chunkSize) {
+        this.jobRepository = jobRepository;
+        this.studentRepository = studentRepository;
+        this.studentService = studentService;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        // Pool threads plus queue slots, matching GpaRecomputeConfig
+        this.maxChunksInFlight = workers.getCorePoolSize() * 2;
+    }
+
+    // ==================== Job Control ====================
+
+    /**
+     * Start recalculating GPA for every student in the background.
+     *
+     * @return The new job's status
+     * @throws BusinessRuleException if a job is already running
+     */
+    public synchronized GpaRecomputeJobDTO startJob() {
+        if (activeJobId != null || jobRepository.existsByStatus(GpaRecomputeJobStatus.RUNNING)) {
+            throw new BusinessRuleException("A GPA recompute job is already running");
+        }
+        GpaRecomputeJob job = jobRepository.save(new GpaRecomputeJob(studentRepository.count(), chunkSize));
+        GpaRecomputeJobDTO dto = convertToDTO(job);
+        launch(job);
+        return dto;
+    }
+
+    /**
+     * Resume a failed or interrupted job from its checkpoint.
+     *
+     * @param jobId Job database ID
+     * @return The resumed job's status
+     * @throws BusinessRuleException if the job is completed or already running here
+     */
+    public synchronized GpaRecomputeJobDTO resumeJob(Long jobId) {
+        GpaRecomputeJob job = findJob(jobId);
+        if (job.getStatus() == GpaRecomputeJobStatus.COMPLETED) {
+            throw new BusinessRuleException("GPA recompute job " + jobId + " is already completed");
+        }
+        if (activeJobId != null) {
+            throw new BusinessRuleException("A GPA recompute job is already running");
+        }
+        job = jobRepository.save(prepareResume(job));
+        GpaRecomputeJobDTO dto = convertToDTO(job);
+        launch(job);
+        return dto;
+    }
+
+    /**
+     * Resume jobs left RUNNING by a previous shutdown or crash.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void resumeInterruptedJobs() {
+        for (GpaRecomputeJob job : jobRepository.findByStatus(GpaRecomputeJobStatus.RUNNING)) {
+            if (activeJobId != null) {
+                // Only one job runs at a time; fail the rest so they can be resumed manually
+                job.setStatus(GpaRecomputeJobStatus.FAILED);
+                job.setErrorMessage("Interrupted; another job resumed first");
+                jobRepository.save(job);
+                continue;
+            }
+            logger.info("Resuming GPA recompute job {} after student {}", job.getId(), job.getCheckpointStudentId());
+            launch(jobRepository.save(prepareResume(job)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs stay RUNNING with their checkpoint and resume on next startup
+        coordinator.shutdownNow();
+    }
+
+    // ==================== Queries ====================
+
+    public GpaRecomputeJobDTO getJob(Long jobId) {
+        return convertToDTO(findJob(jobId));
+    }
+
+    public GpaRecomputeJobDTO getLatestJob() {
+        return jobRepository.findFirstByOrderByIdDesc()
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("GpaRecomputeJob", "status", "latest"));
+    }
+
+    // ==================== Execution ====================
+
+    private GpaRecomputeJob prepareResume(GpaRecomputeJob job) {
+        long processed = studentRepository.countByIdLessThanEqual(job.getCheckpointStudentId());
+        job.setStatus(GpaRecomputeJobStatus.RUNNING);
+        job.setTotalStudents(studentRepository.count());
+        job.setProcessedStudents(processed);
+        job.setProcessedAtResume(processed);
+        job.setResumedAt(LocalDateTime.now());
+        job.setFinishedAt(null);
+        job.setErrorMessage(null);
+        return job;
+    }
+
+    private void launch(GpaRecomputeJob job) {
+        activeJobId = job.getId();
+        coordinator.execute(() -> {
+            try {
+                run(job);
+            } finally {
+                activeJobId = null;
+            }
+        });
+    }
+
+    /**
+     * Coordinator loop: read the next chunk of IDs after the cursor and hand it to
+     * the workers, keeping at most {@link #maxChunksInFlight} chunks outstanding.
+     */
+    private void run(GpaRecomputeJob job) {
+        Progress progress = new Progress(job, jobRepository);
+        Semaphore inFlight = new Semaphore(maxChunksInFlight);
+        long cursor = job.getCheckpointStudentId();
+        try {
+            while (!progress.hasFailed()) {
+                List<Long> ids = studentRepository.findIdsAfter(cursor, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long chunkStart = cursor;
+                long chunkEnd = ids.get(ids.size() - 1);
+                cursor = chunkEnd;
+
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        studentService.recalculateGpaForStudents(ids);
+                        progress.chunkCommitted(chunkStart, chunkEnd, ids.size());
+                    } catch (Throwable e) {
+                        // An Error must fail the job too, or it would stay RUNNING and finish COMPLETED
+                        logger.error("GPA recompute job {} failed on students {}-{}",
+                                job.getId(), ids.get(0), chunkEnd, e);
+                        progress.fail(e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // Wait for the chunks still in flight
+            inFlight.acquire(maxChunksInFlight);
+            progress.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("GPA recompute job {} interrupted at checkpoint {}", job.getId(), progress.checkpoint);
+        } catch (Throwable e) {
+            logger.error("GPA recompute job {} failed", job.getId(), e);
+            progress.fail(e);
+            progress.finish();
+        }
+    }
+
+    /**
+     * Tracks committed chunks and persists the contiguous checkpoint.
+     * Chunks complete out of order; one completing ahead of the checkpoint is held
+     * until every chunk before it has committed.
+     */
+    static final class Progress {
+
+        private final GpaRecomputeJob job;
+        private final GpaRecomputeJobRepository jobRepository;
+        /** Committed chunks beyond the checkpoint: exclusive start ID -> {end ID, size} */
+        private final Map<Long, long[]> committedAhead = new TreeMap<>();
+        private long checkpoint;
+        private long processed;
+        private String error;
+
+        Progress(GpaRecomputeJob job, GpaRecomputeJobRepository jobRepository) {
+            this.job = job;
+            this.jobRepository = jobRepository;
+            this.checkpoint = job.getCheckpointStudentId();
+            this.processed = job.getProcessedStudents();
+        }
+
+        synchronized void chunkCommitted(long start, long end, int size) {
+            committedAhead.put(start, new long[]{end, size});
+            processed += size;
+            long[] next;
+            while ((next = committedAhead.remove(checkpoint)) != null) {
+                checkpoint = next[0];
+            }
+            save(job.getStatus());
+        }
+
+        synchronized void fail(Throwable e) {
+            if (error == null) {
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+        }
+
+        synchronized boolean hasFailed() {
+            return error != null;
+        }
+
+        synchronized void finish() {
+            if (error != null) {
+                job.setErrorMessage(error.length() > 1000 ? error.substring(0, 1000) : error);
+                save(GpaRecomputeJobStatus.FAILED);
+                return;
+            }
+            job.setFinishedAt(LocalDateTime.now());
+            save(GpaRecomputeJobStatus.COMPLETED);
+            logger.info("GPA recompute job {} completed: {} students", job.getId(), processed);
+        }
+
+        private void save(GpaRecomputeJobStatus status) {
+            job.setStatus(status);
+            job.setCheckpointStudentId(checkpoint);
+            job.setProcessedStudents(processed);
+            if (processed > job.getTotalStudents()) {
+                // Students added while the job ran
+                job.setTotalStudents(processed);
+            }
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private GpaRecomputeJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("GpaRecomputeJob", "id", jobId));
+    }
+
+    private GpaRecomputeJobDTO convertToDTO(GpaRecomputeJob job) {
+        GpaRecomputeJobDTO dto = new GpaRecomputeJobDTO();
+        dto.setId(job.getId());
+        dto.setStatus(job.getStatus());
+        dto.setTotalStudents(job.getTotalStudents());
+        dto.setProcessedStudents(job.getProcessedStudents());
+        dto.setPercentComplete(job.getTotalStudents() > 0
+                ? Math.min(100.0, Math.round(job.getProcessedStudents() * 1000.0 / job.getTotalStudents()) / 10.0)
+                : 100.0);
+        dto.setCheckpointStudentId(job.getCheckpointStudentId());
+        dto.setChunkSize(job.getChunkSize());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setResumedAt(job.getResumedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setErrorMessage(job.getErrorMessage());
+
+        // Throughput over the current run: since the last resume, or since the start
+        LocalDateTime runStart = job.getResumedAt() != null ? job.getResumedAt() : job.getStartedAt();
+        LocalDateTime runEnd = job.isRunning() || job.getUpdatedAt() == null ? LocalDateTime.now() : job.getUpdatedAt();
+        double seconds = Duration.between(runStart, runEnd).toMillis() / 1000.0;
+        long processedThisRun = job.getProcessedStudents() - job.getProcessedAtResume();
+        if (seconds > 0 && processedThisRun > 0) {
+            double throughput = processedThisRun / seconds;
+            dto.setThroughputPerSecond(Math.round(throughput * 10.0) / 10.0);
+            if (job.isRunning()) {
+                long remaining = Math.max(0, job.getTotalStudents() - job.getProcessedStudents());
+                dto.setEtaSeconds((long) Math.ceil(remaining / throughput));
+            }
+        }
+        return dto;
+    }
+}
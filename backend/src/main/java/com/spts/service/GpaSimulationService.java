@@ -0,0 +1,356 @@
+package com.spts.service;
+
+import com.spts.dto.GpaSimulationDTO;
+import com.spts.dto.GpaSimulationRequestDTO;
+import com.spts.entity.Enrollment;
+import com.spts.entity.EnrollmentStatus;
+import com.spts.entity.GradeEntry;
+import com.spts.entity.Student;
+import com.spts.exception.BusinessRuleException;
+import com.spts.exception.ResourceNotFoundException;
+import com.spts.patterns.state.StudentStateManager;
+import com.spts.patterns.strategy.GradingStrategyFactory;
+import com.spts.patterns.strategy.IGradingStrategy;
+import com.spts.repository.EnrollmentRepository;
+import com.spts.repository.GradeEntryRepository;
+import com.spts.repository.StudentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for what-if GPA simulations.
+ *
+ * Hypothetical final or component scores are evaluated in memory against the
+ * student's enrollments: component scores roll up through the GradeEntry
+ * composite weights exactly as GradeEntryService does when grades are
+ * submitted, and projected final scores are converted with the offering's
+ * grading strategy. Nothing is written; a simulation costs three queries.
+ *
+ * @author SPTS Team
+ */
+@Service
+@Transactional(readOnly = true)
+public class GpaSimulationService {
+
+    /** Scores are solved for in 0.01 steps over [0, 10] */
+    private static final int MAX_SCORE_HUNDREDTHS = 1000;
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradeEntryRepository gradeEntryRepository;
+    private final GradingStrategyFactory gradingStrategyFactory;
+    private final StudentStateManager stateManager;
+
+    public GpaSimulationService(StudentRepository studentRepository,
+                                EnrollmentRepository enrollmentRepository,
+                                GradeEntryRepository gradeEntryRepository,
+                                GradingStrategyFactory gradingStrategyFactory,
+                                StudentStateManager stateManager) {
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.gradeEntryRepository = gradeEntryRepository;
+        this.gradingStrategyFactory = gradingStrategyFactory;
+        this.stateManager = stateManager;
+    }
+
+    /**
+     * Project a student's GPA and status with hypothetical scores, and optionally
+     * solve for the minimum score that reaches a target GPA.
+     *
+     * @param studentId Student database ID
+     * @param request   Hypothetical scores and optional target
+     * @return Projected GPA, status and target solution
+     * @throws ResourceNotFoundException if the student is not found
+     * @throws BusinessRuleException     if a score targets another student's or a
+     *                                   non in-progress enrollment, or a composite entry
+     */
+    public GpaSimulationDTO simulate(Long studentId, GpaSimulationRequestDTO request) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
+        Map<Long, Enrollment> enrollments = enrollmentRepository.findByStudentIdInWithCourse(List.of(studentId))
+                .stream()
+                .collect(Collectors.toMap(Enrollment::getId, e -> e, (a, b) -> a, LinkedHashMap::new));
+
+        boolean needsEntries = !request.getEntryScores().isEmpty() || request.getSolveForGradeEntryId() != null;
+        Simulation simulation = new Simulation(enrollments,
+                needsEntries ? gradeEntryRepository.findByStudentId(studentId) : Collections.emptyList());
+
+        for (GpaSimulationRequestDTO.EnrollmentScore score : request.getEnrollmentScores()) {
+            requireInProgress(simulation, score.getEnrollmentId(), studentId);
+            simulation.finalScores.put(score.getEnrollmentId(), score.getScore());
+        }
+        for (GpaSimulationRequestDTO.EntryScore score : request.getEntryScores()) {
+            GradeEntry entry = requireLeafEntry(simulation, score.getGradeEntryId(), studentId);
+            simulation.entryScores.put(entry.getId(), score.getScore());
+        }
+
+        GpaSimulationDTO dto = new GpaSimulationDTO();
+        dto.setStudentId(studentId);
+        dto.setCurrentGpa(round(student.getGpa()));
+        dto.setCurrentStatus(student.getStatus());
+        // Solved first; solve() leaves the hypothetical scores as requested
+        if (request.getTargetGpa() != null) {
+            dto.setTarget(solve(simulation, request, studentId));
+        } else if (request.getSolveForEnrollmentId() != null || request.getSolveForGradeEntryId() != null) {
+            throw new BusinessRuleException("A target GPA is required to solve for a score");
+        }
+        Projection projection = simulation.project();
+        dto.setProjectedGpa(round(projection.gpa()));
+        dto.setProjectedStatus(stateManager.determineStatusFromGpa(projection.gpa()));
+        dto.setProjectedGradedCredits(projection.credits);
+        for (Long enrollmentId : simulation.simulatedEnrollmentIds()) {
+            dto.getSimulatedEnrollments().add(toSimulatedEnrollment(simulation, enrollments.get(enrollmentId)));
+        }
+        return dto;
+    }
+
+    // ==================== Target Solving ====================
+
+    /**
+     * Binary search for the minimum score, in 0.01 steps, whose projected GPA reaches
+     * the target. Projected GPA never decreases as a score increases: composite
+     * weights are non-negative and every grading strategy is monotone.
+     */
+    private GpaSimulationDTO.TargetSolution solve(Simulation simulation, GpaSimulationRequestDTO request, Long studentId) {
+        Long enrollmentId = request.getSolveForEnrollmentId();
+        Long entryId = request.getSolveForGradeEntryId();
+        if ((enrollmentId == null) == (entryId == null)) {
+            throw new BusinessRuleException("Solve for exactly one of an enrollment or a grade entry");
+        }
+        Map<Long, Double> variable;
+        Long variableId;
+        if (enrollmentId != null) {
+            requireInProgress(simulation, enrollmentId, studentId);
+            variable = simulation.finalScores;
+            variableId = enrollmentId;
+        } else {
+            GradeEntry entry = requireLeafEntry(simulation, entryId, studentId);
+            if (simulation.finalScores.containsKey(entry.getEnrollment().getId())) {
+                throw new BusinessRuleException("Grade entry " + entryId
+                        + " has no effect: its enrollment has a hypothetical final score");
+            }
+            variable = simulation.entryScores;
+            variableId = entryId;
+        }
+
+        double target = request.getTargetGpa();
+        GpaSimulationDTO.TargetSolution solution = new GpaSimulationDTO.TargetSolution();
+        solution.setTargetGpa(target);
+        solution.setEnrollmentId(enrollmentId);
+        solution.setGradeEntryId(entryId);
+
+        Double original = variable.get(variableId);
+        try {
+            if (!reaches(simulation, variable, variableId, MAX_SCORE_HUNDREDTHS, target)) {
+                solution.setAchievable(false);
+                return solution;
+            }
+            int low = 0;
+            int high = MAX_SCORE_HUNDREDTHS;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (reaches(simulation, variable, variableId, mid, target)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            variable.put(variableId, low / 100.0);
+            Double gpa = simulation.project().gpa();
+            solution.setAchievable(true);
+            solution.setRequiredScore(low / 100.0);
+            solution.setGpaAtRequiredScore(round(gpa));
+            solution.setStatusAtRequiredScore(stateManager.determineStatusFromGpa(gpa));
+            return solution;
+        } finally {
+            if (original != null) {
+                variable.put(variableId, original);
+            } else {
+                variable.remove(variableId);
+            }
+        }
+    }
+
+    private boolean reaches(Simulation simulation, Map<Long, Double> variable, Long variableId,
+                            int scoreHundredths, double target) {
+        variable.put(variableId, scoreHundredths / 100.0);
+        Double gpa = simulation.project().gpa();
+        // Tolerate floating-point error in the weighted sums
+        return gpa != null && gpa >= target - 1e-9;
+    }
+
+    // ==================== Simulation Model ====================
+
+    /**
+     * In-memory view of a student's enrollments and grade entries with
+     * hypothetical scores layered on top.
+     */
+    private final class Simulation {
+
+        private final Map<Long, Enrollment> enrollments;
+        private final Map<Long, GradeEntry> entries = new HashMap<>();
+        private final Map<Long, List<GradeEntry>> childrenByParent = new HashMap<>();
+        private final Map<Long, List<GradeEntry>> rootsByEnrollment = new HashMap<>();
+        /** Hypothetical final scores by enrollment ID */
+        private final Map<Long, Double> finalScores = new HashMap<>();
+        /** Hypothetical leaf entry scores by grade entry ID */
+        private final Map<Long, Double> entryScores = new HashMap<>();
+
+        Simulation(Map<Long, Enrollment> enrollments, List<GradeEntry> gradeEntries) {
+            this.enrollments = enrollments;
+            // Tree built from parent IDs, so lazy child collections are never loaded
+            for (GradeEntry entry : gradeEntries) {
+                entries.put(entry.getId(), entry);
+                if (entry.getParent() != null) {
+                    childrenByParent.computeIfAbsent(entry.getParent().getId(), id -> new ArrayList<>()).add(entry);
+                } else {
+                    rootsByEnrollment.computeIfAbsent(entry.getEnrollment().getId(), id -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+
+        boolean isLeaf(GradeEntry entry) {
+            return !childrenByParent.containsKey(entry.getId());
+        }
+
+        Set<Long> simulatedEnrollmentIds() {
+            Set<Long> ids = new LinkedHashSet<>(finalScores.keySet());
+            for (Long entryId : entryScores.keySet()) {
+                ids.add(entries.get(entryId).getEnrollment().getId());
+            }
+            return ids;
+        }
+
+        /**
+         * Projected final score: the hypothetical final score, or the root entries'
+         * weighted sum with hypothetical entry scores (as GradeEntryService computes it).
+         */
+        double projectedScore(Long enrollmentId) {
+            Double finalScore = finalScores.get(enrollmentId);
+            if (finalScore != null) {
+                return finalScore;
+            }
+            double total = 0.0;
+            for (GradeEntry root : rootsByEnrollment.getOrDefault(enrollmentId, Collections.emptyList())) {
+                Double score = calculatedScore(root);
+                if (score != null) {
+                    total += score * root.getWeight();
+                }
+            }
+            return Math.min(10.0, Math.round(total * 100.0) / 100.0);
+        }
+
+        /**
+         * Mirrors GradeEntry#getCalculatedScore with hypothetical leaf scores.
+         */
+        private Double calculatedScore(GradeEntry entry) {
+            List<GradeEntry> children = childrenByParent.get(entry.getId());
+            if (children == null) {
+                return entryScores.containsKey(entry.getId()) ? entryScores.get(entry.getId()) : entry.getScore();
+            }
+            double totalWeightedScore = 0.0;
+            double totalWeight = 0.0;
+            for (GradeEntry child : children) {
+                Double childScore = calculatedScore(child);
+                if (childScore != null) {
+                    totalWeightedScore += childScore * child.getWeight();
+                    totalWeight += child.getWeight();
+                }
+            }
+            return totalWeight > 0 ? totalWeightedScore / totalWeight : null;
+        }
+
+        Projection project() {
+            Set<Long> simulated = simulatedEnrollmentIds();
+            Projection projection = new Projection();
+            for (Enrollment enrollment : enrollments.values()) {
+                int credits = enrollment.getCredits() != null ? enrollment.getCredits() : 0;
+                if (simulated.contains(enrollment.getId())) {
+                    projection.add(strategyFor(enrollment).calculateGpa(projectedScore(enrollment.getId())), credits);
+                } else if (enrollment.isGraded()) {
+                    projection.add(enrollment.getGpaValue(), credits);
+                }
+            }
+            return projection;
+        }
+    }
+
+    /**
+     * Weighted GPA sum over graded credits, as kept in the student's running sums.
+     */
+    private static final class Projection {
+        private double weightedSum;
+        private int credits;
+
+        void add(double gpaValue, int credits) {
+            this.weightedSum += gpaValue * credits;
+            this.credits += credits;
+        }
+
+        Double gpa() {
+            return credits > 0 ? Math.max(0.0, Math.min(4.0, weightedSum / credits)) : null;
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private void requireInProgress(Simulation simulation, Long enrollmentId, Long studentId) {
+        Enrollment enrollment = simulation.enrollments.get(enrollmentId);
+        if (enrollment == null) {
+            throw new BusinessRuleException("Enrollment " + enrollmentId + " does not belong to student " + studentId);
+        }
+        if (enrollment.getStatus() != EnrollmentStatus.IN_PROGRESS) {
+            throw new BusinessRuleException("Only in-progress enrollments can be simulated; enrollment "
+                    + enrollmentId + " is " + enrollment.getStatus());
+        }
+    }
+
+    private GradeEntry requireLeafEntry(Simulation simulation, Long entryId, Long studentId) {
+        GradeEntry entry = simulation.entries.get(entryId);
+        if (entry == null) {
+            throw new BusinessRuleException("Grade entry " + entryId + " does not belong to student " + studentId);
+        }
+        if (!simulation.isLeaf(entry)) {
+            throw new BusinessRuleException("Grade entry " + entryId
+                    + " is composite; its score is calculated from its children");
+        }
+        requireInProgress(simulation, entry.getEnrollment().getId(), studentId);
+        return entry;
+    }
+
+    private IGradingStrategy strategyFor(Enrollment enrollment) {
+        String gradingScale = enrollment.getCourseOffering().getGradingScale();
+        if (gradingScale == null || gradingScale.isBlank()) {
+            gradingScale = "SCALE_10"; // Default
+        }
+        return gradingStrategyFactory.getStrategy(gradingScale);
+    }
+
+    private GpaSimulationDTO.SimulatedEnrollment toSimulatedEnrollment(Simulation simulation, Enrollment enrollment) {
+        IGradingStrategy strategy = strategyFor(enrollment);
+        double score = simulation.projectedScore(enrollment.getId());
+        GpaSimulationDTO.SimulatedEnrollment dto = new GpaSimulationDTO.SimulatedEnrollment();
+        dto.setEnrollmentId(enrollment.getId());
+        dto.setCourseCode(enrollment.getCourseOffering().getCourse().getCourseCode());
+        dto.setCredits(enrollment.getCredits());
+        dto.setGradingScale(strategy.getStrategyName());
+        dto.setProjectedScore(score);
+        dto.setProjectedLetterGrade(strategy.calculateLetterGrade(score));
+        dto.setProjectedGpaValue(strategy.calculateGpa(score));
+        return dto;
+    }
+
+    private Double round(Double value) {
+        return value != null ? Math.round(value * 100.0) / 100.0 : null;
+    }
+}
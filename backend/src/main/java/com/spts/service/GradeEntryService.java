@@ -3,9 +3,11 @@ package com.spts.service;
 import com.spts.dto.GradeEntryDTO;
 import com.spts.entity.*;
 import com.spts.exception.ResourceNotFoundException;
+import com.spts.patterns.observer.GradeChange;
 import com.spts.patterns.observer.GradeSubject;
 import com.spts.repository.EnrollmentRepository;
 import com.spts.repository.GradeEntryRepository;
+import com.spts.statistics.StatisticsChangeNotifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -13,6 +15,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -41,13 +45,16 @@ public class GradeEntryService {
     private final GradeEntryRepository gradeEntryRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final GradeSubject gradeSubject;
+    private final StatisticsChangeNotifier statisticsChangeNotifier;
 
     public GradeEntryService(GradeEntryRepository gradeEntryRepository,
                               EnrollmentRepository enrollmentRepository,
-                              GradeSubject gradeSubject) {
+                              GradeSubject gradeSubject,
+                              StatisticsChangeNotifier statisticsChangeNotifier) {
         this.gradeEntryRepository = gradeEntryRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.gradeSubject = gradeSubject;
+        this.statisticsChangeNotifier = statisticsChangeNotifier;
     }
 
     // ==================== Observer Pattern Helper ====================
@@ -451,6 +458,48 @@ public class GradeEntryService {
         return convertToDTO(savedEntry);
     }
 
+    /**
+     * Update the scores of many grade entries at once, e.g. for an import.
+     * Each affected enrollment's final grade is recomputed once, and observers
+     * are notified with one batch (one GPA recalculation per student).
+     * 
+     * @param scores     New score (0-10 scale) per grade entry database ID
+     * @param recordedBy Username of person recording
+     * @return Updated GradeEntryDTOs
+     * @throws ResourceNotFoundException if any entry is not found
+     */
+    public List<GradeEntryDTO> updateScores(Map<Long, Double> scores, String recordedBy) {
+        List<GradeEntry> entries = gradeEntryRepository.findAllById(scores.keySet());
+        if (entries.size() < scores.size()) {
+            Set<Long> found = entries.stream().map(GradeEntry::getId).collect(Collectors.toSet());
+            Long missing = scores.keySet().stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new ResourceNotFoundException("GradeEntry", "id", missing);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (GradeEntry entry : entries) {
+            entry.setScore(scores.get(entry.getId()));
+            entry.setRecordedBy(recordedBy);
+            entry.setRecordedAt(now);
+        }
+        List<GradeEntry> savedEntries = gradeEntryRepository.saveAll(entries);
+
+        // Update each enrollment final grade once
+        savedEntries.stream()
+                .map(entry -> entry.getEnrollment().getId())
+                .distinct()
+                .forEach(this::updateEnrollmentGrade);
+
+        // Notify observers about all score updates at once (Observer Pattern - Member 3)
+        gradeSubject.notifyObserversBatch(savedEntries.stream()
+                .map(entry -> new GradeChange(entry.getEnrollment().getStudent(), entry.getEnrollment(), entry))
+                .collect(Collectors.toList()));
+
+        return savedEntries.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Count grade entries for an enrollment
      * 
@@ -494,6 +543,9 @@ public class GradeEntryService {
             enrollment.setFinalScore(finalScore);
             enrollmentRepository.save(enrollment);
         }
+
+        // Every grade-entry write goes through here (deletes and child entries notify no observers)
+        statisticsChangeNotifier.enrollmentSaved(enrollment);
     }
 
     // ==================== DTO Conversion Helpers ====================
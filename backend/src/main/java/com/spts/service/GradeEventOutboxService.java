@@ -0,0 +1,372 @@
+package com.spts.service;
+
+import com.spts.dto.GradeEventDTO;
+import com.spts.dto.GradeEventOutboxStatsDTO;
+import com.spts.dto.ObserverLaneMetricsDTO;
+import com.spts.entity.Enrollment;
+import com.spts.entity.GradeEntry;
+import com.spts.entity.GradeEventOutbox;
+import com.spts.entity.GradeEventStatus;
+import com.spts.exception.BusinessRuleException;
+import com.spts.patterns.observer.GradeChange;
+import com.spts.patterns.observer.GradeSubject;
+import com.spts.patterns.observer.ObserverUnavailableException;
+import com.spts.patterns.observer.StudentLaneExecutor;
+import com.spts.repository.EnrollmentRepository;
+import com.spts.repository.GradeEntryRepository;
+import com.spts.repository.GradeEventOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service delivering the grade event outbox to the grade observers.
+ *
+ * A single poller reads due events in batches and hands each student's events
+ * to that student's observer lane, so a student's events are delivered in order
+ * while students proceed in parallel. A student's events are delivered in one
+ * transaction with their enrollments and grade entries prefetched, and marked
+ * DELIVERED in that same transaction (at-least-once: a crash before commit
+ * redelivers them). If that transaction fails, the events are retried one by
+ * one up to the first failing event, which backs off with the student's later
+ * events held behind it; after max-attempts failures it is dead-lettered until
+ * replayed, and the student's later events proceed.
+ * 
+ * Work the observers trigger during delivery (GPA recalculation, risk checks)
+ * must commit with the delivery transaction rather than be deferred past it,
+ * or a failure after the events are marked DELIVERED would lose it; the
+ * delivery transaction is marked with {@link GradeSubject#beginDelivery()}.
+ * While an observer is disabled or its circuit is open, polling pauses; an
+ * event that still runs into one is deferred until the observer is expected
+ * back, without using up an attempt.
+ *
+ * @author SPTS Team
+ */
+@Service
+public class GradeEventOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeEventOutboxService.class);
+    private static final int MAX_LISTED_EVENTS = 100;
+
+    private final GradeEventOutboxRepository outboxRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradeEntryRepository gradeEntryRepository;
+    private final GradeSubject gradeSubject;
+    private final StudentLaneExecutor lanes;
+    private final TransactionTemplate transaction;
+
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final int retentionDays;
+    private final long batchTimeoutMs;
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "grade-outbox-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GradeEventOutboxService(GradeEventOutboxRepository outboxRepository,
+                                   EnrollmentRepository enrollmentRepository,
+                                   GradeEntryRepository gradeEntryRepository,
+                                   GradeSubject gradeSubject,
+                                   StudentLaneExecutor lanes,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${grade.outbox.batch-size:100}") int batchSize,
+                                   @Value("${grade.outbox.poll-interval-ms:250}") long pollIntervalMs,
+                                   @Value("${grade.outbox.max-attempts:5}") int maxAttempts,
+                                   @Value("${grade.outbox.backoff-base-ms:1000}") long backoffBaseMs,
+                                   @Value("${grade.outbox.backoff-max-ms:300000}") long backoffMaxMs,
+                                   @Value("${grade.outbox.retention-days:7}") int retentionDays,
+                                   @Value("${grade.outbox.batch-timeout-ms:60000}") long batchTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.gradeEntryRepository = gradeEntryRepository;
+        this.gradeSubject = gradeSubject;
+        this.lanes = lanes;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.retentionDays = retentionDays;
+        this.batchTimeoutMs = batchTimeoutMs;
+    }
+
+    // ==================== Poller ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purgeDelivered, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Undelivered events stay PENDING and are delivered after the next startup
+        poller.shutdownNow();
+    }
+
+    private void poll() {
+        Optional<String> unavailable = gradeSubject.findUnavailableObserver();
+        if (unavailable.isPresent()) {
+            logger.debug("Grade outbox paused: observer {} is unavailable", unavailable.get());
+            return;
+        }
+        try {
+            // A full batch means more are probably due; keep going without waiting
+            while (deliverDueBatch() == batchSize && !Thread.currentThread().isInterrupted()) {
+                logger.debug("Grade outbox batch full; polling again");
+            }
+        } catch (Throwable e) {
+            // Anything escaping here would cancel all later polls
+            logger.error("Grade outbox poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deliver one batch of due events and wait until every lane has finished it,
+     * or until the batch timeout. Students still unfinished then are logged with
+     * their lanes; their events stay PENDING and may be delivered again by a
+     * later poll, queued behind the stuck delivery on the same lane.
+     *
+     * @return Number of events in the batch
+     */
+    int deliverDueBatch() {
+        List<GradeEventOutbox> due = transaction.execute(status ->
+                outboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize)));
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<GradeEventOutbox>> byStudent = due.stream()
+                .collect(Collectors.groupingBy(GradeEventOutbox::getStudentId, LinkedHashMap::new, Collectors.toList()));
+
+        CountDownLatch finished = new CountDownLatch(byStudent.size());
+        Set<Long> unfinished = ConcurrentHashMap.newKeySet();
+        unfinished.addAll(byStudent.keySet());
+        byStudent.forEach((studentId, events) -> lanes.execute(studentId, () -> {
+            try {
+                deliverStudentEvents(events);
+            } finally {
+                unfinished.remove(studentId);
+                finished.countDown();
+            }
+        }));
+        try {
+            if (!finished.await(batchTimeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.error("Grade outbox batch not finished after {} ms: students {} on lanes {}",
+                        batchTimeoutMs, unfinished, unfinished.stream().map(lanes::laneFor)
+                                .distinct().sorted().collect(Collectors.toList()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return due.size();
+    }
+
+    private void deliverStudentEvents(List<GradeEventOutbox> events) {
+        try {
+            transaction.executeWithoutResult(status -> deliver(events));
+        } catch (ObserverUnavailableException e) {
+            // Not the events' fault; they wait behind the first one
+            defer(events.get(0).getId(), e);
+        } catch (Throwable batchFailure) {
+            // Deliver the events before the failing one; the failing event backs
+            // off and the student's later events stay pending behind it
+            for (GradeEventOutbox event : events) {
+                try {
+                    transaction.executeWithoutResult(status -> deliver(List.of(event)));
+                } catch (ObserverUnavailableException e) {
+                    defer(event.getId(), e);
+                    break;
+                } catch (Throwable e) {
+                    // Errors too: the event backs off instead of being retried at once forever
+                    recordFailure(event.getId(), e);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pass the events to the observers as one batch, in order, with their
+     * enrollments and grade entries prefetched, then mark them delivered in the
+     * same transaction.
+     */
+    private void deliver(List<GradeEventOutbox> events) {
+        GradeSubject.beginDelivery();
+        Map<Long, Enrollment> enrollments = enrollmentRepository.findAllById(events.stream()
+                        .map(GradeEventOutbox::getEnrollmentId).distinct().collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Enrollment::getId, Function.identity()));
+        Map<Long, GradeEntry> entries = gradeEntryRepository.findAllById(events.stream()
+                        .map(GradeEventOutbox::getGradeEntryId).filter(Objects::nonNull).distinct()
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(GradeEntry::getId, Function.identity()));
+
+        List<GradeChange> changes = new ArrayList<>();
+        for (GradeEventOutbox event : events) {
+            Enrollment enrollment = enrollments.get(event.getEnrollmentId());
+            if (enrollment == null) {
+                logger.debug("Enrollment {} was deleted before grade event {} was delivered",
+                        event.getEnrollmentId(), event.getId());
+                continue;
+            }
+            GradeEntry gradeEntry = event.getGradeEntryId() != null ? entries.get(event.getGradeEntryId()) : null;
+            changes.add(new GradeChange(enrollment.getStudent(), enrollment, gradeEntry));
+        }
+        gradeSubject.dispatchBatchToObservers(changes);
+        outboxRepository.markDelivered(events.stream().map(GradeEventOutbox::getId).collect(Collectors.toList()),
+                LocalDateTime.now());
+    }
+
+    private void recordFailure(Long eventId, Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        transaction.executeWithoutResult(status -> outboxRepository.findById(eventId).ifPresent(event -> {
+            event.recordFailure(message, maxAttempts, backoffBaseMs, backoffMaxMs, LocalDateTime.now());
+            outboxRepository.save(event);
+            if (event.getStatus() == GradeEventStatus.DEAD_LETTER) {
+                logger.error("Grade event {} dead-lettered after {} attempts: {}", eventId, event.getAttempts(), message);
+            } else {
+                logger.warn("Grade event {} failed (attempt {}), retrying at {}: {}",
+                        eventId, event.getAttempts(), event.getNextAttemptAt(), message);
+            }
+        }));
+    }
+
+    private void defer(Long eventId, ObserverUnavailableException reason) {
+        LocalDateTime retryAt = LocalDateTime.now().plusNanos(
+                Math.max(reason.getRetryAfterMs(), backoffBaseMs) * 1_000_000);
+        transaction.executeWithoutResult(status -> outboxRepository.findById(eventId).ifPresent(event -> {
+            event.defer(reason.getMessage(), retryAt);
+            outboxRepository.save(event);
+        }));
+        logger.info("Grade event {} deferred until {}: {}", eventId, retryAt, reason.getMessage());
+    }
+
+    private void purgeDelivered() {
+        try {
+            Integer purged = transaction.execute(status ->
+                    outboxRepository.deleteDeliveredBefore(LocalDateTime.now().minusDays(retentionDays)));
+            if (purged != null && purged > 0) {
+                logger.info("Purged {} delivered grade events older than {} days", purged, retentionDays);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Grade outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    // ==================== Replay ====================
+
+    /**
+     * Make the events created in [from, to) pending again so the poller redelivers them.
+     *
+     * @param from            Inclusive start of the creation-time range
+     * @param to              Exclusive end of the creation-time range
+     * @param deadLettersOnly true to re-drive only dead-lettered events
+     * @return Number of events scheduled for redelivery
+     * @throws BusinessRuleException if the range is empty
+     */
+    public int replay(LocalDateTime from, LocalDateTime to, boolean deadLettersOnly) {
+        if (!from.isBefore(to)) {
+            throw new BusinessRuleException("Replay range start must be before its end");
+        }
+        Integer replayed = transaction.execute(status -> deadLettersOnly
+                ? outboxRepository.resetDeadLettersForReplay(from, to, LocalDateTime.now())
+                : outboxRepository.resetForReplay(from, to, LocalDateTime.now()));
+        logger.info("Scheduled {} grade events created in [{}, {}) for redelivery", replayed, from, to);
+        return replayed != null ? replayed : 0;
+    }
+
+    // ==================== Queries ====================
+
+    public GradeEventOutboxStatsDTO getStats() {
+        GradeEventOutboxStatsDTO stats = new GradeEventOutboxStatsDTO();
+        stats.setPending(outboxRepository.countByStatus(GradeEventStatus.PENDING));
+        stats.setDelivered(outboxRepository.countByStatus(GradeEventStatus.DELIVERED));
+        stats.setDeadLetter(outboxRepository.countByStatus(GradeEventStatus.DEAD_LETTER));
+        stats.setBatchSize(batchSize);
+        stats.setMaxAttempts(maxAttempts);
+        return stats;
+    }
+
+    /**
+     * @return The most recent dead-lettered events (at most 100)
+     */
+    public List<GradeEventDTO> getDeadLetters() {
+        List<GradeEventDTO> events = new ArrayList<>();
+        for (GradeEventOutbox event : outboxRepository.findByStatusOrderByIdDesc(
+                GradeEventStatus.DEAD_LETTER, PageRequest.of(0, MAX_LISTED_EVENTS))) {
+            events.add(convertToDTO(event));
+        }
+        return events;
+    }
+
+    /**
+     * @return Queue depths and counters of the observer lanes
+     */
+    public ObserverLaneMetricsDTO getLaneMetrics() {
+        ObserverLaneMetricsDTO metrics = new ObserverLaneMetricsDTO();
+        metrics.setAsyncDispatch(gradeSubject.isAsyncDispatch());
+        metrics.setLaneCount(lanes.getLaneCount());
+        metrics.setQueueCapacity(lanes.getQueueCapacity());
+        metrics.setSubmitted(lanes.getSubmitted());
+        metrics.setCallerRuns(lanes.getCallerRuns());
+        metrics.setFailures(lanes.getFailures());
+        int[] depths = lanes.getLaneDepths();
+        int[] peaks = lanes.getPeakLaneDepths();
+        long[] processed = lanes.getLaneProcessed();
+        for (int i = 0; i < depths.length; i++) {
+            metrics.getLanes().add(new ObserverLaneMetricsDTO.Lane(i, depths[i], peaks[i], processed[i]));
+            metrics.setTotalDepth(metrics.getTotalDepth() + depths[i]);
+        }
+        return metrics;
+    }
+
+    // ==================== Helpers ====================
+
+    private GradeEventDTO convertToDTO(GradeEventOutbox event) {
+        GradeEventDTO dto = new GradeEventDTO();
+        dto.setId(event.getId());
+        dto.setStudentId(event.getStudentId());
+        dto.setEnrollmentId(event.getEnrollmentId());
+        dto.setGradeEntryId(event.getGradeEntryId());
+        dto.setStatus(event.getStatus());
+        dto.setAttempts(event.getAttempts());
+        dto.setCreatedAt(event.getCreatedAt());
+        dto.setNextAttemptAt(event.getNextAttemptAt());
+        dto.setDeliveredAt(event.getDeliveredAt());
+        dto.setLastError(event.getLastError());
+        return dto;
+    }
+}
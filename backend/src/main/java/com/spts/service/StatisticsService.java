@@ -2,14 +2,41 @@ package com.spts.service;
 
 import com.spts.dto.StatisticsDTO.*;
 import com.spts.entity.*;
+import com.spts.exception.BusinessRuleException;
+import com.spts.exception.ResourceNotFoundException;
 import com.spts.repository.*;
+import com.spts.repository.StatisticsProjections.*;
+import com.spts.statistics.CubeQuery;
+import com.spts.statistics.DashboardAggregateStore;
+import com.spts.statistics.DistinctStudentSketches;
+import com.spts.statistics.EnrollmentCube;
+import com.spts.statistics.HyperLogLog;
+import com.spts.statistics.ScoreDistributionStore;
+import com.spts.statistics.ScoreHistogram;
+import com.spts.statistics.StatisticsChangeNotifier;
+import com.spts.statistics.StatisticsAccumulator;
+import com.spts.statistics.TopCourseTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for generating advanced statistics for Admin Dashboard.
@@ -28,13 +55,60 @@ public class StatisticsService {
 
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
 
+    /**
+     * How the per-report statistics are computed.
+     * SQL groups in the database via projections; STREAMING makes one pass over
+     * a forward-only cursor of flat rows; CUBE reads the in-memory columnar cube;
+     * IN_MEMORY is the original entity-based grouping, kept for comparison.
+     */
+    public enum QueryMode {
+        SQL,
+        STREAMING,
+        CUBE,
+        IN_MEMORY
+    }
+
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
+    private final TermEnrollmentSnapshotRepository termSnapshotRepository;
+    private final StudentTermGpaRepository termGpaRepository;
+    private final DashboardAggregateStore aggregateStore;
+    private final EnrollmentCube enrollmentCube;
+    private final ScoreDistributionStore scoreDistributionStore;
+    private final DistinctStudentSketches studentSketches;
+    private final StatisticsChangeNotifier statisticsChangeNotifier;
+    private final QueryMode defaultMode;
+    private final Executor statisticsExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long sectionTimeoutMs;
 
     public StatisticsService(EnrollmentRepository enrollmentRepository,
-                              CourseRepository courseRepository) {
+                              CourseRepository courseRepository,
+                              TermEnrollmentSnapshotRepository termSnapshotRepository,
+                              StudentTermGpaRepository termGpaRepository,
+                              DashboardAggregateStore aggregateStore,
+                              EnrollmentCube enrollmentCube,
+                              ScoreDistributionStore scoreDistributionStore,
+                              DistinctStudentSketches studentSketches,
+                              StatisticsChangeNotifier statisticsChangeNotifier,
+                              @Value("${statistics.query-mode:SQL}") QueryMode defaultMode,
+                              @Qualifier("statisticsExecutor") Executor statisticsExecutor,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${statistics.dashboard.section-timeout-ms:3000}") long sectionTimeoutMs) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseRepository = courseRepository;
+        this.termSnapshotRepository = termSnapshotRepository;
+        this.termGpaRepository = termGpaRepository;
+        this.aggregateStore = aggregateStore;
+        this.enrollmentCube = enrollmentCube;
+        this.scoreDistributionStore = scoreDistributionStore;
+        this.studentSketches = studentSketches;
+        this.statisticsChangeNotifier = statisticsChangeNotifier;
+        this.defaultMode = defaultMode;
+        this.statisticsExecutor = statisticsExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.sectionTimeoutMs = sectionTimeoutMs;
     }
 
     // ==================== Core Data Access (DRY - Single Fetch) ====================
@@ -72,9 +146,41 @@ public class StatisticsService {
      * @return List of courses sorted by enrollment count
      */
     public List<CourseEnrollmentStats> getTopEnrolledCourses(int limit) {
-        logger.debug("Getting top {} enrolled courses", limit);
-        List<Enrollment> enrollments = enrollmentRepository.findAll();
-        return calculateTopCourses(enrollments, limit);
+        return getTopEnrolledCourses(limit, null);
+    }
+
+    /**
+     * Get top enrolled courses using the given query mode.
+     * Without a mode the incrementally maintained top-K tracker answers in O(K log K);
+     * every mode returns the same {@link TopCourseTracker#RANKING} order.
+     * 
+     * @param limit Number of courses to return
+     * @param mode  Query mode, or null for the maintained ranking
+     * @return List of courses sorted by enrollment count
+     */
+    public List<CourseEnrollmentStats> getTopEnrolledCourses(int limit, QueryMode mode) {
+        if (mode == null) {
+            logger.debug("Getting top {} enrolled courses (tracker)", limit);
+            return withCourseDistributions(aggregateStore.getTopCourses(limit));
+        }
+        logger.debug("Getting top {} enrolled courses ({})", limit, mode);
+        List<CourseEnrollmentStats> stats;
+        switch (mode) {
+            case IN_MEMORY:
+                stats = calculateTopCourses(enrollmentRepository.findAll(), limit);
+                break;
+            case STREAMING:
+                stats = accumulateStreaming().topCourses(limit);
+                break;
+            case CUBE:
+                stats = enrollmentCube.topCourses(limit);
+                break;
+            default:
+                stats = enrollmentRepository.aggregateByCourse(PageRequest.of(0, limit)).stream()
+                        .map(this::toCourseStats)
+                        .collect(Collectors.toList());
+        }
+        return withCourseDistributions(stats);
     }
 
     /**
@@ -83,9 +189,48 @@ public class StatisticsService {
      * @return List of department statistics
      */
     public List<DepartmentStats> getDepartmentStatistics() {
-        logger.debug("Getting department statistics");
-        StatisticsDataCache cache = fetchAllData();
-        return calculateDepartmentStats(cache.enrollments, cache.courses);
+        return getDepartmentStatistics(null);
+    }
+
+    /**
+     * Get statistics by department using the given query mode, with approximate student counts
+     * 
+     * @param mode Query mode, or null for the configured default
+     * @return List of department statistics
+     */
+    public List<DepartmentStats> getDepartmentStatistics(QueryMode mode) {
+        return getDepartmentStatistics(mode, false);
+    }
+
+    /**
+     * Get statistics by department using the given query mode.
+     * 
+     * Unless exact is set, totalStudents is a HyperLogLog estimate
+     * (~1.6% standard error, see {@link HyperLogLog}) and the SQL and in-memory
+     * modes skip the per-department distinct-student count altogether.
+     * 
+     * @param mode  Query mode, or null for the configured default
+     * @param exact true to count distinct students exactly (for audits)
+     * @return List of department statistics
+     */
+    public List<DepartmentStats> getDepartmentStatistics(QueryMode mode, boolean exact) {
+        logger.debug("Getting department statistics ({}, exact={})", resolve(mode), exact);
+        List<DepartmentStats> stats;
+        switch (resolve(mode)) {
+            case IN_MEMORY:
+                StatisticsDataCache cache = fetchAllData();
+                stats = calculateDepartmentStats(cache.enrollments, cache.courses, exact);
+                break;
+            case STREAMING:
+                stats = accumulateStreaming().departmentStats();
+                break;
+            case CUBE:
+                stats = enrollmentCube.departmentStats();
+                break;
+            default:
+                stats = queryDepartmentStats(exact);
+        }
+        return exact ? stats : withEstimatedStudents(stats);
     }
 
     /**
@@ -94,9 +239,34 @@ public class StatisticsService {
      * @return List of enrollment trends
      */
     public List<EnrollmentTrend> getEnrollmentTrends() {
-        logger.debug("Getting enrollment trends");
-        List<Enrollment> enrollments = enrollmentRepository.findAll();
-        return calculateEnrollmentTrends(enrollments);
+        return getEnrollmentTrends(null);
+    }
+
+    /**
+     * Get enrollment trends by semester/year using the given query mode.
+     * In SQL mode closed terms are read from term_enrollment_snapshot and only
+     * open terms are aggregated, so latency does not grow with past terms.
+     * 
+     * @param mode Query mode, or null for the configured default
+     * @return List of enrollment trends
+     */
+    public List<EnrollmentTrend> getEnrollmentTrends(QueryMode mode) {
+        logger.debug("Getting enrollment trends ({})", resolve(mode));
+        List<EnrollmentTrend> trends;
+        switch (resolve(mode)) {
+            case IN_MEMORY:
+                trends = calculateEnrollmentTrends(enrollmentRepository.findAll());
+                break;
+            case STREAMING:
+                trends = accumulateStreaming().enrollmentTrends();
+                break;
+            case CUBE:
+                trends = enrollmentCube.enrollmentTrends();
+                break;
+            default:
+                trends = queryEnrollmentTrends();
+        }
+        return withTrendDistributions(trends);
     }
 
     /**
@@ -105,42 +275,431 @@ public class StatisticsService {
      * @return List of credit distribution stats
      */
     public List<CreditDistribution> getCreditDistribution() {
-        logger.debug("Getting credit distribution");
-        StatisticsDataCache cache = fetchAllData();
-        return calculateCreditDistribution(cache.enrollments, cache.courses);
+        return getCreditDistribution(null);
+    }
+
+    /**
+     * Get credit distribution statistics using the given query mode
+     * 
+     * @param mode Query mode, or null for the configured default
+     * @return List of credit distribution stats
+     */
+    public List<CreditDistribution> getCreditDistribution(QueryMode mode) {
+        logger.debug("Getting credit distribution ({})", resolve(mode));
+        switch (resolve(mode)) {
+            case IN_MEMORY:
+                StatisticsDataCache cache = fetchAllData();
+                return calculateCreditDistribution(cache.enrollments, cache.courses);
+            case STREAMING:
+                return accumulateStreaming().creditDistribution();
+            case CUBE:
+                return enrollmentCube.creditDistribution();
+            default:
+                return queryCreditDistribution();
+        }
     }
 
     /**
      * Get complete admin dashboard statistics.
-     * Uses single data fetch to avoid multiple DB calls (DRY principle).
+     * 
+     * Sections are independent, so they are computed concurrently on the bounded
+     * statistics executor: top courses, department stats and the summary come from
+     * the incrementally maintained aggregates (distinct students from the
+     * HyperLogLog sketches), while enrollment trends and credit
+     * distribution each run in their own read-only transaction (default query mode).
+     * Wall-clock latency is that of the slowest section. A section that fails or
+     * exceeds its timeout is left empty and listed in unavailableSections, and the
+     * rest of the dashboard is still returned.
      * 
      * @return AdminDashboardStats with all statistics
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AdminDashboardStats getAdminDashboardStats() {
-        logger.debug("Getting complete admin dashboard statistics");
+        logger.debug("Getting complete admin dashboard statistics (concurrent sections)");
+        
+        AdminDashboardStats stats = new AdminDashboardStats();
+        List<String> unavailable = Collections.synchronizedList(new ArrayList<>());
         
-        // Single data fetch for all calculations (DRY)
-        StatisticsDataCache cache = fetchAllData();
+        CompletableFuture.allOf(
+                section("topCourses", false, () -> withCourseDistributions(aggregateStore.getTopCourses(10)),
+                        stats::setTopCourses, unavailable),
+                section("departmentStats", false, () -> withEstimatedStudents(aggregateStore.getDepartmentStats()),
+                        stats::setDepartmentStats, unavailable),
+                section("summary", false, aggregateStore::getTotals, totals -> {
+                    stats.setTotalEnrollments(totals.getTotalEnrollments());
+                    stats.setActiveEnrollments(totals.getActiveEnrollments());
+                    stats.setCompletedEnrollments(totals.getCompletedEnrollments());
+                    stats.setOverallAverageGpa(totals.getAverageGpa());
+                }, unavailable),
+                section("enrollmentTrends", true, () -> getEnrollmentTrends(null),
+                        stats::setEnrollmentTrends, unavailable),
+                section("creditDistribution", true, () -> getCreditDistribution(null),
+                        stats::setCreditDistribution, unavailable)
+        ).join();
+        
+        if (!unavailable.isEmpty()) {
+            List<String> sorted = new ArrayList<>(unavailable);
+            Collections.sort(sorted);
+            stats.setUnavailableSections(sorted);
+        }
+        return stats;
+    }
+
+    /**
+     * Get complete admin dashboard statistics, including enrollment trends and
+     * credit distribution, computed in a single streaming pass over all enrollments.
+     * Heap usage stays flat regardless of the number of enrollments.
+     * 
+     * @return AdminDashboardStats with all sections populated
+     */
+    public AdminDashboardStats getStreamingDashboardStats() {
+        logger.debug("Getting complete admin dashboard statistics (single streaming pass)");
+        StatisticsAccumulator accumulator = accumulateStreaming();
         
         AdminDashboardStats stats = new AdminDashboardStats();
+        stats.setTopCourses(withCourseDistributions(accumulator.topCourses(10)));
+        stats.setDepartmentStats(withEstimatedStudents(accumulator.departmentStats()));
+        stats.setEnrollmentTrends(withTrendDistributions(accumulator.enrollmentTrends()));
+        stats.setCreditDistribution(accumulator.creditDistribution());
+        accumulator.fillSummary(stats);
         
-        // Calculate core stats using cached data
-        stats.setTopCourses(calculateTopCourses(cache.enrollments, 10));
-        stats.setDepartmentStats(calculateDepartmentStats(cache.enrollments, cache.courses));
+        return stats;
+    }
+
+    /**
+     * Get the final-score distribution of all offerings matching the given filters.
+     * Filters are combined with AND; with none, the distribution covers every graded enrollment.
+     * 
+     * @param offeringId Course offering ID (optional)
+     * @param courseCode Course code (optional)
+     * @param department Department name (optional)
+     * @param semester   Semester (optional)
+     * @param year       Academic year (optional)
+     * @return Histogram buckets, letter-grade counts and percentiles
+     */
+    public ScoreDistribution getScoreDistribution(Long offeringId, String courseCode, String department,
+                                                  Semester semester, Integer year) {
+        logger.debug("Getting score distribution");
+        ScoreHistogram histogram = scoreDistributionStore.distribution(offeringId, courseCode, department, semester, year);
         
-        // NOTE: Enrollment Trends and Credit Distribution will be developed later
-        // stats.setEnrollmentTrends(calculateEnrollmentTrends(cache.enrollments));
-        // stats.setCreditDistribution(calculateCreditDistribution(cache.enrollments, cache.courses));
+        List<String> scope = new ArrayList<>();
+        if (offeringId != null) scope.add("offering=" + offeringId);
+        if (courseCode != null) scope.add("course=" + courseCode);
+        if (department != null) scope.add("department=" + department);
+        if (semester != null) scope.add("semester=" + semester.name());
+        if (year != null) scope.add("year=" + year);
         
-        // Calculate summary stats
-        stats.setTotalEnrollments((long) cache.enrollments.size());
-        stats.setActiveEnrollments(countByStatus(cache.enrollments, EnrollmentStatus.IN_PROGRESS));
-        stats.setCompletedEnrollments(countByStatus(cache.enrollments, EnrollmentStatus.COMPLETED));
-        stats.setOverallAverageGpa(calculateAverageGpa(cache.enrollments));
+        ScoreDistribution distribution = new ScoreDistribution();
+        distribution.setScope(scope.isEmpty() ? "all" : String.join(", ", scope));
+        distribution.setCount(histogram.getCount());
+        distribution.setMean(histogram.mean());
+        distribution.setP10(histogram.percentile(10));
+        distribution.setP25(histogram.percentile(25));
+        distribution.setMedian(histogram.percentile(50));
+        distribution.setP75(histogram.percentile(75));
+        distribution.setP90(histogram.percentile(90));
+        distribution.setBucketWidth(ScoreHistogram.BUCKET_WIDTH);
+        distribution.setScoreBuckets(histogram.getBuckets());
+        distribution.setLetterGrades(histogram.getLetterGrades());
+        return distribution;
+    }
+
+    /**
+     * Run an ad-hoc filter / group-by over all enrollments using the in-memory cube.
+     * 
+     * @param query Filters (department, course, semester, year, status, credits) and group-by dimensions
+     * @return Grouped enrollment counts, GPA and score averages
+     */
+    public QueryResult queryEnrollments(CubeQuery query) {
+        logger.debug("Running cube query grouped by {}", query.getGroupBy());
+        return enrollmentCube.query(query);
+    }
+
+    // ==================== Term Snapshots ====================
+
+    /**
+     * Close a term: store its enrollment rollup in term_enrollment_snapshot.
+     * SQL enrollment trends then read the term from the snapshot instead of
+     * re-aggregating its enrollments. Closing an already closed term refreshes its snapshot.
+     * 
+     * @param semester     Semester
+     * @param academicYear Academic year
+     * @return The term's trend row as stored in the snapshot
+     * @throws BusinessRuleException if the term has no enrollments
+     */
+    @Transactional
+    public EnrollmentTrend closeTerm(Semester semester, Integer academicYear) {
+        TermRollup rollup = enrollmentRepository.rollupTerm(semester, academicYear);
+        if (rollup == null || rollup.getTotalEnrollments() == null || rollup.getTotalEnrollments() == 0) {
+            throw new BusinessRuleException("Cannot close " + semester.getDisplayName() + " " + academicYear
+                    + ": the term has no enrollments");
+        }
         
+        TermEnrollmentSnapshot snapshot = termSnapshotRepository.findBySemesterAndAcademicYear(semester, academicYear)
+                .orElseGet(() -> new TermEnrollmentSnapshot(semester, academicYear));
+        snapshot.setEnrollmentCount(rollup.getTotalEnrollments());
+        snapshot.setCompletedCount(rollup.getCompletedEnrollments() != null ? rollup.getCompletedEnrollments() : 0L);
+        snapshot.setAverageScore(rollup.getAverageScore());
+        snapshot.setGpaSum(rollup.getGpaSum() != null ? rollup.getGpaSum() : 0.0);
+        snapshot.setGpaCount(rollup.getGpaCount() != null ? rollup.getGpaCount() : 0L);
+        snapshot.setClosedAt(LocalDateTime.now());
+        TermEnrollmentSnapshot saved = termSnapshotRepository.save(snapshot);
+        
+        logger.info("Closed term {} {}: {} enrollments snapshotted", semester, academicYear, saved.getEnrollmentCount());
+        statisticsChangeNotifier.termSnapshotChanged();
+        return toEnrollmentTrend(saved);
+    }
+
+    /**
+     * Reopen a closed term: drop its snapshot so trends compute it live again.
+     * 
+     * @param semester     Semester
+     * @param academicYear Academic year
+     * @throws ResourceNotFoundException if the term is not closed
+     */
+    @Transactional
+    public void reopenTerm(Semester semester, Integer academicYear) {
+        TermEnrollmentSnapshot snapshot = termSnapshotRepository.findBySemesterAndAcademicYear(semester, academicYear)
+                .orElseThrow(() -> new ResourceNotFoundException("Term snapshot", "term",
+                        semester.name() + " " + academicYear));
+        termSnapshotRepository.delete(snapshot);
+        logger.info("Reopened term {} {}", semester, academicYear);
+        statisticsChangeNotifier.termSnapshotChanged();
+    }
+
+    /**
+     * @return Closed terms as stored in their snapshots, oldest first
+     */
+    public List<EnrollmentTrend> getClosedTerms() {
+        return termSnapshotRepository.findAll().stream()
+                .map(this::toEnrollmentTrend)
+                .sorted(TREND_ORDER)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Average term and cumulative GPA per cohort (students by enrollment year) and term,
+     * aggregated from the maintained student_term_gpa rows.
+     * 
+     * @param cohortYear Enrollment year of the cohort, or null for every cohort
+     * @return Cohorts oldest first, each with its terms in chronological order
+     */
+    public List<CohortTermGpa> getCohortTermGpa(Integer cohortYear) {
+        return termGpaRepository.aggregateByCohortAndTerm(cohortYear).stream()
+                .map(row -> {
+                    CohortTermGpa stat = new CohortTermGpa();
+                    stat.setCohortYear(row.getCohortYear());
+                    stat.setSemester(row.getSemester().name());
+                    stat.setAcademicYear(row.getAcademicYear());
+                    stat.setPeriod(row.getSemester().getDisplayName() + " " + row.getAcademicYear());
+                    stat.setStudentCount(row.getStudentCount());
+                    stat.setAverageTermGpa(roundOrZero(row.getAverageTermGpa()));
+                    stat.setAverageCumulativeGpa(roundOrZero(row.getAverageCumulativeGpa()));
+                    return stat;
+                })
+                .sorted(Comparator.comparing(CohortTermGpa::getCohortYear, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(CohortTermGpa::getAcademicYear)
+                        .thenComparing(stat -> Semester.valueOf(stat.getSemester()).getOrder()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rebuild the in-memory statistics (dashboard aggregates and cube) from the database.
+     * Use after bulk imports or direct SQL changes that bypass the services.
+     * Also bumps the data version, so cached statistics responses are recomputed.
+     */
+    public void rebuildDashboardAggregates() {
+        logger.info("Rebuilding in-memory statistics on demand");
+        statisticsChangeNotifier.bulkChange();
+    }
+
+    // ==================== SQL Projection Mapping ====================
+
+    private static final Comparator<EnrollmentTrend> TREND_ORDER =
+            Comparator.comparing(EnrollmentTrend::getAcademicYear)
+                    .thenComparing(t -> Semester.valueOf(t.getSemester()).getOrder());
+
+    /**
+     * Run every report accumulator in one pass over the enrollment row cursor.
+     */
+    private StatisticsAccumulator accumulateStreaming() {
+        StatisticsAccumulator accumulator = new StatisticsAccumulator(courseRepository.findAll());
+        try (Stream<EnrollmentRow> rows = enrollmentRepository.streamAllRows()) {
+            rows.forEach(accumulator);
+        }
+        logger.debug("Streamed {} enrollment rows", accumulator.getRowCount());
+        return accumulator;
+    }
+
+    /**
+     * Compute one dashboard section on the statistics executor.
+     * The returned future always completes normally: failures, rejections and
+     * timeouts are recorded in {@code unavailable} instead of being propagated.
+     */
+    private <T> CompletableFuture<Void> section(String name, boolean transactional, Supplier<T> supplier,
+                                                Consumer<T> target, List<String> unavailable) {
+        Supplier<T> task = transactional
+                ? () -> readOnlyTransaction.execute(status -> supplier.get())
+                : supplier;
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, statisticsExecutor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future
+                .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    if (error != null) {
+                        logger.warn("Dashboard section '{}' unavailable: {}", name, error.toString());
+                        unavailable.add(name);
+                    } else {
+                        target.accept(value);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Fill P10 / median / P90 of each course from the merged offering histograms,
+     * and its distinct students from the HyperLogLog sketch.
+     */
+    private List<CourseEnrollmentStats> withCourseDistributions(List<CourseEnrollmentStats> stats) {
+        for (CourseEnrollmentStats stat : stats) {
+            stat.setTotalStudents(studentSketches.estimateCourse(stat.getCourseCode()));
+            ScoreHistogram histogram = scoreDistributionStore.forCourse(stat.getCourseCode());
+            stat.setP10Score(histogram.percentile(10));
+            stat.setMedianScore(histogram.percentile(50));
+            stat.setP90Score(histogram.percentile(90));
+        }
+        return stats;
+    }
+
+    /**
+     * Fill P10 / median / P90 of each term from the merged offering histograms,
+     * and its distinct students from the HyperLogLog sketch.
+     */
+    private List<EnrollmentTrend> withTrendDistributions(List<EnrollmentTrend> trends) {
+        for (EnrollmentTrend trend : trends) {
+            Semester semester = Semester.valueOf(trend.getSemester());
+            trend.setStudentCount(studentSketches.estimateTerm(semester, trend.getAcademicYear()));
+            ScoreHistogram histogram = scoreDistributionStore.forTerm(semester, trend.getAcademicYear());
+            trend.setP10Score(histogram.percentile(10));
+            trend.setMedianScore(histogram.percentile(50));
+            trend.setP90Score(histogram.percentile(90));
+        }
+        return trends;
+    }
+
+    private List<DepartmentStats> withEstimatedStudents(List<DepartmentStats> stats) {
+        for (DepartmentStats stat : stats) {
+            stat.setTotalStudents(studentSketches.estimateDepartment(stat.getDepartment()));
+        }
         return stats;
     }
 
+    private QueryMode resolve(QueryMode mode) {
+        return mode != null ? mode : defaultMode;
+    }
+
+    private CourseEnrollmentStats toCourseStats(CourseAggregate row) {
+        CourseEnrollmentStats stat = new CourseEnrollmentStats();
+        stat.setCourseCode(row.getCourseCode());
+        stat.setCourseName(row.getCourseName());
+        stat.setDepartment(row.getDepartment());
+        stat.setCredits(row.getCredits());
+        stat.setTotalEnrollments(row.getTotalEnrollments());
+        stat.setCompletedEnrollments(row.getCompletedEnrollments());
+        stat.setAverageScore(roundOrZero(row.getAverageScore()));
+        return stat;
+    }
+
+    private List<DepartmentStats> queryDepartmentStats(boolean exact) {
+        Map<String, Long> coursesByDept = courseRepository.countByDepartment().stream()
+                .collect(Collectors.toMap(DepartmentCourseCount::getDepartment, DepartmentCourseCount::getCourseCount));
+        List<DepartmentAggregate> aggregates = exact
+                ? enrollmentRepository.aggregateByDepartment()
+                : enrollmentRepository.aggregateByDepartmentWithoutStudents();
+        Map<String, DepartmentAggregate> enrollmentsByDept = aggregates.stream()
+                .collect(Collectors.toMap(DepartmentAggregate::getDepartment, row -> row));
+
+        Set<String> allDepts = new HashSet<>();
+        allDepts.addAll(coursesByDept.keySet());
+        allDepts.addAll(enrollmentsByDept.keySet());
+
+        return allDepts.stream()
+                .map(dept -> {
+                    DepartmentAggregate row = enrollmentsByDept.get(dept);
+                    DepartmentStats stat = new DepartmentStats();
+                    stat.setDepartment(dept);
+                    stat.setTotalCourses(coursesByDept.getOrDefault(dept, 0L));
+                    stat.setTotalEnrollments(row != null ? row.getTotalEnrollments() : 0L);
+                    stat.setTotalStudents(row != null && row.getDistinctStudents() != null ? row.getDistinctStudents() : 0L);
+                    stat.setAverageGpa(row != null ? roundOrZero(row.getAverageGpa()) : 0.0);
+                    return stat;
+                })
+                .sorted(Comparator.comparing(DepartmentStats::getTotalEnrollments).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Closed terms come from their snapshot rows; only open terms are aggregated live.
+     */
+    private List<EnrollmentTrend> queryEnrollmentTrends() {
+        List<EnrollmentTrend> trends = new ArrayList<>();
+        termSnapshotRepository.findAll().forEach(snapshot -> trends.add(toEnrollmentTrend(snapshot)));
+        enrollmentRepository.aggregateOpenTerms().forEach(row -> trends.add(toEnrollmentTrend(row)));
+        trends.sort(TREND_ORDER);
+        return trends;
+    }
+
+    private EnrollmentTrend toEnrollmentTrend(TermEnrollmentSnapshot snapshot) {
+        String semester = snapshot.getSemester().name();
+        EnrollmentTrend trend = new EnrollmentTrend();
+        trend.setSemester(semester);
+        trend.setAcademicYear(snapshot.getAcademicYear());
+        trend.setPeriod(formatSemester(semester) + " " + snapshot.getAcademicYear());
+        trend.setEnrollmentCount(snapshot.getEnrollmentCount());
+        trend.setCompletedCount(snapshot.getCompletedCount());
+        trend.setAverageScore(roundOrZero(snapshot.getAverageScore()));
+        return trend;
+    }
+
+    private EnrollmentTrend toEnrollmentTrend(TermAggregate row) {
+        String semester = row.getSemester().name();
+        EnrollmentTrend trend = new EnrollmentTrend();
+        trend.setSemester(semester);
+        trend.setAcademicYear(row.getAcademicYear());
+        trend.setPeriod(formatSemester(semester) + " " + row.getAcademicYear());
+        trend.setEnrollmentCount(row.getTotalEnrollments());
+        trend.setCompletedCount(row.getCompletedEnrollments());
+        trend.setAverageScore(roundOrZero(row.getAverageScore()));
+        return trend;
+    }
+
+    private List<CreditDistribution> queryCreditDistribution() {
+        Map<Integer, Long> coursesByCredits = courseRepository.countByCredits().stream()
+                .collect(Collectors.toMap(CreditCourseCount::getCredits, CreditCourseCount::getCourseCount));
+        Map<Integer, Long> enrollmentsByCredits = enrollmentRepository.aggregateByCredits().stream()
+                .collect(Collectors.toMap(CreditAggregate::getCredits, CreditAggregate::getTotalEnrollments));
+
+        Set<Integer> allCredits = new HashSet<>();
+        allCredits.addAll(coursesByCredits.keySet());
+        allCredits.addAll(enrollmentsByCredits.keySet());
+
+        return allCredits.stream()
+                .map(credit -> new CreditDistribution(
+                        credit,
+                        coursesByCredits.getOrDefault(credit, 0L),
+                        enrollmentsByCredits.getOrDefault(credit, 0L)))
+                .sorted(Comparator.comparing(CreditDistribution::getCredits))
+                .collect(Collectors.toList());
+    }
+
+    private double roundOrZero(Double value) {
+        return value != null ? round(value) : 0.0;
+    }
+
     // ==================== Private Calculation Methods (Single Responsibility) ====================
 
     private List<CourseEnrollmentStats> calculateTopCourses(List<Enrollment> enrollments, int limit) {
@@ -151,7 +710,7 @@ public class StatisticsService {
         return byCourse.entrySet().stream()
                 .map(entry -> buildCourseStats(entry.getValue()))
                 .filter(Objects::nonNull)
-                .sorted(Comparator.comparing(CourseEnrollmentStats::getTotalEnrollments).reversed())
+                .sorted(TopCourseTracker.RANKING)
                 .limit(limit)
                 .collect(Collectors.toList());
     }
@@ -173,7 +732,8 @@ public class StatisticsService {
         return stat;
     }
 
-    private List<DepartmentStats> calculateDepartmentStats(List<Enrollment> enrollments, List<Course> courses) {
+    private List<DepartmentStats> calculateDepartmentStats(List<Enrollment> enrollments, List<Course> courses,
+                                                           boolean exact) {
         // Group courses by department
         Map<String, List<Course>> coursesByDept = courses.stream()
                 .filter(c -> isValidDepartment(c.getDepartment()))
@@ -190,14 +750,15 @@ public class StatisticsService {
         allDepts.addAll(enrollmentsByDept.keySet());
         
         return allDepts.stream()
-                .map(dept -> buildDepartmentStats(dept, coursesByDept, enrollmentsByDept))
+                .map(dept -> buildDepartmentStats(dept, coursesByDept, enrollmentsByDept, exact))
                 .sorted(Comparator.comparing(DepartmentStats::getTotalEnrollments).reversed())
                 .collect(Collectors.toList());
     }
 
     private DepartmentStats buildDepartmentStats(String dept,
                                                    Map<String, List<Course>> coursesByDept,
-                                                   Map<String, List<Enrollment>> enrollmentsByDept) {
+                                                   Map<String, List<Enrollment>> enrollmentsByDept,
+                                                   boolean exact) {
         List<Course> deptCourses = coursesByDept.getOrDefault(dept, Collections.emptyList());
         List<Enrollment> deptEnrollments = enrollmentsByDept.getOrDefault(dept, Collections.emptyList());
         
@@ -205,7 +766,9 @@ public class StatisticsService {
         stat.setDepartment(dept);
         stat.setTotalCourses((long) deptCourses.size());
         stat.setTotalEnrollments((long) deptEnrollments.size());
-        stat.setTotalStudents(countUniqueStudents(deptEnrollments));
+        if (exact) {
+            stat.setTotalStudents(countUniqueStudents(deptEnrollments));
+        }
         stat.setAverageGpa(calculateAverageGpa(deptEnrollments));
         
         return stat;
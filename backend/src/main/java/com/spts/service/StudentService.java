@@ -1,5 +1,7 @@
 package com.spts.service;
 
+import com.spts.dto.GpaReconciliationDTO;
+import com.spts.dto.SetBasedGpaRecomputeDTO;
 import com.spts.dto.StudentDTO;
 import com.spts.entity.Student;
 import com.spts.entity.StudentStatus;
@@ -11,16 +13,33 @@ import com.spts.repository.StudentRepository;
 import com.spts.repository.EnrollmentRepository;
 import com.spts.repository.AlertRepository;
 import com.spts.repository.UserRepository;
+import com.spts.repository.StatisticsProjections.StudentGpaAggregate;
+import com.spts.repository.StatisticsProjections.StudentStatusChange;
+import com.spts.patterns.observer.GradeSubject;
 import com.spts.patterns.state.StudentStateManager;
+import com.spts.statistics.StatisticsChangeNotifier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class StudentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(StudentService.class);
+    private static final double GPA_SUM_TOLERANCE = 1e-6;
+    private static final int MAX_REPORTED_MISMATCHES = 100;
     private static final String DEFAULT_PASSWORD = "123456";
 
     private final StudentRepository studentRepository;
@@ -29,19 +48,31 @@ public class StudentService {
     private final UserRepository userRepository;
     private final StudentStateManager stateManager;
     private final AuthService authService;
+    private final StatisticsChangeNotifier statisticsChangeNotifier;
+    private final GradeSubject gradeSubject;
+    private final StudentTermGpaService termGpaService;
+    private final EntityManager entityManager;
 
     public StudentService(StudentRepository studentRepository,
                           EnrollmentRepository enrollmentRepository,
                           AlertRepository alertRepository,
                           UserRepository userRepository,
                           StudentStateManager stateManager,
-                          AuthService authService) {
+                          AuthService authService,
+                          StatisticsChangeNotifier statisticsChangeNotifier,
+                          GradeSubject gradeSubject,
+                          StudentTermGpaService termGpaService,
+                          EntityManager entityManager) {
         this.studentRepository = studentRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.alertRepository = alertRepository;
         this.userRepository = userRepository;
         this.stateManager = stateManager;
         this.authService = authService;
+        this.statisticsChangeNotifier = statisticsChangeNotifier;
+        this.gradeSubject = gradeSubject;
+        this.termGpaService = termGpaService;
+        this.entityManager = entityManager;
     }
 
     // ==================== CRUD Operations ====================
@@ -128,6 +159,8 @@ public class StudentService {
             throw new ResourceNotFoundException("Student", "id", id);
         }
         studentRepository.deleteById(id);
+        // Enrollments are removed by cascade, so in-memory statistics are reloaded
+        statisticsChangeNotifier.bulkChange();
     }
 
     // ==================== Business Logic ====================
@@ -211,28 +244,236 @@ public class StudentService {
     }
 
     /**
-     * Recalculate and persist GPA for a student.
-     * Also updates total credits and triggers status update.
+     * Recalculate and persist GPA for a student from all of its enrollments.
+     * Also resets the running GPA sums and total credits and triggers status update.
      * 
      * @param studentId Student database ID
      */
+    @Transactional
     public void recalculateAndUpdateGpa(Long studentId) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
+        lockGpaSums(student);
 
-        Double newGpa = calculateGpa(studentId);
-        Integer totalCredits = calculateTotalCredits(studentId);
+        List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
+        // Enrollments this transaction loaded before the lock may predate another's commit
+        enrollments.forEach(entityManager::refresh);
+        recalculateFromEnrollments(student, enrollments);
+        studentRepository.save(student);
+        termGpaService.rebuildForStudents(List.of(student), Map.of(studentId, enrollments));
+    }
 
-        // Update student record
-        student.setGpa(newGpa);
-        student.setTotalCredits(totalCredits);
+    /**
+     * Recalculate GPA for a batch of students with two queries in total: one for the
+     * students and one for all of their enrollments (offering and course fetched).
+     * Used by the bulk recompute job, one call per chunk, each in its own transaction;
+     * the students are locked before their enrollments are read.
+     * 
+     * @param studentIds Student database IDs; unknown IDs are skipped
+     * @return Number of students recalculated
+     */
+    @Transactional
+    public int recalculateGpaForStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        List<Student> students = studentRepository.findAllByIdForUpdate(studentIds);
+        Map<Long, List<Enrollment>> enrollmentsByStudent = enrollmentRepository.findByStudentIdInWithCourse(studentIds)
+                .stream()
+                .collect(Collectors.groupingBy(e -> e.getStudent().getId()));
 
-        // Update status based on new GPA (State Pattern integration)
-        if (newGpa != null) {
-            updateStudentStatus(student, newGpa);
+        for (Student student : students) {
+            recalculateFromEnrollments(student,
+                    enrollmentsByStudent.getOrDefault(student.getId(), Collections.emptyList()));
         }
+        studentRepository.saveAll(students);
+        termGpaService.rebuildForStudents(students, enrollmentsByStudent);
+        return students.size();
+    }
 
+    /**
+     * Apply one enrollment's grade change to its student's GPA in O(1).
+     * Only the difference between the grade already counted (stored on the enrollment)
+     * and the current one is added to the running sums; an unchanged grade is a no-op,
+     * so repeated calls for the same change are safe. Students whose sums were never
+     * initialized get a full recalculation instead.
+     * 
+     * @param enrollment Enrollment whose gpaValue / finalScore may have changed
+     */
+    @Transactional
+    public void applyEnrollmentGpaChange(Enrollment enrollment) {
+        Student student = enrollment.getStudent();
+        lockGpaSums(student);
+        entityManager.refresh(enrollment);
+        if (!student.hasGpaSums()) {
+            recalculateAndUpdateGpa(student.getId());
+            return;
+        }
+        if (!enrollment.hasUncountedGpaChange()) {
+            return;
+        }
+        StudentTermGpaService.GpaDelta delta = countGpaChange(enrollment);
+        if (student.getGpa() != null) {
+            updateStudentStatus(student, student.getGpa());
+        }
         studentRepository.save(student);
+        termGpaService.applyGpaDeltas(student, List.of(delta));
+    }
+
+    /**
+     * Apply every enrollment grade change of the students that is not yet counted
+     * in their GPA sums, with the enrollments of all students loaded in one query.
+     * Used by the coalescing GPA recalculation scheduler, once per dirty student.
+     * A student's changes are summed before the student and their term rows are
+     * saved, once each. Students whose sums are not initialized yet are fully recalculated.
+     * 
+     * Runs in its own transaction or just before the caller's commits, so the
+     * persistence context is flushed and cleared once the students are locked, and
+     * everything is read again under the lock.
+     * 
+     * @param studentIds Student database IDs; unknown (deleted) students are skipped
+     * @return The students with updated GPA and status
+     */
+    @Transactional
+    public List<Student> applyPendingGpaChanges(Collection<Long> studentIds) {
+        if (studentRepository.findAllByIdForUpdate(studentIds).isEmpty()) {
+            return List.of();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<Student> students = studentRepository.findAllById(studentIds);
+        Map<Long, List<Enrollment>> enrollmentsByStudent = enrollmentRepository
+                .findByStudentIdInWithCourse(students.stream().map(Student::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(enrollment -> enrollment.getStudent().getId()));
+        List<Student> uninitialized = new ArrayList<>();
+        for (Student student : students) {
+            List<Enrollment> enrollments = enrollmentsByStudent.getOrDefault(student.getId(), List.of());
+            if (!student.hasGpaSums()) {
+                recalculateFromEnrollments(student, enrollments);
+                studentRepository.save(student);
+                uninitialized.add(student);
+                continue;
+            }
+            List<StudentTermGpaService.GpaDelta> deltas = enrollments.stream()
+                    .filter(Enrollment::hasUncountedGpaChange)
+                    .map(this::countGpaChange)
+                    .collect(Collectors.toList());
+            if (deltas.isEmpty()) {
+                continue;
+            }
+            if (student.getGpa() != null) {
+                updateStudentStatus(student, student.getGpa());
+            }
+            studentRepository.save(student);
+            termGpaService.applyGpaDeltas(student, deltas);
+        }
+        if (!uninitialized.isEmpty()) {
+            termGpaService.rebuildForStudents(uninitialized, enrollmentsByStudent);
+        }
+        return students;
+    }
+
+    /**
+     * Remove a deleted enrollment's contribution from its student's GPA in O(1).
+     * 
+     * @param enrollment Enrollment about to be deleted
+     */
+    @Transactional
+    public void removeEnrollmentGpa(Enrollment enrollment) {
+        Student student = enrollment.getStudent();
+        lockGpaSums(student);
+        entityManager.refresh(enrollment);
+        if (!student.hasGpaSums()) {
+            return;
+        }
+        Double counted = enrollment.getCountedGpaValue();
+        if (counted == null) {
+            return;
+        }
+        int countedCredits = enrollment.getCountedCredits() != null ? enrollment.getCountedCredits() : 0;
+        student.applyGpaDelta(counted, countedCredits, null, 0);
+        if (student.getGpa() != null) {
+            updateStudentStatus(student, student.getGpa());
+        }
+        studentRepository.save(student);
+        termGpaService.applyGpaDelta(enrollment, counted, countedCredits, null, 0);
+    }
+
+    /**
+     * Verify every student's running GPA sums, total credits and GPA against a full
+     * recompute done in one grouped query.
+     * 
+     * @param repair true to recalculate students whose sums are mismatched or uninitialized
+     * @return Number of students checked, mismatched and repaired
+     */
+    @Transactional
+    public GpaReconciliationDTO reconcileGpaSums(boolean repair) {
+        Map<Long, StudentGpaAggregate> expected = enrollmentRepository.aggregateGpaByStudent().stream()
+                .collect(Collectors.toMap(StudentGpaAggregate::getStudentId, Function.identity()));
+
+        GpaReconciliationDTO report = new GpaReconciliationDTO();
+        for (Student student : studentRepository.findAll()) {
+            report.setStudentsChecked(report.getStudentsChecked() + 1);
+            StudentGpaAggregate row = expected.get(student.getId());
+            double weightedSum = row != null && row.getWeightedGpaSum() != null ? row.getWeightedGpaSum() : 0.0;
+            int gradedCredits = row != null && row.getGradedCredits() != null ? row.getGradedCredits().intValue() : 0;
+            int earnedCredits = row != null && row.getEarnedCredits() != null ? row.getEarnedCredits().intValue() : 0;
+            Double gpa = gradedCredits > 0 ? weightedSum / gradedCredits : null;
+
+            if (gpaSumsMatch(student, weightedSum, gradedCredits, earnedCredits, gpa)) {
+                continue;
+            }
+            report.setMismatched(report.getMismatched() + 1);
+            if (report.getMismatchedStudentIds().size() < MAX_REPORTED_MISMATCHES) {
+                report.getMismatchedStudentIds().add(student.getId());
+            }
+            if (repair) {
+                // Full recompute also resets each enrollment's counted grade
+                recalculateAndUpdateGpa(student.getId());
+                report.setRepaired(report.getRepaired() + 1);
+            }
+        }
+        logger.info("GPA reconciliation: {} students checked, {} mismatched, {} repaired",
+                report.getStudentsChecked(), report.getMismatched(), report.getRepaired());
+        return report;
+    }
+
+    /**
+     * Recompute GPA, credits and status for every student in a single SQL statement,
+     * bypassing the entity layer, and rebuild the term GPA history the same way.
+     * Intended for nightly consistency runs. Only students whose status changed
+     * are loaded and passed to the observers.
+     * 
+     * @return Number of status changes and how long the recompute took
+     */
+    @Transactional
+    public SetBasedGpaRecomputeDTO recomputeAllGpaSetBased() {
+        long start = System.nanoTime();
+        List<StudentStatusChange> changes = studentRepository.recomputeGpaSetBased(
+                StudentStateManager.NORMAL_THRESHOLD, StudentStateManager.AT_RISK_THRESHOLD);
+        termGpaService.rebuildAllSetBased();
+
+        Map<Long, StudentStatus> previousStatuses = changes.stream()
+                .collect(Collectors.toMap(StudentStatusChange::getStudentId,
+                        change -> StudentStatus.valueOf(change.getPreviousStatus())));
+        for (Student student : studentRepository.findAllById(previousStatuses.keySet())) {
+            StudentStatus previousStatus = previousStatuses.get(student.getId());
+            logger.info("Student {} transitioning from {} to {} (GPA: {})",
+                    student.getStudentId(), previousStatus, student.getStatus(), student.getGpa());
+            gradeSubject.notifyStatusChanged(student, previousStatus);
+        }
+
+        SetBasedGpaRecomputeDTO result = new SetBasedGpaRecomputeDTO();
+        result.setStatusChanges(changes.size());
+        result.setChangedStudentIds(changes.stream()
+                .map(StudentStatusChange::getStudentId)
+                .limit(MAX_REPORTED_MISMATCHES)
+                .collect(Collectors.toList()));
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Set-based GPA recompute: {} status changes in {} ms",
+                result.getStatusChanges(), result.getDurationMs());
+        return result;
     }
 
     /**
@@ -255,6 +496,78 @@ public class StudentService {
 
     // ==================== Helpers ====================
 
+    /**
+     * Single pass over a student's enrollments: resets the running GPA sums and
+     * earned credits, marks every enrollment's grade as counted and updates status.
+     */
+    private void recalculateFromEnrollments(Student student, List<Enrollment> enrollments) {
+        double weightedSum = 0.0;
+        int gradedCredits = 0;
+        int earnedCredits = 0;
+        for (Enrollment enrollment : enrollments) {
+            if (enrollment.isGraded()) {
+                int credits = enrollment.getCredits() != null ? enrollment.getCredits() : 0;
+                weightedSum += enrollment.getGpaValue() * credits;
+                gradedCredits += credits;
+                if (enrollment.getGpaValue() >= 1.0) {
+                    earnedCredits += credits;
+                }
+            }
+            enrollment.markGpaCounted();
+        }
+        student.resetGpaSums(weightedSum, gradedCredits, earnedCredits);
+
+        // Update status based on new GPA (State Pattern integration)
+        if (student.getGpa() != null) {
+            updateStudentStatus(student, student.getGpa());
+        }
+    }
+
+    private boolean gpaSumsMatch(Student student, double weightedSum, int gradedCredits,
+                                 int earnedCredits, Double gpa) {
+        if (!student.hasGpaSums()) {
+            return false;
+        }
+        boolean gpaMatches = gpa == null
+                ? student.getGpa() == null
+                : student.getGpa() != null && Math.abs(student.getGpa() - gpa) < GPA_SUM_TOLERANCE;
+        return Math.abs(student.getWeightedGpaSum() - weightedSum) < GPA_SUM_TOLERANCE
+                && student.getGradedCredits() == gradedCredits
+                && Objects.equals(student.getTotalCredits(), earnedCredits)
+                && gpaMatches;
+    }
+
+    /**
+     * Lock the student's row until the transaction ends and reload its GPA sums.
+     * 
+     * Every path that moves the running sums or an enrollment's counted grade
+     * (grade requests, the coalesced recalculation, outbox delivery, recompute
+     * jobs) takes this lock first, so two updates of one student run one after
+     * the other instead of both starting from the same sums and the later commit
+     * dropping the other's delta. It also serializes the student's term row inserts.
+     * The lock is taken before this transaction's pending changes are flushed, and
+     * the reload comes after, so they survive it.
+     */
+    private void lockGpaSums(Student student) {
+        entityManager.lock(student, LockModeType.PESSIMISTIC_WRITE);
+        entityManager.flush();
+        entityManager.refresh(student);
+    }
+
+    /**
+     * Move the enrollment's counted grade to its current one in the student's
+     * running sums (in memory) and return the change for the term history.
+     */
+    private StudentTermGpaService.GpaDelta countGpaChange(Enrollment enrollment) {
+        Double counted = enrollment.getCountedGpaValue();
+        int countedCredits = enrollment.getCountedCredits() != null ? enrollment.getCountedCredits() : 0;
+        enrollment.markGpaCounted();
+        int credits = enrollment.getCountedCredits() != null ? enrollment.getCountedCredits() : 0;
+        enrollment.getStudent().applyGpaDelta(counted, countedCredits, enrollment.getCountedGpaValue(), credits);
+        return new StudentTermGpaService.GpaDelta(enrollment, counted, countedCredits,
+                enrollment.getCountedGpaValue(), credits);
+    }
+
     /**
      * Update student status using the State Design Pattern logic.
      * Delegates decision to the StudentStateManager.
@@ -0,0 +1,273 @@
+package com.spts.service;
+
+import com.spts.dto.TermGpaDTO;
+import com.spts.entity.Enrollment;
+import com.spts.entity.Semester;
+import com.spts.entity.Student;
+import com.spts.entity.StudentTermGpa;
+import com.spts.exception.ResourceNotFoundException;
+import com.spts.repository.EnrollmentRepository;
+import com.spts.repository.StatisticsProjections.StudentTermGpaAggregate;
+import com.spts.repository.StudentRepository;
+import com.spts.repository.StudentTermGpaRepository;
+import com.spts.statistics.StatisticsChangeNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining per-term and cumulative GPA history (student_term_gpa).
+ *
+ * Grade changes move the term's sums by the same delta applied to the student's
+ * running GPA sums, then the student's cumulative values are re-derived as prefix
+ * sums over their few term rows. Full recalculations rebuild a student's rows
+ * from their enrollments. Reads are index lookups on the stored rows.
+ *
+ * @author SPTS Team
+ */
+@Service
+@Transactional
+public class StudentTermGpaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentTermGpaService.class);
+
+    private final StudentTermGpaRepository termGpaRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StatisticsChangeNotifier statisticsChangeNotifier;
+
+    public StudentTermGpaService(StudentTermGpaRepository termGpaRepository,
+                                 StudentRepository studentRepository,
+                                 EnrollmentRepository enrollmentRepository,
+                                 StatisticsChangeNotifier statisticsChangeNotifier) {
+        this.termGpaRepository = termGpaRepository;
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.statisticsChangeNotifier = statisticsChangeNotifier;
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Get a student's GPA timeline: term and cumulative GPA after each graded term.
+     *
+     * @param studentId Student database ID
+     * @return Terms in chronological order
+     */
+    @Transactional(readOnly = true)
+    public List<TermGpaDTO> getGpaTimeline(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student", "id", studentId);
+        }
+        return termGpaRepository.findByStudentId(studentId).stream()
+                .sorted(StudentTermGpa.TERM_ORDER)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // ==================== Incremental Maintenance ====================
+
+    /**
+     * One enrollment's counted grade moving from its old value to its new one.
+     * A null GPA value means the enrollment is not graded (contributes nothing).
+     */
+    public record GpaDelta(Enrollment enrollment, Double oldGpaValue, int oldCredits,
+                           Double newGpaValue, int newCredits) {
+    }
+
+    /**
+     * Move one enrollment's counted grade within its term, then refresh the
+     * student's cumulative GPA after each term.
+     *
+     * @param enrollment  Enrollment whose counted grade changed
+     * @param oldGpaValue GPA value previously counted, or null
+     * @param oldCredits  Credits previously counted
+     * @param newGpaValue GPA value counted now, or null
+     * @param newCredits  Credits counted now
+     */
+    public void applyGpaDelta(Enrollment enrollment, Double oldGpaValue, int oldCredits,
+                              Double newGpaValue, int newCredits) {
+        applyGpaDeltas(enrollment.getStudent(),
+                List.of(new GpaDelta(enrollment, oldGpaValue, oldCredits, newGpaValue, newCredits)));
+    }
+
+    /**
+     * Move several counted grades of one student within their terms. The student's
+     * term rows are loaded, and cumulative GPA refreshed and saved, once for all of them.
+     *
+     * @param student Student the enrollments belong to
+     * @param deltas  Counted grade changes of the student's enrollments
+     */
+    public void applyGpaDeltas(Student student, List<GpaDelta> deltas) {
+        List<GpaDelta> graded = deltas.stream()
+                .filter(d -> d.oldGpaValue() != null || d.newGpaValue() != null)
+                .collect(Collectors.toList());
+        if (graded.isEmpty()) {
+            return;
+        }
+        List<StudentTermGpa> terms = new ArrayList<>(termGpaRepository.findByStudentId(student.getId()));
+        for (GpaDelta delta : graded) {
+            termOf(terms, student, delta.enrollment())
+                    .applyGpaDelta(delta.oldGpaValue(), delta.oldCredits(), delta.newGpaValue(), delta.newCredits());
+        }
+        saveWithCumulative(terms);
+        statisticsChangeNotifier.termGpaChanged();
+    }
+
+    // ==================== Rebuilds ====================
+
+    /**
+     * Rebuild the term rows of the given students from their enrollments.
+     *
+     * @param enrollmentsByStudent Every enrollment of each student, keyed by student database ID
+     * @param students             Students to rebuild
+     */
+    public void rebuildForStudents(Collection<Student> students, Map<Long, List<Enrollment>> enrollmentsByStudent) {
+        if (students.isEmpty()) {
+            return;
+        }
+        List<Long> studentIds = students.stream().map(Student::getId).collect(Collectors.toList());
+        Map<Long, List<StudentTermGpa>> existingByStudent = termGpaRepository.findByStudentIdIn(studentIds).stream()
+                .collect(Collectors.groupingBy(t -> t.getStudent().getId()));
+
+        for (Student student : students) {
+            List<StudentTermGpa> terms = new ArrayList<>(
+                    existingByStudent.getOrDefault(student.getId(), Collections.emptyList()));
+            terms.forEach(t -> t.resetTermSums(0.0, 0, 0));
+            for (Enrollment enrollment : enrollmentsByStudent.getOrDefault(student.getId(), Collections.emptyList())) {
+                if (!enrollment.isGraded()) {
+                    continue;
+                }
+                int credits = enrollment.getCredits() != null ? enrollment.getCredits() : 0;
+                termOf(terms, student, enrollment).applyGpaDelta(null, 0, enrollment.getGpaValue(), credits);
+            }
+            saveWithCumulative(terms);
+        }
+        statisticsChangeNotifier.termGpaChanged();
+    }
+
+    /**
+     * Rebuild every row from one grouped query over the enrollments.
+     *
+     * @return Number of term rows written
+     */
+    public int rebuildAll() {
+        termGpaRepository.deleteAllRows();
+        Map<Long, List<StudentTermGpaAggregate>> rowsByStudent = enrollmentRepository.aggregateGpaByStudentAndTerm()
+                .stream()
+                .collect(Collectors.groupingBy(StudentTermGpaAggregate::getStudentId));
+
+        List<StudentTermGpa> all = new ArrayList<>();
+        for (Map.Entry<Long, List<StudentTermGpaAggregate>> entry : rowsByStudent.entrySet()) {
+            Student student = studentRepository.getReferenceById(entry.getKey());
+            List<StudentTermGpa> terms = new ArrayList<>();
+            for (StudentTermGpaAggregate row : entry.getValue()) {
+                StudentTermGpa term = new StudentTermGpa(student, row.getSemester(), row.getAcademicYear());
+                term.resetTermSums(row.getWeightedGpaSum(), row.getGradedCredits().intValue(),
+                        row.getEarnedCredits() != null ? row.getEarnedCredits().intValue() : 0);
+                terms.add(term);
+            }
+            all.addAll(withCumulative(terms));
+        }
+        termGpaRepository.saveAll(all);
+        statisticsChangeNotifier.termGpaChanged();
+        return all.size();
+    }
+
+    /**
+     * Rebuild every row in SQL without loading entities (PostgreSQL).
+     * Used by the set-based GPA recompute.
+     *
+     * @return Number of term rows written
+     */
+    public int rebuildAllSetBased() {
+        termGpaRepository.deleteAllRows();
+        int rows = termGpaRepository.insertAllFromEnrollments();
+        statisticsChangeNotifier.termGpaChanged();
+        return rows;
+    }
+
+    /**
+     * Backfill the history once for databases created before it existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (termGpaRepository.count() > 0 || !enrollmentRepository.existsByFinalScoreIsNotNull()) {
+            return;
+        }
+        logger.info("Backfilled {} student term GPA rows", rebuildAll());
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Find the row of the enrollment's term among the student's rows, adding it if missing.
+     */
+    private StudentTermGpa termOf(List<StudentTermGpa> terms, Student student, Enrollment enrollment) {
+        Semester semester = enrollment.getCourseOffering().getSemester();
+        Integer academicYear = enrollment.getCourseOffering().getAcademicYear();
+        return terms.stream()
+                .filter(t -> t.getSemester() == semester && Objects.equals(t.getAcademicYear(), academicYear))
+                .findFirst()
+                .orElseGet(() -> {
+                    StudentTermGpa created = new StudentTermGpa(student, semester, academicYear);
+                    terms.add(created);
+                    return created;
+                });
+    }
+
+    /**
+     * Drop terms without graded credits, recompute cumulative sums in term order
+     * and persist the student's rows.
+     */
+    private void saveWithCumulative(List<StudentTermGpa> terms) {
+        List<StudentTermGpa> empty = terms.stream()
+                .filter(t -> t.isEmpty() && t.getId() != null)
+                .collect(Collectors.toList());
+        termGpaRepository.deleteAll(empty);
+        termGpaRepository.saveAll(withCumulative(terms));
+    }
+
+    private List<StudentTermGpa> withCumulative(List<StudentTermGpa> terms) {
+        List<StudentTermGpa> graded = terms.stream()
+                .filter(t -> !t.isEmpty())
+                .sorted(StudentTermGpa.TERM_ORDER)
+                .collect(Collectors.toList());
+        double cumulativeSum = 0.0;
+        int cumulativeCredits = 0;
+        for (StudentTermGpa term : graded) {
+            cumulativeSum += term.getWeightedGpaSum();
+            cumulativeCredits += term.getGradedCredits();
+            term.setCumulativeSums(cumulativeSum, cumulativeCredits);
+        }
+        return graded;
+    }
+
+    private TermGpaDTO convertToDTO(StudentTermGpa term) {
+        TermGpaDTO dto = new TermGpaDTO();
+        dto.setSemester(term.getSemester());
+        dto.setAcademicYear(term.getAcademicYear());
+        dto.setPeriod(term.getSemester().getDisplayName() + " " + term.getAcademicYear());
+        dto.setTermGpa(round(term.getTermGpa()));
+        dto.setGradedCredits(term.getGradedCredits());
+        dto.setEarnedCredits(term.getEarnedCredits());
+        dto.setCumulativeGpa(round(term.getCumulativeGpa()));
+        dto.setCumulativeGradedCredits(term.getCumulativeGradedCredits());
+        return dto;
+    }
+
+    private Double round(Double value) {
+        return value != null ? Math.round(value * 100.0) / 100.0 : null;
+    }
+}
@@ -0,0 +1,154 @@
+package com.spts.service;
+
+import com.spts.entity.AlertType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of each student's unresolved alert types, one bitmask per
+ * student (bit = AlertType ordinal).
+ * 
+ * Students are loaded lazily by AlertService and kept current by its writes,
+ * which are applied only after their transaction commits (a rollback evicts the
+ * student instead). Every write bumps a version; a load only caches its result
+ * if no write happened while it was querying, so a load can never overwrite a
+ * newer write with stale database state. The index is cleared when it exceeds
+ * its student limit.
+ * 
+ * @author SPTS Team
+ */
+@Component
+public class UnresolvedAlertIndex {
+
+    private static final String LOOKUPS_DESCRIPTION =
+            "Unresolved alert lookups: hit = answered from memory, miss = went to the database";
+
+    private final Map<Long, Integer> masks = new ConcurrentHashMap<>();
+    private final AtomicLong writeVersion = new AtomicLong();
+    private final int maxStudents;
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UnresolvedAlertIndex(MeterRegistry meterRegistry,
+                                @Value("${alerts.unresolved-index.max-students:100000}") int maxStudents) {
+        this.maxStudents = maxStudents;
+        // Both tags share one meter name, so they share one description
+        FunctionCounter.builder("alerts.unresolved.index.lookups", hits, AtomicLong::get)
+                .description(LOOKUPS_DESCRIPTION)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("alerts.unresolved.index.lookups", misses, AtomicLong::get)
+                .description(LOOKUPS_DESCRIPTION)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("alerts.unresolved.index.students", masks, Map::size)
+                .description("Students in the unresolved alert index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return The student's unresolved alert types, or null if the student is not loaded
+     */
+    public Set<AlertType> get(Long studentId) {
+        Integer mask = masks.get(studentId);
+        if (mask == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return toTypes(mask);
+    }
+
+    /**
+     * @return Version to pass to {@link #putLoaded}; read before querying the database
+     */
+    public long version() {
+        return writeVersion.get();
+    }
+
+    /**
+     * Cache a student's unresolved alert types loaded from the database.
+     * Ignored if any write happened since {@code versionBeforeLoad} was read.
+     */
+    public void putLoaded(Long studentId, Set<AlertType> types, long versionBeforeLoad) {
+        if (masks.size() >= maxStudents) {
+            masks.clear();
+        }
+        // Writers bump the version before touching the map, so checking it inside
+        // compute() cannot miss a write to this student
+        masks.compute(studentId, (id, current) -> current != null
+                ? current
+                : writeVersion.get() == versionBeforeLoad ? toMask(types) : null);
+    }
+
+    /**
+     * A committed write created an unresolved alert of this type.
+     */
+    public void markUnresolved(Long studentId, AlertType type) {
+        writeVersion.incrementAndGet();
+        masks.computeIfPresent(studentId, (id, mask) -> mask | bit(type));
+    }
+
+    /**
+     * A committed write resolved every unresolved alert of this type.
+     */
+    public void markResolved(Long studentId, AlertType type) {
+        writeVersion.incrementAndGet();
+        masks.computeIfPresent(studentId, (id, mask) -> mask & ~bit(type));
+    }
+
+    /**
+     * Forget a student; the next lookup reloads them from the database.
+     */
+    public void evict(Long studentId) {
+        writeVersion.incrementAndGet();
+        masks.remove(studentId);
+    }
+
+    /**
+     * Forget every student, after a write whose affected students are unknown.
+     */
+    public void evictAll() {
+        writeVersion.incrementAndGet();
+        masks.clear();
+    }
+
+    public int size() {
+        return masks.size();
+    }
+
+    // ==================== Helpers ====================
+
+    private static int bit(AlertType type) {
+        return 1 << type.ordinal();
+    }
+
+    private static int toMask(Set<AlertType> types) {
+        int mask = 0;
+        for (AlertType type : types) {
+            mask |= bit(type);
+        }
+        return mask;
+    }
+
+    private static Set<AlertType> toTypes(int mask) {
+        Set<AlertType> types = EnumSet.noneOf(AlertType.class);
+        for (AlertType type : AlertType.values()) {
+            if ((mask & bit(type)) != 0) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+}
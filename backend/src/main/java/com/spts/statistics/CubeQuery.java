@@ -0,0 +1,64 @@
+package com.spts.statistics;
+
+import com.spts.entity.EnrollmentStatus;
+import com.spts.entity.Semester;
+
+import java.util.*;
+
+/**
+ * Ad-hoc query against the EnrollmentCube.
+ *
+ * Each filter is a set of allowed values (empty = no restriction); filters on
+ * different dimensions are combined with AND. Rows that pass are grouped by the
+ * requested dimensions, in order. With no group-by, a single total cell is returned.
+ *
+ * @author SPTS Team
+ */
+public class CubeQuery {
+
+    /**
+     * Dimensions that can be filtered on and grouped by
+     */
+    public enum Dimension {
+        DEPARTMENT,
+        COURSE,
+        SEMESTER,
+        YEAR,
+        STATUS,
+        CREDITS
+    }
+
+    private Set<String> departments = new HashSet<>();
+    private Set<String> courseCodes = new HashSet<>();
+    private Set<Semester> semesters = EnumSet.noneOf(Semester.class);
+    private Set<Integer> years = new HashSet<>();
+    private Set<EnrollmentStatus> statuses = EnumSet.noneOf(EnrollmentStatus.class);
+    private Set<Integer> credits = new HashSet<>();
+    private List<Dimension> groupBy = new ArrayList<>();
+
+    public CubeQuery() {}
+
+    // Getters and Setters (null is treated as "no restriction")
+    public Set<String> getDepartments() { return departments; }
+    public void setDepartments(Collection<String> departments) { this.departments = copy(departments); }
+    public Set<String> getCourseCodes() { return courseCodes; }
+    public void setCourseCodes(Collection<String> courseCodes) { this.courseCodes = copy(courseCodes); }
+    public Set<Semester> getSemesters() { return semesters; }
+    public void setSemesters(Collection<Semester> semesters) { this.semesters = copy(semesters); }
+    public Set<Integer> getYears() { return years; }
+    public void setYears(Collection<Integer> years) { this.years = copy(years); }
+    public Set<EnrollmentStatus> getStatuses() { return statuses; }
+    public void setStatuses(Collection<EnrollmentStatus> statuses) { this.statuses = copy(statuses); }
+    public Set<Integer> getCredits() { return credits; }
+    public void setCredits(Collection<Integer> credits) { this.credits = copy(credits); }
+    public List<Dimension> getGroupBy() { return groupBy; }
+
+    public void setGroupBy(Collection<Dimension> groupBy) {
+        // Keep first occurrence order, drop duplicates
+        this.groupBy = groupBy != null ? new ArrayList<>(new LinkedHashSet<>(groupBy)) : new ArrayList<>();
+    }
+
+    private static <T> Set<T> copy(Collection<T> values) {
+        return values != null ? new HashSet<>(values) : new HashSet<>();
+    }
+}
@@ -0,0 +1,355 @@
+package com.spts.statistics;
+
+import com.spts.dto.StatisticsDTO.CourseEnrollmentStats;
+import com.spts.dto.StatisticsDTO.DepartmentStats;
+import com.spts.entity.Course;
+import com.spts.entity.Enrollment;
+import com.spts.entity.EnrollmentStatus;
+import com.spts.repository.EnrollmentRow;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Incrementally maintained aggregates for the Admin Dashboard.
+ *
+ * Holds per-course, per-department and global counters (enrollments by status,
+ * GPA and score sums) so the dashboard is served in O(#courses) instead of
+ * re-reading every enrollment on each request. Top courses come from a
+ * {@link TopCourseTracker} kept in step with the course counters, so they are
+ * answered without scanning or sorting all courses.
+ *
+ * Every enrollment's last applied contribution is remembered, so updates are
+ * idempotent: re-applying the same enrollment replaces its previous contribution
+ * rather than double counting it. Changes are applied after the surrounding
+ * transaction commits, so rolled-back writes never reach the counters.
+ * Full reloads are done off the request thread by StatisticsRebuilder.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class DashboardAggregateStore extends RebuildableStore {
+
+    private final StatisticsRebuilder rebuilder;
+
+    // Replaced wholesale by a rebuild (see RebuildableStore)
+    private Map<Long, Contribution> contributions = new HashMap<>();
+    private Map<Long, CourseAggregate> courses = new HashMap<>();
+    private Map<String, DepartmentAggregate> departments = new HashMap<>();
+    private TopCourseTracker topCourses = new TopCourseTracker();
+    private EnrollmentCounters global = new EnrollmentCounters();
+
+    public DashboardAggregateStore(StatisticsRebuilder rebuilder) {
+        this.rebuilder = rebuilder;
+    }
+
+    // ==================== Rebuild ====================
+
+    @Override
+    protected Rebuild newRebuild() {
+        DashboardAggregateStore next = new DashboardAggregateStore(null);
+        return new Rebuild() {
+            @Override
+            public void addCourse(Course course) {
+                next.ensureCourse(CourseInfo.of(course));
+            }
+
+            @Override
+            public void addRow(EnrollmentRow row) {
+                next.apply(Contribution.of(row));
+            }
+
+            @Override
+            public void swapIn() {
+                contributions = next.contributions;
+                courses = next.courses;
+                departments = next.departments;
+                topCourses = next.topCourses;
+                global = next.global;
+            }
+        };
+    }
+
+    // ==================== Change Notifications ====================
+
+    /**
+     * Record the current state of an enrollment (created, graded, completed or withdrawn).
+     *
+     * @param enrollment Saved enrollment
+     */
+    @Override
+    public void onEnrollmentSaved(Enrollment enrollment) {
+        if (enrollment == null || enrollment.getId() == null) {
+            return;
+        }
+        Contribution contribution = Contribution.of(EnrollmentRow.of(enrollment));
+        CourseInfo course = CourseInfo.of(enrollment.getCourseOffering().getCourse());
+        TransactionHooks.afterCommit(() -> applyChange(() -> {
+            ensureCourse(course);
+            apply(contribution);
+        }));
+    }
+
+    /**
+     * Remove a deleted enrollment from all counters.
+     *
+     * @param enrollmentId Enrollment database ID
+     */
+    @Override
+    public void onEnrollmentDeleted(Long enrollmentId) {
+        if (enrollmentId == null) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> applyChange(() -> remove(enrollmentId)));
+    }
+
+    /**
+     * Record a created or updated course.
+     * A department change re-keys existing enrollments, so that case requests a
+     * rebuild and the course keeps its old department until the rebuild lands.
+     * Course deletion and bulk changes are rebuilt by StatisticsRebuilder directly.
+     *
+     * @param course Saved course
+     */
+    @Override
+    public void onCourseSaved(Course course) {
+        if (course == null || course.getId() == null) {
+            return;
+        }
+        CourseInfo info = CourseInfo.of(course);
+        TransactionHooks.afterCommit(() -> applyChange(() -> {
+            CourseAggregate existing = courses.get(info.id);
+            if (existing != null && existing.counters.total > 0
+                    && !Objects.equals(existing.info.department, info.department)) {
+                rebuilder.requestRebuild();
+            } else {
+                ensureCourse(info);
+            }
+        }));
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Get top enrolled courses in {@link TopCourseTracker#RANKING} order, in O(K log K).
+     *
+     * @param limit Number of courses to return
+     * @return Course statistics
+     */
+    public List<CourseEnrollmentStats> getTopCourses(int limit) {
+        lock.readLock().lock();
+        try {
+            return topCourses.top(limit).stream()
+                    .map(id -> courses.get(id).toStats())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get statistics for every department that has courses or enrollments.
+     * totalStudents is left unset: distinct students are estimated by
+     * {@link DistinctStudentSketches} rather than counted here.
+     *
+     * @return Department statistics, ordered by total enrollments
+     */
+    public List<DepartmentStats> getDepartmentStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> courseCounts = courses.values().stream()
+                    .filter(c -> isValidDepartment(c.info.department))
+                    .collect(Collectors.groupingBy(c -> c.info.department, Collectors.counting()));
+
+            Set<String> allDepts = new HashSet<>(courseCounts.keySet());
+            departments.forEach((dept, agg) -> {
+                if (agg.counters.total > 0) {
+                    allDepts.add(dept);
+                }
+            });
+
+            return allDepts.stream()
+                    .map(dept -> {
+                        DepartmentAggregate agg = departments.get(dept);
+                        DepartmentStats stat = new DepartmentStats();
+                        stat.setDepartment(dept);
+                        stat.setTotalCourses(courseCounts.getOrDefault(dept, 0L));
+                        stat.setTotalEnrollments(agg != null ? agg.counters.total : 0L);
+                        stat.setAverageGpa(agg != null ? agg.counters.averageGpa() : 0.0);
+                        return stat;
+                    })
+                    .sorted(Comparator.comparing(DepartmentStats::getTotalEnrollments).reversed())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get a consistent snapshot of the global counters.
+     *
+     * @return Global totals
+     */
+    public Totals getTotals() {
+        lock.readLock().lock();
+        try {
+            return new Totals(global.total, global.inProgress, global.completed,
+                    global.withdrawn, global.averageGpa());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Internal Mutation (caller holds write lock) ====================
+
+    private void apply(Contribution next) {
+        Contribution previous = contributions.put(next.enrollmentId, next);
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        adjust(next, 1);
+    }
+
+    private void remove(Long enrollmentId) {
+        Contribution previous = contributions.remove(enrollmentId);
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+    }
+
+    private void adjust(Contribution c, int sign) {
+        global.add(c.status, c.gpaValue, c.finalScore, sign);
+        CourseAggregate course = courses.get(c.courseId);
+        if (course == null) {
+            return;
+        }
+        course.counters.add(c.status, c.gpaValue, c.finalScore, sign);
+        topCourses.update(c.courseId, course.info.courseCode, course.counters.total);
+
+        String dept = course.info.department;
+        if (isValidDepartment(dept)) {
+            DepartmentAggregate agg = departments.computeIfAbsent(dept, d -> new DepartmentAggregate());
+            agg.counters.add(c.status, c.gpaValue, c.finalScore, sign);
+        }
+    }
+
+    private void ensureCourse(CourseInfo info) {
+        CourseAggregate existing = courses.get(info.id);
+        if (existing == null) {
+            courses.put(info.id, new CourseAggregate(info));
+        } else {
+            boolean codeChanged = !Objects.equals(existing.info.courseCode, info.courseCode);
+            existing.info = info;
+            if (codeChanged) {
+                topCourses.update(info.id, info.courseCode, existing.counters.total);
+            }
+        }
+    }
+
+    private static boolean isValidDepartment(String dept) {
+        return dept != null && !dept.isBlank();
+    }
+
+    // ==================== Inner Classes ====================
+
+    /**
+     * Immutable view of what a single enrollment adds to the counters.
+     */
+    private static final class Contribution {
+        final Long enrollmentId;
+        final Long courseId;
+        final EnrollmentStatus status;
+        final Double gpaValue;
+        final Double finalScore;
+
+        private Contribution(Long enrollmentId, Long courseId,
+                             EnrollmentStatus status, Double gpaValue, Double finalScore) {
+            this.enrollmentId = enrollmentId;
+            this.courseId = courseId;
+            this.status = status;
+            this.gpaValue = gpaValue;
+            this.finalScore = finalScore;
+        }
+
+        static Contribution of(EnrollmentRow row) {
+            return new Contribution(row.enrollmentId(), row.courseId(),
+                    row.status(), row.gpaValue(), row.finalScore());
+        }
+    }
+
+    /**
+     * Course metadata copied out of the entity so no session is needed to read it.
+     */
+    private static final class CourseInfo {
+        final Long id;
+        final String courseCode;
+        final String courseName;
+        final String department;
+        final Integer credits;
+
+        private CourseInfo(Long id, String courseCode, String courseName, String department, Integer credits) {
+            this.id = id;
+            this.courseCode = courseCode;
+            this.courseName = courseName;
+            this.department = department;
+            this.credits = credits;
+        }
+
+        static CourseInfo of(Course c) {
+            return new CourseInfo(c.getId(), c.getCourseCode(), c.getCourseName(),
+                    c.getDepartment(), c.getCredits());
+        }
+    }
+
+    private static final class CourseAggregate {
+        CourseInfo info;
+        final EnrollmentCounters counters = new EnrollmentCounters();
+
+        CourseAggregate(CourseInfo info) {
+            this.info = info;
+        }
+
+        CourseEnrollmentStats toStats() {
+            CourseEnrollmentStats stat = new CourseEnrollmentStats();
+            stat.setCourseCode(info.courseCode);
+            stat.setCourseName(info.courseName);
+            stat.setDepartment(info.department);
+            stat.setCredits(info.credits);
+            stat.setTotalEnrollments(counters.total);
+            stat.setCompletedEnrollments(counters.completed);
+            stat.setAverageScore(counters.averageScore());
+            return stat;
+        }
+    }
+
+    private static final class DepartmentAggregate {
+        final EnrollmentCounters counters = new EnrollmentCounters();
+    }
+
+    /**
+     * Snapshot of the global dashboard counters.
+     */
+    public static final class Totals {
+        private final long totalEnrollments;
+        private final long activeEnrollments;
+        private final long completedEnrollments;
+        private final long withdrawnEnrollments;
+        private final double averageGpa;
+
+        public Totals(long totalEnrollments, long activeEnrollments, long completedEnrollments,
+                      long withdrawnEnrollments, double averageGpa) {
+            this.totalEnrollments = totalEnrollments;
+            this.activeEnrollments = activeEnrollments;
+            this.completedEnrollments = completedEnrollments;
+            this.withdrawnEnrollments = withdrawnEnrollments;
+            this.averageGpa = averageGpa;
+        }
+
+        public long getTotalEnrollments() { return totalEnrollments; }
+        public long getActiveEnrollments() { return activeEnrollments; }
+        public long getCompletedEnrollments() { return completedEnrollments; }
+        public long getWithdrawnEnrollments() { return withdrawnEnrollments; }
+        public double getAverageGpa() { return averageGpa; }
+    }
+}
@@ -0,0 +1,158 @@
+package com.spts.statistics;
+
+import com.spts.entity.Course;
+import com.spts.entity.Enrollment;
+import com.spts.entity.Semester;
+import com.spts.repository.EnrollmentRow;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * HyperLogLog sketches of distinct student ids per department, course and term.
+ *
+ * Each sketch is 4 KB regardless of how many students it has seen, and answers
+ * "how many distinct students" with ~1.6% standard error (see HyperLogLog).
+ * Sketches are fed when enrollments are saved, after commit. They are add-only:
+ * a deleted enrollment is not subtracted, so estimates may over-count until the
+ * next rebuild (bulk changes, course deletion or department moves trigger one,
+ * run off the request thread by StatisticsRebuilder).
+ *
+ * @author SPTS Team
+ */
+@Component
+public class DistinctStudentSketches extends RebuildableStore {
+
+    private final StatisticsRebuilder rebuilder;
+
+    // Replaced wholesale by a rebuild (see RebuildableStore)
+    private Map<String, HyperLogLog> byDepartment = new HashMap<>();
+    private Map<Long, HyperLogLog> byCourse = new HashMap<>();
+    private Map<String, HyperLogLog> byTerm = new HashMap<>();
+    private Map<String, Long> courseIdsByCode = new HashMap<>();
+    /** Department ("" if none) of every course that has fed a sketch */
+    private Map<Long, String> enrolledCourseDepartments = new HashMap<>();
+
+    public DistinctStudentSketches(StatisticsRebuilder rebuilder) {
+        this.rebuilder = rebuilder;
+    }
+
+    // ==================== Rebuild ====================
+
+    @Override
+    protected Rebuild newRebuild() {
+        DistinctStudentSketches next = new DistinctStudentSketches(null);
+        return new Rebuild() {
+            @Override
+            public void addCourse(Course course) {
+                next.courseIdsByCode.put(course.getCourseCode(), course.getId());
+            }
+
+            @Override
+            public void addRow(EnrollmentRow row) {
+                next.add(row);
+            }
+
+            @Override
+            public void swapIn() {
+                byDepartment = next.byDepartment;
+                byCourse = next.byCourse;
+                byTerm = next.byTerm;
+                courseIdsByCode = next.courseIdsByCode;
+                enrolledCourseDepartments = next.enrolledCourseDepartments;
+            }
+        };
+    }
+
+    // ==================== Change Notifications ====================
+
+    @Override
+    public void onEnrollmentSaved(Enrollment enrollment) {
+        EnrollmentRow row = EnrollmentRow.of(enrollment);
+        String courseCode = enrollment.getCourseOffering().getCourse().getCourseCode();
+        TransactionHooks.afterCommit(() -> applyChange(() -> {
+            courseIdsByCode.put(courseCode, row.courseId());
+            add(row);
+        }));
+    }
+
+    /**
+     * A department move cannot be undone in an add-only sketch, so moving a course
+     * that has enrollments requests a rebuild. That is a full pass over every
+     * enrollment, but it runs on the rebuild thread, is shared with the other
+     * stores and absorbs any other moves requested before it starts, so a batch
+     * of course edits costs one or two passes rather than one each.
+     * Course deletion and bulk changes are reloaded by StatisticsRebuilder directly.
+     */
+    @Override
+    public void onCourseSaved(Course course) {
+        Long courseId = course.getId();
+        String courseCode = course.getCourseCode();
+        String department = Objects.toString(course.getDepartment(), "");
+        TransactionHooks.afterCommit(() -> applyChange(() -> {
+            courseIdsByCode.put(courseCode, courseId);
+            String previous = enrolledCourseDepartments.get(courseId);
+            if (previous != null && !Objects.equals(previous, department)) {
+                rebuilder.requestRebuild();
+            }
+        }));
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * @return Estimated distinct students enrolled in the department, 0 if unknown
+     */
+    public long estimateDepartment(String department) {
+        return estimate(byDepartment, department);
+    }
+
+    /**
+     * @return Estimated distinct students enrolled in the course, 0 if unknown
+     */
+    public long estimateCourse(String courseCode) {
+        lock.readLock().lock();
+        try {
+            Long courseId = courseIdsByCode.get(courseCode);
+            HyperLogLog sketch = courseId != null ? byCourse.get(courseId) : null;
+            return sketch != null ? sketch.estimate() : 0L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Estimated distinct students enrolled in the term, 0 if unknown
+     */
+    public long estimateTerm(Semester semester, Integer year) {
+        return estimate(byTerm, termKey(semester, year));
+    }
+
+    // ==================== Internal ====================
+
+    private void add(EnrollmentRow row) {
+        enrolledCourseDepartments.put(row.courseId(), Objects.toString(row.department(), ""));
+        if (row.department() != null && !row.department().isBlank()) {
+            byDepartment.computeIfAbsent(row.department(), d -> new HyperLogLog()).add(row.studentId());
+        }
+        byCourse.computeIfAbsent(row.courseId(), c -> new HyperLogLog()).add(row.studentId());
+        byTerm.computeIfAbsent(termKey(row.semester(), row.academicYear()), t -> new HyperLogLog())
+                .add(row.studentId());
+    }
+
+    private <K> long estimate(Map<K, HyperLogLog> sketches, K key) {
+        lock.readLock().lock();
+        try {
+            HyperLogLog sketch = sketches.get(key);
+            return sketch != null ? sketch.estimate() : 0L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String termKey(Semester semester, Integer year) {
+        return semester + "_" + year;
+    }
+}
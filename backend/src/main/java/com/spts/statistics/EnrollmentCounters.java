@@ -0,0 +1,57 @@
+package com.spts.statistics;
+
+import com.spts.entity.EnrollmentStatus;
+
+/**
+ * Additive enrollment counters: totals by status plus GPA and score sums.
+ * Shared by the course, department, term and global levels of the
+ * statistics structures. Not thread-safe; callers synchronize.
+ *
+ * @author SPTS Team
+ */
+class EnrollmentCounters {
+
+    long total;
+    long inProgress;
+    long completed;
+    long withdrawn;
+    double gpaSum;
+    long gpaCount;
+    double scoreSum;
+    long scoreCount;
+
+    /**
+     * Add (sign = 1) or remove (sign = -1) one enrollment.
+     */
+    void add(EnrollmentStatus status, Double gpaValue, Double finalScore, int sign) {
+        total += sign;
+        if (status == EnrollmentStatus.IN_PROGRESS) inProgress += sign;
+        else if (status == EnrollmentStatus.COMPLETED) completed += sign;
+        else if (status == EnrollmentStatus.WITHDRAWN) withdrawn += sign;
+        if (gpaValue != null) {
+            gpaSum += sign * gpaValue;
+            gpaCount += sign;
+        }
+        if (finalScore != null) {
+            scoreSum += sign * finalScore;
+            scoreCount += sign;
+        }
+    }
+
+    double averageGpa() {
+        return gpaCount > 0 ? round(gpaSum / gpaCount) : 0.0;
+    }
+
+    double averageScore() {
+        return scoreCount > 0 ? round(scoreSum / scoreCount) : 0.0;
+    }
+
+    void reset() {
+        total = inProgress = completed = withdrawn = gpaCount = scoreCount = 0;
+        gpaSum = scoreSum = 0.0;
+    }
+
+    static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,672 @@
+package com.spts.statistics;
+
+import com.spts.dto.StatisticsDTO.*;
+import com.spts.entity.Course;
+import com.spts.entity.Enrollment;
+import com.spts.entity.EnrollmentStatus;
+import com.spts.entity.Semester;
+import com.spts.repository.EnrollmentRow;
+import com.spts.statistics.CubeQuery.Dimension;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Columnar, read-optimized in-memory cube of all enrollments.
+ *
+ * Each enrollment is one row spread over primitive column arrays: dictionary-encoded
+ * course, department and student, {@code byte} semester/status/credits, {@code short}
+ * year and {@code float} GPA/score (NaN = not graded). Every value of every dimension
+ * also has a BitSet of the rows holding it, so a filter is a handful of bitmap
+ * AND/OR operations and a group-by is one scan over the selected bits.
+ *
+ * Loaded by StatisticsRebuilder and kept current incrementally through
+ * StatisticsChangeListener; changes are applied after the writing transaction
+ * commits. Deleted rows are recycled, so the arrays only grow with the peak
+ * number of enrollments.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class EnrollmentCube extends RebuildableStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_CODE = -1;
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+
+    // Everything below is replaced wholesale by a rebuild (see RebuildableStore)
+
+    // Columns (indexed by row)
+    private long[] enrollmentIds = new long[INITIAL_CAPACITY];
+    private int[] courseCol = new int[INITIAL_CAPACITY];
+    private int[] departmentCol = new int[INITIAL_CAPACITY];
+    private int[] studentCol = new int[INITIAL_CAPACITY];
+    private byte[] semesterCol = new byte[INITIAL_CAPACITY];
+    private short[] yearCol = new short[INITIAL_CAPACITY];
+    private byte[] statusCol = new byte[INITIAL_CAPACITY];
+    private byte[] creditsCol = new byte[INITIAL_CAPACITY];
+    private float[] gpaCol = new float[INITIAL_CAPACITY];
+    private float[] scoreCol = new float[INITIAL_CAPACITY];
+
+    private int highWaterMark;
+    private Deque<Integer> freeRows = new ArrayDeque<>();
+    private Map<Long, Integer> rowByEnrollment = new HashMap<>();
+    private BitSet live = new BitSet();
+
+    // Dictionaries
+    private Dictionary<Long> courseDict = new Dictionary<>();
+    private Dictionary<String> departmentDict = new Dictionary<>();
+    private Dictionary<Long> studentDict = new Dictionary<>();
+    /** Course metadata by course code; null once the course is deleted. */
+    private List<CourseInfo> courseInfo = new ArrayList<>();
+
+    // Bitmap indexes
+    private List<BitSet> courseBitmaps = new ArrayList<>();
+    private List<BitSet> departmentBitmaps = new ArrayList<>();
+    private BitSet[] semesterBitmaps = newBitmaps(SEMESTERS.length);
+    private BitSet[] statusBitmaps = newBitmaps(STATUSES.length);
+    private Map<Short, BitSet> yearBitmaps = new TreeMap<>();
+    private Map<Byte, BitSet> creditBitmaps = new TreeMap<>();
+
+    // ==================== Rebuild ====================
+
+    @Override
+    protected Rebuild newRebuild() {
+        EnrollmentCube next = new EnrollmentCube();
+        return new Rebuild() {
+            @Override
+            public void addCourse(Course course) {
+                next.registerCourse(CourseInfo.of(course));
+            }
+
+            @Override
+            public void addRow(EnrollmentRow row) {
+                next.upsert(row);
+            }
+
+            @Override
+            public void swapIn() {
+                adopt(next);
+            }
+        };
+    }
+
+    private void adopt(EnrollmentCube next) {
+        enrollmentIds = next.enrollmentIds;
+        courseCol = next.courseCol;
+        departmentCol = next.departmentCol;
+        studentCol = next.studentCol;
+        semesterCol = next.semesterCol;
+        yearCol = next.yearCol;
+        statusCol = next.statusCol;
+        creditsCol = next.creditsCol;
+        gpaCol = next.gpaCol;
+        scoreCol = next.scoreCol;
+        highWaterMark = next.highWaterMark;
+        freeRows = next.freeRows;
+        rowByEnrollment = next.rowByEnrollment;
+        live = next.live;
+        courseDict = next.courseDict;
+        departmentDict = next.departmentDict;
+        studentDict = next.studentDict;
+        courseInfo = next.courseInfo;
+        courseBitmaps = next.courseBitmaps;
+        departmentBitmaps = next.departmentBitmaps;
+        semesterBitmaps = next.semesterBitmaps;
+        statusBitmaps = next.statusBitmaps;
+        yearBitmaps = next.yearBitmaps;
+        creditBitmaps = next.creditBitmaps;
+    }
+
+    // ==================== Change Notifications ====================
+
+    @Override
+    public void onEnrollmentSaved(Enrollment enrollment) {
+        EnrollmentRow row = EnrollmentRow.of(enrollment);
+        CourseInfo course = CourseInfo.of(enrollment.getCourseOffering().getCourse());
+        TransactionHooks.afterCommit(() -> applyChange(() -> {
+            registerCourse(course);
+            upsert(row);
+        }));
+    }
+
+    @Override
+    public void onEnrollmentDeleted(Long enrollmentId) {
+        TransactionHooks.afterCommit(() -> applyChange(() -> remove(enrollmentId)));
+    }
+
+    /**
+     * Department and credits are denormalized into the rows, so a change to either
+     * rewrites the course's rows in place (found through its course bitmap).
+     * Course deletion and bulk changes are reloaded by StatisticsRebuilder.
+     */
+    @Override
+    public void onCourseSaved(Course course) {
+        CourseInfo info = CourseInfo.of(course);
+        TransactionHooks.afterCommit(() -> applyChange(() -> registerCourse(info)));
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Run an ad-hoc filter and group-by.
+     *
+     * @param query Filters and grouping dimensions
+     * @return One cell per group, ordered by enrollment count
+     */
+    public QueryResult query(CubeQuery query) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            BitSet selected = select(query);
+            List<Dimension> dims = query.getGroupBy();
+            List<QueryCell> cells = aggregate(selected, dims).values().stream()
+                    .map(group -> group.toCell(dims))
+                    .sorted(Comparator.comparing(QueryCell::getEnrollments).reversed())
+                    .collect(Collectors.toList());
+
+            QueryResult result = new QueryResult();
+            result.setGroupBy(dims.stream().map(Enum::name).collect(Collectors.toList()));
+            result.setMatchedEnrollments((long) selected.cardinality());
+            result.setCells(cells);
+            result.setElapsedMicros((System.nanoTime() - start) / 1_000);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get top enrolled courses, ordered by total enrollments.
+     */
+    public List<CourseEnrollmentStats> topCourses(int limit) {
+        lock.readLock().lock();
+        try {
+            return aggregate(live, List.of(Dimension.COURSE)).values().stream()
+                    .filter(group -> courseInfo.get(courseCol[group.sampleRow]) != null)
+                    .map(group -> {
+                        CourseInfo info = courseInfo.get(courseCol[group.sampleRow]);
+                        CourseEnrollmentStats stat = new CourseEnrollmentStats();
+                        stat.setCourseCode(info.courseCode);
+                        stat.setCourseName(info.courseName);
+                        stat.setDepartment(info.department);
+                        stat.setCredits(info.credits);
+                        stat.setTotalEnrollments(group.counters.total);
+                        stat.setCompletedEnrollments(group.counters.completed);
+                        stat.setAverageScore(group.counters.averageScore());
+                        return stat;
+                    })
+                    .sorted(TopCourseTracker.RANKING)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get statistics for every department that has courses or enrollments.
+     */
+    public List<DepartmentStats> departmentStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> coursesByDept = courseInfo.stream()
+                    .filter(info -> info != null && isValidDepartment(info.department))
+                    .collect(Collectors.groupingBy(info -> info.department, Collectors.counting()));
+            Map<String, Group> enrollmentsByDept = new HashMap<>();
+            aggregate(live, List.of(Dimension.DEPARTMENT)).values().forEach(group -> {
+                int dept = departmentCol[group.sampleRow];
+                if (dept != NO_CODE) {
+                    enrollmentsByDept.put(departmentDict.decode(dept), group);
+                }
+            });
+
+            Set<String> allDepts = new HashSet<>(coursesByDept.keySet());
+            allDepts.addAll(enrollmentsByDept.keySet());
+
+            return allDepts.stream()
+                    .map(dept -> {
+                        Group group = enrollmentsByDept.get(dept);
+                        DepartmentStats stat = new DepartmentStats();
+                        stat.setDepartment(dept);
+                        stat.setTotalCourses(coursesByDept.getOrDefault(dept, 0L));
+                        stat.setTotalEnrollments(group != null ? group.counters.total : 0L);
+                        stat.setTotalStudents(group != null ? (long) group.students.cardinality() : 0L);
+                        stat.setAverageGpa(group != null ? group.counters.averageGpa() : 0.0);
+                        return stat;
+                    })
+                    .sorted(Comparator.comparing(DepartmentStats::getTotalEnrollments).reversed())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get enrollment trends, ordered chronologically.
+     */
+    public List<EnrollmentTrend> enrollmentTrends() {
+        lock.readLock().lock();
+        try {
+            return aggregate(live, List.of(Dimension.YEAR, Dimension.SEMESTER)).values().stream()
+                    .map(group -> {
+                        Semester semester = SEMESTERS[semesterCol[group.sampleRow]];
+                        int year = yearCol[group.sampleRow];
+                        EnrollmentTrend trend = new EnrollmentTrend();
+                        trend.setSemester(semester.name());
+                        trend.setAcademicYear(year);
+                        trend.setPeriod(semester.getDisplayName() + " " + year);
+                        trend.setEnrollmentCount(group.counters.total);
+                        trend.setCompletedCount(group.counters.completed);
+                        trend.setAverageScore(group.counters.averageScore());
+                        return trend;
+                    })
+                    .sorted(Comparator.comparing(EnrollmentTrend::getAcademicYear)
+                            .thenComparing(t -> Semester.valueOf(t.getSemester()).getOrder()))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get course and enrollment counts per credit value.
+     */
+    public List<CreditDistribution> creditDistribution() {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Long> coursesByCredits = courseInfo.stream()
+                    .filter(info -> info != null && info.credits != null)
+                    .collect(Collectors.groupingBy(info -> info.credits, Collectors.counting()));
+            Map<Integer, Long> enrollmentsByCredits = new HashMap<>();
+            creditBitmaps.forEach((credits, rows) -> {
+                long count = rows.cardinality();
+                if (count > 0) {
+                    enrollmentsByCredits.put((int) credits, count);
+                }
+            });
+
+            Set<Integer> allCredits = new HashSet<>(coursesByCredits.keySet());
+            allCredits.addAll(enrollmentsByCredits.keySet());
+
+            return allCredits.stream()
+                    .map(credit -> new CreditDistribution(
+                            credit,
+                            coursesByCredits.getOrDefault(credit, 0L),
+                            enrollmentsByCredits.getOrDefault(credit, 0L)))
+                    .sorted(Comparator.comparing(CreditDistribution::getCredits))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of enrollments currently held
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowByEnrollment.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Filtering and Grouping (caller holds a lock) ====================
+
+    private BitSet select(CubeQuery query) {
+        BitSet selected = (BitSet) live.clone();
+        if (!query.getDepartments().isEmpty()) {
+            selected.and(union(query.getDepartments(), dept -> bitmap(departmentBitmaps, departmentDict.lookup(dept))));
+        }
+        if (!query.getCourseCodes().isEmpty()) {
+            selected.and(union(query.getCourseCodes(), code -> bitmap(courseBitmaps, courseCodeOf(code))));
+        }
+        if (!query.getSemesters().isEmpty()) {
+            selected.and(union(query.getSemesters(), semester -> semesterBitmaps[semester.ordinal()]));
+        }
+        if (!query.getStatuses().isEmpty()) {
+            selected.and(union(query.getStatuses(), status -> statusBitmaps[status.ordinal()]));
+        }
+        if (!query.getYears().isEmpty()) {
+            selected.and(union(query.getYears(), year -> yearBitmaps.get((short) (int) year)));
+        }
+        if (!query.getCredits().isEmpty()) {
+            selected.and(union(query.getCredits(), credits -> creditBitmaps.get((byte) (int) credits)));
+        }
+        return selected;
+    }
+
+    private static <T> BitSet union(Set<T> values, Function<T, BitSet> bitmapOf) {
+        BitSet result = new BitSet();
+        for (T value : values) {
+            BitSet rows = bitmapOf.apply(value);
+            if (rows != null) {
+                result.or(rows);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Group the selected rows by the given dimensions.
+     * Group keys are the dimension codes packed into a single long (mixed radix).
+     */
+    private Map<Long, Group> aggregate(BitSet rows, List<Dimension> dims) {
+        long[] radix = new long[dims.size()];
+        for (int i = 0; i < dims.size(); i++) {
+            radix[i] = radixOf(dims.get(i));
+        }
+
+        Map<Long, Group> groups = new HashMap<>();
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            long key = 0;
+            for (int i = 0; i < radix.length; i++) {
+                key = key * radix[i] + codeOf(dims.get(i), row);
+            }
+            Group group = groups.get(key);
+            if (group == null) {
+                group = new Group(row);
+                groups.put(key, group);
+            }
+            group.add(row);
+        }
+        return groups;
+    }
+
+    private long radixOf(Dimension dim) {
+        switch (dim) {
+            case DEPARTMENT: return departmentDict.size() + 1L;
+            case COURSE: return courseDict.size();
+            case SEMESTER: return SEMESTERS.length;
+            case STATUS: return STATUSES.length;
+            case YEAR: return 1L << 16;
+            case CREDITS: return 1L << 8;
+            default: throw new IllegalArgumentException("Unknown dimension: " + dim);
+        }
+    }
+
+    private long codeOf(Dimension dim, int row) {
+        switch (dim) {
+            case DEPARTMENT: return departmentCol[row] + 1L;
+            case COURSE: return courseCol[row];
+            case SEMESTER: return semesterCol[row];
+            case STATUS: return statusCol[row];
+            case YEAR: return yearCol[row] & 0xFFFF;
+            case CREDITS: return creditsCol[row] & 0xFF;
+            default: throw new IllegalArgumentException("Unknown dimension: " + dim);
+        }
+    }
+
+    private Object valueOf(Dimension dim, int row) {
+        switch (dim) {
+            case DEPARTMENT: return departmentCol[row] != NO_CODE ? departmentDict.decode(departmentCol[row]) : null;
+            case COURSE: {
+                CourseInfo info = courseInfo.get(courseCol[row]);
+                return info != null ? info.courseCode : null;
+            }
+            case SEMESTER: return SEMESTERS[semesterCol[row]].name();
+            case STATUS: return STATUSES[statusCol[row]].name();
+            case YEAR: return (int) yearCol[row];
+            case CREDITS: return (int) creditsCol[row];
+            default: throw new IllegalArgumentException("Unknown dimension: " + dim);
+        }
+    }
+
+    private int courseCodeOf(String courseCode) {
+        for (int code = 0; code < courseInfo.size(); code++) {
+            CourseInfo info = courseInfo.get(code);
+            if (info != null && info.courseCode.equalsIgnoreCase(courseCode)) {
+                return code;
+            }
+        }
+        return NO_CODE;
+    }
+
+    // ==================== Internal Mutation (caller holds write lock) ====================
+
+    private void registerCourse(CourseInfo info) {
+        int code = courseDict.encode(info.id);
+        if (code == courseInfo.size()) {
+            courseInfo.add(info);
+            courseBitmaps.add(new BitSet());
+            return;
+        }
+        CourseInfo previous = courseInfo.set(code, info);
+        if (previous != null && (!Objects.equals(previous.department, info.department)
+                || !Objects.equals(previous.credits, info.credits))) {
+            int deptCode = departmentCode(info.department);
+            BitSet rows = courseBitmaps.get(code);
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                unindex(row);
+                departmentCol[row] = deptCode;
+                creditsCol[row] = toByte(info.credits);
+                index(row);
+            }
+        }
+    }
+
+    private void upsert(EnrollmentRow values) {
+        Integer row = rowByEnrollment.get(values.enrollmentId());
+        if (row != null) {
+            unindex(row);
+        } else {
+            row = allocateRow();
+            rowByEnrollment.put(values.enrollmentId(), row);
+        }
+
+        int courseCode = courseDict.encode(values.courseId());
+        while (courseInfo.size() <= courseCode) {
+            // Course first seen through an enrollment row (before its metadata)
+            courseInfo.add(null);
+            courseBitmaps.add(new BitSet());
+        }
+        enrollmentIds[row] = values.enrollmentId();
+        courseCol[row] = courseCode;
+        departmentCol[row] = departmentCode(values.department());
+        studentCol[row] = studentDict.encode(values.studentId());
+        semesterCol[row] = (byte) values.semester().ordinal();
+        yearCol[row] = values.academicYear() != null ? values.academicYear().shortValue() : 0;
+        statusCol[row] = (byte) values.status().ordinal();
+        creditsCol[row] = toByte(values.credits());
+        gpaCol[row] = values.gpaValue() != null ? values.gpaValue().floatValue() : Float.NaN;
+        scoreCol[row] = values.finalScore() != null ? values.finalScore().floatValue() : Float.NaN;
+        index(row);
+    }
+
+    private void remove(Long enrollmentId) {
+        Integer row = rowByEnrollment.remove(enrollmentId);
+        if (row != null) {
+            unindex(row);
+            freeRows.push(row);
+        }
+    }
+
+    private void index(int row) {
+        live.set(row);
+        courseBitmaps.get(courseCol[row]).set(row);
+        if (departmentCol[row] != NO_CODE) {
+            departmentBitmaps.get(departmentCol[row]).set(row);
+        }
+        semesterBitmaps[semesterCol[row]].set(row);
+        statusBitmaps[statusCol[row]].set(row);
+        yearBitmaps.computeIfAbsent(yearCol[row], y -> new BitSet()).set(row);
+        creditBitmaps.computeIfAbsent(creditsCol[row], c -> new BitSet()).set(row);
+    }
+
+    private void unindex(int row) {
+        live.clear(row);
+        courseBitmaps.get(courseCol[row]).clear(row);
+        if (departmentCol[row] != NO_CODE) {
+            departmentBitmaps.get(departmentCol[row]).clear(row);
+        }
+        semesterBitmaps[semesterCol[row]].clear(row);
+        statusBitmaps[statusCol[row]].clear(row);
+        yearBitmaps.get(yearCol[row]).clear(row);
+        creditBitmaps.get(creditsCol[row]).clear(row);
+    }
+
+    private int departmentCode(String department) {
+        if (!isValidDepartment(department)) {
+            return NO_CODE;
+        }
+        int code = departmentDict.encode(department);
+        if (code == departmentBitmaps.size()) {
+            departmentBitmaps.add(new BitSet());
+        }
+        return code;
+    }
+
+    private int allocateRow() {
+        if (!freeRows.isEmpty()) {
+            return freeRows.pop();
+        }
+        if (highWaterMark == enrollmentIds.length) {
+            grow(enrollmentIds.length * 2);
+        }
+        return highWaterMark++;
+    }
+
+    private void grow(int capacity) {
+        enrollmentIds = Arrays.copyOf(enrollmentIds, capacity);
+        courseCol = Arrays.copyOf(courseCol, capacity);
+        departmentCol = Arrays.copyOf(departmentCol, capacity);
+        studentCol = Arrays.copyOf(studentCol, capacity);
+        semesterCol = Arrays.copyOf(semesterCol, capacity);
+        yearCol = Arrays.copyOf(yearCol, capacity);
+        statusCol = Arrays.copyOf(statusCol, capacity);
+        creditsCol = Arrays.copyOf(creditsCol, capacity);
+        gpaCol = Arrays.copyOf(gpaCol, capacity);
+        scoreCol = Arrays.copyOf(scoreCol, capacity);
+    }
+
+    private static byte toByte(Integer credits) {
+        return credits != null ? credits.byteValue() : 0;
+    }
+
+    private static BitSet bitmap(List<BitSet> bitmaps, int code) {
+        return code != NO_CODE ? bitmaps.get(code) : null;
+    }
+
+    private static BitSet[] newBitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+
+    private static boolean isValidDepartment(String dept) {
+        return dept != null && !dept.isBlank();
+    }
+
+    // ==================== Inner Classes ====================
+
+    /**
+     * Counters for one group; {@code sampleRow} is any member row, used to decode the group key.
+     */
+    private final class Group {
+        final int sampleRow;
+        final EnrollmentCounters counters = new EnrollmentCounters();
+        final BitSet students = new BitSet();
+
+        Group(int sampleRow) {
+            this.sampleRow = sampleRow;
+        }
+
+        void add(int row) {
+            EnrollmentCounters c = counters;
+            c.total++;
+            switch (STATUSES[statusCol[row]]) {
+                case IN_PROGRESS: c.inProgress++; break;
+                case COMPLETED: c.completed++; break;
+                case WITHDRAWN: c.withdrawn++; break;
+                default: break;
+            }
+            if (!Float.isNaN(gpaCol[row])) {
+                c.gpaSum += gpaCol[row];
+                c.gpaCount++;
+            }
+            if (!Float.isNaN(scoreCol[row])) {
+                c.scoreSum += scoreCol[row];
+                c.scoreCount++;
+            }
+            students.set(studentCol[row]);
+        }
+
+        QueryCell toCell(List<Dimension> dims) {
+            Map<String, Object> key = new LinkedHashMap<>();
+            for (Dimension dim : dims) {
+                key.put(dim.name().toLowerCase(), valueOf(dim, sampleRow));
+            }
+            QueryCell cell = new QueryCell();
+            cell.setGroup(key);
+            cell.setEnrollments(counters.total);
+            cell.setInProgress(counters.inProgress);
+            cell.setCompleted(counters.completed);
+            cell.setWithdrawn(counters.withdrawn);
+            cell.setDistinctStudents((long) students.cardinality());
+            cell.setAverageGpa(counters.averageGpa());
+            cell.setAverageScore(counters.averageScore());
+            return cell;
+        }
+    }
+
+    /**
+     * Bidirectional value <-> dense int code mapping.
+     */
+    private static final class Dictionary<T> {
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        int encode(T value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        int lookup(T value) {
+            return codes.getOrDefault(value, NO_CODE);
+        }
+
+        T decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    /**
+     * Course metadata copied out of the entity so no session is needed to read it.
+     */
+    private static final class CourseInfo {
+        final Long id;
+        final String courseCode;
+        final String courseName;
+        final String department;
+        final Integer credits;
+
+        private CourseInfo(Long id, String courseCode, String courseName, String department, Integer credits) {
+            this.id = id;
+            this.courseCode = courseCode;
+            this.courseName = courseName;
+            this.department = department;
+            this.credits = credits;
+        }
+
+        static CourseInfo of(Course c) {
+            return new CourseInfo(c.getId(), c.getCourseCode(), c.getCourseName(),
+                    c.getDepartment(), c.getCredits());
+        }
+    }
+}
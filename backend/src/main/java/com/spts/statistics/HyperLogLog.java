@@ -0,0 +1,84 @@
+package com.spts.statistics;
+
+/**
+ * HyperLogLog sketch for approximate distinct counting of long ids.
+ *
+ * Uses 2^12 = 4096 one-byte registers (4 KB per sketch). The relative standard
+ * error is 1.04 / sqrt(4096) ~= 1.6%, so about 95% of estimates fall within
+ * +/-3.3% of the true count; below ~10,000 distinct ids linear counting is used
+ * and small counts are typically within a few ids. Sketches are add-only and mergeable
+ * (register-wise max). Not thread-safe; callers synchronize.
+ *
+ * @author SPTS Team
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(1 << PRECISION);
+
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private final byte[] registers = new byte[REGISTER_COUNT];
+
+    /**
+     * Record one id (re-adding the same id has no effect).
+     */
+    public void add(long id) {
+        long hash = mix(id);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Sentinel bit bounds the rank when the remaining bits are all zero
+        long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Fold another sketch into this one; the result estimates the size of the union.
+     *
+     * @return this, for chaining
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return Estimated number of distinct ids added
+     */
+    public long estimate() {
+        double sum = 0.0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            // Small-range correction: linear counting
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 64-bit finalizer (MurmurHash3 fmix64): spreads sequential database ids over all bits.
+     */
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
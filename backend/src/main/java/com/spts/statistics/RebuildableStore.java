@@ -0,0 +1,110 @@
+package com.spts.statistics;
+
+import com.spts.entity.Course;
+import com.spts.repository.EnrollmentRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Base class for in-memory statistics stores reloaded by StatisticsRebuilder.
+ *
+ * A rebuild fills a fresh copy of the store's state from one pass over the
+ * courses and enrollment rows without taking the store's lock, then swaps it in
+ * under a short write lock. Incremental changes applied while the pass runs are
+ * recorded and replayed onto the new state after the swap. Every change
+ * re-applies the latest committed state of what it touches, so replaying one
+ * the pass has already seen does not count it twice.
+ *
+ * Changes must therefore go through {@link #applyChange(Runnable)} and read the
+ * store's fields when they run, not capture them beforehand.
+ *
+ * @author SPTS Team
+ */
+public abstract class RebuildableStore implements StatisticsChangeListener {
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Changes applied since the running rebuild began; null when none is running */
+    private List<Runnable> changesDuringRebuild;
+
+    /**
+     * Replacement state being filled by a rebuild, on the rebuild thread.
+     */
+    protected interface Rebuild {
+
+        void addCourse(Course course);
+
+        void addRow(EnrollmentRow row);
+
+        /**
+         * Replace the store's state with the built one (caller holds the write lock).
+         */
+        void swapIn();
+    }
+
+    /**
+     * @return Empty replacement state, sharing nothing with the live state
+     */
+    protected abstract Rebuild newRebuild();
+
+    // ==================== Rebuild Protocol ====================
+
+    /**
+     * Start recording changes for replay and return the state to fill.
+     */
+    final Rebuild beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return newRebuild();
+    }
+
+    /**
+     * Swap in the filled state and replay the changes recorded since it began.
+     */
+    final void finishRebuild(Rebuild rebuild) {
+        lock.writeLock().lock();
+        try {
+            rebuild.swapIn();
+            changesDuringRebuild.forEach(Runnable::run);
+        } finally {
+            changesDuringRebuild = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stop recording after a failed pass; the live state is left as it is.
+     */
+    final void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== Incremental Changes ====================
+
+    /**
+     * Apply a change under the write lock, keeping it for replay if a rebuild is running.
+     */
+    protected final void applyChange(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
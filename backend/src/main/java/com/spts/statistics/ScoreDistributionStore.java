@@ -0,0 +1,215 @@
+package com.spts.statistics;
+
+import com.spts.entity.Course;
+import com.spts.entity.Enrollment;
+import com.spts.entity.Semester;
+import com.spts.patterns.strategy.GradingStrategyFactory;
+import com.spts.patterns.strategy.IGradingStrategy;
+import com.spts.repository.EnrollmentRow;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Score histograms per course offering, kept current on every final-score change.
+ *
+ * Each offering owns one ScoreHistogram of its enrollments' final scores and letter
+ * grades (letters come from the offering's grading strategy). Course, department and
+ * term distributions are produced by merging the matching offering histograms, which
+ * costs O(#offerings x buckets) regardless of the number of enrollments.
+ *
+ * Like DashboardAggregateStore, the last contribution of every enrollment is
+ * remembered so re-applying an enrollment replaces rather than double counts it.
+ * Full reloads are done off the request thread by StatisticsRebuilder.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class ScoreDistributionStore extends RebuildableStore {
+
+    private static final String DEFAULT_GRADING_SCALE = "SCALE_10";
+
+    private final GradingStrategyFactory strategyFactory;
+
+    // Replaced wholesale by a rebuild (see RebuildableStore)
+    private Map<Long, Contribution> contributions = new HashMap<>();
+    private Map<Long, OfferingHistogram> offerings = new HashMap<>();
+    private Map<Long, CourseInfo> courses = new HashMap<>();
+
+    public ScoreDistributionStore(GradingStrategyFactory strategyFactory) {
+        this.strategyFactory = strategyFactory;
+    }
+
+    // ==================== Rebuild ====================
+
+    @Override
+    protected Rebuild newRebuild() {
+        ScoreDistributionStore next = new ScoreDistributionStore(strategyFactory);
+        return new Rebuild() {
+            @Override
+            public void addCourse(Course course) {
+                next.courses.put(course.getId(), CourseInfo.of(course));
+            }
+
+            @Override
+            public void addRow(EnrollmentRow row) {
+                next.apply(row);
+            }
+
+            @Override
+            public void swapIn() {
+                contributions = next.contributions;
+                offerings = next.offerings;
+                courses = next.courses;
+            }
+        };
+    }
+
+    // ==================== Change Notifications ====================
+
+    @Override
+    public void onEnrollmentSaved(Enrollment enrollment) {
+        EnrollmentRow row = EnrollmentRow.of(enrollment);
+        CourseInfo course = CourseInfo.of(enrollment.getCourseOffering().getCourse());
+        TransactionHooks.afterCommit(() -> applyChange(() -> {
+            courses.put(course.id, course);
+            apply(row);
+        }));
+    }
+
+    @Override
+    public void onEnrollmentDeleted(Long enrollmentId) {
+        TransactionHooks.afterCommit(() -> applyChange(() -> remove(enrollmentId)));
+    }
+
+    /**
+     * Course views resolve code and department at query time, so only the metadata changes.
+     * Course deletion and bulk changes are reloaded by StatisticsRebuilder.
+     */
+    @Override
+    public void onCourseSaved(Course course) {
+        CourseInfo info = CourseInfo.of(course);
+        TransactionHooks.afterCommit(() -> applyChange(() -> courses.put(info.id, info)));
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Merge the histograms of every offering matching all given filters (null = any).
+     *
+     * @param offeringId Course offering ID
+     * @param courseCode Course code (case-insensitive)
+     * @param department Department name
+     * @param semester   Semester
+     * @param year       Academic year
+     * @return Merged histogram (empty if nothing matches)
+     */
+    public ScoreHistogram distribution(Long offeringId, String courseCode, String department,
+                                       Semester semester, Integer year) {
+        lock.readLock().lock();
+        try {
+            ScoreHistogram merged = new ScoreHistogram();
+            offerings.forEach((id, offering) -> {
+                CourseInfo course = courses.get(offering.courseId);
+                if ((offeringId == null || offeringId.equals(id))
+                        && (courseCode == null || (course != null && courseCode.equalsIgnoreCase(course.courseCode)))
+                        && (department == null || (course != null && department.equals(course.department)))
+                        && (semester == null || semester == offering.semester)
+                        && (year == null || year.equals(offering.academicYear))) {
+                    merged.merge(offering.histogram);
+                }
+            });
+            return merged;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ScoreHistogram forCourse(String courseCode) {
+        return distribution(null, courseCode, null, null, null);
+    }
+
+    public ScoreHistogram forTerm(Semester semester, Integer year) {
+        return distribution(null, null, null, semester, year);
+    }
+
+    // ==================== Internal Mutation (caller holds write lock) ====================
+
+    private void apply(EnrollmentRow row) {
+        remove(row.enrollmentId());
+        if (row.finalScore() == null) {
+            return;
+        }
+        Contribution next = new Contribution(row.offeringId(), row.finalScore(),
+                letterGrade(row.gradingScale(), row.finalScore()));
+        OfferingHistogram offering = offerings.computeIfAbsent(row.offeringId(),
+                id -> new OfferingHistogram(row.courseId(), row.semester(), row.academicYear()));
+        offering.histogram.add(next.score, next.letterGrade, 1);
+        contributions.put(row.enrollmentId(), next);
+    }
+
+    private void remove(Long enrollmentId) {
+        Contribution previous = contributions.remove(enrollmentId);
+        if (previous != null) {
+            OfferingHistogram offering = offerings.get(previous.offeringId);
+            if (offering != null) {
+                offering.histogram.add(previous.score, previous.letterGrade, -1);
+            }
+        }
+    }
+
+    private String letterGrade(String gradingScale, double score) {
+        String scale = gradingScale == null || gradingScale.isBlank() ? DEFAULT_GRADING_SCALE : gradingScale;
+        IGradingStrategy strategy;
+        try {
+            strategy = strategyFactory.getStrategy(scale);
+        } catch (IllegalArgumentException e) {
+            strategy = strategyFactory.getStrategy(DEFAULT_GRADING_SCALE);
+        }
+        return strategy.calculateLetterGrade(score);
+    }
+
+    // ==================== Inner Classes ====================
+
+    private static final class Contribution {
+        final Long offeringId;
+        final double score;
+        final String letterGrade;
+
+        Contribution(Long offeringId, double score, String letterGrade) {
+            this.offeringId = offeringId;
+            this.score = score;
+            this.letterGrade = letterGrade;
+        }
+    }
+
+    private static final class OfferingHistogram {
+        final Long courseId;
+        final Semester semester;
+        final Integer academicYear;
+        final ScoreHistogram histogram = new ScoreHistogram();
+
+        OfferingHistogram(Long courseId, Semester semester, Integer academicYear) {
+            this.courseId = courseId;
+            this.semester = semester;
+            this.academicYear = academicYear;
+        }
+    }
+
+    private static final class CourseInfo {
+        final Long id;
+        final String courseCode;
+        final String department;
+
+        private CourseInfo(Long id, String courseCode, String department) {
+            this.id = id;
+            this.courseCode = courseCode;
+            this.department = department;
+        }
+
+        static CourseInfo of(Course c) {
+            return new CourseInfo(c.getId(), c.getCourseCode(), c.getDepartment());
+        }
+    }
+}
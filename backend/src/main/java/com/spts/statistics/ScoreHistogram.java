@@ -0,0 +1,132 @@
+package com.spts.statistics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-bucket distribution of final scores.
+ *
+ * Scores on the 0-10 scale fall into 101 buckets of width 0.1 (a score is rounded
+ * to the nearest tenth), and letter grades (as produced by the grading strategies)
+ * are counted alongside. Histograms of the same shape are merged by adding bucket
+ * counts, so course, department and term distributions are built from per-offering
+ * histograms without touching individual enrollments. Percentiles are exact to the
+ * bucket width (0.1). Not thread-safe; callers synchronize.
+ *
+ * @author SPTS Team
+ */
+public class ScoreHistogram {
+
+    public static final double BUCKET_WIDTH = 0.1;
+    public static final int BUCKET_COUNT = 101;
+
+    /** Letter grades of Scale10Strategy / Scale4Strategy, plus P from PassFailStrategy. */
+    public static final String[] LETTER_GRADES = {"A", "A-", "B+", "B", "C+", "C", "D+", "D", "F", "P"};
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private final long[] letters = new long[LETTER_GRADES.length];
+    private long count;
+    private double sum;
+
+    /**
+     * Add (sign = 1) or remove (sign = -1) one score.
+     *
+     * @param score       Final score (0-10); clamped into range
+     * @param letterGrade Letter grade for the score, or null
+     */
+    public void add(double score, String letterGrade, int sign) {
+        buckets[bucketOf(score)] += sign;
+        int letter = letterIndex(letterGrade);
+        if (letter >= 0) {
+            letters[letter] += sign;
+        }
+        count += sign;
+        sum += sign * score;
+    }
+
+    /**
+     * Add every count of another histogram into this one.
+     *
+     * @return this, for chaining
+     */
+    public ScoreHistogram merge(ScoreHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] += other.letters[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        return this;
+    }
+
+    /**
+     * Nearest-rank percentile.
+     *
+     * @param p Percentile in (0, 100]
+     * @return Score of the bucket holding the rank, or null if the histogram is empty
+     */
+    public Double percentile(double p) {
+        if (count <= 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += buckets[i];
+            if (cumulative >= rank) {
+                return scoreOf(i);
+            }
+        }
+        return scoreOf(BUCKET_COUNT - 1);
+    }
+
+    public Double mean() {
+        return count > 0 ? EnrollmentCounters.round(sum / count) : null;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Copy of the per-bucket counts; index i holds scores rounding to i * 0.1
+     */
+    public long[] getBuckets() {
+        return Arrays.copyOf(buckets, BUCKET_COUNT);
+    }
+
+    /**
+     * @return Count per letter grade, in grade order (zero counts included)
+     */
+    public Map<String, Long> getLetterGrades() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < LETTER_GRADES.length; i++) {
+            result.put(LETTER_GRADES[i], letters[i]);
+        }
+        return result;
+    }
+
+    static int bucketOf(double score) {
+        int bucket = (int) Math.round(score / BUCKET_WIDTH);
+        return Math.max(0, Math.min(BUCKET_COUNT - 1, bucket));
+    }
+
+    private static double scoreOf(int bucket) {
+        return Math.round(bucket * BUCKET_WIDTH * 10.0) / 10.0;
+    }
+
+    private static int letterIndex(String letterGrade) {
+        if (letterGrade == null) {
+            return -1;
+        }
+        for (int i = 0; i < LETTER_GRADES.length; i++) {
+            if (LETTER_GRADES[i].equals(letterGrade)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,173 @@
+package com.spts.statistics;
+
+import com.spts.dto.StatisticsDTO.*;
+import com.spts.entity.Course;
+import com.spts.entity.Semester;
+import com.spts.repository.EnrollmentRow;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Single-pass accumulator for all statistics reports.
+ *
+ * Consumes a stream of EnrollmentRow and maintains course, department, term and
+ * credit counters at the same time, so top courses, department stats, enrollment
+ * trends and credit distribution come from one scan. Memory is proportional to
+ * the number of courses, terms and distinct students per department, and does
+ * not grow with the number of enrollment rows.
+ *
+ * @author SPTS Team
+ */
+public class StatisticsAccumulator implements Consumer<EnrollmentRow> {
+
+    private final Map<Long, Course> coursesById = new HashMap<>();
+    private final Map<Long, EnrollmentCounters> byCourse = new HashMap<>();
+    private final Map<String, EnrollmentCounters> byDepartment = new HashMap<>();
+    private final Map<String, Set<Long>> studentsByDepartment = new HashMap<>();
+    private final Map<Semester, Map<Integer, EnrollmentCounters>> byTerm = new EnumMap<>(Semester.class);
+    private final Map<Integer, Long> enrollmentsByCredits = new HashMap<>();
+    private final EnrollmentCounters global = new EnrollmentCounters();
+
+    /**
+     * @param courses All courses; supplies names and course counts per department/credits
+     */
+    public StatisticsAccumulator(Collection<Course> courses) {
+        for (Course course : courses) {
+            coursesById.put(course.getId(), course);
+        }
+    }
+
+    @Override
+    public void accept(EnrollmentRow row) {
+        global.add(row.status(), row.gpaValue(), row.finalScore(), 1);
+        byCourse.computeIfAbsent(row.courseId(), id -> new EnrollmentCounters())
+                .add(row.status(), row.gpaValue(), row.finalScore(), 1);
+
+        if (isValidDepartment(row.department())) {
+            byDepartment.computeIfAbsent(row.department(), d -> new EnrollmentCounters())
+                    .add(row.status(), row.gpaValue(), row.finalScore(), 1);
+            studentsByDepartment.computeIfAbsent(row.department(), d -> new HashSet<>())
+                    .add(row.studentId());
+        }
+
+        byTerm.computeIfAbsent(row.semester(), s -> new HashMap<>())
+                .computeIfAbsent(row.academicYear(), y -> new EnrollmentCounters())
+                .add(row.status(), row.gpaValue(), row.finalScore(), 1);
+
+        enrollmentsByCredits.merge(row.credits(), 1L, Long::sum);
+    }
+
+    // ==================== Reports ====================
+
+    /**
+     * Write the summary counters (total, active, completed, average GPA) into the dashboard DTO.
+     *
+     * @param stats Dashboard statistics to fill
+     */
+    public void fillSummary(AdminDashboardStats stats) {
+        stats.setTotalEnrollments(global.total);
+        stats.setActiveEnrollments(global.inProgress);
+        stats.setCompletedEnrollments(global.completed);
+        stats.setOverallAverageGpa(global.averageGpa());
+    }
+
+    /**
+     * @return Number of rows consumed so far
+     */
+    public long getRowCount() {
+        return global.total;
+    }
+
+    /**
+     * @return Number of counters and distinct student ids held; depends only on the
+     *         courses, departments, terms, credit values and students seen, not on the row count
+     */
+    int getRetainedEntryCount() {
+        int departmentStudents = studentsByDepartment.values().stream().mapToInt(Set::size).sum();
+        int terms = byTerm.values().stream().mapToInt(Map::size).sum();
+        return byCourse.size() + byDepartment.size() + departmentStudents + terms + enrollmentsByCredits.size();
+    }
+
+    public List<CourseEnrollmentStats> topCourses(int limit) {
+        return byCourse.entrySet().stream()
+                .filter(entry -> coursesById.containsKey(entry.getKey()))
+                .map(entry -> {
+                    Course course = coursesById.get(entry.getKey());
+                    EnrollmentCounters counters = entry.getValue();
+                    CourseEnrollmentStats stat = new CourseEnrollmentStats();
+                    stat.setCourseCode(course.getCourseCode());
+                    stat.setCourseName(course.getCourseName());
+                    stat.setDepartment(course.getDepartment());
+                    stat.setCredits(course.getCredits());
+                    stat.setTotalEnrollments(counters.total);
+                    stat.setCompletedEnrollments(counters.completed);
+                    stat.setAverageScore(counters.averageScore());
+                    return stat;
+                })
+                .sorted(TopCourseTracker.RANKING)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public List<DepartmentStats> departmentStats() {
+        Map<String, Long> coursesByDept = coursesById.values().stream()
+                .filter(c -> isValidDepartment(c.getDepartment()))
+                .collect(Collectors.groupingBy(Course::getDepartment, Collectors.counting()));
+
+        Set<String> allDepts = new HashSet<>(coursesByDept.keySet());
+        allDepts.addAll(byDepartment.keySet());
+
+        return allDepts.stream()
+                .map(dept -> {
+                    EnrollmentCounters counters = byDepartment.get(dept);
+                    DepartmentStats stat = new DepartmentStats();
+                    stat.setDepartment(dept);
+                    stat.setTotalCourses(coursesByDept.getOrDefault(dept, 0L));
+                    stat.setTotalEnrollments(counters != null ? counters.total : 0L);
+                    stat.setTotalStudents((long) studentsByDepartment.getOrDefault(dept, Collections.emptySet()).size());
+                    stat.setAverageGpa(counters != null ? counters.averageGpa() : 0.0);
+                    return stat;
+                })
+                .sorted(Comparator.comparing(DepartmentStats::getTotalEnrollments).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public List<EnrollmentTrend> enrollmentTrends() {
+        List<EnrollmentTrend> trends = new ArrayList<>();
+        byTerm.forEach((semester, years) -> years.forEach((year, counters) -> {
+            EnrollmentTrend trend = new EnrollmentTrend();
+            trend.setSemester(semester.name());
+            trend.setAcademicYear(year);
+            trend.setPeriod(semester.getDisplayName() + " " + year);
+            trend.setEnrollmentCount(counters.total);
+            trend.setCompletedCount(counters.completed);
+            trend.setAverageScore(counters.averageScore());
+            trends.add(trend);
+        }));
+        trends.sort(Comparator.comparing(EnrollmentTrend::getAcademicYear)
+                .thenComparing(t -> Semester.valueOf(t.getSemester()).getOrder()));
+        return trends;
+    }
+
+    public List<CreditDistribution> creditDistribution() {
+        Map<Integer, Long> coursesByCredits = coursesById.values().stream()
+                .collect(Collectors.groupingBy(Course::getCredits, Collectors.counting()));
+
+        Set<Integer> allCredits = new HashSet<>(coursesByCredits.keySet());
+        allCredits.addAll(enrollmentsByCredits.keySet());
+
+        return allCredits.stream()
+                .map(credit -> new CreditDistribution(
+                        credit,
+                        coursesByCredits.getOrDefault(credit, 0L),
+                        enrollmentsByCredits.getOrDefault(credit, 0L)))
+                .sorted(Comparator.comparing(CreditDistribution::getCredits))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isValidDepartment(String dept) {
+        return dept != null && !dept.isBlank();
+    }
+}
@@ -0,0 +1,47 @@
+package com.spts.statistics;
+
+import com.spts.entity.Course;
+import com.spts.entity.Enrollment;
+
+/**
+ * Receives enrollment and course writes so in-memory statistics structures stay current.
+ *
+ * Callbacks run inside the writing transaction. Implementations copy what they
+ * need out of the entities immediately and apply it after commit
+ * (see {@link TransactionHooks#afterCommit(Runnable)}).
+ *
+ * @author SPTS Team
+ */
+public interface StatisticsChangeListener {
+
+    /**
+     * An enrollment was created, graded, completed or withdrawn.
+     */
+    default void onEnrollmentSaved(Enrollment enrollment) {
+    }
+
+    /**
+     * An enrollment was deleted.
+     */
+    default void onEnrollmentDeleted(Long enrollmentId) {
+    }
+
+    /**
+     * A course was created or updated.
+     */
+    default void onCourseSaved(Course course) {
+    }
+
+    /**
+     * A course (and by cascade its offerings and enrollments) was deleted.
+     */
+    default void onCourseDeleted(Long courseId) {
+    }
+
+    /**
+     * Many enrollments changed at once (e.g. a cascading student delete) or an
+     * explicit reload was requested; incremental state should be rebuilt.
+     */
+    default void onBulkChange() {
+    }
+}
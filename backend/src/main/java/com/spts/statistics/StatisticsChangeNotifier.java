@@ -0,0 +1,82 @@
+package com.spts.statistics;
+
+import com.spts.entity.Course;
+import com.spts.entity.Enrollment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Single entry point used by the services to report enrollment, grade-entry and course writes.
+ * Fans each change out to every registered StatisticsChangeListener, then bumps the
+ * StatisticsDataVersion after commit. The bump is registered last, so it runs after
+ * every listener has applied the change.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class StatisticsChangeNotifier {
+
+    private final List<StatisticsChangeListener> listeners;
+    private final StatisticsDataVersion dataVersion;
+
+    public StatisticsChangeNotifier(List<StatisticsChangeListener> listeners,
+                                    StatisticsDataVersion dataVersion) {
+        this.listeners = List.copyOf(listeners);
+        this.dataVersion = dataVersion;
+    }
+
+    public void enrollmentSaved(Enrollment enrollment) {
+        if (enrollment == null || enrollment.getId() == null) {
+            return;
+        }
+        listeners.forEach(listener -> listener.onEnrollmentSaved(enrollment));
+        bumpVersion();
+    }
+
+    public void enrollmentDeleted(Long enrollmentId) {
+        if (enrollmentId == null) {
+            return;
+        }
+        listeners.forEach(listener -> listener.onEnrollmentDeleted(enrollmentId));
+        bumpVersion();
+    }
+
+    public void courseSaved(Course course) {
+        if (course == null || course.getId() == null) {
+            return;
+        }
+        listeners.forEach(listener -> listener.onCourseSaved(course));
+        bumpVersion();
+    }
+
+    public void courseDeleted(Long courseId) {
+        listeners.forEach(listener -> listener.onCourseDeleted(courseId));
+        bumpVersion();
+    }
+
+    public void bulkChange() {
+        listeners.forEach(StatisticsChangeListener::onBulkChange);
+        bumpVersion();
+    }
+
+    /**
+     * A term snapshot was written or dropped. No listener state depends on snapshots,
+     * so only the data version is bumped to invalidate cached trend responses.
+     */
+    public void termSnapshotChanged() {
+        bumpVersion();
+    }
+
+    /**
+     * Students' term GPA history was updated. Only cached cohort GPA responses
+     * depend on it, so only the data version is bumped.
+     */
+    public void termGpaChanged() {
+        bumpVersion();
+    }
+
+    private void bumpVersion() {
+        TransactionHooks.afterCommit(dataVersion::increment);
+    }
+}
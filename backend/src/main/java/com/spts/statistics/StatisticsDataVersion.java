@@ -0,0 +1,40 @@
+package com.spts.statistics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the data behind the statistics endpoints.
+ *
+ * Bumped by StatisticsChangeNotifier after every enrollment, grade-entry or course
+ * write commits, once all in-memory statistics structures have applied the change.
+ * Anything computed while the version was N is therefore up to date until it changes.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class StatisticsDataVersion {
+
+    /** Distinguishes versions of different application runs (the counter restarts at 0). */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    void increment() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Strong ETag for responses computed at the given version.
+     *
+     * @param version Data version the response was computed at
+     * @return Quoted ETag value
+     */
+    public String etag(long version) {
+        return "\"" + epoch + "-" + version + "\"";
+    }
+}
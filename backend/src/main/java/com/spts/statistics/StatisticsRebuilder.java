@@ -0,0 +1,147 @@
+package com.spts.statistics;
+
+import com.spts.repository.CourseRepository;
+import com.spts.repository.EnrollmentRepository;
+import com.spts.repository.EnrollmentRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reloads every RebuildableStore from the database in one shared pass.
+ *
+ * Changes that cannot be applied incrementally (course deletion, bulk changes
+ * such as a cascading student delete, a course moving department) request a
+ * rebuild. The rebuild runs on a background thread, never on the request
+ * thread: one read-only transaction streams the enrollment rows once and feeds
+ * them to every store, and each store then swaps in its new state under a short
+ * write lock (see RebuildableStore). Requests arriving while a rebuild is queued
+ * are coalesced into it; one arriving during the pass queues exactly one more.
+ *
+ * Until the swap the stores serve their previous state, so the data version is
+ * bumped again afterwards to drop responses cached in between.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class StatisticsRebuilder implements StatisticsChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsRebuilder.class);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final ObjectProvider<RebuildableStore> stores;
+    private final StatisticsDataVersion dataVersion;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "statistics-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StatisticsRebuilder(EnrollmentRepository enrollmentRepository,
+                               CourseRepository courseRepository,
+                               ObjectProvider<RebuildableStore> stores,
+                               StatisticsDataVersion dataVersion,
+                               PlatformTransactionManager transactionManager) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.stores = stores;
+        this.dataVersion = dataVersion;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ==================== Lifecycle ====================
+
+    /**
+     * Load every store once the application (and any seed data) is ready.
+     * Runs on the startup thread so the stores are populated before traffic arrives.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==================== Change Notifications ====================
+
+    /**
+     * Offerings and enrollments are removed by cascade, so the stores are reloaded after commit.
+     */
+    @Override
+    public void onCourseDeleted(Long courseId) {
+        TransactionHooks.afterCommit(this::requestRebuild);
+    }
+
+    @Override
+    public void onBulkChange() {
+        TransactionHooks.afterCommit(this::requestRebuild);
+    }
+
+    // ==================== Rebuild ====================
+
+    /**
+     * Queue a background rebuild of every store, unless one is already queued.
+     * Call after the triggering change has committed.
+     */
+    public void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        List<RebuildableStore> targets = stores.orderedStream().collect(Collectors.toList());
+        List<RebuildableStore.Rebuild> rebuilds = targets.stream()
+                .map(RebuildableStore::beginRebuild)
+                .collect(Collectors.toList());
+        long[] rowCount = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                courseRepository.findAll().forEach(course -> rebuilds.forEach(r -> r.addCourse(course)));
+                try (Stream<EnrollmentRow> rows = enrollmentRepository.streamAllRows()) {
+                    rows.forEach(row -> {
+                        rebuilds.forEach(r -> r.addRow(row));
+                        rowCount[0]++;
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            targets.forEach(RebuildableStore::abortRebuild);
+            logger.error("Statistics rebuild failed; stores keep their previous state: {}", e.getMessage(), e);
+            return;
+        }
+        for (int i = 0; i < targets.size(); i++) {
+            targets.get(i).finishRebuild(rebuilds.get(i));
+        }
+        dataVersion.increment();
+        logger.info("Statistics stores rebuilt: {} stores, {} enrollments in {} ms",
+                targets.size(), rowCount[0], System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,77 @@
+package com.spts.statistics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache of statistics responses keyed by (endpoint, params, data version).
+ *
+ * Only the entry for the current data version is ever served, so there is no TTL:
+ * any write bumps StatisticsDataVersion and the next request recomputes.
+ * Entries from older versions are dropped when the cache reaches its size limit.
+ *
+ * @author SPTS Team
+ */
+@Component
+public class StatisticsResponseCache {
+
+    private static final int MAX_ENTRIES = 500;
+
+    private final StatisticsDataVersion dataVersion;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public StatisticsResponseCache(StatisticsDataVersion dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * Return the cached value for the key at the given version, computing it on a miss.
+     *
+     * @param key       Endpoint and normalized parameters
+     * @param version   Data version read before computing (see StatisticsDataVersion)
+     * @param compute   Computes the response
+     * @param cacheable Whether a computed value may be stored (e.g. not a partial result)
+     * @return Cached or freshly computed value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, long version, Supplier<T> compute, Predicate<T> cacheable) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version) {
+            return (T) entry.value;
+        }
+        T value = compute.get();
+        if (cacheable.test(value)) {
+            if (entries.size() >= MAX_ENTRIES) {
+                evictStale();
+            }
+            entries.put(key, new Entry(version, value));
+        }
+        return value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictStale() {
+        long current = dataVersion.current();
+        entries.values().removeIf(e -> e.version != current);
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+        final long version;
+        final Object value;
+
+        Entry(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
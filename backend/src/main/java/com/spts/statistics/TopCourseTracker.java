@@ -0,0 +1,191 @@
+package com.spts.statistics;
+
+import com.spts.dto.StatisticsDTO.CourseEnrollmentStats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Continuously maintained ranking of courses by enrollment count.
+ *
+ * An indexed binary max-heap keyed by course id: changing one course's count
+ * re-sifts only that entry (O(log n)), and the top K courses are read by a
+ * best-first walk from the root that touches O(K) heap nodes (O(K log K)),
+ * without scanning or sorting every course.
+ *
+ * Ranking is enrollment count descending, then course code ascending, the same
+ * order as {@link #RANKING} used by every other top-courses path. Courses with
+ * zero enrollments are not tracked. Not thread-safe; callers synchronize.
+ *
+ * @author SPTS Team
+ */
+public class TopCourseTracker {
+
+    /**
+     * Canonical top-courses order: most enrollments first, ties broken by course code.
+     */
+    public static final Comparator<CourseEnrollmentStats> RANKING =
+            Comparator.comparing(CourseEnrollmentStats::getTotalEnrollments, Comparator.reverseOrder())
+                    .thenComparing(CourseEnrollmentStats::getCourseCode,
+                            Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<String> CODE_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private Entry[] heap = new Entry[16];
+    private int size;
+    private final Map<Long, Integer> positions = new HashMap<>();
+
+    /**
+     * Set a course's enrollment count (and code, which breaks ties).
+     * A count of zero or less removes the course from the ranking.
+     *
+     * @param courseId   Course database ID
+     * @param courseCode Course code
+     * @param count      Current total enrollments
+     */
+    public void update(Long courseId, String courseCode, long count) {
+        if (count <= 0) {
+            remove(courseId);
+            return;
+        }
+        Integer index = positions.get(courseId);
+        if (index == null) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heap[size] = new Entry(courseId, courseCode, count);
+            positions.put(courseId, size);
+            siftUp(size++);
+            return;
+        }
+        Entry entry = heap[index];
+        entry.courseCode = courseCode;
+        entry.count = count;
+        siftDown(siftUp(index));
+    }
+
+    /**
+     * Drop a course from the ranking (no-op if it is not tracked).
+     */
+    public void remove(Long courseId) {
+        Integer index = positions.remove(courseId);
+        if (index == null) {
+            return;
+        }
+        size--;
+        if (index == size) {
+            heap[size] = null;
+            return;
+        }
+        heap[index] = heap[size];
+        heap[size] = null;
+        positions.put(heap[index].courseId, index);
+        siftDown(siftUp(index));
+    }
+
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        positions.clear();
+    }
+
+    /**
+     * @param limit Number of courses to return
+     * @return Ids of the highest-ranked courses, best first
+     */
+    public List<Long> top(int limit) {
+        List<Long> result = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+        if (limit <= 0 || size == 0) {
+            return result;
+        }
+        // Frontier of heap indexes; every child ranks below its parent, so expanding
+        // the best frontier node k times yields the top k in order.
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                (a, b) -> compare(heap[a], heap[b]));
+        frontier.add(0);
+        while (!frontier.isEmpty() && result.size() < limit) {
+            int index = frontier.poll();
+            result.add(heap[index].courseId);
+            int left = 2 * index + 1;
+            if (left < size) {
+                frontier.add(left);
+            }
+            if (left + 1 < size) {
+                frontier.add(left + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Number of courses with at least one enrollment
+     */
+    public int size() {
+        return size;
+    }
+
+    // ==================== Heap Maintenance ====================
+
+    private int siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compare(heap[index], heap[parent]) >= 0) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+        return index;
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int best = index;
+            int left = 2 * index + 1;
+            if (left < size && compare(heap[left], heap[best]) < 0) {
+                best = left;
+            }
+            if (left + 1 < size && compare(heap[left + 1], heap[best]) < 0) {
+                best = left + 1;
+            }
+            if (best == index) {
+                return;
+            }
+            swap(index, best);
+            index = best;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Entry tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+        positions.put(heap[i].courseId, i);
+        positions.put(heap[j].courseId, j);
+    }
+
+    /**
+     * Negative when a ranks above b (same order as {@link #RANKING}).
+     */
+    private static int compare(Entry a, Entry b) {
+        int byCount = Long.compare(b.count, a.count);
+        return byCount != 0 ? byCount : CODE_ORDER.compare(a.courseCode, b.courseCode);
+    }
+
+    private static final class Entry {
+        final Long courseId;
+        String courseCode;
+        long count;
+
+        Entry(Long courseId, String courseCode, long count) {
+            this.courseId = courseId;
+            this.courseCode = courseCode;
+            this.count = count;
+        }
+    }
+}
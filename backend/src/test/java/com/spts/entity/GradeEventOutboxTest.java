@@ -0,0 +1,74 @@
+package com.spts.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GradeEventOutbox retry backoff and dead-lettering.
+ *
+ * @author SPTS Team
+ */
+class GradeEventOutboxTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    @Test
+    @DisplayName("A new event is pending and due immediately")
+    void constructor_IsPendingAndDue() {
+        GradeEventOutbox event = new GradeEventOutbox(1L, 2L, null);
+
+        assertEquals(GradeEventStatus.PENDING, event.getStatus());
+        assertEquals(0, event.getAttempts());
+        assertEquals(event.getCreatedAt(), event.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("Each failure doubles the retry delay up to the cap")
+    void recordFailure_BacksOffExponentially() {
+        GradeEventOutbox event = new GradeEventOutbox(1L, 2L, 3L);
+
+        event.recordFailure("boom", 10, 1_000, 5_000, NOW);
+        assertEquals(NOW.plusSeconds(1), event.getNextAttemptAt());
+        event.recordFailure("boom", 10, 1_000, 5_000, NOW);
+        assertEquals(NOW.plusSeconds(2), event.getNextAttemptAt());
+        event.recordFailure("boom", 10, 1_000, 5_000, NOW);
+        assertEquals(NOW.plusSeconds(4), event.getNextAttemptAt());
+        event.recordFailure("boom", 10, 1_000, 5_000, NOW);
+        assertEquals(NOW.plusSeconds(5), event.getNextAttemptAt());
+
+        assertEquals(GradeEventStatus.PENDING, event.getStatus());
+        assertEquals(4, event.getAttempts());
+        assertEquals("boom", event.getLastError());
+    }
+
+    @Test
+    @DisplayName("The event is dead-lettered once max attempts have failed")
+    void recordFailure_MaxAttempts_DeadLetters() {
+        GradeEventOutbox event = new GradeEventOutbox(1L, 2L, 3L);
+
+        event.recordFailure("first", 2, 1_000, 5_000, NOW);
+        event.recordFailure("x".repeat(1500), 2, 1_000, 5_000, NOW);
+
+        assertEquals(GradeEventStatus.DEAD_LETTER, event.getStatus());
+        assertNull(event.getNextAttemptAt());
+        assertEquals(1000, event.getLastError().length());
+    }
+
+    @Test
+    @DisplayName("Deferring an event postpones it without using up an attempt")
+    void defer_KeepsAttempts() {
+        GradeEventOutbox event = new GradeEventOutbox(1L, 2L, 3L);
+        event.recordFailure("boom", 2, 1_000, 5_000, NOW);
+
+        event.defer("observer disabled", NOW.plusMinutes(1));
+
+        assertEquals(GradeEventStatus.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertEquals(NOW.plusMinutes(1), event.getNextAttemptAt());
+        assertEquals("observer disabled", event.getLastError());
+    }
+}
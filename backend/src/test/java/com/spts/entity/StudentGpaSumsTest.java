@@ -0,0 +1,129 @@
+package com.spts.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the running GPA sums on Student and the counted grade on Enrollment.
+ * Random grade changes applied as deltas must match a full recompute.
+ *
+ * @author SPTS Team
+ */
+class StudentGpaSumsTest {
+
+    @Test
+    @DisplayName("Applying a grade adds it to the sums and derives GPA and earned credits")
+    void applyGpaDelta_AddsGrade() {
+        Student student = new Student();
+        student.resetGpaSums(0.0, 0, 0);
+
+        student.applyGpaDelta(null, 0, 4.0, 3);
+        student.applyGpaDelta(null, 0, 0.0, 2);
+
+        assertEquals(12.0, student.getWeightedGpaSum(), 1e-9);
+        assertEquals(5, student.getGradedCredits());
+        assertEquals(3, student.getTotalCredits());
+        assertEquals(2.4, student.getGpa(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Removing the last graded enrollment clears GPA")
+    void applyGpaDelta_RemovingLastGradeClearsGpa() {
+        Student student = new Student();
+        student.resetGpaSums(0.0, 0, 0);
+        student.applyGpaDelta(null, 0, 3.3, 4);
+        student.applyGpaDelta(3.3, 4, null, 0);
+
+        assertNull(student.getGpa());
+        assertEquals(0.0, student.getWeightedGpaSum());
+        assertEquals(0, student.getGradedCredits());
+        assertEquals(0, student.getTotalCredits());
+    }
+
+    @Test
+    @DisplayName("Counted grade tracks changes to the enrollment's score and credits")
+    void markGpaCounted_TracksChanges() {
+        Enrollment enrollment = enrollment(3);
+        assertFalse(enrollment.hasUncountedGpaChange());
+
+        enrollment.setFinalScore(8.0);
+        assertTrue(enrollment.hasUncountedGpaChange());
+        enrollment.markGpaCounted();
+        assertFalse(enrollment.hasUncountedGpaChange());
+        assertEquals(enrollment.getGpaValue(), enrollment.getCountedGpaValue());
+        assertEquals(3, enrollment.getCountedCredits());
+
+        enrollment.getCourseOffering().getCourse().setCredits(4);
+        assertTrue(enrollment.hasUncountedGpaChange());
+    }
+
+    @Test
+    @DisplayName("Random grade changes applied as deltas match a full recompute")
+    void deltas_MatchFullRecompute() {
+        Random random = new Random(7);
+        Student student = new Student();
+        student.resetGpaSums(0.0, 0, 0);
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            enrollments.add(enrollment(1 + random.nextInt(4)));
+        }
+
+        for (int step = 0; step < 5000; step++) {
+            Enrollment enrollment = enrollments.get(random.nextInt(enrollments.size()));
+            if (random.nextInt(5) == 0) {
+                enrollment.setFinalScore(null);
+                enrollment.setGpaValue(null);
+            } else {
+                enrollment.setFinalScore(random.nextInt(101) / 10.0);
+            }
+            Double counted = enrollment.getCountedGpaValue();
+            int countedCredits = enrollment.getCountedCredits() != null ? enrollment.getCountedCredits() : 0;
+            enrollment.markGpaCounted();
+            int credits = enrollment.getCountedCredits() != null ? enrollment.getCountedCredits() : 0;
+            student.applyGpaDelta(counted, countedCredits, enrollment.getCountedGpaValue(), credits);
+
+            assertMatchesRecompute(student, enrollments);
+        }
+    }
+
+    // ==================== Fixtures ====================
+
+    private static void assertMatchesRecompute(Student student, List<Enrollment> enrollments) {
+        double weighted = 0.0;
+        int graded = 0;
+        int earned = 0;
+        for (Enrollment e : enrollments) {
+            if (e.isGraded()) {
+                weighted += e.getGpaValue() * e.getCredits();
+                graded += e.getCredits();
+                if (e.getGpaValue() >= 1.0) {
+                    earned += e.getCredits();
+                }
+            }
+        }
+        assertEquals(graded, student.getGradedCredits());
+        assertEquals(earned, student.getTotalCredits());
+        assertEquals(weighted, student.getWeightedGpaSum(), 1e-6);
+        if (graded == 0) {
+            assertNull(student.getGpa());
+        } else {
+            assertEquals(weighted / graded, student.getGpa(), 1e-6);
+        }
+    }
+
+    private static Enrollment enrollment(int credits) {
+        Course course = new Course();
+        course.setCredits(credits);
+        CourseOffering offering = new CourseOffering();
+        offering.setCourse(course);
+        Enrollment enrollment = new Enrollment();
+        enrollment.setCourseOffering(offering);
+        return enrollment;
+    }
+}
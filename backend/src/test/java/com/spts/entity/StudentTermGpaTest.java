@@ -0,0 +1,71 @@
+package com.spts.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StudentTermGpa term sums, cumulative sums and term ordering.
+ *
+ * @author SPTS Team
+ */
+class StudentTermGpaTest {
+
+    @Test
+    @DisplayName("Grade deltas update term GPA and earned credits; removing the last grade empties the term")
+    void applyGpaDelta_UpdatesTermSums() {
+        StudentTermGpa term = term(Semester.FALL, 2024);
+
+        term.applyGpaDelta(null, 0, 4.0, 3);
+        term.applyGpaDelta(null, 0, 0.0, 2);
+        assertEquals(2.4, term.getTermGpa(), 1e-9);
+        assertEquals(5, term.getGradedCredits());
+        assertEquals(3, term.getEarnedCredits());
+
+        term.applyGpaDelta(0.0, 2, 3.0, 2);
+        assertEquals(3.6, term.getTermGpa(), 1e-9);
+        assertEquals(5, term.getEarnedCredits());
+
+        term.applyGpaDelta(4.0, 3, null, 0);
+        term.applyGpaDelta(3.0, 2, null, 0);
+        assertTrue(term.isEmpty());
+        assertNull(term.getTermGpa());
+        assertEquals(0.0, term.getWeightedGpaSum());
+    }
+
+    @Test
+    @DisplayName("Cumulative GPA is derived from the cumulative sums")
+    void setCumulativeSums_DerivesGpa() {
+        StudentTermGpa term = term(Semester.SPRING, 2025);
+        term.setCumulativeSums(27.0, 9);
+        assertEquals(3.0, term.getCumulativeGpa(), 1e-9);
+
+        term.setCumulativeSums(0.0, 0);
+        assertNull(term.getCumulativeGpa());
+    }
+
+    @Test
+    @DisplayName("Terms order by academic year, then semester within the year")
+    void termOrder_IsChronological() {
+        List<StudentTermGpa> terms = new ArrayList<>(List.of(
+                term(Semester.FALL, 2025),
+                term(Semester.SPRING, 2025),
+                term(Semester.WINTER, 2024),
+                term(Semester.SUMMER, 2025)));
+
+        terms.sort(StudentTermGpa.TERM_ORDER);
+
+        assertEquals(List.of("WINTER 2024", "SPRING 2025", "SUMMER 2025", "FALL 2025"),
+                terms.stream().map(t -> t.getSemester() + " " + t.getAcademicYear()).toList());
+    }
+
+    // ==================== Fixtures ====================
+
+    private static StudentTermGpa term(Semester semester, int academicYear) {
+        return new StudentTermGpa(new Student(), semester, academicYear);
+    }
+}
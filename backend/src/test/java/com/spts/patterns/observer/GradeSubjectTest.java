@@ -0,0 +1,218 @@
+package com.spts.patterns.observer;
+
+import com.spts.entity.Enrollment;
+import com.spts.entity.GradeEntry;
+import com.spts.entity.Student;
+import com.spts.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GradeSubject batch notifications (synchronous dispatch),
+ * runtime enable/disable, per-observer circuit breakers and skips during
+ * outbox delivery.
+ *
+ * @author SPTS Team
+ */
+class GradeSubjectTest {
+
+    @Test
+    @DisplayName("A batch reaches each observer once, in priority order")
+    void notifyObserversBatch_CallsEachObserverOnceInPriorityOrder() {
+        GradeSubject subject = subject();
+        List<String> calls = new ArrayList<>();
+        subject.attach(new BatchObserver("late", 20, calls));
+        subject.attach(new BatchObserver("early", 0, calls));
+
+        subject.notifyObserversBatch(List.of(change(1L, 10L), change(1L, 11L), change(2L, 12L)));
+
+        assertEquals(List.of("early:3", "late:3"), calls);
+    }
+
+    @Test
+    @DisplayName("Observers without batch support receive each change in order")
+    void notifyObserversBatch_DefaultFallsBackToSingleUpdates() {
+        GradeSubject subject = subject();
+        List<Long> enrollmentIds = new ArrayList<>();
+        subject.attach(new IGradeObserver() {
+            @Override
+            public void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
+                enrollmentIds.add(enrollment.getId());
+            }
+
+            @Override
+            public String getObserverName() {
+                return "single";
+            }
+        });
+
+        subject.notifyObserversBatch(List.of(change(1L, 10L), change(2L, 12L), change(1L, 11L)));
+        subject.notifyObserversBatch(List.of());
+
+        assertEquals(List.of(10L, 12L, 11L), enrollmentIds);
+    }
+
+    @Test
+    @DisplayName("A disabled observer is skipped until it is enabled again")
+    void setObserverEnabled_SkipsDisabledObserver() {
+        GradeSubject subject = subject();
+        List<String> calls = new ArrayList<>();
+        subject.attach(new BatchObserver("Risk Detector", 10, calls));
+
+        subject.setObserverEnabled("risk-detector", false);
+        subject.notifyObserversBatch(List.of(change(1L, 10L)));
+        subject.setObserverEnabled("Risk Detector", true);
+        subject.notifyObserversBatch(List.of(change(1L, 10L)));
+
+        assertEquals(List.of("Risk Detector:1"), calls);
+        assertThrows(ResourceNotFoundException.class, () -> subject.setObserverEnabled("unknown", false));
+    }
+
+    @Test
+    @DisplayName("A repeatedly failing observer trips its breaker and stops blocking notifications")
+    void notify_FailingObserver_OpensCircuit() {
+        GradeSubject subject = subject();
+        List<String> calls = new ArrayList<>();
+        subject.attach(new BatchObserver("healthy", 20, calls));
+        subject.attach(new IGradeObserver() {
+            @Override
+            public void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
+                throw new IllegalStateException("database unavailable");
+            }
+
+            @Override
+            public int getPriority() {
+                return 0;
+            }
+
+            @Override
+            public String getObserverName() {
+                return "failing";
+            }
+        });
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> subject.notifyObserversBatch(List.of(change(1L, 10L))));
+        }
+        subject.notifyObserversBatch(List.of(change(1L, 10L)));
+
+        assertEquals(List.of("healthy:1"), calls);
+        assertEquals("OPEN", subject.getObserverStatuses().get(0).getCircuitState());
+        subject.resetCircuitBreaker("failing");
+        assertEquals("CLOSED", subject.getObserverStatuses().get(0).getCircuitState());
+    }
+
+    @Test
+    @DisplayName("During outbox delivery a skipped observer fails the delivery so it is retried")
+    void notify_SkippedDuringDelivery_Throws() {
+        GradeSubject subject = subject();
+        List<String> calls = new ArrayList<>();
+        subject.attach(new BatchObserver("Risk Detector", 10, calls));
+        subject.setObserverEnabled("Risk Detector", false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            GradeSubject.beginDelivery();
+            assertTrue(GradeSubject.isDelivering());
+
+            ObserverUnavailableException e = assertThrows(ObserverUnavailableException.class,
+                    () -> subject.notifyObserversBatch(List.of(change(1L, 10L))));
+            assertEquals(0, e.getRetryAfterMs());
+            assertEquals(Optional.of("Risk Detector"), subject.findUnavailableObserver());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(GradeSubject.isDelivering());
+        subject.notifyObserversBatch(List.of(change(1L, 10L)));
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    @DisplayName("An Error thrown by an observer is reported to its breaker")
+    void notify_ObserverThrowsError_ReportsFailure() {
+        // Breaker reopens immediately, so every call after the second is a half-open trial
+        GradeSubject subject = new GradeSubject(null, new SimpleMeterRegistry(), false, 0, 2, 0, 0);
+        int[] calls = {0};
+        subject.attach(new IGradeObserver() {
+            @Override
+            public void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
+                calls[0]++;
+                throw new NoClassDefFoundError("missing");
+            }
+
+            @Override
+            public String getObserverName() {
+                return "erroring";
+            }
+        });
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(NoClassDefFoundError.class, () -> subject.notifyObserversBatch(List.of(change(1L, 10L))));
+        }
+
+        // Opened by the second Error, then reopened by each failed trial
+        assertEquals(4, calls[0]);
+        assertEquals(3, subject.getObserverStatuses().get(0).getTimesOpened());
+    }
+
+    // ==================== Fixtures ====================
+
+    private static GradeSubject subject() {
+        // Breaker opens after 2 failures and stays open for a minute
+        return new GradeSubject(null, new SimpleMeterRegistry(), false, 0, 2, 0, 60_000);
+    }
+
+    private static GradeChange change(Long studentId, Long enrollmentId) {
+        Student student = new Student();
+        student.setId(studentId);
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(enrollmentId);
+        return new GradeChange(student, enrollment, null);
+    }
+
+    private static final class BatchObserver implements IGradeObserver {
+
+        private final String name;
+        private final int priority;
+        private final List<String> calls;
+
+        BatchObserver(String name, int priority, List<String> calls) {
+            this.name = name;
+            this.priority = priority;
+            this.calls = calls;
+        }
+
+        @Override
+        public void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
+            fail("Batch observer should receive the whole batch");
+        }
+
+        @Override
+        public void onGradeUpdatedBatch(Collection<GradeChange> changes) {
+            calls.add(name + ":" + changes.size());
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public String getObserverName() {
+            return name;
+        }
+    }
+}
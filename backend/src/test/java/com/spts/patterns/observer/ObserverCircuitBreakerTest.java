@@ -0,0 +1,78 @@
+package com.spts.patterns.observer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ObserverCircuitBreaker state transitions.
+ *
+ * @author SPTS Team
+ */
+class ObserverCircuitBreakerTest {
+
+    private long now;
+    private final ObserverCircuitBreaker breaker =
+            new ObserverCircuitBreaker("test", 3, 100, 1_000, () -> now);
+
+    @Test
+    @DisplayName("The breaker opens after consecutive failures; a success resets the count")
+    void onFailure_Threshold_Opens() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess(millis(5));
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(ObserverCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(ObserverCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getTimesOpened());
+    }
+
+    @Test
+    @DisplayName("Slow calls count as failures")
+    void onSuccess_SlowCalls_Open() {
+        breaker.onSuccess(millis(150));
+        breaker.onSuccess(millis(150));
+        breaker.onSuccess(millis(150));
+
+        assertEquals(ObserverCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("After the open period one trial call decides whether the breaker closes")
+    void tryAcquire_AfterOpenPeriod_AllowsSingleTrial() {
+        trip();
+        now += millis(1_000);
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(ObserverCircuitBreaker.State.OPEN, breaker.getState());
+
+        now += millis(1_000);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess(millis(5));
+        assertEquals(ObserverCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveFailures());
+    }
+
+    // ==================== Fixtures ====================
+
+    private void trip() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+    }
+
+    private static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+}
@@ -0,0 +1,76 @@
+package com.spts.patterns.observer;
+
+import com.spts.entity.Enrollment;
+import com.spts.entity.GradeEntry;
+import com.spts.entity.Student;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ObserverMetrics timers and error counters.
+ *
+ * @author SPTS Team
+ */
+class ObserverMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ObserverMetrics metrics = new ObserverMetrics(registry, 0);
+
+    @Test
+    @DisplayName("Callbacks are timed per observer, callback and outcome")
+    void invoke_RecordsTimerPerObserver() {
+        IGradeObserver gpa = observer("GPA Recalculator");
+        IGradeObserver risk = observer("Risk Detector");
+
+        metrics.invoke(gpa, "onGradeUpdated", () -> "student 1", () -> { });
+        metrics.invoke(gpa, "onGradeUpdated", () -> "student 2", () -> { });
+        metrics.invoke(risk, "onGradeUpdated", () -> "student 1", () -> { });
+
+        assertEquals(2, registry.get(ObserverMetrics.INVOCATIONS)
+                .tags("observer", "GPA Recalculator", "callback", "onGradeUpdated", "outcome", "success")
+                .timer().count());
+        assertEquals(1, registry.get(ObserverMetrics.INVOCATIONS)
+                .tags("observer", "Risk Detector", "outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("A failing callback is counted as an error and rethrown")
+    void invoke_Failure_CountsAndRethrows() {
+        IGradeObserver risk = observer("Risk Detector");
+
+        assertThrows(IllegalStateException.class, () -> metrics.invoke(risk, "onGpaRecalculated",
+                () -> "student 1", () -> { throw new IllegalStateException("boom"); }));
+
+        assertEquals(1.0, registry.get(ObserverMetrics.ERRORS)
+                .tags("observer", "Risk Detector", "exception", "IllegalStateException").counter().count());
+        assertEquals(1, registry.get(ObserverMetrics.INVOCATIONS)
+                .tags("observer", "Risk Detector", "outcome", "error").timer().count());
+    }
+
+    @Test
+    @DisplayName("The fan-out across all observers is timed per callback")
+    void fanOut_RecordsDuration() {
+        metrics.fanOut("onGradeUpdated", () -> { });
+        metrics.fanOut("onGradeUpdated", () -> { });
+
+        assertEquals(2, registry.get(ObserverMetrics.FANOUT).tag("callback", "onGradeUpdated").timer().count());
+    }
+
+    // ==================== Fixtures ====================
+
+    private static IGradeObserver observer(String name) {
+        return new IGradeObserver() {
+            @Override
+            public void onGradeUpdated(Student student, Enrollment enrollment, GradeEntry gradeEntry) {
+            }
+
+            @Override
+            public String getObserverName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.spts.patterns.observer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StudentLaneExecutor.
+ * Tests per-student ordering, stable lane assignment and bounded-queue backpressure.
+ *
+ * @author SPTS Team
+ */
+class StudentLaneExecutorTest {
+
+    private StudentLaneExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown(5_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Events for one student run in submission order while students spread over lanes")
+    void execute_PreservesPerStudentOrder() throws InterruptedException {
+        executor = new StudentLaneExecutor(4, 1_000, 1_000, "test-lane-");
+        Map<Long, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(8 * 200);
+
+        for (int i = 0; i < 200; i++) {
+            for (long studentId = 1; studentId <= 8; studentId++) {
+                int sequence = i;
+                long id = studentId;
+                executor.execute(id, () -> {
+                    seen.computeIfAbsent(id, k -> Collections.synchronizedList(new ArrayList<>())).add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> sequences : seen.values()) {
+            List<Integer> sorted = new ArrayList<>(sequences);
+            Collections.sort(sorted);
+            assertEquals(sorted, sequences);
+        }
+        assertEquals(1_600, executor.getSubmitted());
+        assertEquals(0, executor.getCallerRuns());
+    }
+
+    @Test
+    @DisplayName("A student always maps to the same lane")
+    void laneFor_IsStable() {
+        executor = new StudentLaneExecutor(3, 10, 10, "test-lane-");
+
+        assertEquals(executor.laneFor(42L), executor.laneFor(42L));
+        assertEquals(0, executor.laneFor(null));
+        for (long id = -5; id < 50; id++) {
+            int lane = executor.laneFor(id);
+            assertTrue(lane >= 0 && lane < 3);
+        }
+    }
+
+    @Test
+    @DisplayName("A full lane runs the event on the calling thread after the offer timeout")
+    void execute_FullLane_RunsOnCaller() throws InterruptedException {
+        executor = new StudentLaneExecutor(1, 1, 10, "test-lane-");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Occupy the lane thread, then fill its single queue slot
+        executor.execute(1L, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(1L, () -> { });
+        assertEquals(1, executor.getLaneDepths()[0]);
+
+        Thread[] runner = new Thread[1];
+        executor.execute(1L, () -> runner[0] = Thread.currentThread());
+
+        assertSame(Thread.currentThread(), runner[0]);
+        assertEquals(1, executor.getCallerRuns());
+        assertEquals(1, executor.getPeakLaneDepths()[0]);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("A task throwing an Error is counted and the lane keeps running")
+    void execute_ErrorInTask_LaneSurvives() throws InterruptedException {
+        executor = new StudentLaneExecutor(1, 10, 10, "test-lane-");
+        CountDownLatch after = new CountDownLatch(1);
+
+        executor.execute(1L, () -> {
+            throw new AssertionError("observer bug");
+        });
+        executor.execute(1L, after::countDown);
+
+        assertTrue(after.await(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.getFailures());
+        assertEquals(0, executor.getCallerRuns());
+    }
+
+    // ==================== Fixtures ====================
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.spts.service;
+
+import com.spts.exception.BusinessRuleException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AlertFeedCursor.
+ * Tests encoding round trips and rejection of malformed cursors.
+ *
+ * @author SPTS Team
+ */
+class AlertFeedCursorTest {
+
+    @Test
+    @DisplayName("A cursor decodes to the position it was encoded from")
+    void encode_Decode_RoundTrips() {
+        AlertFeedCursor cursor = new AlertFeedCursor(LocalDateTime.of(2024, 1, 15, 8, 30, 0, 123_456_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, AlertFeedCursor.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("Malformed cursors are rejected as a business rule violation")
+    void decode_Malformed_Throws() {
+        assertThrows(BusinessRuleException.class, () -> AlertFeedCursor.decode("not base64!"));
+        assertThrows(BusinessRuleException.class, () -> AlertFeedCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(BusinessRuleException.class,
+                () -> AlertFeedCursor.decode(new AlertFeedCursor(LocalDateTime.now(), 1L).encode().substring(3)));
+    }
+}
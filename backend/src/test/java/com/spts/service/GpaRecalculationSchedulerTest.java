@@ -0,0 +1,186 @@
+package com.spts.service;
+
+import com.spts.dto.GpaRecalculationMetricsDTO;
+import com.spts.entity.Student;
+import com.spts.patterns.observer.GradeSubject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GpaRecalculationScheduler.
+ * Tests deduplication within a window, the coalescing-ratio metric, the retry
+ * cap for failing students and the flush before a transaction commits.
+ * The transaction manager is a mock, so each flush "transaction" only runs its callback.
+ *
+ * @author SPTS Team
+ */
+class GpaRecalculationSchedulerTest {
+
+    private static final Long FAILING_STUDENT = 7L;
+
+    private StudentService studentService;
+    private GradeSubject gradeSubject;
+    private GpaRecalculationScheduler scheduler;
+    /** Student IDs of each applyPendingGpaChanges call */
+    private final List<Set<Long>> calls = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        studentService = mock(StudentService.class);
+        gradeSubject = mock(GradeSubject.class);
+        when(studentService.applyPendingGpaChanges(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            calls.add(Set.copyOf(ids));
+            if (ids.contains(FAILING_STUDENT)) {
+                throw new IllegalStateException("lock timeout");
+            }
+            return students(ids);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Repeated marks within a window recalculate each student once")
+    void markDirty_WithinWindow_DeduplicatesStudents() throws Exception {
+        scheduler = scheduler(50);
+
+        scheduler.markDirty(1L);
+        scheduler.markDirty(List.of(1L, 2L, 1L));
+        scheduler.markDirty(2L);
+        awaitMetrics(metrics -> metrics.getRecalculations() == 2);
+
+        assertEquals(List.of(Set.of(1L, 2L)), calls);
+        GpaRecalculationMetricsDTO metrics = scheduler.getMetrics();
+        assertEquals(5, metrics.getSignalsReceived());
+        assertEquals(1, metrics.getFlushes());
+        assertEquals(0, metrics.getPendingStudents());
+    }
+
+    @Test
+    @DisplayName("The coalescing ratio is signals per recalculation, unset before the first run")
+    void getMetrics_CoalescingRatio() {
+        scheduler = scheduler(0);
+        assertNull(scheduler.getMetrics().getCoalescingRatio());
+
+        // No transaction is active, so window = 0 recalculates immediately
+        scheduler.markDirty(List.of(1L, 1L, 2L));
+        scheduler.markDirty(List.of(3L, 3L));
+
+        GpaRecalculationMetricsDTO metrics = scheduler.getMetrics();
+        assertEquals(5, metrics.getSignalsReceived());
+        assertEquals(3, metrics.getRecalculations());
+        assertEquals(1.67, metrics.getCoalescingRatio());
+    }
+
+    @Test
+    @DisplayName("A failing student is retried in 3 later windows, then dropped, without holding back others")
+    void flush_FailingStudent_RetriedUpToCap() throws Exception {
+        scheduler = scheduler(10);
+
+        scheduler.markDirty(List.of(FAILING_STUDENT, 8L));
+        awaitMetrics(metrics -> metrics.getFailures() == 4);
+        Thread.sleep(100);
+
+        GpaRecalculationMetricsDTO metrics = scheduler.getMetrics();
+        // First window: the chunk, then each student alone; each retry: the chunk, then the student alone
+        assertEquals(List.of(Set.of(FAILING_STUDENT, 8L), Set.of(FAILING_STUDENT), Set.of(8L)), calls.subList(0, 3));
+        assertEquals(3 + 3 * 2, calls.size());
+        assertEquals(4, metrics.getFlushes());
+        assertEquals(4, metrics.getFailures());
+        assertEquals(1, metrics.getRecalculations());
+        assertEquals(0, metrics.getPendingStudents());
+    }
+
+    @Test
+    @DisplayName("Without a window, marks made in a transaction are recalculated once just before it commits")
+    void markDirty_InTransaction_FlushedBeforeCommit() {
+        scheduler = scheduler(0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.markDirty(1L);
+            scheduler.markDirty(List.of(1L, 2L));
+            assertTrue(calls.isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+            assertEquals(List.of(Set.of(1L, 2L)), calls);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertNull(TransactionSynchronizationManager.getResource(scheduler));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        GpaRecalculationMetricsDTO metrics = scheduler.getMetrics();
+        assertEquals(1, metrics.getFlushes());
+        assertEquals(2, metrics.getRecalculations());
+    }
+
+    @Test
+    @DisplayName("A failed flush before commit propagates so the transaction rolls back")
+    void markDirty_InTransaction_FailurePropagates() {
+        scheduler = scheduler(0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.markDirty(List.of(1L, FAILING_STUDENT));
+            TransactionSynchronization synchronization = TransactionSynchronizationManager.getSynchronizations().get(0);
+
+            assertThrows(IllegalStateException.class, () -> synchronization.beforeCommit(false));
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, scheduler.getMetrics().getFailures());
+        assertEquals(0, scheduler.getMetrics().getRecalculations());
+    }
+
+    // ==================== Fixtures ====================
+
+    private GpaRecalculationScheduler scheduler(long windowMs) {
+        return new GpaRecalculationScheduler(studentService, gradeSubject,
+                mock(PlatformTransactionManager.class), windowMs);
+    }
+
+    private void awaitMetrics(Predicate<GpaRecalculationMetricsDTO> condition)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.test(scheduler.getMetrics())) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the flush");
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<Student> students(Collection<Long> ids) {
+        List<Student> students = new ArrayList<>();
+        for (Long id : ids) {
+            Student student = new Student("STU" + id, "First", "Last", "stu" + id + "@uth.edu.vn");
+            student.setId(id);
+            students.add(student);
+        }
+        return students;
+    }
+}
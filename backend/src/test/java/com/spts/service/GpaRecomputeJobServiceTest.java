@@ -0,0 +1,126 @@
+package com.spts.service;
+
+import com.spts.entity.GpaRecomputeJob;
+import com.spts.entity.GpaRecomputeJobStatus;
+import com.spts.repository.GpaRecomputeJobRepository;
+import com.spts.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GpaRecomputeJobService.
+ * Tests that the persisted checkpoint only advances over contiguously committed
+ * chunks, and that a worker failure of any kind fails the job.
+ *
+ * @author SPTS Team
+ */
+class GpaRecomputeJobServiceTest {
+
+    private GpaRecomputeJobRepository jobRepository;
+    private StudentRepository studentRepository;
+    private StudentService studentService;
+    private ThreadPoolTaskExecutor workers;
+    /** Checkpoint of the job at each save */
+    private final List<Long> savedCheckpoints = new ArrayList<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile GpaRecomputeJob lastSaved;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(GpaRecomputeJobRepository.class);
+        studentRepository = mock(StudentRepository.class);
+        studentService = mock(StudentService.class);
+        when(jobRepository.save(any(GpaRecomputeJob.class))).thenAnswer(invocation -> {
+            GpaRecomputeJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(1L);
+            }
+            savedCheckpoints.add(job.getCheckpointStudentId());
+            lastSaved = job;
+            if (!job.isRunning()) {
+                finished.countDown();
+            }
+            return job;
+        });
+
+        workers = new ThreadPoolTaskExecutor();
+        workers.setCorePoolSize(2);
+        workers.setMaxPoolSize(2);
+        workers.setQueueCapacity(2);
+        workers.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdown();
+    }
+
+    @Test
+    @DisplayName("Chunks committing out of order only persist the contiguous checkpoint")
+    void progress_OutOfOrderChunks_CheckpointStaysContiguous() {
+        GpaRecomputeJob job = new GpaRecomputeJob(250L, 100);
+        GpaRecomputeJobService.Progress progress = new GpaRecomputeJobService.Progress(job, jobRepository);
+
+        progress.chunkCommitted(100, 200, 100);
+        progress.chunkCommitted(200, 300, 50);
+        assertEquals(0L, job.getCheckpointStudentId());
+        assertEquals(150L, job.getProcessedStudents());
+
+        progress.chunkCommitted(0, 100, 100);
+        progress.finish();
+
+        assertEquals(List.of(0L, 0L, 300L, 300L), savedCheckpoints);
+        assertEquals(250L, job.getProcessedStudents());
+        assertEquals(GpaRecomputeJobStatus.COMPLETED, job.getStatus());
+    }
+
+    @Test
+    @DisplayName("A chunk ahead of a failed chunk does not move the checkpoint past it")
+    void progress_FailedChunk_HoldsCheckpoint() {
+        GpaRecomputeJob job = new GpaRecomputeJob(200L, 100);
+        GpaRecomputeJobService.Progress progress = new GpaRecomputeJobService.Progress(job, jobRepository);
+
+        progress.chunkCommitted(100, 200, 100);
+        progress.fail(new IllegalStateException("chunk 0-100 failed"));
+        progress.finish();
+
+        assertEquals(0L, job.getCheckpointStudentId());
+        assertEquals(GpaRecomputeJobStatus.FAILED, job.getStatus());
+        assertEquals("chunk 0-100 failed", job.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("An Error thrown by a worker fails the job instead of completing it")
+    void startJob_ErrorInWorker_FailsJob() throws Exception {
+        when(studentRepository.count()).thenReturn(2L);
+        when(studentRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(studentRepository.findIdsAfter(eq(2L), any())).thenReturn(List.of());
+        doThrow(new AssertionError("worker died")).when(studentService).recalculateGpaForStudents(anyList());
+        GpaRecomputeJobService service = new GpaRecomputeJobService(
+                jobRepository, studentRepository, studentService, workers, 100);
+
+        service.startJob();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        service.shutdown();
+        assertEquals(GpaRecomputeJobStatus.FAILED, lastSaved.getStatus());
+        assertEquals("worker died", lastSaved.getErrorMessage());
+        assertEquals(0L, lastSaved.getCheckpointStudentId());
+    }
+}
@@ -0,0 +1,212 @@
+package com.spts.service;
+
+import com.spts.dto.GpaSimulationDTO;
+import com.spts.dto.GpaSimulationRequestDTO;
+import com.spts.entity.*;
+import com.spts.exception.BusinessRuleException;
+import com.spts.patterns.state.AtRiskState;
+import com.spts.patterns.state.GraduatedState;
+import com.spts.patterns.state.NormalState;
+import com.spts.patterns.state.ProbationState;
+import com.spts.patterns.state.StudentStateManager;
+import com.spts.patterns.strategy.GradingStrategyFactory;
+import com.spts.repository.EnrollmentRepository;
+import com.spts.repository.GradeEntryRepository;
+import com.spts.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GpaSimulationService.
+ * Tests projected GPA and status, the roll-up of hypothetical component scores
+ * through composite weights, and solving for the score that reaches a target GPA.
+ *
+ * Fixture: a completed 3-credit course (final 8.0, GPA 3.5), an in-progress
+ * 3-credit course graded by Midterm 40% (6.0) and Final 60% = Written 50% (ungraded)
+ * + Lab 50% (8.0), and an in-progress 2-credit course with no entries. All SCALE_10.
+ *
+ * @author SPTS Team
+ */
+class GpaSimulationServiceTest {
+
+    private static final Long STUDENT_ID = 1L;
+    private static final Long COMPLETED = 1L;
+    private static final Long COMPOSITE = 2L;
+    private static final Long PLAIN = 3L;
+    private static final Long WRITTEN_ENTRY = 12L;
+
+    private GpaSimulationService service;
+
+    @BeforeEach
+    void setUp() {
+        Student student = new Student("STU001", "First", "Last", "stu001@uth.edu.vn");
+        student.setId(STUDENT_ID);
+
+        Enrollment completed = enrollment(student, COMPLETED, "CS101", 3);
+        completed.complete(8.0);
+        completed.setGpaValue(3.5);
+        Enrollment composite = enrollment(student, COMPOSITE, "CS202", 3);
+        Enrollment plain = enrollment(student, PLAIN, "MA201", 2);
+
+        GradeEntry midterm = entry(10L, composite, "Midterm", 0.4, null, 6.0);
+        GradeEntry finalExam = entry(11L, composite, "Final", 0.6, null, null);
+        GradeEntry written = entry(WRITTEN_ENTRY, composite, "Written", 0.5, finalExam, null);
+        GradeEntry lab = entry(13L, composite, "Lab", 0.5, finalExam, 8.0);
+
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.of(student));
+        EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+        when(enrollmentRepository.findByStudentIdInWithCourse(List.of(STUDENT_ID)))
+                .thenReturn(List.of(completed, composite, plain));
+        GradeEntryRepository gradeEntryRepository = mock(GradeEntryRepository.class);
+        when(gradeEntryRepository.findByStudentId(STUDENT_ID)).thenReturn(List.of(midterm, finalExam, written, lab));
+
+        service = new GpaSimulationService(studentRepository, enrollmentRepository, gradeEntryRepository,
+                new GradingStrategyFactory(),
+                new StudentStateManager(new NormalState(), new AtRiskState(), new ProbationState(), new GraduatedState()));
+    }
+
+    @Test
+    @DisplayName("Hypothetical scores project GPA over graded and simulated credits")
+    void simulate_ProjectsGpaAndStatus() {
+        GpaSimulationRequestDTO request = new GpaSimulationRequestDTO();
+        request.setEnrollmentScores(List.of(enrollmentScore(PLAIN, 9.0)));
+        request.setEntryScores(List.of(entryScore(WRITTEN_ENTRY, 7.0)));
+
+        GpaSimulationDTO result = service.simulate(STUDENT_ID, request);
+
+        // (3.5 x 3 + 2.5 x 3 + 4.0 x 2) / 8
+        assertEquals(3.25, result.getProjectedGpa());
+        assertEquals(StudentStatus.NORMAL, result.getProjectedStatus());
+        assertEquals(8, result.getProjectedGradedCredits());
+        assertEquals(List.of(PLAIN, COMPOSITE), result.getSimulatedEnrollments().stream()
+                .map(GpaSimulationDTO.SimulatedEnrollment::getEnrollmentId).toList());
+        assertNull(result.getTarget());
+
+        request.setEnrollmentScores(List.of(enrollmentScore(PLAIN, 4.5)));
+        request.setEntryScores(List.of(entryScore(WRITTEN_ENTRY, 0.0)));
+        // (3.5 x 3 + 1.0 x 3 + 1.0 x 2) / 8
+        GpaSimulationDTO low = service.simulate(STUDENT_ID, request);
+        assertEquals(1.94, low.getProjectedGpa());
+        assertEquals(StudentStatus.AT_RISK, low.getProjectedStatus());
+    }
+
+    @Test
+    @DisplayName("A component score rolls up through composite weights into the projected score")
+    void simulate_RollsUpCompositeWeights() {
+        GpaSimulationRequestDTO request = new GpaSimulationRequestDTO();
+        request.setEntryScores(List.of(entryScore(WRITTEN_ENTRY, 7.0)));
+
+        GpaSimulationDTO.SimulatedEnrollment simulated =
+                service.simulate(STUDENT_ID, request).getSimulatedEnrollments().get(0);
+
+        // 6.0 x 0.4 + (7.0 x 0.5 + 8.0 x 0.5) x 0.6
+        assertEquals(COMPOSITE, simulated.getEnrollmentId());
+        assertEquals(6.9, simulated.getProjectedScore());
+        assertEquals(2.5, simulated.getProjectedGpaValue());
+
+        request.setEntryScores(List.of(entryScore(11L, 7.0)));
+        assertThrows(BusinessRuleException.class, () -> service.simulate(STUDENT_ID, request));
+    }
+
+    @Test
+    @DisplayName("The solved score is the minimum that reaches the target and grows with the target")
+    void solve_FindsMinimumScoreMonotonically() {
+        // Over the completed and plain courses: (3.5 x 3 + gpa x 2) / 5
+        GpaSimulationDTO.TargetSolution solution = solveForPlain(3.0);
+        assertTrue(solution.isAchievable());
+        assertEquals(6.5, solution.getRequiredScore());
+        assertEquals(3.1, solution.getGpaAtRequiredScore());
+
+        GpaSimulationRequestDTO justBelow = new GpaSimulationRequestDTO();
+        justBelow.setEnrollmentScores(List.of(enrollmentScore(PLAIN, 6.49)));
+        assertTrue(service.simulate(STUDENT_ID, justBelow).getProjectedGpa() < 3.0);
+
+        double previous = 0.0;
+        for (double target : new double[] {1.0, 2.5, 3.0, 3.3, 3.5, 3.7}) {
+            double required = solveForPlain(target).getRequiredScore();
+            assertTrue(required >= previous, "required score dropped at target " + target);
+            previous = required;
+        }
+        assertEquals(9.0, previous);
+    }
+
+    @Test
+    @DisplayName("An unreachable target is reported as not achievable")
+    void solve_UnreachableTarget() {
+        GpaSimulationDTO.TargetSolution solution = solveForPlain(3.8);
+
+        assertFalse(solution.isAchievable());
+        assertNull(solution.getRequiredScore());
+    }
+
+    @Test
+    @DisplayName("Solving leaves the requested hypothetical scores as they were")
+    void solve_RestoresOriginalScores() {
+        GpaSimulationRequestDTO request = new GpaSimulationRequestDTO();
+        request.setEntryScores(List.of(entryScore(WRITTEN_ENTRY, 7.0)));
+        request.setTargetGpa(3.0);
+        request.setSolveForGradeEntryId(WRITTEN_ENTRY);
+
+        GpaSimulationDTO result = service.simulate(STUDENT_ID, request);
+
+        assertTrue(result.getTarget().isAchievable());
+        assertEquals(6.9, result.getSimulatedEnrollments().get(0).getProjectedScore());
+
+        // A variable with no hypothetical score is removed again, so it is not listed as simulated
+        GpaSimulationRequestDTO plainOnly = new GpaSimulationRequestDTO();
+        plainOnly.setTargetGpa(3.0);
+        plainOnly.setSolveForEnrollmentId(PLAIN);
+        assertTrue(service.simulate(STUDENT_ID, plainOnly).getSimulatedEnrollments().isEmpty());
+    }
+
+    // ==================== Fixtures ====================
+
+    private GpaSimulationDTO.TargetSolution solveForPlain(double target) {
+        GpaSimulationRequestDTO request = new GpaSimulationRequestDTO();
+        request.setTargetGpa(target);
+        request.setSolveForEnrollmentId(PLAIN);
+        return service.simulate(STUDENT_ID, request).getTarget();
+    }
+
+    private static Enrollment enrollment(Student student, Long id, String courseCode, int credits) {
+        Course course = new Course(courseCode, courseCode + " Course", credits);
+        course.setId(id);
+        CourseOffering offering = new CourseOffering(course, Semester.FALL, 2025);
+        offering.setId(id);
+        Enrollment enrollment = new Enrollment(student, offering);
+        enrollment.setId(id);
+        return enrollment;
+    }
+
+    private static GradeEntry entry(Long id, Enrollment enrollment, String name, double weight,
+                                    GradeEntry parent, Double score) {
+        GradeEntry entry = new GradeEntry(enrollment, name, weight);
+        entry.setId(id);
+        entry.setParent(parent);
+        entry.setScore(score);
+        return entry;
+    }
+
+    private static GpaSimulationRequestDTO.EnrollmentScore enrollmentScore(Long enrollmentId, double score) {
+        GpaSimulationRequestDTO.EnrollmentScore dto = new GpaSimulationRequestDTO.EnrollmentScore();
+        dto.setEnrollmentId(enrollmentId);
+        dto.setScore(score);
+        return dto;
+    }
+
+    private static GpaSimulationRequestDTO.EntryScore entryScore(Long gradeEntryId, double score) {
+        GpaSimulationRequestDTO.EntryScore dto = new GpaSimulationRequestDTO.EntryScore();
+        dto.setGradeEntryId(gradeEntryId);
+        dto.setScore(score);
+        return dto;
+    }
+}
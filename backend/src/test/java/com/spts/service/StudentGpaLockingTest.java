@@ -0,0 +1,181 @@
+package com.spts.service;
+
+import com.spts.entity.Course;
+import com.spts.entity.CourseOffering;
+import com.spts.entity.Enrollment;
+import com.spts.entity.Semester;
+import com.spts.entity.Student;
+import com.spts.patterns.observer.GradeSubject;
+import com.spts.patterns.state.AtRiskState;
+import com.spts.patterns.state.GraduatedState;
+import com.spts.patterns.state.NormalState;
+import com.spts.patterns.state.ProbationState;
+import com.spts.patterns.state.StudentStateManager;
+import com.spts.repository.AlertRepository;
+import com.spts.repository.CourseOfferingRepository;
+import com.spts.repository.CourseRepository;
+import com.spts.repository.EnrollmentRepository;
+import com.spts.repository.StudentRepository;
+import com.spts.repository.StudentTermGpaRepository;
+import com.spts.repository.UserRepository;
+import com.spts.statistics.StatisticsChangeNotifier;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests that concurrent GPA delta updates of one student both count.
+ * Runs StudentService against an in-memory H2 database, each step in its own
+ * committed transaction, interleaving two transactions on the same student.
+ *
+ * @author SPTS Team
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentGpaLockingTest {
+
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private EnrollmentRepository enrollmentRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private CourseOfferingRepository offeringRepository;
+    @Autowired private StudentTermGpaRepository termGpaRepository;
+    @Autowired private AlertRepository alertRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private StudentService studentService;
+    private TransactionTemplate transaction;
+    private Long studentId;
+    private Long firstEnrollmentId;
+    private Long secondEnrollmentId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        StatisticsChangeNotifier notifier = mock(StatisticsChangeNotifier.class);
+        studentService = new StudentService(studentRepository, enrollmentRepository, alertRepository, userRepository,
+                new StudentStateManager(new NormalState(), new AtRiskState(), new ProbationState(), new GraduatedState()),
+                mock(AuthService.class), notifier, mock(GradeSubject.class),
+                new StudentTermGpaService(termGpaRepository, studentRepository, enrollmentRepository, notifier),
+                entityManager);
+
+        transaction.executeWithoutResult(status -> {
+            enrollmentRepository.deleteAllInBatch();
+            termGpaRepository.deleteAllInBatch();
+            studentRepository.deleteAllInBatch();
+            offeringRepository.deleteAllInBatch();
+            courseRepository.deleteAllInBatch();
+
+            Student student = new Student("STU001", "First", "Last", "stu001@uth.edu.vn");
+            student.resetGpaSums(0.0, 0, 0);
+            studentId = studentRepository.save(student).getId();
+            firstEnrollmentId = enroll(student, "CS101", 3);
+            secondEnrollmentId = enroll(student, "MA201", 4);
+        });
+    }
+
+    @Test
+    @DisplayName("A delta applied to sums read before another delta committed still counts both")
+    void applyEnrollmentGpaChange_SumsReadBeforeOtherCommit_BothCount() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch otherCommitted = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            Enrollment enrollment = enrollmentRepository.findById(firstEnrollmentId).orElseThrow();
+            // Reads the student's sums before the other transaction commits
+            assertEquals(0, enrollment.getStudent().getGradedCredits());
+            enrollment.complete(8.0);
+            loaded.countDown();
+            await(otherCommitted);
+            studentService.applyEnrollmentGpaChange(enrollment);
+        }));
+
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        transaction.executeWithoutResult(status -> {
+            Enrollment enrollment = enrollmentRepository.findById(secondEnrollmentId).orElseThrow();
+            enrollment.complete(9.0);
+            studentService.applyEnrollmentGpaChange(enrollment);
+        });
+        otherCommitted.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        assertSumsCountBothEnrollments();
+    }
+
+    @Test
+    @DisplayName("A coalesced recalculation waits for a delta holding the student's lock")
+    void applyPendingGpaChanges_WaitsForLockHolder() throws Exception {
+        // Grade the second enrollment without counting it, as a window-mode grade update does
+        transaction.executeWithoutResult(status ->
+                enrollmentRepository.findById(secondEnrollmentId).orElseThrow().complete(9.0));
+
+        CountDownLatch applied = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            Enrollment enrollment = enrollmentRepository.findById(firstEnrollmentId).orElseThrow();
+            enrollment.complete(8.0);
+            studentService.applyEnrollmentGpaChange(enrollment);
+            applied.countDown();
+            await(release);
+        }));
+        assertTrue(applied.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> pending = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status ->
+                studentService.applyPendingGpaChanges(List.of(studentId))));
+        assertThrows(TimeoutException.class, () -> pending.get(300, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        pending.get(10, TimeUnit.SECONDS);
+
+        assertSumsCountBothEnrollments();
+    }
+
+    // ==================== Fixtures ====================
+
+    private void assertSumsCountBothEnrollments() {
+        transaction.executeWithoutResult(status -> {
+            Enrollment first = enrollmentRepository.findById(firstEnrollmentId).orElseThrow();
+            Enrollment second = enrollmentRepository.findById(secondEnrollmentId).orElseThrow();
+            Student student = studentRepository.findById(studentId).orElseThrow();
+
+            assertEquals(7, student.getGradedCredits());
+            assertEquals(first.getGpaValue() * 3 + second.getGpaValue() * 4, student.getWeightedGpaSum(), 1e-9);
+            assertFalse(first.hasUncountedGpaChange());
+            assertFalse(second.hasUncountedGpaChange());
+            assertEquals(7, termGpaRepository.findByStudentId(studentId).get(0).getGradedCredits());
+        });
+    }
+
+    private Long enroll(Student student, String courseCode, int credits) {
+        Course course = courseRepository.save(new Course(courseCode, courseCode + " Course", credits));
+        CourseOffering offering = offeringRepository.save(new CourseOffering(course, Semester.FALL, 2025));
+        return enrollmentRepository.save(new Enrollment(student, offering)).getId();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.spts.service;
+
+import com.spts.entity.AlertType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UnresolvedAlertIndex.
+ * Tests lazy loading, write-through updates and rejection of stale loads.
+ *
+ * @author SPTS Team
+ */
+class UnresolvedAlertIndexTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("A student is a miss until loaded, then answered from memory")
+    void get_AfterLoad_Hits() {
+        UnresolvedAlertIndex index = new UnresolvedAlertIndex(registry, 100);
+
+        assertNull(index.get(1L));
+        index.putLoaded(1L, EnumSet.of(AlertType.LOW_GPA), index.version());
+        index.putLoaded(2L, EnumSet.noneOf(AlertType.class), index.version());
+
+        assertEquals(EnumSet.of(AlertType.LOW_GPA), index.get(1L));
+        assertEquals(EnumSet.noneOf(AlertType.class), index.get(2L));
+        assertEquals(2, lookups("hit"));
+        assertEquals(1, lookups("miss"));
+        assertTrue(registry.get("alerts.unresolved.index.lookups").tag("result", "miss")
+                .functionCounter().getId().getDescription().contains("database"));
+    }
+
+    @Test
+    @DisplayName("Committed creates and resolves update loaded students only")
+    void markUnresolvedAndResolved_UpdateLoadedStudents() {
+        UnresolvedAlertIndex index = new UnresolvedAlertIndex(registry, 100);
+        index.putLoaded(1L, EnumSet.of(AlertType.LOW_GPA), index.version());
+
+        index.markUnresolved(1L, AlertType.PROBATION);
+        index.markResolved(1L, AlertType.LOW_GPA);
+        index.markUnresolved(2L, AlertType.PROBATION);
+
+        assertEquals(EnumSet.of(AlertType.PROBATION), index.get(1L));
+        assertNull(index.get(2L));
+    }
+
+    @Test
+    @DisplayName("A load that raced with a write is not cached; evict forgets students")
+    void putLoaded_AfterConcurrentWrite_IsIgnored() {
+        UnresolvedAlertIndex index = new UnresolvedAlertIndex(registry, 100);
+
+        long version = index.version();
+        index.markUnresolved(1L, AlertType.PROBATION);
+        index.putLoaded(1L, Set.of(), version);
+        assertNull(index.get(1L));
+
+        index.putLoaded(1L, EnumSet.of(AlertType.PROBATION), index.version());
+        index.evict(1L);
+        assertNull(index.get(1L));
+        assertEquals(0, index.size());
+
+        index.putLoaded(1L, Set.of(), index.version());
+        index.putLoaded(2L, Set.of(), index.version());
+        index.evictAll();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("The index is cleared when it reaches its student limit")
+    void putLoaded_AtLimit_Clears() {
+        UnresolvedAlertIndex index = new UnresolvedAlertIndex(registry, 2);
+
+        index.putLoaded(1L, Set.of(), index.version());
+        index.putLoaded(2L, Set.of(), index.version());
+        index.putLoaded(3L, Set.of(), index.version());
+
+        assertEquals(1, index.size());
+        assertNotNull(index.get(3L));
+    }
+
+    // ==================== Fixtures ====================
+
+    private double lookups(String result) {
+        return registry.get("alerts.unresolved.index.lookups").tag("result", result).functionCounter().count();
+    }
+}
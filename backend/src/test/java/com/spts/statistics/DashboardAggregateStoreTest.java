@@ -0,0 +1,162 @@
+package com.spts.statistics;
+
+import com.spts.dto.StatisticsDTO.CourseEnrollmentStats;
+import com.spts.dto.StatisticsDTO.DepartmentStats;
+import com.spts.entity.*;
+import com.spts.repository.EnrollmentRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DashboardAggregateStore.
+ * Tests that incremental updates keep course, department and global counters exact.
+ *
+ * @author SPTS Team
+ */
+class DashboardAggregateStoreTest {
+
+    private DashboardAggregateStore store;
+    private CourseOffering cs101;
+    private CourseOffering cs202;
+    private Student alice;
+    private Student bob;
+    private long nextEnrollmentId = 1;
+
+    @BeforeEach
+    void setUp() {
+        // The rebuilder is only asked for department moves, which these tests do not make
+        store = new DashboardAggregateStore(null);
+
+        cs101 = offering(1L, "CS101", "Computer Science", 3);
+        cs202 = offering(2L, "CS202", "Computer Science", 4);
+        alice = student(1L, "STU001");
+        bob = student(2L, "STU002");
+    }
+
+    @Test
+    @DisplayName("Re-applying an updated enrollment replaces its previous contribution")
+    void reapplyingEnrollment_DoesNotDoubleCount() {
+        Enrollment e = enroll(alice, cs101);
+        store.onEnrollmentSaved(e);
+
+        e.complete(8.0);
+        store.onEnrollmentSaved(e);
+
+        DashboardAggregateStore.Totals totals = store.getTotals();
+        assertEquals(1, totals.getTotalEnrollments());
+        assertEquals(0, totals.getActiveEnrollments());
+        assertEquals(1, totals.getCompletedEnrollments());
+        assertEquals(3.5, totals.getAverageGpa());
+    }
+
+    @Test
+    @DisplayName("Top courses are ordered by enrollment count with average score")
+    void topCourses_OrderedByEnrollmentCount() {
+        Enrollment a1 = enroll(alice, cs101);
+        a1.complete(9.0);
+        Enrollment b1 = enroll(bob, cs101);
+        b1.complete(7.0);
+        store.onEnrollmentSaved(a1);
+        store.onEnrollmentSaved(b1);
+        store.onEnrollmentSaved(enroll(alice, cs202));
+
+        List<CourseEnrollmentStats> top = store.getTopCourses(10);
+
+        assertEquals(2, top.size());
+        assertEquals("CS101", top.get(0).getCourseCode());
+        assertEquals(2L, top.get(0).getTotalEnrollments());
+        assertEquals(2L, top.get(0).getCompletedEnrollments());
+        assertEquals(8.0, top.get(0).getAverageScore());
+        assertEquals(1, store.getTopCourses(1).size());
+    }
+
+    @Test
+    @DisplayName("Department sums courses and enrollments and leaves distinct students to the sketches")
+    void departmentStats_SumCoursesAndEnrollments() {
+        store.onEnrollmentSaved(enroll(alice, cs101));
+        store.onEnrollmentSaved(enroll(alice, cs202));
+        store.onEnrollmentSaved(enroll(bob, cs202));
+
+        List<DepartmentStats> depts = store.getDepartmentStats();
+
+        assertEquals(1, depts.size());
+        assertEquals("Computer Science", depts.get(0).getDepartment());
+        assertEquals(2L, depts.get(0).getTotalCourses());
+        assertEquals(3L, depts.get(0).getTotalEnrollments());
+        assertNull(depts.get(0).getTotalStudents());
+    }
+
+    @Test
+    @DisplayName("Deleting an enrollment removes it from every level")
+    void deleteEnrollment_RemovesContribution() {
+        Enrollment e1 = enroll(alice, cs101);
+        Enrollment e2 = enroll(bob, cs101);
+        store.onEnrollmentSaved(e1);
+        store.onEnrollmentSaved(e2);
+
+        store.onEnrollmentDeleted(e2.getId());
+
+        assertEquals(1, store.getTotals().getTotalEnrollments());
+        assertEquals(1L, store.getDepartmentStats().get(0).getTotalEnrollments());
+        assertEquals(1L, store.getTopCourses(10).get(0).getTotalEnrollments());
+
+        // Deleting twice is a no-op
+        store.onEnrollmentDeleted(e2.getId());
+        assertEquals(1, store.getTotals().getTotalEnrollments());
+    }
+
+    @Test
+    @DisplayName("A rebuild swaps in the reloaded state and replays changes made during the pass")
+    void rebuild_ReplaysChangesMadeDuringPass() {
+        Enrollment stale = enroll(alice, cs101);
+        store.onEnrollmentSaved(stale);
+        Enrollment kept = enroll(alice, cs202);
+        Enrollment deletedDuringPass = enroll(bob, cs202);
+
+        RebuildableStore.Rebuild rebuild = store.beginRebuild();
+        rebuild.addCourse(cs101.getCourse());
+        rebuild.addCourse(cs202.getCourse());
+        rebuild.addRow(EnrollmentRow.of(kept));
+        rebuild.addRow(EnrollmentRow.of(deletedDuringPass));
+        Enrollment savedDuringPass = enroll(bob, cs101);
+        store.onEnrollmentSaved(savedDuringPass);
+        store.onEnrollmentDeleted(deletedDuringPass.getId());
+        // Still the old state until the swap
+        assertEquals(2, store.getTotals().getTotalEnrollments());
+        store.finishRebuild(rebuild);
+
+        assertEquals(2, store.getTotals().getTotalEnrollments());
+        List<CourseEnrollmentStats> top = store.getTopCourses(10);
+        assertEquals(1L, top.get(0).getTotalEnrollments());
+        assertEquals(1L, top.get(1).getTotalEnrollments());
+        assertEquals(2L, store.getDepartmentStats().get(0).getTotalEnrollments());
+    }
+
+    // ==================== Fixtures ====================
+
+    private Enrollment enroll(Student student, CourseOffering offering) {
+        Enrollment e = new Enrollment(student, offering);
+        e.setId(nextEnrollmentId++);
+        return e;
+    }
+
+    private static CourseOffering offering(Long id, String code, String dept, int credits) {
+        Course course = new Course(code, code + " Course", credits);
+        course.setId(id);
+        course.setDepartment(dept);
+        CourseOffering offering = new CourseOffering(course, Semester.FALL, 2025);
+        offering.setId(id);
+        return offering;
+    }
+
+    private static Student student(Long id, String code) {
+        Student s = new Student(code, "First", "Last", code.toLowerCase() + "@uth.edu.vn");
+        s.setId(id);
+        return s;
+    }
+}
@@ -0,0 +1,101 @@
+package com.spts.statistics;
+
+import com.spts.entity.*;
+import com.spts.repository.EnrollmentRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DistinctStudentSketches.
+ * Tests that department, course and term sketches count each student once
+ * and that a rebuild replaces every sketch.
+ *
+ * @author SPTS Team
+ */
+class DistinctStudentSketchesTest {
+
+    private DistinctStudentSketches sketches;
+    private CourseOffering cs101Fall;
+    private CourseOffering cs202Fall;
+    private CourseOffering cs101Spring;
+    private long nextEnrollmentId = 1;
+
+    @BeforeEach
+    void setUp() {
+        // The rebuilder is only asked for department moves, which these tests do not make
+        sketches = new DistinctStudentSketches(null);
+
+        Course cs101 = course(1L, "CS101");
+        cs101Fall = offering(1L, cs101, Semester.FALL);
+        cs202Fall = offering(2L, course(2L, "CS202"), Semester.FALL);
+        cs101Spring = offering(3L, cs101, Semester.SPRING);
+    }
+
+    @Test
+    @DisplayName("Department, course and term estimates count each student once")
+    void estimates_CountDistinctStudents() {
+        for (long id = 1; id <= 100; id++) {
+            Student student = student(id);
+            sketches.onEnrollmentSaved(enroll(student, cs101Fall));
+            sketches.onEnrollmentSaved(enroll(student, cs202Fall));
+            if (id <= 40) {
+                sketches.onEnrollmentSaved(enroll(student, cs101Spring));
+            }
+        }
+
+        assertEquals(100, sketches.estimateDepartment("Computer Science"), 5);
+        assertEquals(100, sketches.estimateCourse("CS101"), 5);
+        assertEquals(100, sketches.estimateCourse("CS202"), 5);
+        assertEquals(100, sketches.estimateTerm(Semester.FALL, 2025), 5);
+        assertEquals(40, sketches.estimateTerm(Semester.SPRING, 2025), 2);
+        assertEquals(0, sketches.estimateCourse("MA201"));
+        assertEquals(0, sketches.estimateTerm(Semester.SUMMER, 2025));
+    }
+
+    @Test
+    @DisplayName("A rebuild replaces the sketches with the reloaded rows")
+    void rebuild_ReplacesSketches() {
+        sketches.onEnrollmentSaved(enroll(student(1L), cs101Fall));
+        sketches.onEnrollmentSaved(enroll(student(2L), cs101Fall));
+
+        RebuildableStore.Rebuild rebuild = sketches.beginRebuild();
+        rebuild.addCourse(cs101Fall.getCourse());
+        rebuild.addCourse(cs202Fall.getCourse());
+        rebuild.addRow(EnrollmentRow.of(enroll(student(1L), cs202Fall)));
+        sketches.finishRebuild(rebuild);
+
+        assertEquals(0, sketches.estimateCourse("CS101"));
+        assertEquals(1, sketches.estimateCourse("CS202"));
+        assertEquals(1, sketches.estimateDepartment("Computer Science"));
+    }
+
+    // ==================== Fixtures ====================
+
+    private Enrollment enroll(Student student, CourseOffering offering) {
+        Enrollment e = new Enrollment(student, offering);
+        e.setId(nextEnrollmentId++);
+        return e;
+    }
+
+    private static Course course(Long id, String code) {
+        Course course = new Course(code, code + " Course", 3);
+        course.setId(id);
+        course.setDepartment("Computer Science");
+        return course;
+    }
+
+    private static CourseOffering offering(Long id, Course course, Semester semester) {
+        CourseOffering offering = new CourseOffering(course, semester, 2025);
+        offering.setId(id);
+        return offering;
+    }
+
+    private static Student student(Long id) {
+        Student s = new Student(String.format("STU%03d", id), "First", "Last", "stu" + id + "@uth.edu.vn");
+        s.setId(id);
+        return s;
+    }
+}
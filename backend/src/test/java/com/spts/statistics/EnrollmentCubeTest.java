@@ -0,0 +1,186 @@
+package com.spts.statistics;
+
+import com.spts.dto.StatisticsDTO.CourseEnrollmentStats;
+import com.spts.dto.StatisticsDTO.QueryCell;
+import com.spts.dto.StatisticsDTO.QueryResult;
+import com.spts.entity.*;
+import com.spts.repository.EnrollmentRow;
+import com.spts.statistics.CubeQuery.Dimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EnrollmentCube.
+ * Tests bitmap filtering, multi-dimension grouping and incremental maintenance.
+ *
+ * @author SPTS Team
+ */
+class EnrollmentCubeTest {
+
+    private EnrollmentCube cube;
+    private Course cs101;
+    private CourseOffering cs101Fall;
+    private CourseOffering cs101Spring;
+    private CourseOffering ma201Fall;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        cube = new EnrollmentCube();
+
+        cs101 = course(1L, "CS101", "Computer Science", 3);
+        Course ma201 = course(2L, "MA201", "Mathematics", 4);
+        cs101Fall = offering(cs101, Semester.FALL, 2024);
+        cs101Spring = offering(cs101, Semester.SPRING, 2025);
+        ma201Fall = offering(ma201, Semester.FALL, 2024);
+        cube.onCourseSaved(cs101);
+        cube.onCourseSaved(ma201);
+    }
+
+    @Test
+    @DisplayName("Filters on different dimensions are AND-ed, values within one are OR-ed")
+    void query_FiltersAndGroups() {
+        save(enroll(1L, cs101Fall, 8.0));
+        save(enroll(2L, cs101Fall, 6.0));
+        save(enroll(1L, cs101Spring, null));
+        save(enroll(3L, ma201Fall, 9.0));
+
+        CubeQuery query = new CubeQuery();
+        query.setYears(List.of(2024));
+        query.setStatuses(List.of(EnrollmentStatus.COMPLETED));
+        query.setGroupBy(List.of(Dimension.DEPARTMENT));
+        QueryResult result = cube.query(query);
+
+        assertEquals(3L, result.getMatchedEnrollments());
+        assertEquals(2, result.getCells().size());
+        QueryCell cs = result.getCells().get(0);
+        assertEquals("Computer Science", cs.getGroup().get("department"));
+        assertEquals(2L, cs.getEnrollments());
+        assertEquals(2L, cs.getDistinctStudents());
+        assertEquals(7.0, cs.getAverageScore());
+
+        query.setSemesters(List.of(Semester.SPRING, Semester.SUMMER));
+        assertEquals(0L, cube.query(query).getMatchedEnrollments());
+    }
+
+    @Test
+    @DisplayName("Grouping by several dimensions yields one cell per combination")
+    void query_MultiDimensionGroupBy() {
+        save(enroll(1L, cs101Fall, 8.0));
+        save(enroll(2L, cs101Spring, null));
+        save(enroll(3L, ma201Fall, 9.0));
+
+        CubeQuery query = new CubeQuery();
+        query.setGroupBy(List.of(Dimension.COURSE, Dimension.SEMESTER, Dimension.YEAR));
+        List<QueryCell> cells = cube.query(query).getCells();
+
+        assertEquals(3, cells.size());
+        assertTrue(cells.stream().anyMatch(c -> "CS101".equals(c.getGroup().get("course"))
+                && "SPRING".equals(c.getGroup().get("semester"))
+                && Integer.valueOf(2025).equals(c.getGroup().get("year"))
+                && c.getInProgress() == 1L));
+    }
+
+    @Test
+    @DisplayName("Updated and deleted enrollments are reflected without a rebuild")
+    void incrementalUpdates_ReplaceAndRemoveRows() {
+        Enrollment e = enroll(1L, cs101Fall, null);
+        save(e);
+        save(enroll(2L, cs101Fall, null));
+
+        e.complete(9.0);
+        save(e);
+        cube.onEnrollmentDeleted(2L);
+
+        assertEquals(1, cube.size());
+        assertEquals(1L, cube.topCourses(10).get(0).getCompletedEnrollments());
+        assertEquals(9.0, cube.topCourses(10).get(0).getAverageScore());
+
+        // Freed row is reused by the next enrollment
+        save(enroll(3L, ma201Fall, null));
+        assertEquals(2, cube.size());
+        assertEquals(2, cube.topCourses(10).size());
+    }
+
+    @Test
+    @DisplayName("Changing a course's department moves its rows to the new department")
+    void courseDepartmentChange_RewritesRows() {
+        save(enroll(1L, cs101Fall, 8.0));
+        save(enroll(2L, cs101Spring, 7.0));
+
+        cs101.setDepartment("Software Engineering");
+        cube.onCourseSaved(cs101);
+
+        CubeQuery query = new CubeQuery();
+        query.setDepartments(List.of("Software Engineering"));
+        assertEquals(2L, cube.query(query).getMatchedEnrollments());
+        assertEquals("Software Engineering", cube.departmentStats().get(0).getDepartment());
+        assertEquals(0L, cube.departmentStats().stream()
+                .filter(d -> d.getDepartment().equals("Computer Science"))
+                .count());
+    }
+
+    @Test
+    @DisplayName("Built-in reports match the single-pass accumulator")
+    void reports_MatchAccumulator() {
+        StatisticsAccumulator accumulator = new StatisticsAccumulator(List.of(cs101, ma201Fall.getCourse()));
+        for (Enrollment e : List.of(enroll(1L, cs101Fall, 8.0), enroll(2L, cs101Spring, 5.5),
+                enroll(1L, ma201Fall, null), enroll(3L, ma201Fall, 9.5))) {
+            save(e);
+            accumulator.accept(EnrollmentRow.of(e));
+        }
+
+        assertEquals(toString(accumulator.topCourses(10)), toString(cube.topCourses(10)));
+        assertEquals(accumulator.enrollmentTrends().size(), cube.enrollmentTrends().size());
+        assertEquals(accumulator.enrollmentTrends().get(0).getAverageScore(),
+                cube.enrollmentTrends().get(0).getAverageScore());
+        assertEquals(accumulator.creditDistribution().get(1).getEnrollmentCount(),
+                cube.creditDistribution().get(1).getEnrollmentCount());
+        assertEquals(accumulator.departmentStats().get(0).getTotalStudents(),
+                cube.departmentStats().get(0).getTotalStudents());
+    }
+
+    // ==================== Fixtures ====================
+
+    private void save(Enrollment enrollment) {
+        cube.onEnrollmentSaved(enrollment);
+    }
+
+    private Enrollment enroll(Long studentId, CourseOffering offering, Double score) {
+        Student student = new Student("STU" + studentId, "First", "Last", "stu" + studentId + "@uth.edu.vn");
+        student.setId(studentId);
+        Enrollment e = new Enrollment(student, offering);
+        e.setId(nextId++);
+        if (score != null) {
+            e.complete(score);
+        }
+        return e;
+    }
+
+    private static List<String> toString(List<CourseEnrollmentStats> stats) {
+        // Ties in enrollment count have no defined order, so compare sorted by code
+        return stats.stream()
+                .map(s -> s.getCourseCode() + ":" + s.getTotalEnrollments() + ":"
+                        + s.getCompletedEnrollments() + ":" + s.getAverageScore())
+                .sorted()
+                .toList();
+    }
+
+    private static Course course(Long id, String code, String dept, int credits) {
+        Course course = new Course(code, code + " Course", credits);
+        course.setId(id);
+        course.setDepartment(dept);
+        return course;
+    }
+
+    private static CourseOffering offering(Course course, Semester semester, int year) {
+        CourseOffering offering = new CourseOffering(course, semester, year);
+        offering.setId(course.getId() * 100 + semester.ordinal());
+        return offering;
+    }
+}
@@ -0,0 +1,79 @@
+package com.spts.statistics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HyperLogLog.
+ * Tests small-range exactness, the documented error bound, duplicates and merging.
+ *
+ * @author SPTS Team
+ */
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Empty sketch estimates zero")
+    void estimate_EmptyIsZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    @DisplayName("Small cardinalities use linear counting and stay within 2%")
+    void estimate_SmallCardinality() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long id = 1; id <= 200; id++) {
+            sketch.add(id);
+        }
+        assertEquals(200, sketch.estimate(), 4);
+    }
+
+    @Test
+    @DisplayName("Re-adding the same ids does not change the estimate")
+    void add_DuplicatesIgnored() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 1000; id++) {
+                sketch.add(id);
+            }
+        }
+        HyperLogLog once = new HyperLogLog();
+        for (long id = 1; id <= 1000; id++) {
+            once.add(id);
+        }
+        assertEquals(once.estimate(), sketch.estimate());
+    }
+
+    @Test
+    @DisplayName("Large cardinalities stay within three standard errors")
+    void estimate_WithinErrorBound() {
+        for (int n : new int[]{5_000, 50_000, 500_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (long id = 1; id <= n; id++) {
+                sketch.add(id);
+            }
+            double relativeError = Math.abs(sketch.estimate() - n) / (double) n;
+            assertTrue(relativeError < 3 * HyperLogLog.RELATIVE_STANDARD_ERROR,
+                    "n=" + n + " estimate=" + sketch.estimate());
+        }
+    }
+
+    @Test
+    @DisplayName("Merged sketches estimate the union")
+    void merge_EstimatesUnion() {
+        HyperLogLog a = new HyperLogLog();
+        HyperLogLog b = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (long id = 1; id <= 30_000; id++) {
+            a.add(id);
+            union.add(id);
+        }
+        for (long id = 20_001; id <= 60_000; id++) {
+            b.add(id);
+            union.add(id);
+        }
+        assertEquals(union.estimate(), a.merge(b).estimate());
+        assertEquals(60_000, union.estimate(), 60_000 * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+}
@@ -0,0 +1,79 @@
+package com.spts.statistics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScoreHistogram.
+ * Tests bucketing, percentiles against exact values, merging and removal.
+ *
+ * @author SPTS Team
+ */
+class ScoreHistogramTest {
+
+    @Test
+    @DisplayName("Scores are rounded to the nearest 0.1 bucket and clamped to 0-10")
+    void bucketing_RoundsAndClamps() {
+        assertEquals(0, ScoreHistogram.bucketOf(-1.0));
+        assertEquals(75, ScoreHistogram.bucketOf(7.46));
+        assertEquals(100, ScoreHistogram.bucketOf(10.0));
+        assertEquals(100, ScoreHistogram.bucketOf(12.0));
+    }
+
+    @Test
+    @DisplayName("Percentiles match exact nearest-rank values for 0.1-step scores")
+    void percentiles_MatchExactValues() {
+        Random random = new Random(42);
+        ScoreHistogram histogram = new ScoreHistogram();
+        double[] scores = new double[1001];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(101) / 10.0;
+            histogram.add(scores[i], null, 1);
+        }
+        Arrays.sort(scores);
+
+        for (double p : new double[]{10, 25, 50, 75, 90}) {
+            double exact = scores[(int) Math.ceil(p / 100.0 * scores.length) - 1];
+            assertEquals(exact, histogram.percentile(p), 1e-9, "P" + p);
+        }
+    }
+
+    @Test
+    @DisplayName("Merged histograms equal a histogram built from all scores")
+    void merge_EqualsCombined() {
+        ScoreHistogram fall = new ScoreHistogram();
+        ScoreHistogram spring = new ScoreHistogram();
+        ScoreHistogram all = new ScoreHistogram();
+        fall.add(8.0, "B+", 1);
+        fall.add(9.5, "A", 1);
+        spring.add(3.0, "F", 1);
+        all.add(8.0, "B+", 1);
+        all.add(9.5, "A", 1);
+        all.add(3.0, "F", 1);
+
+        ScoreHistogram merged = new ScoreHistogram().merge(fall).merge(spring);
+
+        assertArrayEquals(all.getBuckets(), merged.getBuckets());
+        assertEquals(all.getLetterGrades(), merged.getLetterGrades());
+        assertEquals(8.0, merged.percentile(50));
+        assertEquals(6.83, merged.mean());
+    }
+
+    @Test
+    @DisplayName("Removing a score undoes its contribution; empty histogram has no percentiles")
+    void remove_UndoesContribution() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(7.0, "B", 1);
+        histogram.add(7.0, "B", -1);
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0L, histogram.getLetterGrades().get("B"));
+        assertNull(histogram.percentile(50));
+        assertNull(histogram.mean());
+    }
+}
@@ -0,0 +1,141 @@
+package com.spts.statistics;
+
+import com.spts.dto.StatisticsDTO.*;
+import com.spts.entity.Course;
+import com.spts.entity.EnrollmentStatus;
+import com.spts.entity.Semester;
+import com.spts.repository.EnrollmentRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StatisticsAccumulator.
+ * Tests that one pass produces every report and that retained state stays flat as rows grow.
+ *
+ * @author SPTS Team
+ */
+class StatisticsAccumulatorTest {
+
+    private static final String[] DEPARTMENTS = {"Computer Science", "Mathematics", "Physics", "Economics"};
+
+    private Course cs101;
+    private Course ma201;
+
+    @BeforeEach
+    void setUp() {
+        cs101 = course(1L, "CS101", "Computer Science", 3);
+        ma201 = course(2L, "MA201", "Mathematics", 4);
+    }
+
+    @Test
+    @DisplayName("A single pass produces all four reports")
+    void singlePass_ProducesAllReports() {
+        StatisticsAccumulator accumulator = new StatisticsAccumulator(List.of(cs101, ma201));
+        Stream.of(
+                row(1L, "Computer Science", 3, Semester.FALL, 2024, EnrollmentStatus.COMPLETED, 3.5, 8.0, 10L),
+                row(1L, "Computer Science", 3, Semester.FALL, 2024, EnrollmentStatus.COMPLETED, 2.5, 6.0, 11L),
+                row(1L, "Computer Science", 3, Semester.SPRING, 2025, EnrollmentStatus.IN_PROGRESS, null, null, 10L),
+                row(2L, "Mathematics", 4, Semester.SPRING, 2025, EnrollmentStatus.WITHDRAWN, null, null, 10L)
+        ).forEach(accumulator);
+
+        List<CourseEnrollmentStats> top = accumulator.topCourses(10);
+        assertEquals(2, top.size());
+        assertEquals("CS101", top.get(0).getCourseCode());
+        assertEquals(3L, top.get(0).getTotalEnrollments());
+        assertEquals(2L, top.get(0).getCompletedEnrollments());
+        assertEquals(7.0, top.get(0).getAverageScore());
+
+        List<DepartmentStats> depts = accumulator.departmentStats();
+        assertEquals("Computer Science", depts.get(0).getDepartment());
+        assertEquals(2L, depts.get(0).getTotalStudents());
+        assertEquals(3.0, depts.get(0).getAverageGpa());
+
+        List<EnrollmentTrend> trends = accumulator.enrollmentTrends();
+        assertEquals(2, trends.size());
+        assertEquals("Fall 2024", trends.get(0).getPeriod());
+        assertEquals(2L, trends.get(0).getCompletedCount());
+        assertEquals("Spring 2025", trends.get(1).getPeriod());
+
+        List<CreditDistribution> credits = accumulator.creditDistribution();
+        assertEquals(2, credits.size());
+        assertEquals(3L, credits.get(0).getEnrollmentCount());
+        assertEquals(1L, credits.get(1).getCourseCount());
+
+        AdminDashboardStats summary = new AdminDashboardStats();
+        accumulator.fillSummary(summary);
+        assertEquals(4L, summary.getTotalEnrollments());
+        assertEquals(1L, summary.getActiveEnrollments());
+        assertEquals(3.0, summary.getOverallAverageGpa());
+    }
+
+    @Test
+    @DisplayName("Courses without enrollments still count toward departments and credits")
+    void coursesWithoutEnrollments_AreCounted() {
+        StatisticsAccumulator accumulator = new StatisticsAccumulator(List.of(cs101, ma201));
+
+        assertTrue(accumulator.topCourses(10).isEmpty());
+        assertEquals(2, accumulator.departmentStats().size());
+        assertEquals(0L, accumulator.departmentStats().get(0).getTotalEnrollments());
+        assertEquals(2, accumulator.creditDistribution().size());
+    }
+
+    @Test
+    @DisplayName("Retained state does not grow with the number of streamed rows")
+    void streaming_RetainedStateStaysBounded() {
+        final long rows = 1_000_000L;
+        final long students = 5_000L;
+        final long checkpoint = 100_000L;
+        List<Course> courses = LongStream.rangeClosed(1, 40)
+                .mapToObj(id -> course(id, "C" + id, DEPARTMENTS[(int) (id % DEPARTMENTS.length)], 2 + (int) (id % 3)))
+                .toList();
+        StatisticsAccumulator accumulator = new StatisticsAccumulator(courses);
+        int[] retainedAtCheckpoint = new int[1];
+
+        // Rows are generated lazily, the same way a database cursor hands them out
+        LongStream.range(0, rows)
+                .mapToObj(i -> {
+                    long courseId = 1 + i % courses.size();
+                    boolean completed = i % 3 != 0;
+                    return row(courseId, DEPARTMENTS[(int) (courseId % DEPARTMENTS.length)], 3,
+                            Semester.values()[(int) (i % 3)], 2020 + (int) (i % 5),
+                            completed ? EnrollmentStatus.COMPLETED : EnrollmentStatus.IN_PROGRESS,
+                            completed ? 3.0 : null, completed ? 7.5 : null, i % students);
+                })
+                .forEach(row -> {
+                    accumulator.accept(row);
+                    if (accumulator.getRowCount() == checkpoint) {
+                        retainedAtCheckpoint[0] = accumulator.getRetainedEntryCount();
+                    }
+                });
+
+        assertEquals(rows, accumulator.getRowCount());
+        assertEquals(rows, accumulator.topCourses(100).stream()
+                .mapToLong(CourseEnrollmentStats::getTotalEnrollments).sum());
+        // 40 courses + 4 departments + 5000 students (each in one department) + 15 terms + 1 credit value
+        assertEquals(5_060, retainedAtCheckpoint[0]);
+        assertEquals(retainedAtCheckpoint[0], accumulator.getRetainedEntryCount(),
+                "Retained state grew while streaming " + (rows - checkpoint) + " more rows");
+    }
+
+    // ==================== Fixtures ====================
+
+    private static EnrollmentRow row(Long courseId, String dept, int credits, Semester semester, int year,
+                                     EnrollmentStatus status, Double gpa, Double score, Long studentId) {
+        return new EnrollmentRow(null, null, courseId, dept, credits, semester, year, "SCALE_10",
+                status, gpa, score, studentId);
+    }
+
+    private static Course course(Long id, String code, String dept, int credits) {
+        Course course = new Course(code, code + " Course", credits);
+        course.setId(id);
+        course.setDepartment(dept);
+        return course;
+    }
+}
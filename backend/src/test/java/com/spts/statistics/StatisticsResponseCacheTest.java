@@ -0,0 +1,65 @@
+package com.spts.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StatisticsResponseCache.
+ * Tests that responses are reused only while the data version is unchanged.
+ *
+ * @author SPTS Team
+ */
+class StatisticsResponseCacheTest {
+
+    private StatisticsDataVersion dataVersion;
+    private StatisticsResponseCache cache;
+    private AtomicInteger computations;
+
+    @BeforeEach
+    void setUp() {
+        dataVersion = new StatisticsDataVersion();
+        cache = new StatisticsResponseCache(dataVersion);
+        computations = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Same key and version is computed once")
+    void sameVersion_ReusesResponse() {
+        assertEquals("v0", cache.get("departments", dataVersion.current(), this::compute, r -> true));
+        assertEquals("v0", cache.get("departments", dataVersion.current(), this::compute, r -> true));
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    @DisplayName("A version bump forces recomputation and changes the ETag")
+    void versionBump_Recomputes() {
+        String etag = dataVersion.etag(dataVersion.current());
+        cache.get("departments", dataVersion.current(), this::compute, r -> true);
+
+        dataVersion.increment();
+
+        assertEquals("v1", cache.get("departments", dataVersion.current(), this::compute, r -> true));
+        assertNotEquals(etag, dataVersion.etag(dataVersion.current()));
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Responses rejected by the cacheable predicate are not stored")
+    void notCacheable_IsNotStored() {
+        cache.get("dashboard", dataVersion.current(), this::compute, r -> false);
+        cache.get("dashboard", dataVersion.current(), this::compute, r -> false);
+
+        assertEquals(2, computations.get());
+        assertEquals(0, cache.size());
+    }
+
+    private String compute() {
+        computations.incrementAndGet();
+        return "v" + dataVersion.current();
+    }
+}
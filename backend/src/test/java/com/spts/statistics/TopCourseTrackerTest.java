@@ -0,0 +1,107 @@
+package com.spts.statistics;
+
+import com.spts.dto.StatisticsDTO.CourseEnrollmentStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TopCourseTracker.
+ * Property test: on random create/withdraw/delete workloads the maintained
+ * ranking must equal a full sort of every course by {@link TopCourseTracker#RANKING}.
+ *
+ * @author SPTS Team
+ */
+class TopCourseTrackerTest {
+
+    @Test
+    @DisplayName("Ranks by count descending, ties by course code")
+    void top_OrdersByCountThenCode() {
+        TopCourseTracker tracker = new TopCourseTracker();
+        tracker.update(1L, "CS103", 5);
+        tracker.update(2L, "CS101", 7);
+        tracker.update(3L, "CS102", 5);
+
+        assertEquals(List.of(2L, 3L, 1L), tracker.top(10));
+        assertEquals(List.of(2L), tracker.top(1));
+    }
+
+    @Test
+    @DisplayName("Zero counts and removals drop the course")
+    void update_ZeroRemoves() {
+        TopCourseTracker tracker = new TopCourseTracker();
+        tracker.update(1L, "A", 2);
+        tracker.update(2L, "B", 1);
+        tracker.update(1L, "A", 0);
+        tracker.remove(3L);
+
+        assertEquals(List.of(2L), tracker.top(5));
+        assertEquals(1, tracker.size());
+        assertTrue(tracker.top(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Maintained ranking equals a full sort on random workloads")
+    void top_MatchesFullSortOnRandomWorkloads() {
+        for (long seed = 1; seed <= 50; seed++) {
+            Random random = new Random(seed);
+            int courseCount = 1 + random.nextInt(60);
+            TopCourseTracker tracker = new TopCourseTracker();
+            Map<Long, Long> counts = new HashMap<>();
+            Map<Long, String> codes = new HashMap<>();
+
+            for (int step = 0; step < 2000; step++) {
+                long courseId = 1 + random.nextInt(courseCount);
+                // Small code alphabet so ties on count are common; renames exercise re-sifting
+                String code = codes.computeIfAbsent(courseId, id -> "C" + (char) ('A' + random.nextInt(26)) + id);
+                int action = random.nextInt(10);
+                long count = counts.getOrDefault(courseId, 0L);
+                if (action < 6) {
+                    count++;                          // enrollment created
+                } else if (action < 9) {
+                    count = Math.max(0, count - 1);   // enrollment deleted
+                } else if (action == 9 && random.nextBoolean()) {
+                    code = "R" + random.nextInt(5) + courseId;  // course code changed
+                    codes.put(courseId, code);
+                } else {
+                    count = 0;                        // course deleted
+                }
+                counts.put(courseId, count);
+                tracker.update(courseId, code, count);
+
+                if (step % 97 == 0) {
+                    int limit = random.nextInt(courseCount + 2);
+                    assertEquals(expectedTop(counts, codes, limit), tracker.top(limit), "seed " + seed);
+                }
+            }
+            assertEquals(expectedTop(counts, codes, courseCount), tracker.top(courseCount), "seed " + seed);
+        }
+    }
+
+    // ==================== Fixtures ====================
+
+    private static List<Long> expectedTop(Map<Long, Long> counts, Map<Long, String> codes, int limit) {
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> stats(entry.getKey(), codes.get(entry.getKey()), entry.getValue()))
+                .sorted(TopCourseTracker.RANKING)
+                .limit(limit)
+                .map(stat -> Long.valueOf(stat.getCourseName()))
+                .collect(Collectors.toList());
+    }
+
+    private static CourseEnrollmentStats stats(Long courseId, String code, long count) {
+        CourseEnrollmentStats stat = new CourseEnrollmentStats();
+        stat.setCourseCode(code);
+        stat.setCourseName(String.valueOf(courseId));
+        stat.setTotalEnrollments(count);
+        return stat;
+    }
+}